@@ -0,0 +1,103 @@
+package com.aibidcomposer.config;
+
+import com.aibidcomposer.common.biz.concurrent.DownstreamLimitProperties;
+import com.aibidcomposer.common.biz.concurrent.DownstreamLimiter;
+import com.aibidcomposer.common.biz.concurrent.DownstreamLimiters;
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 下游并发限制配置
+ *
+ * <p>按下游（数据库连接、MinIO、AI模型服务）分别限制并发，配置见 app.downstream-limits.*：</p>
+ * <ul>
+ *   <li>jdbc：包装数据源，连接借出期间占用许可</li>
+ *   <li>minio：MinioService 的公共方法在许可内执行（见 MinioLimitAspect）</li>
+ *   <li>ai：AI任务处理器在许可内执行（见 AITaskWorkerPool）</li>
+ * </ul>
+ * <p>三者默认均不限制（平台线程模式下线程池大小已限制并发），由 application-virtual-threads.yml 开启。</p>
+ *
+ * 需求编号: REQ-JAVA-APP-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+public class DownstreamLimitConfig {
+
+    /**
+     * 下游限制器注册表
+     */
+    @Bean
+    public DownstreamLimiters downstreamLimiters(DownstreamLimitsProperties properties,
+                                                 ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        Map<String, DownstreamLimitProperties> limits = new HashMap<>();
+        limits.put(DownstreamLimiters.MINIO, properties.getMinio());
+        limits.put(DownstreamLimiters.AI, properties.getAi());
+        DownstreamLimiters limiters = new DownstreamLimiters(limits);
+        meterRegistryProvider.ifAvailable(registry -> limiters.all().forEach(limiter -> bindMetrics(registry, limiter)));
+        return limiters;
+    }
+
+    /**
+     * 为数据源套上 jdbc 限制器
+     */
+    @Bean
+    public static BeanPostProcessor limitedDataSourcePostProcessor(
+            ObjectProvider<DownstreamLimitsProperties> propertiesProvider,
+            ObjectProvider<DownstreamLimiters> limitersProvider,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof LimitedDataSource) {
+                    return bean;
+                }
+                DownstreamLimitProperties jdbc = propertiesProvider.getObject().getJdbc();
+                if (jdbc.getMaxConcurrent() < 0) {
+                    return bean;
+                }
+                int maxConcurrent = jdbc.getMaxConcurrent();
+                if (maxConcurrent == 0) {
+                    if (!(bean instanceof DruidDataSource druid)) {
+                        return bean;
+                    }
+                    maxConcurrent = druid.getMaxActive();
+                }
+                DownstreamLimiter limiter = new DownstreamLimiter(DownstreamLimiters.JDBC,
+                        new DownstreamLimitProperties(maxConcurrent, jdbc.getAcquireTimeoutMillis()));
+                limitersProvider.getObject().register(limiter);
+                meterRegistryProvider.ifAvailable(registry -> bindMetrics(registry, limiter));
+                log.info("数据源已启用并发限制: bean={}, maxConcurrent={}", beanName, maxConcurrent);
+                return new LimitedDataSource(dataSource, limiter);
+            }
+        };
+    }
+
+    private static void bindMetrics(MeterRegistry registry, DownstreamLimiter limiter) {
+        Gauge.builder("ac.downstream.active", limiter, DownstreamLimiter::getActive)
+                .tag("downstream", limiter.getName())
+                .description("执行中的调用数")
+                .register(registry);
+        Gauge.builder("ac.downstream.waiting", limiter, DownstreamLimiter::getWaiting)
+                .tag("downstream", limiter.getName())
+                .description("等待许可的调用数")
+                .register(registry);
+        FunctionCounter.builder("ac.downstream.rejected", limiter, DownstreamLimiter::getRejected)
+                .tag("downstream", limiter.getName())
+                .register(registry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.aibidcomposer.config;
+
+import com.aibidcomposer.common.biz.concurrent.DownstreamLimitProperties;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 下游并发限制配置
+ *
+ * 需求编号: REQ-JAVA-APP-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.downstream-limits")
+public class DownstreamLimitsProperties {
+
+    /**
+     * 数据库连接：maxConcurrent 为负数表示不包装数据源（默认），为0时取连接池 maxActive。
+     * 平台线程模式下 Tomcat 线程数已限制并发，虚拟线程模式下建议开启
+     */
+    private DownstreamLimitProperties jdbc = new DownstreamLimitProperties(-1, 10000);
+
+    /**
+     * MinIO对象存储：默认不限制，虚拟线程模式下开启
+     */
+    private DownstreamLimitProperties minio = new DownstreamLimitProperties(-1, 30000);
+
+    /**
+     * AI模型服务：默认不限制（AI任务工作池的 concurrency 已限制并发），虚拟线程模式下开启
+     */
+    private DownstreamLimitProperties ai = new DownstreamLimitProperties(-1, 60000);
+}
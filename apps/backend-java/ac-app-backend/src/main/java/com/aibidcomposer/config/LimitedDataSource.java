@@ -0,0 +1,93 @@
+package com.aibidcomposer.config;
+
+import com.aibidcomposer.common.biz.concurrent.DownstreamLimiter;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 限制并发连接数的数据源包装
+ *
+ * <p>获取连接前先取得 jdbc 限制器的许可，连接关闭（归还连接池）时释放。
+ * 与连接池自身的等待相比，超时后抛出可重试的 DownstreamBusyException，
+ * 排队数与拒绝数也可以观测；大量虚拟线程同时访问数据库时不会无限期堆积在连接池上。</p>
+ *
+ * 需求编号: REQ-JAVA-APP-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public class LimitedDataSource extends DelegatingDataSource {
+
+    private final DownstreamLimiter limiter;
+
+    public LimitedDataSource(DataSource target, DownstreamLimiter limiter) {
+        super(target);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        limiter.acquire();
+        try {
+            return wrap(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            limiter.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        limiter.acquire();
+        try {
+            return wrap(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            limiter.release();
+            throw e;
+        }
+    }
+
+    public DownstreamLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * 代理连接：首次 close 时释放许可
+     */
+    private Connection wrap(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                limiter.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,126 @@
+package com.aibidcomposer.config;
+
+import com.aibidcomposer.common.biz.batch.AsyncBatchWriter;
+import com.aibidcomposer.common.biz.batch.AsyncBatchWriterProperties;
+import com.aibidcomposer.common.biz.batch.BatchSink;
+import com.aibidcomposer.dao.entity.AIUsageLog;
+import com.aibidcomposer.dao.entity.AuditLog;
+import com.aibidcomposer.dao.entity.SystemLog;
+import com.aibidcomposer.dao.mapper.AIUsageLogMapper;
+import com.aibidcomposer.dao.mapper.AuditLogMapper;
+import com.aibidcomposer.dao.mapper.SystemLogMapper;
+import com.baomidou.mybatisplus.core.batch.MybatisBatch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 日志异步批量写入配置
+ *
+ * <p>AI使用日志、系统日志、审计日志统一通过 {@link AsyncBatchWriter} 写入：
+ * 调用方只入队，不占用业务事务和连接；后台线程以 MyBatis BATCH 执行器批量插入，
+ * 每批独立提交。PostgreSQL 连接串建议开启 {@code reWriteBatchedInserts=true}，
+ * 驱动会把同一批的单行 INSERT 改写为多值 INSERT。</p>
+ * <p>事件时间在入队时补齐，不受攒批延迟影响。</p>
+ *
+ * 需求编号: REQ-JAVA-APP-001
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Configuration
+@RequiredArgsConstructor
+public class LogWriterConfig {
+
+    private final LogWriterProperties logWriterProperties;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    /**
+     * AI使用日志写入器
+     *
+     * <p>小时汇总由 ai_usage_logs 上的语句级触发器在同一语句内维护（V6），
+     * 这里只写原始日志；其他写入路径同样不需要额外处理汇总表。</p>
+     */
+    @Bean
+    public AsyncBatchWriter<AIUsageLog> aiUsageLogWriter() {
+        MybatisBatch.Method<AIUsageLog> method = new MybatisBatch.Method<>(AIUsageLogMapper.class);
+        return createWriter("ai-usage-log", logWriterProperties.getAiUsage(),
+                batch -> new MybatisBatch<>(sqlSessionFactory, batch).execute(method.insert()),
+                usageLog -> {
+                    if (usageLog.getCreatedAt() == null) {
+                        usageLog.setCreatedAt(LocalDateTime.now());
+                    }
+                });
+    }
+
+    /**
+     * 系统日志写入器
+     */
+    @Bean
+    public AsyncBatchWriter<SystemLog> systemLogWriter() {
+        MybatisBatch.Method<SystemLog> method = new MybatisBatch.Method<>(SystemLogMapper.class);
+        return createWriter("system-log", logWriterProperties.getSystem(),
+                batch -> new MybatisBatch<>(sqlSessionFactory, batch).execute(method.insert()),
+                systemLog -> {
+                    if (systemLog.getCreatedAt() == null) {
+                        systemLog.setCreatedAt(LocalDateTime.now());
+                    }
+                });
+    }
+
+    /**
+     * 审计日志写入器
+     */
+    @Bean
+    public AsyncBatchWriter<AuditLog> auditLogWriter() {
+        MybatisBatch.Method<AuditLog> method = new MybatisBatch.Method<>(AuditLogMapper.class);
+        return createWriter("audit-log", logWriterProperties.getAudit(),
+                batch -> new MybatisBatch<>(sqlSessionFactory, batch).execute(method.insert()),
+                auditLog -> {
+                    if (auditLog.getCreatedAt() == null) {
+                        auditLog.setCreatedAt(LocalDateTime.now());
+                    }
+                });
+    }
+
+    private <T> AsyncBatchWriter<T> createWriter(String name, AsyncBatchWriterProperties properties,
+                                                 BatchSink<T> sink, Consumer<T> onAppend) {
+        AsyncBatchWriter<T> writer = new AsyncBatchWriter<>(name, properties, sink, onAppend);
+        meterRegistryProvider.ifAvailable(registry -> bindMetrics(registry, writer));
+        return writer;
+    }
+
+    private void bindMetrics(MeterRegistry registry, AsyncBatchWriter<?> writer) {
+        Gauge.builder("ac.batch.writer.pending", writer, AsyncBatchWriter::getPendingCount)
+                .tag("writer", writer.getName())
+                .description("待写入条数")
+                .register(registry);
+        Gauge.builder("ac.batch.writer.capacity", writer, AsyncBatchWriter::getCapacity)
+                .tag("writer", writer.getName())
+                .register(registry);
+        counter(registry, writer, "appended", AsyncBatchWriter::getAppendedCount);
+        counter(registry, writer, "written", AsyncBatchWriter::getWrittenCount);
+        counter(registry, writer, "dropped", AsyncBatchWriter::getDroppedCount);
+        counter(registry, writer, "failed", AsyncBatchWriter::getFailedCount);
+        counter(registry, writer, "batches", AsyncBatchWriter::getBatchCount);
+        counter(registry, writer, "blocked", AsyncBatchWriter::getBlockedCount);
+    }
+
+    private void counter(MeterRegistry registry, AsyncBatchWriter<?> writer, String name,
+                         ToDoubleFunction<AsyncBatchWriter<?>> function) {
+        FunctionCounter.builder("ac.batch.writer." + name, writer, function)
+                .tag("writer", writer.getName())
+                .register(registry);
+    }
+}
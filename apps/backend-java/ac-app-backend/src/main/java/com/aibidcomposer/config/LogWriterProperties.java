@@ -0,0 +1,43 @@
+package com.aibidcomposer.config;
+
+import com.aibidcomposer.common.biz.batch.AsyncBatchWriterProperties;
+import com.aibidcomposer.common.biz.batch.OverflowPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 日志异步批量写入配置
+ *
+ * 需求编号: REQ-JAVA-APP-001
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.log-writer")
+public class LogWriterProperties {
+
+    /**
+     * AI使用日志
+     */
+    private AsyncBatchWriterProperties aiUsage = new AsyncBatchWriterProperties();
+
+    /**
+     * 系统日志
+     */
+    private AsyncBatchWriterProperties system = new AsyncBatchWriterProperties();
+
+    /**
+     * 审计日志（默认缓冲区满时由调用线程同步写入，不丢弃）
+     */
+    private AsyncBatchWriterProperties audit = lossless();
+
+    private static AsyncBatchWriterProperties lossless() {
+        AsyncBatchWriterProperties properties = new AsyncBatchWriterProperties();
+        properties.setOverflowPolicy(OverflowPolicy.CALLER_RUNS);
+        return properties;
+    }
+}
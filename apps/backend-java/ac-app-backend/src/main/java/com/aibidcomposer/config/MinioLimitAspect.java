@@ -0,0 +1,42 @@
+package com.aibidcomposer.config;
+
+import com.aibidcomposer.common.biz.concurrent.DownstreamLimiter;
+import com.aibidcomposer.common.biz.concurrent.DownstreamLimiters;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * MinIO调用并发限制
+ *
+ * <p>MinioService 的公共方法（上传、下载、删除、查询）在 minio 限制器的许可内执行；
+ * 下载只在取得输入流期间占用许可。</p>
+ *
+ * 需求编号: REQ-JAVA-APP-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MinioLimitAspect {
+
+    private final DownstreamLimiters downstreamLimiters;
+
+    @Around("execution(public * com.aibidcomposer.common.biz.service.MinioService.*(..))"
+            + " && !execution(* com.aibidcomposer.common.biz.service.MinioService.init())"
+            + " && !execution(* com.aibidcomposer.common.biz.service.MinioService.destroy())")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        DownstreamLimiter limiter = downstreamLimiters.get(DownstreamLimiters.MINIO);
+        limiter.acquire();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            limiter.release();
+        }
+    }
+}
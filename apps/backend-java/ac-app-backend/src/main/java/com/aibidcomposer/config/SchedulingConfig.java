@@ -0,0 +1,20 @@
+package com.aibidcomposer.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置
+ *
+ * <p>线程池大小等参数使用 spring.task.scheduling.* 配置。</p>
+ *
+ * 需求编号: REQ-JAVA-APP-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,138 @@
+package com.aibidcomposer.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 虚拟线程钉住（pinning）诊断
+ *
+ * <p>虚拟线程在 synchronized 块或本地方法中阻塞时会钉住载体线程，载体线程数（默认等于CPU核数）
+ * 很快耗尽，吞吐退化到比平台线程更差。开启虚拟线程后本组件用 JFR 事件流订阅
+ * jdk.VirtualThreadPinned（阻塞超过 threshold-ms 才记录）：</p>
+ * <ul>
+ *   <li>按首个本项目栈帧（没有则取栈顶帧）归类，每个位置首次出现时打印WARN与调用栈，之后只计数</li>
+ *   <li>计数写入指标 ac.virtual_threads.pinned（tag: location）</li>
+ * </ul>
+ * <p>仅在 spring.threads.virtual.enabled=true 且运行在 Java 21 及以上时生效。
+ * 启动参数 -Djdk.tracePinnedThreads=short 可在标准输出打印同类信息，适合本地排查。</p>
+ *
+ * 需求编号: REQ-JAVA-APP-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APP_PACKAGE = "com.aibidcomposer.";
+
+    /**
+     * 打印的最大栈帧数
+     */
+    private static final int MAX_LOGGED_FRAMES = 12;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final boolean enabled;
+    private final long thresholdMillis;
+
+    private final Set<String> reportedLocations = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                       @Value("${app.virtual-threads.pinning-monitor.enabled:true}") boolean enabled,
+                                       @Value("${app.virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMillis) {
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.enabled = enabled;
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    /**
+     * 启动JFR事件流
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled=true 但运行时为 Java {}，虚拟线程与钉住诊断均不生效",
+                    Runtime.version().feature());
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("虚拟线程钉住诊断已启动: thresholdMs={}", thresholdMillis);
+    }
+
+    /**
+     * 关闭JFR事件流
+     */
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String location = location(frames);
+        meterRegistryProvider.ifAvailable(registry -> Counter.builder("ac.virtual_threads.pinned")
+                .tag("location", location)
+                .description("虚拟线程钉住载体线程的次数")
+                .register(registry)
+                .increment());
+        if (reportedLocations.add(location)) {
+            StringBuilder trace = new StringBuilder();
+            for (int i = 0; i < Math.min(frames.size(), MAX_LOGGED_FRAMES); i++) {
+                trace.append("\n\tat ").append(frameName(frames.get(i)));
+            }
+            log.warn("虚拟线程被钉住: location={}, duration={}ms{}",
+                    location, event.getDuration().toMillis(), trace);
+        } else if (log.isDebugEnabled()) {
+            log.debug("虚拟线程被钉住: location={}, duration={}ms", location, event.getDuration().toMillis());
+        }
+    }
+
+    private static String location(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod() != null && frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return frameName(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frameName(frames.get(0));
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        if (frame.getMethod() == null) {
+            return "unknown";
+        }
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,273 @@
+package com.aibidcomposer.common.biz.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 异步批量写入器
+ *
+ * <p>调用方通过 {@link #append(Object)} 把数据放入有界缓冲区后立即返回，
+ * 由单个后台线程按批次大小或攒批时间（先到者为准）取出并交给 {@link BatchSink} 写入。
+ * 写入不再占用调用方的事务和连接，每批只借用一次连接。</p>
+ * <ul>
+ *   <li>缓冲区满时按 {@link OverflowPolicy} 处理，丢弃条数计入 droppedCount</li>
+ *   <li>批次写入失败按 maxRetries 重试，仍失败则丢弃该批并计入 failedCount</li>
+ *   <li>容器关闭时停止接收新数据，并在 shutdownTimeoutMillis 内把缓冲区写完</li>
+ * </ul>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ * @param <T> 数据类型
+ */
+@Slf4j
+public class AsyncBatchWriter<T> implements DisposableBean {
+
+    private static final long RETRY_BACKOFF_MILLIS = 200;
+
+    private final String name;
+    private final AsyncBatchWriterProperties properties;
+    private final BatchSink<T> sink;
+    private final Consumer<T> onAppend;
+    private final BlockingQueue<T> buffer;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    private final AtomicLong appendedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong blockedCount = new AtomicLong();
+
+    public AsyncBatchWriter(String name, AsyncBatchWriterProperties properties, BatchSink<T> sink) {
+        this(name, properties, sink, null);
+    }
+
+    /**
+     * @param name       写入器名称（用于线程名、日志和指标）
+     * @param properties 配置
+     * @param sink       批量写入目标
+     * @param onAppend   入队前在调用线程执行的回调（如补齐事件时间），可为null
+     */
+    public AsyncBatchWriter(String name, AsyncBatchWriterProperties properties, BatchSink<T> sink,
+                            Consumer<T> onAppend) {
+        this.name = name;
+        this.properties = properties;
+        this.sink = sink;
+        this.onAppend = onAppend;
+        this.buffer = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.worker = new Thread(this::runLoop, "batch-writer-" + name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 追加一条数据
+     *
+     * @param item 数据
+     * @return 是否已接收（被丢弃时返回false）
+     */
+    public boolean append(T item) {
+        if (item == null) {
+            return false;
+        }
+        if (onAppend != null) {
+            onAppend.accept(item);
+        }
+        if (!running) {
+            droppedCount.incrementAndGet();
+            log.warn("批量写入器已关闭，丢弃数据: writer={}", name);
+            return false;
+        }
+        appendedCount.incrementAndGet();
+        if (buffer.offer(item)) {
+            return true;
+        }
+        return handleOverflow(item);
+    }
+
+    /**
+     * 追加多条数据
+     *
+     * @param items 数据列表
+     * @return 被接收的条数
+     */
+    public int appendAll(List<T> items) {
+        int accepted = 0;
+        for (T item : items) {
+            if (append(item)) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    private boolean handleOverflow(T item) {
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                blockedCount.incrementAndGet();
+                try {
+                    if (buffer.offer(item, properties.getBlockTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            case CALLER_RUNS -> {
+                blockedCount.incrementAndGet();
+                List<T> single = new ArrayList<>(1);
+                single.add(item);
+                writeBatch(single);
+                return true;
+            }
+            default -> {
+            }
+        }
+        long dropped = droppedCount.incrementAndGet();
+        if (dropped == 1 || dropped % 1000 == 0) {
+            log.warn("批量写入缓冲区已满，丢弃数据: writer={}, capacity={}, dropped={}",
+                    name, properties.getCapacity(), dropped);
+        }
+        return false;
+    }
+
+    private void runLoop() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMillis());
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                T first = buffer.poll(properties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    T next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                // 关闭时被中断：不再等待攒批，写出已取出的数据后继续清空缓冲区
+                running = false;
+                writeBatch(batch);
+            } catch (Throwable e) {
+                log.error("批量写入线程异常: writer={}", name, e);
+            } finally {
+                batch.clear();
+            }
+        }
+        log.info("批量写入器已停止: writer={}, written={}, dropped={}, failed={}",
+                name, writtenCount.get(), droppedCount.get(), failedCount.get());
+    }
+
+    private void writeBatch(List<T> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int attempts = Math.max(0, properties.getMaxRetries()) + 1;
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                sink.write(batch);
+                writtenCount.addAndGet(batch.size());
+                batchCount.incrementAndGet();
+                return;
+            } catch (Exception e) {
+                if (attempt == attempts) {
+                    failedCount.addAndGet(batch.size());
+                    log.error("批量写入失败，丢弃批次: writer={}, size={}, attempts={}",
+                            name, batch.size(), attempts, e);
+                    return;
+                }
+                log.warn("批量写入失败，准备重试: writer={}, size={}, attempt={}",
+                        name, batch.size(), attempt, e);
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * 停止接收新数据，并等待缓冲区写完
+     */
+    @Override
+    public void destroy() {
+        running = false;
+        try {
+            worker.join(properties.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+            log.warn("批量写入器关闭超时: writer={}, remaining={}", name, buffer.size());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 缓冲区中待写入的条数
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    public int getCapacity() {
+        return properties.getCapacity();
+    }
+
+    public long getAppendedCount() {
+        return appendedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * @return 缓冲区满导致调用方阻塞或同步写入的次数（背压次数）
+     */
+    public long getBlockedCount() {
+        return blockedCount.get();
+    }
+}
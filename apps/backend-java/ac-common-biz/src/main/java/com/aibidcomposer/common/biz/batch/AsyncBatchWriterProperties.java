@@ -0,0 +1,51 @@
+package com.aibidcomposer.common.biz.batch;
+
+import lombok.Data;
+
+/**
+ * 异步批量写入配置
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+public class AsyncBatchWriterProperties {
+
+    /**
+     * 缓冲区容量（条）
+     */
+    private int capacity = 8192;
+
+    /**
+     * 单批最大条数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 最长攒批时间（毫秒），到时即使不满一批也写入
+     */
+    private long flushIntervalMillis = 1000;
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * BLOCK策略下的最长等待时间（毫秒）
+     */
+    private long blockTimeoutMillis = 100;
+
+    /**
+     * 批次写入失败后的重试次数
+     */
+    private int maxRetries = 2;
+
+    /**
+     * 关闭时等待缓冲区写完的最长时间（毫秒）
+     */
+    private long shutdownTimeoutMillis = 30000;
+}
@@ -0,0 +1,25 @@
+package com.aibidcomposer.common.biz.batch;
+
+import java.util.List;
+
+/**
+ * 批量写入目标
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ * @param <T> 数据类型
+ */
+@FunctionalInterface
+public interface BatchSink<T> {
+
+    /**
+     * 写入一批数据
+     *
+     * @param batch 数据批次（不为空）
+     * @throws Exception 写入异常，由调用方决定重试或丢弃
+     */
+    void write(List<T> batch) throws Exception;
+}
@@ -0,0 +1,28 @@
+package com.aibidcomposer.common.biz.batch;
+
+/**
+ * 缓冲区满时的处理策略
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 丢弃新数据并计数
+     */
+    DROP,
+
+    /**
+     * 阻塞调用方，最多等待 blockTimeoutMillis，超时后丢弃
+     */
+    BLOCK,
+
+    /**
+     * 由调用线程直接同步写入（不丢数据，但会拖慢调用方）
+     */
+    CALLER_RUNS
+}
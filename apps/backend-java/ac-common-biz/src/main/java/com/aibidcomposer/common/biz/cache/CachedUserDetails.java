@@ -0,0 +1,97 @@
+package com.aibidcomposer.common.biz.cache;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户详情缓存快照
+ *
+ * <p>写入Redis的二级缓存条目。只保留认证过滤器需要的字段，
+ * 密码等凭证不写入Redis。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+public class CachedUserDetails implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 权限编码列表
+     */
+    private List<String> authorities;
+
+    /**
+     * 账号是否未过期
+     */
+    private boolean accountNonExpired;
+
+    /**
+     * 账号是否未锁定
+     */
+    private boolean accountNonLocked;
+
+    /**
+     * 凭证是否未过期
+     */
+    private boolean credentialsNonExpired;
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled;
+
+    /**
+     * 从UserDetails创建快照
+     *
+     * @param userDetails 用户详情
+     * @return 快照
+     */
+    public static CachedUserDetails from(UserDetails userDetails) {
+        CachedUserDetails cached = new CachedUserDetails();
+        cached.setUsername(userDetails.getUsername());
+        List<String> authorityCodes = new ArrayList<>(userDetails.getAuthorities().size());
+        for (GrantedAuthority authority : userDetails.getAuthorities()) {
+            authorityCodes.add(authority.getAuthority());
+        }
+        cached.setAuthorities(authorityCodes);
+        cached.setAccountNonExpired(userDetails.isAccountNonExpired());
+        cached.setAccountNonLocked(userDetails.isAccountNonLocked());
+        cached.setCredentialsNonExpired(userDetails.isCredentialsNonExpired());
+        cached.setEnabled(userDetails.isEnabled());
+        return cached;
+    }
+
+    /**
+     * 还原为UserDetails（不含密码）
+     *
+     * @return 用户详情
+     */
+    public UserDetails toUserDetails() {
+        return User.withUsername(username)
+                .password("")
+                .authorities(authorities == null ? new String[0] : authorities.toArray(new String[0]))
+                .accountExpired(!accountNonExpired)
+                .accountLocked(!accountNonLocked)
+                .credentialsExpired(!credentialsNonExpired)
+                .disabled(!enabled)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.aibidcomposer.common.biz.cache;
+
+import com.aibidcomposer.common.biz.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已校验JWT声明缓存
+ *
+ * <p>以Token的SHA-256摘要为键缓存已通过签名校验的Claims，
+ * 同一Token在缓存有效期内只做一次HMAC校验。条目存活时间取
+ * {@code jwt.claims-cache.max-ttl} 与Token剩余有效期的较小值，
+ * 因此过期Token不会从缓存中被取出。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class JwtClaimsCache {
+
+    private final JwtUtil jwtUtil;
+
+    /**
+     * 单条缓存最长存活时间（毫秒）
+     */
+    private final long maxTtlMillis;
+
+    private final Cache<String, Claims> cache;
+
+    public JwtClaimsCache(JwtUtil jwtUtil,
+                          @Value("${jwt.claims-cache.max-size:10000}") long maxSize,
+                          @Value("${jwt.claims-cache.max-ttl:300000}") long maxTtlMillis) {
+        this.jwtUtil = jwtUtil;
+        this.maxTtlMillis = maxTtlMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ClaimsExpiry())
+                .build();
+    }
+
+    /**
+     * 获取已校验的声明
+     *
+     * <p>缓存命中时直接返回；未命中时解析一次Token并写入缓存。
+     * Token无效或已过期时返回空，且不写入缓存。</p>
+     *
+     * @param token JWT Token
+     * @return 已校验的Claims
+     */
+    public Optional<Claims> getVerifiedClaims(String token) {
+        String key = digest(token);
+        Claims cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.parseVerifiedClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT校验失败: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (remainingNanos(claims) > 0) {
+            cache.put(key, claims);
+        }
+        return Optional.of(claims);
+    }
+
+    /**
+     * 使指定Token的缓存失效（例如登出时）
+     *
+     * @param token JWT Token
+     */
+    public void evict(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    /**
+     * 清空缓存（例如密钥轮换时）
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 计算条目剩余存活时间（纳秒）
+     *
+     * @param claims 声明
+     * @return 剩余纳秒数，不大于最长存活时间
+     */
+    private long remainingNanos(Claims claims) {
+        long ttlMillis = maxTtlMillis;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            ttlMillis = Math.min(ttlMillis, expiration.getTime() - System.currentTimeMillis());
+        }
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(ttlMillis, 0));
+    }
+
+    /**
+     * 计算Token摘要，避免在堆中长期保留原始Token
+     *
+     * @param token JWT Token
+     * @return 十六进制SHA-256摘要
+     */
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * 按Token过期时间计算的条目过期策略
+     */
+    private class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            return remainingNanos(claims);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return remainingNanos(claims);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.aibidcomposer.common.biz.cache;
+
+import com.aibidcomposer.common.biz.invalidation.InvalidationBroadcaster;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 用户详情两级缓存
+ *
+ * <p>一级为进程内Caffeine缓存，二级为 {@code RedisConfig} 中配置的
+ * {@code RedisCacheManager}。稳态下认证请求直接命中一级缓存，
+ * 不再访问数据库。用户、角色、权限变更时通过 {@link #evict(String)} /
+ * {@link #evictAll()} 清除二级缓存，并经Redis频道广播给所有节点清除一级缓存。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ * @see com.aibidcomposer.common.biz.config.RedisConfig
+ */
+@Slf4j
+@Component
+public class UserDetailsCache {
+
+    /**
+     * 二级缓存名称
+     */
+    public static final String CACHE_NAME = "auth:userDetails";
+
+    /**
+     * 失效广播频道
+     */
+    public static final String INVALIDATION_CHANNEL = "auth:userDetails:invalidate";
+
+    private final CacheManager cacheManager;
+    private final InvalidationBroadcaster broadcaster;
+    private final Cache<String, UserDetails> localCache;
+
+    public UserDetailsCache(CacheManager cacheManager,
+                            InvalidationBroadcaster broadcaster,
+                            @Value("${auth.user-details-cache.local-max-size:10000}") long localMaxSize,
+                            @Value("${auth.user-details-cache.local-ttl:300000}") long localTtlMillis) {
+        this.cacheManager = cacheManager;
+        this.broadcaster = broadcaster;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMillis(localTtlMillis))
+                .build();
+    }
+
+    /**
+     * 订阅失效广播
+     */
+    @PostConstruct
+    public void subscribe() {
+        broadcaster.subscribe(INVALIDATION_CHANNEL, this::onInvalidation);
+    }
+
+    /**
+     * 获取用户详情
+     *
+     * <p>依次查找一级缓存、二级缓存，均未命中时调用 {@code loader} 加载并回填两级缓存。</p>
+     *
+     * @param username 用户名
+     * @param loader   加载函数（通常为 UserDetailsService::loadUserByUsername）
+     * @return 用户详情
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return localCache.get(username, key -> {
+            CachedUserDetails cached = getRemote(key);
+            if (cached != null) {
+                return cached.toUserDetails();
+            }
+            UserDetails loaded = loader.apply(key);
+            putRemote(key, loaded);
+            return loaded;
+        });
+    }
+
+    /**
+     * 使指定用户的缓存失效并广播到所有节点
+     *
+     * @param username 用户名
+     */
+    public void evict(String username) {
+        localCache.invalidate(username);
+        try {
+            org.springframework.cache.Cache remote = cacheManager.getCache(CACHE_NAME);
+            if (remote != null) {
+                remote.evict(username);
+            }
+        } catch (Exception e) {
+            log.warn("清除用户详情二级缓存失败: username={}", username, e);
+        }
+        broadcaster.publish(INVALIDATION_CHANNEL, username);
+    }
+
+    /**
+     * 使全部用户缓存失效并广播到所有节点（角色、权限变更时使用）
+     */
+    public void evictAll() {
+        localCache.invalidateAll();
+        try {
+            org.springframework.cache.Cache remote = cacheManager.getCache(CACHE_NAME);
+            if (remote != null) {
+                remote.clear();
+            }
+        } catch (Exception e) {
+            log.warn("清空用户详情二级缓存失败", e);
+        }
+        broadcaster.publishAll(INVALIDATION_CHANNEL);
+    }
+
+    /**
+     * 处理其他节点的失效广播，只清除本地一级缓存
+     *
+     * @param username 用户名，为null表示全部
+     */
+    private void onInvalidation(String username) {
+        if (username == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(username);
+        }
+    }
+
+    private CachedUserDetails getRemote(String username) {
+        try {
+            org.springframework.cache.Cache remote = cacheManager.getCache(CACHE_NAME);
+            return remote == null ? null : remote.get(username, CachedUserDetails.class);
+        } catch (Exception e) {
+            log.warn("读取用户详情二级缓存失败: username={}", username, e);
+            return null;
+        }
+    }
+
+    private void putRemote(String username, UserDetails userDetails) {
+        try {
+            org.springframework.cache.Cache remote = cacheManager.getCache(CACHE_NAME);
+            if (remote != null) {
+                remote.put(username, CachedUserDetails.from(userDetails));
+            }
+        } catch (Exception e) {
+            log.warn("写入用户详情二级缓存失败: username={}", username, e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.aibidcomposer.common.biz.cache.codec;
+
+import com.aibidcomposer.common.biz.config.CacheCodecProperties;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Redis缓存值编解码器
+ *
+ * <p>redisTemplate 与 cacheManager 共用同一实例（ObjectMapper 只构建一次）。数据布局：</p>
+ * <pre>
+ * [0xAC][flags][原始长度(4字节，仅压缩时)][payload]
+ * flags: bit0=LZ4压缩  bit1=JSON（否则为Smile）  bit2=多态编码（带类型信息）
+ * </pre>
+ * <ul>
+ *   <li>Smile：Jackson 的二进制 JSON，字段名与重复字符串（含类名）在同一值内只写一次</li>
+ *   <li>类型化：{@link TypedCacheSpec} 声明过的缓存按声明类型编解码，不写类名；
+ *       其余缓存与 redisTemplate 仍写入类型信息（与原先行为一致）</li>
+ *   <li>压缩：编码后不小于阈值且压缩后确实变小才写入压缩数据</li>
+ *   <li>兼容：首字节不是 0xAC 的旧数据按原先的多态 JSON 读取，上线期间不会缓存失效</li>
+ * </ul>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-010
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public class CacheCodec {
+
+    private static final byte MAGIC = (byte) 0xAC;
+
+    private static final int FLAG_LZ4 = 1;
+    private static final int FLAG_JSON = 1 << 1;
+    private static final int FLAG_POLYMORPHIC = 1 << 2;
+
+    private static final int HEADER_LENGTH = 2;
+    private static final int LENGTH_FIELD = 4;
+
+    private final ObjectMapper smileTyped;
+    private final ObjectMapper smilePolymorphic;
+    private final ObjectMapper jsonTyped;
+    private final ObjectMapper jsonPolymorphic;
+
+    private final boolean writeJson;
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    public CacheCodec(CacheCodecProperties properties) {
+        String format = properties.getFormat() == null ? "smile" : properties.getFormat().trim().toLowerCase();
+        if (!"smile".equals(format) && !"json".equals(format)) {
+            throw new IllegalStateException("不支持的缓存编码格式: " + properties.getFormat());
+        }
+        this.writeJson = "json".equals(format);
+        this.compressionEnabled = properties.isCompressionEnabled();
+        this.compressionThreshold = Math.max(0, properties.getCompressionThresholdBytes());
+
+        this.smileTyped = configure(new ObjectMapper(smileFactory()), false);
+        this.smilePolymorphic = configure(new ObjectMapper(smileFactory()), true);
+        this.jsonTyped = configure(new ObjectMapper(), false);
+        this.jsonPolymorphic = configure(new ObjectMapper(), true);
+
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        this.decompressor = lz4.fastDecompressor();
+    }
+
+    /**
+     * 写入类型信息的序列化器（值类型不固定的场景，如 redisTemplate）
+     *
+     * @return 序列化器
+     */
+    public RedisSerializer<Object> polymorphicSerializer() {
+        return new CodecRedisSerializer<>(this, null);
+    }
+
+    /**
+     * 按固定类型编解码的序列化器
+     *
+     * @param valueType 值类型
+     * @return 序列化器
+     */
+    public <T> RedisSerializer<T> typedSerializer(JavaType valueType) {
+        return new CodecRedisSerializer<>(this, valueType);
+    }
+
+    /**
+     * 编码
+     *
+     * @param value 值（非null）
+     * @param polymorphic 是否写入类型信息
+     * @return 编码结果
+     */
+    byte[] encode(Object value, boolean polymorphic) {
+        ObjectMapper mapper = writeJson
+                ? (polymorphic ? jsonPolymorphic : jsonTyped)
+                : (polymorphic ? smilePolymorphic : smileTyped);
+        byte[] payload;
+        try {
+            payload = mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("缓存值编码失败: " + value.getClass().getName(), e);
+        }
+        int flags = (writeJson ? FLAG_JSON : 0) | (polymorphic ? FLAG_POLYMORPHIC : 0);
+
+        if (compressionEnabled && payload.length >= compressionThreshold) {
+            int maxLength = compressor.maxCompressedLength(payload.length);
+            byte[] out = new byte[HEADER_LENGTH + LENGTH_FIELD + maxLength];
+            int written = compressor.compress(payload, 0, payload.length,
+                    out, HEADER_LENGTH + LENGTH_FIELD, maxLength);
+            if (written < payload.length) {
+                out[0] = MAGIC;
+                out[1] = (byte) (flags | FLAG_LZ4);
+                writeInt(out, HEADER_LENGTH, payload.length);
+                return Arrays.copyOf(out, HEADER_LENGTH + LENGTH_FIELD + written);
+            }
+        }
+
+        byte[] out = new byte[HEADER_LENGTH + payload.length];
+        out[0] = MAGIC;
+        out[1] = (byte) flags;
+        System.arraycopy(payload, 0, out, HEADER_LENGTH, payload.length);
+        return out;
+    }
+
+    /**
+     * 解码
+     *
+     * @param bytes 编码数据（非空）
+     * @param valueType 期望类型，为null时按数据中的类型信息解码
+     * @return 值
+     */
+    Object decode(byte[] bytes, JavaType valueType) {
+        try {
+            if (bytes[0] != MAGIC) {
+                // 旧格式：多态JSON
+                return jsonPolymorphic.readValue(bytes, Object.class);
+            }
+            if (bytes.length < HEADER_LENGTH) {
+                throw new SerializationException("缓存值数据不完整");
+            }
+            int flags = bytes[1];
+            byte[] payload = bytes;
+            int offset = HEADER_LENGTH;
+            int length = bytes.length - HEADER_LENGTH;
+            if ((flags & FLAG_LZ4) != 0) {
+                int originalLength = readInt(bytes, HEADER_LENGTH);
+                payload = new byte[originalLength];
+                decompressor.decompress(bytes, HEADER_LENGTH + LENGTH_FIELD, payload, 0, originalLength);
+                offset = 0;
+                length = originalLength;
+            }
+
+            boolean json = (flags & FLAG_JSON) != 0;
+            if ((flags & FLAG_POLYMORPHIC) != 0 || valueType == null) {
+                ObjectMapper mapper = (flags & FLAG_POLYMORPHIC) != 0
+                        ? (json ? jsonPolymorphic : smilePolymorphic)
+                        : (json ? jsonTyped : smileTyped);
+                return mapper.readValue(payload, offset, length, Object.class);
+            }
+            return (json ? jsonTyped : smileTyped).readValue(payload, offset, length, valueType);
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof SerializationException serializationException) {
+                throw serializationException;
+            }
+            throw new SerializationException("缓存值解码失败", e);
+        }
+    }
+
+    private static SmileFactory smileFactory() {
+        return new SmileFactory()
+                .configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper, boolean polymorphic) {
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        if (polymorphic) {
+            mapper.activateDefaultTyping(
+                    LaissezFaireSubTypeValidator.instance,
+                    ObjectMapper.DefaultTyping.NON_FINAL,
+                    JsonTypeInfo.As.PROPERTY
+            );
+        }
+        // 支持Java 8日期时间类型
+        mapper.registerModule(new JavaTimeModule());
+        return mapper;
+    }
+
+    private static void writeInt(byte[] out, int offset, int value) {
+        out[offset] = (byte) (value >>> 24);
+        out[offset + 1] = (byte) (value >>> 16);
+        out[offset + 2] = (byte) (value >>> 8);
+        out[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] in, int offset) {
+        return ((in[offset] & 0xFF) << 24)
+                | ((in[offset + 1] & 0xFF) << 16)
+                | ((in[offset + 2] & 0xFF) << 8)
+                | (in[offset + 3] & 0xFF);
+    }
+}
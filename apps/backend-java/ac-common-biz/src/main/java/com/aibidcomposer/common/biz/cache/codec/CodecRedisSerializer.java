@@ -0,0 +1,48 @@
+package com.aibidcomposer.common.biz.cache.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 基于 {@link CacheCodec} 的 Redis 序列化器
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-010
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public class CodecRedisSerializer<T> implements RedisSerializer<T> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final CacheCodec codec;
+
+    /**
+     * 为null表示写入类型信息的多态编码
+     */
+    private final JavaType valueType;
+
+    CodecRedisSerializer(CacheCodec codec, JavaType valueType) {
+        this.codec = codec;
+        this.valueType = valueType;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        return codec.encode(value, valueType == null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return (T) codec.decode(bytes, valueType);
+    }
+}
@@ -0,0 +1,62 @@
+package com.aibidcomposer.common.biz.cache.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.time.Duration;
+
+/**
+ * 类型化缓存声明
+ *
+ * <p>各业务模块以 Bean 的形式声明缓存名与值类型，cacheManager 为该缓存使用按类型编解码的序列化器：
+ * 不再为每个对象写入类名，反序列化也不需要多态解析。</p>
+ * <pre>
+ * &#64;Bean
+ * public TypedCacheSpec templateCacheSpec() {
+ *     return new TypedCacheSpec("template", Template.class, Duration.ofMinutes(30));
+ * }
+ * </pre>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-010
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public class TypedCacheSpec {
+
+    private final String cacheName;
+    private final JavaType valueType;
+
+    /**
+     * 为null时使用默认过期时间
+     */
+    private final Duration ttl;
+
+    public TypedCacheSpec(String cacheName, Class<?> valueType, Duration ttl) {
+        this(cacheName, TypeFactory.defaultInstance().constructType(valueType), ttl);
+    }
+
+    public TypedCacheSpec(String cacheName, TypeReference<?> valueType, Duration ttl) {
+        this(cacheName, TypeFactory.defaultInstance().constructType(valueType), ttl);
+    }
+
+    public TypedCacheSpec(String cacheName, JavaType valueType, Duration ttl) {
+        this.cacheName = cacheName;
+        this.valueType = valueType;
+        this.ttl = ttl;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public JavaType getValueType() {
+        return valueType;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+}
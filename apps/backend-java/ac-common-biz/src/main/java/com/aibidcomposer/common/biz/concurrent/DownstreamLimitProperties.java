@@ -0,0 +1,34 @@
+package com.aibidcomposer.common.biz.concurrent;
+
+import lombok.Data;
+
+/**
+ * 下游并发限制配置
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-009
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+public class DownstreamLimitProperties {
+
+    /**
+     * 最大并发数，不大于0表示不限制
+     */
+    private int maxConcurrent;
+
+    /**
+     * 获取许可的最长等待时间（毫秒），超时抛出 DownstreamBusyException
+     */
+    private long acquireTimeoutMillis = 30000;
+
+    public DownstreamLimitProperties() {
+    }
+
+    public DownstreamLimitProperties(int maxConcurrent, long acquireTimeoutMillis) {
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+}
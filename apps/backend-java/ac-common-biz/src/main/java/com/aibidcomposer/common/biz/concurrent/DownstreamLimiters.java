@@ -0,0 +1,77 @@
+package com.aibidcomposer.common.biz.concurrent;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 下游并发限制器注册表
+ *
+ * <p>按下游名称取限制器，未配置的下游返回不限制的限制器，调用方无需判断是否启用。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-009
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public class DownstreamLimiters {
+
+    /**
+     * 数据库连接池
+     */
+    public static final String JDBC = "jdbc";
+
+    /**
+     * MinIO对象存储
+     */
+    public static final String MINIO = "minio";
+
+    /**
+     * AI模型服务
+     */
+    public static final String AI = "ai";
+
+    private final Map<String, DownstreamLimiter> limiters = new ConcurrentHashMap<>();
+
+    public DownstreamLimiters(Map<String, DownstreamLimitProperties> properties) {
+        properties.forEach((name, limit) -> limiters.put(name, new DownstreamLimiter(name, limit)));
+    }
+
+    /**
+     * 不限制任何下游的注册表
+     *
+     * @return 注册表
+     */
+    public static DownstreamLimiters unlimited() {
+        return new DownstreamLimiters(Map.of());
+    }
+
+    /**
+     * 取限制器
+     *
+     * @param name 下游名称
+     * @return 限制器，未配置时为不限制的限制器
+     */
+    public DownstreamLimiter get(String name) {
+        return limiters.computeIfAbsent(name, DownstreamLimiter::unlimited);
+    }
+
+    /**
+     * 注册（替换同名的）限制器
+     *
+     * @param limiter 限制器
+     */
+    public void register(DownstreamLimiter limiter) {
+        limiters.put(limiter.getName(), limiter);
+    }
+
+    /**
+     * 所有限制器
+     *
+     * @return 限制器
+     */
+    public Collection<DownstreamLimiter> all() {
+        return limiters.values();
+    }
+}
@@ -0,0 +1,42 @@
+package com.aibidcomposer.common.biz.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Redis缓存编解码配置
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-010
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.codec")
+public class CacheCodecProperties {
+
+    /**
+     * 写入格式：smile（二进制，默认）或 json（便于 redis-cli 排查）；读取时按数据头识别，切换格式不影响已有缓存
+     */
+    private String format = "smile";
+
+    /**
+     * 是否对较大的值做LZ4压缩
+     */
+    private boolean compressionEnabled = true;
+
+    /**
+     * 压缩阈值（字节），编码后小于该值的不压缩
+     */
+    private int compressionThresholdBytes = 1024;
+
+    /**
+     * 缓存默认过期时间
+     */
+    private Duration defaultTtl = Duration.ofHours(1);
+}
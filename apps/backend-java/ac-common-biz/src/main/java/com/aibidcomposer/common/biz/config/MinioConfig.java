@@ -1,5 +1,7 @@
 package com.aibidcomposer.common.biz.config;
 
+import com.aibidcomposer.common.biz.service.MultipartMinioClient;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -41,6 +43,21 @@ public class MinioConfig {
      */
     private String bucketName = "aibidcomposer";
 
+    /**
+     * 流式上传分片大小（字节，S3要求不小于5MB），默认16MB
+     */
+    private long uploadPartSize = 16L * 1024 * 1024;
+
+    /**
+     * 分片并发上传线程数
+     */
+    private int uploadConcurrency = 4;
+
+    /**
+     * 全局最多同时驻留内存的分片数（限制流式上传的堆占用）
+     */
+    private int uploadMaxBufferedParts = 8;
+
     /**
      * MinIO客户端
      *
@@ -53,4 +70,17 @@ public class MinioConfig {
                 .credentials(accessKey, secretKey)
                 .build();
     }
+
+    /**
+     * 支持分片上传的MinIO客户端
+     *
+     * @return MultipartMinioClient
+     */
+    @Bean
+    public MultipartMinioClient multipartMinioClient() {
+        return new MultipartMinioClient(MinioAsyncClient.builder()
+                .endpoint(endpoint)
+                .credentials(accessKey, secretKey)
+                .build());
+    }
 }
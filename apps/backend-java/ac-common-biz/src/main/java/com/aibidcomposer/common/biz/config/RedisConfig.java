@@ -1,11 +1,8 @@
 package com.aibidcomposer.common.biz.config;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.aibidcomposer.common.biz.cache.codec.CacheCodec;
+import com.aibidcomposer.common.biz.cache.codec.TypedCacheSpec;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,11 +10,13 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Redis配置类
@@ -33,19 +32,31 @@ import java.time.Duration;
 @EnableCaching
 public class RedisConfig {
 
+    /**
+     * 缓存值编解码器（redisTemplate 与 cacheManager 共用）
+     *
+     * @param properties 编解码配置
+     * @return CacheCodec
+     */
+    @Bean
+    public CacheCodec cacheCodec(CacheCodecProperties properties) {
+        return new CacheCodec(properties);
+    }
+
     /**
      * RedisTemplate配置
      *
      * @param connectionFactory Redis连接工厂
+     * @param cacheCodec 缓存值编解码器
      * @return RedisTemplate
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory, CacheCodec cacheCodec) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // 使用Jackson2JsonRedisSerializer来序列化和反序列化redis的value值
-        Jackson2JsonRedisSerializer<Object> serializer = createJackson2JsonRedisSerializer();
+        // value 类型不固定，使用带类型信息的编码
+        RedisSerializer<Object> serializer = cacheCodec.polymorphicSerializer();
 
         // 使用StringRedisSerializer来序列化和反序列化redis的key值
         StringRedisSerializer stringSerializer = new StringRedisSerializer();
@@ -54,9 +65,9 @@ public class RedisConfig {
         template.setKeySerializer(stringSerializer);
         // hash的key也采用String的序列化方式
         template.setHashKeySerializer(stringSerializer);
-        // value序列化方式采用jackson
+        // value序列化方式采用CacheCodec
         template.setValueSerializer(serializer);
-        // hash的value序列化方式采用jackson
+        // hash的value序列化方式采用CacheCodec
         template.setHashValueSerializer(serializer);
 
         template.afterPropertiesSet();
@@ -66,44 +77,54 @@ public class RedisConfig {
     /**
      * 缓存管理器配置
      *
+     * <p>通过 {@link TypedCacheSpec} 声明过的缓存按声明类型编解码，其余缓存使用带类型信息的编码。</p>
+     *
      * @param connectionFactory Redis连接工厂
+     * @param cacheCodec 缓存值编解码器
+     * @param properties 编解码配置
+     * @param typedCaches 类型化缓存声明
      * @return RedisCacheManager
      */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        Jackson2JsonRedisSerializer<Object> serializer = createJackson2JsonRedisSerializer();
-
+    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                          CacheCodec cacheCodec,
+                                          CacheCodecProperties properties,
+                                          ObjectProvider<TypedCacheSpec> typedCaches) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1)) // 默认缓存1小时
+                .entryTtl(properties.getDefaultTtl()) // 默认缓存1小时（cache.codec.default-ttl）
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheCodec.polymorphicSerializer()))
                 .disableCachingNullValues();
 
+        Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
+        typedCaches.orderedStream().forEach(spec -> {
+            RedisCacheConfiguration typed = config.serializeValuesWith(RedisSerializationContext.SerializationPair
+                    .fromSerializer(cacheCodec.typedSerializer(spec.getValueType())));
+            if (spec.getTtl() != null) {
+                typed = typed.entryTtl(spec.getTtl());
+            }
+            if (cacheConfigs.put(spec.getCacheName(), typed) != null) {
+                throw new IllegalStateException("缓存重复声明: " + spec.getCacheName());
+            }
+        });
+
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withInitialCacheConfigurations(cacheConfigs)
                 .transactionAware()
                 .build();
     }
 
     /**
-     * 创建Jackson2JsonRedisSerializer
+     * Redis消息监听容器（用于缓存失效广播等发布订阅场景）
      *
-     * @return Jackson2JsonRedisSerializer
+     * @param connectionFactory Redis连接工厂
+     * @return RedisMessageListenerContainer
      */
-    private Jackson2JsonRedisSerializer<Object> createJackson2JsonRedisSerializer() {
-        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
-
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper.activateDefaultTyping(
-                LaissezFaireSubTypeValidator.instance,
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY
-        );
-        // 支持Java 8日期时间类型
-        mapper.registerModule(new JavaTimeModule());
-
-        serializer.setObjectMapper(mapper);
-        return serializer;
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
     }
 }
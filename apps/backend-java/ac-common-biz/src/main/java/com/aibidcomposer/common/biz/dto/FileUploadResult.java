@@ -0,0 +1,54 @@
+package com.aibidcomposer.common.biz.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 流式上传结果
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileUploadResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 桶名称
+     */
+    private String bucketName;
+
+    /**
+     * 对象名称（存储Key）
+     */
+    private String objectName;
+
+    /**
+     * 文件大小（字节）
+     */
+    private long fileSize;
+
+    /**
+     * 文件内容SHA-256（小写十六进制），可直接作为 document_hash
+     */
+    private String sha256;
+
+    /**
+     * 对象ETag
+     */
+    private String etag;
+
+    /**
+     * 分片数量（小文件直传时为1）
+     */
+    private int partCount;
+}
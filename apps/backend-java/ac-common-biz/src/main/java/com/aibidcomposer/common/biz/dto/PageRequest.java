@@ -1,6 +1,9 @@
 package com.aibidcomposer.common.biz.dto;
 
+import com.aibidcomposer.common.db.KeysetCursor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.Data;
+import org.springframework.util.StringUtils;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -49,6 +52,16 @@ public class PageRequest implements Serializable {
      */
     private String keyword;
 
+    /**
+     * 游标（上一页返回的 nextCursor）；不为空时按游标分页，忽略 page
+     */
+    private String cursor;
+
+    /**
+     * 是否查询总数（深分页或只需"加载更多"时可关闭，省去COUNT查询）
+     */
+    private Boolean searchCount = true;
+
     /**
      * 获取MyBatis Plus的起始位置
      *
@@ -66,4 +79,41 @@ public class PageRequest implements Serializable {
     public long getLimit() {
         return pageSize;
     }
+
+    /**
+     * 是否为游标分页
+     *
+     * @return 携带游标时为true
+     */
+    public boolean isCursorMode() {
+        return StringUtils.hasText(cursor);
+    }
+
+    /**
+     * 解析游标位置
+     *
+     * @return 游标位置，首页（未携带游标）返回null
+     */
+    public KeysetCursor getCursorPosition() {
+        return KeysetCursor.decode(cursor);
+    }
+
+    /**
+     * 游标分页的查询条数（多取一条用于判断是否有下一页）
+     *
+     * @return 查询条数
+     */
+    public int getFetchSize() {
+        return pageSize + 1;
+    }
+
+    /**
+     * 转换为MyBatis Plus的偏移分页对象
+     *
+     * @param <T> 实体类型
+     * @return 分页对象（按 searchCount 决定是否执行COUNT查询）
+     */
+    public <T> Page<T> toPage() {
+        return new Page<>(page, pageSize, !Boolean.FALSE.equals(searchCount));
+    }
 }
@@ -1,6 +1,9 @@
 package com.aibidcomposer.common.biz.filter;
 
+import com.aibidcomposer.common.biz.cache.JwtClaimsCache;
+import com.aibidcomposer.common.biz.cache.UserDetailsCache;
 import com.aibidcomposer.common.biz.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -34,6 +37,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final JwtClaimsCache jwtClaimsCache;
+    private final UserDetailsCache userDetailsCache;
     private final UserDetailsService userDetailsService;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
@@ -82,14 +87,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private void authenticateUser(String jwt, HttpServletRequest request) {
         try {
-            // 从Token中获取用户名
-            String username = jwtUtil.getUsernameFromToken(jwt);
-
-            // 加载用户详情
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // 获取已校验的声明（缓存命中时不再做签名校验）
+            Claims claims = jwtClaimsCache.getVerifiedClaims(jwt).orElse(null);
+            if (claims == null) {
+                return;
+            }
+            String username = claims.getSubject();
 
             // 验证Token
-            if (jwtUtil.validateToken(jwt, username)) {
+            if (StringUtils.hasText(username) && jwtUtil.validateClaims(claims, username)) {
+                // 加载用户详情（优先命中本地/Redis缓存）
+                UserDetails userDetails = userDetailsCache.get(username, userDetailsService::loadUserByUsername);
+
                 // 创建认证对象
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,169 @@
+package com.aibidcomposer.common.biz.invalidation;
+
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Invocation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 事务提交后失效拦截器基类
+ *
+ * <p>拦截指定Mapper命名空间的写操作，从参数中提取受影响的键，在事务提交后调用 {@link #apply}：</p>
+ * <ul>
+ *   <li>同一事务内的多次写操作合并为一次，事务回滚时不执行</li>
+ *   <li>没有事务时在写操作后立即执行</li>
+ *   <li>提取结果为null表示影响范围无法确定（按条件批量更新、删除等），按全部失效处理</li>
+ * </ul>
+ * <p>子类只需提供命名空间、键的提取与失效动作，并在类上声明
+ * {@code @Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))}
+ * （MyBatis 不从父类继承该注解）。失效动作依赖的服务通常又依赖Mapper，应通过 ObjectProvider 延迟获取。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-015
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ * @param <K> 失效键类型
+ */
+@Slf4j
+public abstract class AfterCommitInvalidationInterceptor<K> implements Interceptor {
+
+    private final Set<String> namespaces;
+
+    /**
+     * @param namespaces 拦截的Mapper命名空间（Mapper接口全限定名）
+     */
+    protected AfterCommitInvalidationInterceptor(Collection<String> namespaces) {
+        this.namespaces = Set.copyOf(namespaces);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        String namespace = namespaceOf(ms.getId());
+        if (!namespaces.contains(namespace) || isIgnored(ms.getId())) {
+            return invocation.proceed();
+        }
+
+        Object parameter = invocation.getArgs()[1];
+        boolean before = extractBeforeUpdate(namespace);
+        Collection<K> keys = before ? extractKeys(namespace, parameter) : null;
+        Object result = invocation.proceed();
+        if (!before) {
+            keys = extractKeys(namespace, parameter);
+        }
+        schedule(keys);
+        return result;
+    }
+
+    /**
+     * 是否忽略该语句（如只修改统计列、与缓存内容无关的语句）
+     *
+     * @param statementId 语句ID
+     * @return 是否忽略
+     */
+    protected boolean isIgnored(String statementId) {
+        return false;
+    }
+
+    /**
+     * 是否在写操作执行前提取键（需要查询变更前的数据时返回true；默认在执行后提取，insert 已回填主键）
+     *
+     * @param namespace Mapper命名空间
+     * @return 是否执行前提取
+     */
+    protected boolean extractBeforeUpdate(String namespace) {
+        return false;
+    }
+
+    /**
+     * 从Mapper参数中提取受影响的键
+     *
+     * @param namespace Mapper命名空间
+     * @param parameter Mapper参数
+     * @return 受影响的键，为null表示无法确定（全部失效），为空表示无需失效
+     */
+    protected abstract Collection<K> extractKeys(String namespace, Object parameter);
+
+    /**
+     * 执行失效（事务提交后调用）
+     *
+     * @param keys 受影响的键，为null表示全部
+     */
+    protected abstract void apply(Set<K> keys);
+
+    /**
+     * 取出Mapper参数中的实体（insert直接传实体，updateById等以"et"包装）
+     *
+     * @param parameter Mapper参数
+     * @return 实体，没有时返回null（主键参数、自定义语句的命名参数等）
+     */
+    protected static Object entityOf(Object parameter) {
+        if (parameter instanceof Map<?, ?> map) {
+            return map.containsKey(Constants.ENTITY) ? map.get(Constants.ENTITY) : null;
+        }
+        return parameter;
+    }
+
+    private void schedule(Collection<K> keys) {
+        if (keys != null && keys.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applySafely(keys == null ? null : new LinkedHashSet<>(keys));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Pending<K> pending = (Pending<K>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            Pending<K> registered = pending;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AfterCommitInvalidationInterceptor.this);
+                    if (status == STATUS_COMMITTED) {
+                        applySafely(registered.all ? null : registered.keys);
+                    }
+                }
+            });
+        }
+        if (keys == null) {
+            pending.all = true;
+        } else {
+            pending.keys.addAll(keys);
+        }
+    }
+
+    private void applySafely(Set<K> keys) {
+        try {
+            apply(keys);
+        } catch (Exception e) {
+            // 写操作已提交，失效失败只记录日志，由各缓存的过期或定期重建兜底
+            log.warn("事务提交后失效失败: {}, keys={}", getClass().getSimpleName(), keys, e);
+        }
+    }
+
+    private static String namespaceOf(String statementId) {
+        int idx = statementId.lastIndexOf('.');
+        return idx > 0 ? statementId.substring(0, idx) : statementId;
+    }
+
+    /**
+     * 事务内待执行的失效
+     */
+    private static class Pending<K> {
+        private boolean all;
+        private final Set<K> keys = new LinkedHashSet<>();
+    }
+}
@@ -0,0 +1,79 @@
+package com.aibidcomposer.common.biz.invalidation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * 本地缓存失效广播
+ *
+ * <p>经Redis频道把失效的键广播给所有节点（包括本节点），各节点只清除自己的进程内缓存。
+ * 消息体为键的字符串形式，{@link #ALL} 表示全部失效。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-015
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvalidationBroadcaster {
+
+    /**
+     * 广播“全部失效”时使用的消息体
+     */
+    public static final String ALL = "*";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 订阅失效广播
+     *
+     * @param channel 频道
+     * @param handler 处理函数，参数为失效的键，为null表示全部
+     */
+    public void subscribe(String channel, Consumer<String> handler) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                handler.accept(ALL.equals(body) ? null : body);
+                log.debug("收到失效广播: channel={}, body={}", channel, body);
+            } catch (Exception e) {
+                log.warn("处理失效广播失败: channel={}, body={}", channel, body, e);
+            }
+        }, new ChannelTopic(channel));
+    }
+
+    /**
+     * 广播单个键失效
+     *
+     * @param channel 频道
+     * @param key 失效的键
+     */
+    public void publish(String channel, String key) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, key);
+        } catch (Exception e) {
+            // 广播失败只记录日志，其他节点由缓存过期或定期重建兜底
+            log.warn("广播失效失败: channel={}, body={}", channel, key, e);
+        }
+    }
+
+    /**
+     * 广播全部失效
+     *
+     * @param channel 频道
+     */
+    public void publishAll(String channel) {
+        publish(channel, ALL);
+    }
+}
@@ -0,0 +1,224 @@
+package com.aibidcomposer.common.biz.metrics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 分位数草图（对数分桶，相对误差有界）
+ *
+ * <p>非负取值按 ceil(log_γ(x)) 落桶，γ = (1 + α) / (1 - α)，返回的分位数与真实值的
+ * 相对误差不超过 α。桶数只与取值范围的对数相关（α = 1% 时 1 ~ 1e6 约 700 个桶），
+ * 超过上限时合并最低的桶，只影响低分位的精度。</p>
+ * <p>两个相同精度的草图可以直接合并，合并结果与把样本依次加入同一个草图一致，
+ * 因此各实例可以独立累积后在写回时合并。非线程安全。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-008
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public class QuantileSketch {
+
+    /**
+     * 默认相对精度
+     */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    /**
+     * 默认最大桶数
+     */
+    public static final int DEFAULT_MAX_BINS = 2048;
+
+    /**
+     * 小于该值的样本计入零桶
+     */
+    private static final double MIN_INDEXABLE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int maxBins;
+
+    private final TreeMap<Integer, Long> bins = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BINS);
+    }
+
+    /**
+     * @param relativeAccuracy 相对精度 α，(0, 1)
+     * @param maxBins 最大桶数
+     */
+    public QuantileSketch(double relativeAccuracy, int maxBins) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.maxBins = Math.max(16, maxBins);
+    }
+
+    /**
+     * 加入样本（负数按0计）
+     *
+     * @param value 样本
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * 加入重复样本
+     *
+     * @param value 样本
+     * @param times 次数
+     */
+    public void add(double value, long times) {
+        if (times <= 0 || Double.isNaN(value)) {
+            return;
+        }
+        if (value < MIN_INDEXABLE) {
+            zeroCount += times;
+        } else {
+            bins.merge(index(value), times, Long::sum);
+            collapseIfNeeded();
+        }
+        count += times;
+    }
+
+    /**
+     * 合并另一个草图
+     *
+     * <p>精度相同时按桶直接累加；精度不同（如调整配置后合并旧数据）时按对方桶的代表值重新落桶。</p>
+     *
+     * @param other 草图
+     */
+    public void merge(QuantileSketch other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        if (Double.compare(other.relativeAccuracy, relativeAccuracy) != 0) {
+            other.bins.forEach((index, n) -> add(other.value(index), n));
+            zeroCount += other.zeroCount;
+            count += other.zeroCount;
+            return;
+        }
+        other.bins.forEach((index, n) -> bins.merge(index, n, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+        collapseIfNeeded();
+    }
+
+    /**
+     * 分位数
+     *
+     * @param quantile 分位 [0, 1]
+     * @return 估计值，空草图返回 NaN
+     */
+    public double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double q = Math.min(1, Math.max(0, quantile));
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (Map.Entry<Integer, Long> bin : bins.entrySet()) {
+            seen += bin.getValue();
+            if (rank < seen) {
+                return value(bin.getKey());
+            }
+        }
+        return value(bins.lastKey());
+    }
+
+    /**
+     * 样本数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 相对精度
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * 导出为可写入JSONB的结构
+     *
+     * @return {"alpha": α, "zero": 零桶计数, "bins": {桶下标: 计数}}
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> binMap = new LinkedHashMap<>(bins.size() * 2);
+        bins.forEach((index, n) -> binMap.put(String.valueOf(index), n));
+        Map<String, Object> map = new LinkedHashMap<>(4);
+        map.put("alpha", relativeAccuracy);
+        map.put("zero", zeroCount);
+        map.put("bins", binMap);
+        return map;
+    }
+
+    /**
+     * 从 {@link #toMap()} 的结构还原
+     *
+     * @param map 导出结构，为空时返回空草图
+     * @param maxBins 最大桶数
+     * @return 草图
+     */
+    public static QuantileSketch fromMap(Map<String, Object> map, int maxBins) {
+        if (map == null || map.isEmpty()) {
+            return new QuantileSketch(DEFAULT_RELATIVE_ACCURACY, maxBins);
+        }
+        Object alpha = map.get("alpha");
+        QuantileSketch sketch = new QuantileSketch(
+                alpha instanceof Number n ? n.doubleValue() : DEFAULT_RELATIVE_ACCURACY, maxBins);
+        Object zero = map.get("zero");
+        if (zero instanceof Number n) {
+            sketch.zeroCount = n.longValue();
+            sketch.count = sketch.zeroCount;
+        }
+        if (map.get("bins") instanceof Map<?, ?> binMap) {
+            Map<Integer, Long> parsed = new HashMap<>(binMap.size() * 2);
+            binMap.forEach((k, v) -> {
+                if (v instanceof Number n && n.longValue() > 0) {
+                    parsed.merge(Integer.parseInt(String.valueOf(k)), n.longValue(), Long::sum);
+                }
+            });
+            parsed.forEach((index, n) -> {
+                sketch.bins.merge(index, n, Long::sum);
+                sketch.count += n;
+            });
+            sketch.collapseIfNeeded();
+        }
+        return sketch;
+    }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * 桶代表值：桶区间 (γ^(i-1), γ^i] 的相对误差中点
+     */
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private void collapseIfNeeded() {
+        while (bins.size() > maxBins) {
+            Map.Entry<Integer, Long> lowest = bins.pollFirstEntry();
+            bins.merge(bins.firstKey(), lowest.getValue(), Long::sum);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.aibidcomposer.common.biz.metrics;
+
+/**
+ * 流式统计量（计数、总和、均值、指数衰减均值、分位数）
+ *
+ * <p>每个样本只累加一次，不保留历史明细：</p>
+ * <ul>
+ *   <li>计数与总和给出全量均值</li>
+ *   <li>衰减均值按半衰期给样本加权：Σw·x / Σw，w = 2^(-(t_ref - t) / halfLife)，
+ *       加权和与权重和都记录在参考时刻 decayedAt 上，推进参考时刻时整体乘以衰减因子，
+ *       因此两份统计量可以精确合并</li>
+ *   <li>分位数由 {@link QuantileSketch} 估计</li>
+ * </ul>
+ * <p>非线程安全，并发累加由调用方加锁。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-008
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public class StreamingStats {
+
+    private final double decayRatePerMilli;
+
+    private long count;
+    private double sum;
+    private double decayedWeight;
+    private double decayedSum;
+    private long decayedAt;
+    private final QuantileSketch sketch;
+
+    /**
+     * @param halfLifeMillis 衰减半衰期（毫秒），不大于0表示不衰减（衰减均值等于全量均值）
+     * @param sketch 分位数草图
+     */
+    public StreamingStats(long halfLifeMillis, QuantileSketch sketch) {
+        this.decayRatePerMilli = halfLifeMillis > 0 ? Math.log(2) / halfLifeMillis : 0;
+        this.sketch = sketch;
+    }
+
+    /**
+     * 从已持久化的状态还原
+     *
+     * @param halfLifeMillis 衰减半衰期（毫秒）
+     * @param count 样本数
+     * @param sum 总和
+     * @param decayedWeight 衰减权重和
+     * @param decayedSum 衰减加权和
+     * @param decayedAt 衰减参考时刻（epoch毫秒）
+     * @param sketch 分位数草图
+     * @return 统计量
+     */
+    public static StreamingStats restore(long halfLifeMillis, long count, double sum,
+                                         double decayedWeight, double decayedSum, long decayedAt,
+                                         QuantileSketch sketch) {
+        StreamingStats stats = new StreamingStats(halfLifeMillis, sketch);
+        stats.count = count;
+        stats.sum = sum;
+        stats.decayedWeight = decayedWeight;
+        stats.decayedSum = decayedSum;
+        stats.decayedAt = decayedAt;
+        return stats;
+    }
+
+    /**
+     * 加入样本
+     *
+     * @param value 样本
+     * @param atMillis 样本时刻（epoch毫秒）
+     */
+    public void add(double value, long atMillis) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        sum += value;
+        double weight;
+        if (atMillis >= decayedAt) {
+            advanceTo(atMillis);
+            weight = 1;
+        } else {
+            weight = decayFactor(decayedAt - atMillis);
+        }
+        decayedWeight += weight;
+        decayedSum += weight * value;
+        sketch.add(value);
+    }
+
+    /**
+     * 合并另一份统计量（半衰期必须相同）
+     *
+     * @param other 统计量
+     */
+    public void merge(StreamingStats other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        count += other.count;
+        sum += other.sum;
+        long at = Math.max(decayedAt, other.decayedAt);
+        advanceTo(at);
+        double factor = decayFactor(at - other.decayedAt);
+        decayedWeight += other.decayedWeight * factor;
+        decayedSum += other.decayedSum * factor;
+        sketch.merge(other.sketch);
+    }
+
+    /**
+     * 全量均值
+     *
+     * @return 均值，无样本时返回 NaN
+     */
+    public double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * 衰减均值
+     *
+     * @return 均值，无样本时返回 NaN
+     */
+    public double decayedMean() {
+        return decayedWeight <= 0 ? mean() : decayedSum / decayedWeight;
+    }
+
+    /**
+     * 分位数
+     *
+     * @param quantile 分位 [0, 1]
+     * @return 估计值，无样本时返回 NaN
+     */
+    public double quantile(double quantile) {
+        return sketch.quantile(quantile);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getDecayedWeight() {
+        return decayedWeight;
+    }
+
+    public double getDecayedSum() {
+        return decayedSum;
+    }
+
+    public long getDecayedAt() {
+        return decayedAt;
+    }
+
+    public QuantileSketch getSketch() {
+        return sketch;
+    }
+
+    private void advanceTo(long atMillis) {
+        if (atMillis <= decayedAt) {
+            return;
+        }
+        double factor = decayFactor(atMillis - decayedAt);
+        decayedWeight *= factor;
+        decayedSum *= factor;
+        decayedAt = atMillis;
+    }
+
+    private double decayFactor(long elapsedMillis) {
+        return decayRatePerMilli == 0 || elapsedMillis <= 0 ? 1 : Math.exp(-decayRatePerMilli * elapsedMillis);
+    }
+}
@@ -0,0 +1,284 @@
+package com.aibidcomposer.common.biz.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 进程内倒排索引
+ *
+ * <p>每个文档（键 K）分配一个紧凑的整数ID，词项的倒排列表为 {@link RoaringIntSet}：</p>
+ * <ul>
+ *   <li>{@link #matchAll}：多个词项的交集（按倒排列表从短到长求交，任一为空立即返回）</li>
+ *   <li>{@link #rankAny}：命中任一计分词项的文档按命中词项数排序取前 N，可叠加交集过滤</li>
+ * </ul>
+ * <p>删除文档时回收ID供后续文档复用，ID空间保持紧凑。读写锁保护：查询并发执行，写入互斥。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-012
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ * @param <K> 文档键类型（需实现 equals/hashCode）
+ */
+public class InvertedIndex<K> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<K, Integer> ids = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    private final List<String[]> docTerms = new ArrayList<>();
+    private final Map<String, RoaringIntSet> postings = new HashMap<>();
+
+    private int[] freeIds = new int[16];
+    private int freeCount;
+
+    /**
+     * 写入（替换）文档的词项
+     *
+     * @param key 文档键
+     * @param terms 词项（重复的只记一次）
+     */
+    public void put(K key, Collection<String> terms) {
+        String[] distinct = new LinkedHashSet<>(terms).toArray(new String[0]);
+        lock.writeLock().lock();
+        try {
+            Integer existing = ids.get(key);
+            int id;
+            if (existing != null) {
+                id = existing;
+                unindex(id);
+            } else {
+                id = allocateId();
+                ids.put(key, id);
+                keys.set(id, key);
+            }
+            docTerms.set(id, distinct);
+            for (String term : distinct) {
+                postings.computeIfAbsent(term, t -> new RoaringIntSet()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文档
+     *
+     * @param key 文档键
+     * @return 文档是否存在
+     */
+    public boolean remove(K key) {
+        lock.writeLock().lock();
+        try {
+            Integer id = ids.remove(key);
+            if (id == null) {
+                return false;
+            }
+            unindex(id);
+            keys.set(id, null);
+            docTerms.set(id, null);
+            if (freeCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+            }
+            freeIds[freeCount++] = id;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 文档数
+     *
+     * @return 文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 是否包含文档
+     *
+     * @param key 文档键
+     * @return 是否包含
+     */
+    public boolean contains(K key) {
+        lock.readLock().lock();
+        try {
+            return ids.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 同时包含全部 required 词项、且包含任一 anyOf 词项的文档
+     *
+     * @param required 必须全部包含的词项
+     * @param anyOf 至少包含其一的词项，为空表示不限
+     * @param limit 最多返回条数
+     * @return 文档键（按内部ID顺序）；两个条件都为空时不返回任何文档
+     */
+    public List<K> matchAll(Collection<String> required, Collection<String> anyOf, int limit) {
+        List<K> out = new ArrayList<>();
+        if ((required.isEmpty() && anyOf.isEmpty()) || limit <= 0) {
+            return out;
+        }
+        lock.readLock().lock();
+        try {
+            RoaringIntSet result = filter(required, anyOf);
+            for (int id : result.toArray()) {
+                if (out.size() >= limit) {
+                    break;
+                }
+                out.add(keys.get(id));
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按命中词项数排序的文档
+     *
+     * @param scoring 计分词项，命中一个计一分
+     * @param required 必须全部包含的词项（过滤条件，不计分）
+     * @param anyOf 至少包含其一的词项（过滤条件，不计分），为空表示不限
+     * @param limit 最多返回条数
+     * @return 命中结果，命中词项数多的在前，相同时按内部ID
+     */
+    public List<Match<K>> rankAny(Collection<String> scoring, Collection<String> required,
+                                  Collection<String> anyOf, int limit) {
+        List<Match<K>> out = new ArrayList<>();
+        if (scoring.isEmpty() || limit <= 0) {
+            return out;
+        }
+        lock.readLock().lock();
+        try {
+            RoaringIntSet filter = required.isEmpty() && anyOf.isEmpty() ? null : filter(required, anyOf);
+            int[] counts = new int[keys.size()];
+            for (String term : new LinkedHashSet<>(scoring)) {
+                RoaringIntSet list = postings.get(term);
+                if (list != null) {
+                    list.forEach(id -> counts[id]++);
+                }
+            }
+            PriorityQueue<int[]> top = new PriorityQueue<>(limit + 1,
+                    Comparator.<int[]>comparingInt(e -> e[1]).thenComparingInt(e -> -e[0]));
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] == 0 || (filter != null && !filter.contains(id))) {
+                    continue;
+                }
+                top.add(new int[]{id, counts[id]});
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            while (!top.isEmpty()) {
+                int[] e = top.poll();
+                out.add(new Match<>(keys.get(e[0]), e[1]));
+            }
+            Collections.reverse(out);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 过滤条件对应的内部ID集合（调用方持有读锁）：required 按倒排列表从短到长求交，anyOf 求并后再求交
+     */
+    private RoaringIntSet filter(Collection<String> required, Collection<String> anyOf) {
+        List<RoaringIntSet> lists = new ArrayList<>(required.size() + 1);
+        for (String term : new LinkedHashSet<>(required)) {
+            RoaringIntSet list = postings.get(term);
+            if (list == null) {
+                return new RoaringIntSet();
+            }
+            lists.add(list);
+        }
+        if (!anyOf.isEmpty()) {
+            RoaringIntSet union = new RoaringIntSet();
+            for (String term : new LinkedHashSet<>(anyOf)) {
+                RoaringIntSet list = postings.get(term);
+                if (list != null) {
+                    union = RoaringIntSet.or(union, list);
+                }
+            }
+            lists.add(union);
+        }
+        lists.sort(Comparator.comparingInt(RoaringIntSet::cardinality));
+        RoaringIntSet result = lists.get(0);
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result = RoaringIntSet.and(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private int allocateId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        keys.add(null);
+        docTerms.add(null);
+        return keys.size() - 1;
+    }
+
+    private void unindex(int id) {
+        String[] terms = docTerms.get(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            RoaringIntSet list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * 命中结果
+     *
+     * @param <K> 文档键类型
+     */
+    public static final class Match<K> {
+
+        private final K key;
+        private final int matchedTerms;
+
+        public Match(K key, int matchedTerms) {
+            this.key = key;
+            this.matchedTerms = matchedTerms;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * 命中的词项数
+         */
+        public int getMatchedTerms() {
+            return matchedTerms;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.aibidcomposer.common.biz.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PostgreSQL 全文检索语法构造
+ *
+ * <p>分词在应用侧完成（{@link SearchTokenizer}），直接生成 tsvector / tsquery 字面量，
+ * 数据库不再二次解析：SQL 中写 {@code CAST(#{vector} AS tsvector)}、{@code CAST(#{query} AS tsquery)}，
+ * 不依赖 zhparser 等数据库扩展。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-011
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class PgTextSearch {
+
+    /**
+     * tsvector 位置上限，超出的位置按上限记录
+     */
+    private static final int MAX_POSITION = 16383;
+
+    /**
+     * 每个词位最多记录的位置数
+     */
+    private static final int MAX_POSITIONS_PER_LEXEME = 256;
+
+    private PgTextSearch() {
+    }
+
+    /**
+     * 构造 tsvector 字面量：标题词项权重A，正文词项权重D（默认权重）
+     *
+     * @param titleTokens 标题词项
+     * @param bodyTokens 正文词项
+     * @param maxTokens 正文最多索引的词项数，超出部分忽略（避免超出 tsvector 1MB 上限）
+     * @return tsvector 字面量，无词项时为空串
+     */
+    public static String vector(List<String> titleTokens, List<String> bodyTokens, int maxTokens) {
+        Map<String, List<String>> positions = new LinkedHashMap<>();
+        int position = 0;
+        for (String token : titleTokens) {
+            addPosition(positions, token, ++position, "A");
+        }
+        // 标题与正文之间空出一个位置，避免跨越标题和正文的短语匹配
+        position++;
+        int limit = Math.min(bodyTokens.size(), Math.max(0, maxTokens));
+        for (int i = 0; i < limit; i++) {
+            addPosition(positions, bodyTokens.get(i), ++position, "");
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, List<String>> entry : positions.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            appendLexeme(sb, entry.getKey());
+            sb.append(':').append(String.join(",", entry.getValue()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 构造 tsquery 字面量
+     *
+     * <p>关键词按空白拆分，词与词之间为 AND；同一个词切出的多个词项为短语（{@code <->}）；
+     * 只有一个字的中日韩词项按前缀匹配（可匹配以该字开头的二元词项）。</p>
+     *
+     * @param tokenizer 分词器
+     * @param keyword 关键词
+     * @return tsquery 字面量，没有可检索的词项时返回null
+     */
+    public static String query(SearchTokenizer tokenizer, String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        List<String> clauses = new ArrayList<>();
+        for (String term : keyword.trim().split("\\s+")) {
+            List<String> tokens = tokenizer.tokenize(term);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            StringBuilder phrase = new StringBuilder();
+            for (String token : tokens) {
+                if (phrase.length() > 0) {
+                    phrase.append(" <-> ");
+                }
+                appendLexeme(phrase, token);
+                if (token.codePointCount(0, token.length()) == 1 && CjkBigramTokenizer.isCjk(token.codePointAt(0))) {
+                    phrase.append(":*");
+                }
+            }
+            clauses.add(tokens.size() > 1 ? "(" + phrase + ")" : phrase.toString());
+        }
+        return clauses.isEmpty() ? null : String.join(" & ", clauses);
+    }
+
+    /**
+     * 高亮用的查询词（按空白拆分、去除标点后的原词）
+     *
+     * @param keyword 关键词
+     * @return 查询词
+     */
+    public static List<String> highlightTerms(String keyword) {
+        List<String> terms = new ArrayList<>();
+        if (keyword == null) {
+            return terms;
+        }
+        for (String term : keyword.trim().split("[\\s\\p{Punct}\\p{IsPunctuation}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static void addPosition(Map<String, List<String>> positions, String token, int position, String weight) {
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+        List<String> list = positions.computeIfAbsent(token, key -> new ArrayList<>());
+        if (list.size() < MAX_POSITIONS_PER_LEXEME) {
+            list.add(Math.min(position, MAX_POSITION) + weight);
+        }
+    }
+
+    private static void appendLexeme(StringBuilder sb, String lexeme) {
+        sb.append('\'');
+        for (int i = 0; i < lexeme.length(); i++) {
+            char c = lexeme.charAt(i);
+            if (c == '\'' || c == '\\') {
+                sb.append(c);
+            }
+            sb.append(c);
+        }
+        sb.append('\'');
+    }
+}
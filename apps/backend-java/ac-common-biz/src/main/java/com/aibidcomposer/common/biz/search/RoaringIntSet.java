@@ -0,0 +1,521 @@
+package com.aibidcomposer.common.biz.search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 压缩整数集合（Roaring Bitmap 结构）
+ *
+ * <p>按高16位分桶，每个桶按基数选择容器：不超过 4096 个元素时为有序 char 数组（每个元素2字节），
+ * 超过时为 65536 位的位图（固定8KB）。稀疏的倒排列表占用接近有序数组，稠密的接近位图，
+ * 交集、并集按容器类型选择合并、过滤或按字与运算。只支持非负整数。</p>
+ * <p>非线程安全，由持有方负责同步。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-012
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class RoaringIntSet {
+
+    /**
+     * 数组容器的最大元素数，超过后转为位图
+     */
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public RoaringIntSet() {
+        this(4);
+    }
+
+    private RoaringIntSet(int capacity) {
+        this.keys = new char[Math.max(1, capacity)];
+        this.containers = new Container[Math.max(1, capacity)];
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param value 非负整数
+     * @return 集合是否发生变化
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char high = (char) (value >>> 16);
+        int idx = indexOf(high);
+        if (idx < 0) {
+            idx = -idx - 1;
+            insertContainer(idx, high, new ArrayContainer());
+        }
+        Container container = containers[idx];
+        int before = container.cardinality();
+        containers[idx] = container.add((char) value);
+        return containers[idx].cardinality() != before;
+    }
+
+    /**
+     * 删除元素
+     *
+     * @param value 整数
+     * @return 集合是否发生变化
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int idx = indexOf((char) (value >>> 16));
+        if (idx < 0) {
+            return false;
+        }
+        Container container = containers[idx];
+        int before = container.cardinality();
+        container = container.remove((char) value);
+        if (container.cardinality() == 0) {
+            removeContainer(idx);
+        } else {
+            containers[idx] = container;
+        }
+        return container.cardinality() != before;
+    }
+
+    /**
+     * 是否包含元素
+     *
+     * @param value 整数
+     * @return 是否包含
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int idx = indexOf((char) (value >>> 16));
+        return idx >= 0 && containers[idx].contains((char) value);
+    }
+
+    /**
+     * 元素个数
+     *
+     * @return 基数
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 按升序遍历元素
+     *
+     * @param action 处理函数
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * 升序数组
+     *
+     * @return 元素数组
+     */
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int[] pos = {0};
+        forEach(value -> out[pos[0]++] = value);
+        return out;
+    }
+
+    /**
+     * 深拷贝
+     *
+     * @return 新集合
+     */
+    public RoaringIntSet copy() {
+        RoaringIntSet copy = new RoaringIntSet(size);
+        for (int i = 0; i < size; i++) {
+            copy.keys[i] = keys[i];
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * 交集
+     *
+     * @param a 集合
+     * @param b 集合
+     * @return 新集合
+     */
+    public static RoaringIntSet and(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet out = new RoaringIntSet(Math.min(a.size, b.size));
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container c = a.containers[i].and(b.containers[j]);
+                if (c.cardinality() > 0) {
+                    out.appendContainer(a.keys[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 并集
+     *
+     * @param a 集合
+     * @param b 集合
+     * @return 新集合
+     */
+    public static RoaringIntSet or(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet out = new RoaringIntSet(a.size + b.size);
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                out.appendContainer(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i >= a.size || a.keys[i] > b.keys[j]) {
+                out.appendContainer(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                out.appendContainer(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("只支持非负整数: " + value);
+        }
+    }
+
+    private int indexOf(char high) {
+        // 桶数通常很少，末尾命中（递增写入）最常见
+        if (size > 0 && keys[size - 1] == high) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertContainer(int idx, char high, Container container) {
+        ensureCapacity(size + 1);
+        System.arraycopy(keys, idx, keys, idx + 1, size - idx);
+        System.arraycopy(containers, idx, containers, idx + 1, size - idx);
+        keys[idx] = high;
+        containers[idx] = container;
+        size++;
+    }
+
+    private void removeContainer(int idx) {
+        System.arraycopy(keys, idx + 1, keys, idx, size - idx - 1);
+        System.arraycopy(containers, idx + 1, containers, idx, size - idx - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private void appendContainer(char high, Container container) {
+        ensureCapacity(size + 1);
+        keys[size] = high;
+        containers[size] = container;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int newCapacity = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            containers = Arrays.copyOf(containers, newCapacity);
+        }
+    }
+
+    /**
+     * 低16位容器；修改操作可能返回另一种类型的容器
+     */
+    private abstract static class Container {
+
+        abstract Container add(char low);
+
+        abstract Container remove(char low);
+
+        abstract boolean contains(char low);
+
+        abstract int cardinality();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract void forEach(int base, IntConsumer action);
+
+        abstract Container copy();
+    }
+
+    /**
+     * 有序数组容器
+     */
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int card;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int card) {
+            this.values = values;
+            this.card = card;
+        }
+
+        @Override
+        Container add(char low) {
+            int idx = Arrays.binarySearch(values, 0, card, low);
+            if (idx >= 0) {
+                return this;
+            }
+            if (card >= ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            idx = -idx - 1;
+            if (card == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, values.length * 2));
+            }
+            System.arraycopy(values, idx, values, idx + 1, card - idx);
+            values[idx] = low;
+            card++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            int idx = Arrays.binarySearch(values, 0, card, low);
+            if (idx >= 0) {
+                System.arraycopy(values, idx + 1, values, idx, card - idx - 1);
+                card--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, card, low) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return card;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] out = new char[card];
+            int n = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < card && j < array.card) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        out[n++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < card; i++) {
+                    if (other.contains(values[i])) {
+                        out[n++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] out = new char[card + array.card];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < card || j < array.card) {
+                if (j >= array.card || (i < card && values[i] < array.values[j])) {
+                    out[n++] = values[i++];
+                } else if (i >= card || values[i] > array.values[j]) {
+                    out[n++] = array.values[j++];
+                } else {
+                    out[n++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer merged = new ArrayContainer(out, n);
+            return n > ARRAY_MAX ? merged.toBitmap() : merged;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < card; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, card)), card);
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < card; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * 位图容器（65536位）
+     */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int card;
+
+        BitmapContainer() {
+            this(new long[1024], 0);
+        }
+
+        BitmapContainer(long[] words, int card) {
+            this.words = words;
+            this.card = card;
+        }
+
+        @Override
+        Container add(char low) {
+            long mask = 1L << low;
+            int w = low >>> 6;
+            if ((words[w] & mask) == 0) {
+                words[w] |= mask;
+                card++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            long mask = 1L << low;
+            int w = low >>> 6;
+            if ((words[w] & mask) != 0) {
+                words[w] &= ~mask;
+                card--;
+                if (card <= ARRAY_MAX) {
+                    return toArray();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return card;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            long[] out = new long[1024];
+            int n = 0;
+            for (int i = 0; i < 1024; i++) {
+                out[i] = words[i] & bitmap.words[i];
+                n += Long.bitCount(out[i]);
+            }
+            BitmapContainer result = new BitmapContainer(out, n);
+            return n <= ARRAY_MAX ? result.toArray() : result;
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.card; i++) {
+                    result.add(array.values[i]);
+                }
+                return result;
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            int n = 0;
+            for (int i = 0; i < 1024; i++) {
+                result.words[i] |= bitmap.words[i];
+                n += Long.bitCount(result.words[i]);
+            }
+            result.card = n;
+            return result;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < 1024; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), card);
+        }
+
+        ArrayContainer toArray() {
+            char[] values = new char[card];
+            int n = 0;
+            for (int i = 0; i < 1024; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[n++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, n);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.aibidcomposer.common.biz.search;
+
+import java.util.List;
+
+/**
+ * 全文检索分词器
+ *
+ * <p>索引与查询使用同一个分词器，词项按顺序返回（下标即位置，用于短语匹配）。
+ * 默认实现为 {@link CjkBigramTokenizer}；需要词典分词（如 jieba、HanLP）时注册自己的 Bean 即可替换，
+ * 替换后需要重建索引（把 search_indexed_at 置空即可由后台任务重建）。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-011
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public interface SearchTokenizer {
+
+    /**
+     * 分词
+     *
+     * @param text 文本，可为null
+     * @return 按出现顺序的词项（已归一化），文本为空时返回空列表
+     */
+    List<String> tokenize(String text);
+}
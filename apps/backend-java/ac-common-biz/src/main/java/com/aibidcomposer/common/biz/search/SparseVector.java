@@ -0,0 +1,90 @@
+package com.aibidcomposer.common.biz.search;
+
+/**
+ * 稀疏特征向量
+ *
+ * <p>维度下标升序存放在 int 数组中，权重为 float，构造后不可变，可在线程间共享。
+ * 由 {@link TfIdfModel} 生成时已做 L2 归一化，点积即余弦相似度。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-013
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class SparseVector {
+
+    /**
+     * 空向量
+     */
+    public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    private final int[] indices;
+    private final float[] weights;
+
+    /**
+     * @param indices 维度下标（升序、不重复），调用方不得再修改
+     * @param weights 对应权重，调用方不得再修改
+     */
+    SparseVector(int[] indices, float[] weights) {
+        this.indices = indices;
+        this.weights = weights;
+    }
+
+    /**
+     * 非零维度数
+     *
+     * @return 维度数
+     */
+    public int size() {
+        return indices.length;
+    }
+
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    /**
+     * 第 i 个非零维度的下标
+     *
+     * @param i 序号
+     * @return 维度下标
+     */
+    public int indexAt(int i) {
+        return indices[i];
+    }
+
+    /**
+     * 第 i 个非零维度的权重
+     *
+     * @param i 序号
+     * @return 权重
+     */
+    public float weightAt(int i) {
+        return weights[i];
+    }
+
+    /**
+     * 点积（两个有序下标数组归并）
+     *
+     * @param other 另一个向量
+     * @return 点积
+     */
+    public float dot(SparseVector other) {
+        int[] a = indices;
+        int[] b = other.indices;
+        int i = 0;
+        int j = 0;
+        float sum = 0f;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                sum += weights[i++] * other.weights[j++];
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,246 @@
+package com.aibidcomposer.common.biz.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 词项位矩阵（字典编码 + 每行一个位集）
+ *
+ * <p>适用于“每条记录带一组短标签、按标签集合做覆盖/计数查询”的场景（如人员技能）：</p>
+ * <ul>
+ *   <li>字典：归一化后的词项（NFKC、小写、合并空白）→ 连续位下标</li>
+ *   <li>位集：全部行连续存放在一个 long 数组中，每行 ⌈词项数/64⌉ 个字</li>
+ *   <li>查询：查询词项先编码为掩码，覆盖判断与命中计数都是逐字 AND + bitCount</li>
+ * </ul>
+ * <p>构建后只读，可在线程间共享；数据变化时整体重建。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-014
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class TermBitMatrix {
+
+    private final Map<String, Integer> dictionary;
+    private final String[] terms;
+    private final int words;
+    private final int rows;
+    private final long[] bits;
+
+    private TermBitMatrix(Map<String, Integer> dictionary, String[] terms, int rows, long[] bits) {
+        this.dictionary = dictionary;
+        this.terms = terms;
+        this.words = Math.max(1, (terms.length + 63) >>> 6);
+        this.rows = rows;
+        this.bits = bits;
+    }
+
+    /**
+     * 构建
+     *
+     * @param rowTerms 每行的词项（空白、重复的忽略）
+     * @return 位矩阵
+     */
+    public static TermBitMatrix build(List<? extends Collection<String>> rowTerms) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> terms = new ArrayList<>();
+        List<int[]> encoded = new ArrayList<>(rowTerms.size());
+        for (Collection<String> row : rowTerms) {
+            int[] ids = new int[row == null ? 0 : row.size()];
+            int n = 0;
+            if (row != null) {
+                for (String term : row) {
+                    String normalized = normalize(term);
+                    if (normalized.isEmpty()) {
+                        continue;
+                    }
+                    Integer id = dictionary.get(normalized);
+                    if (id == null) {
+                        id = terms.size();
+                        dictionary.put(normalized, id);
+                        terms.add(normalized);
+                    }
+                    ids[n++] = id;
+                }
+            }
+            encoded.add(n == ids.length ? ids : Arrays.copyOf(ids, n));
+        }
+        int words = Math.max(1, (terms.size() + 63) >>> 6);
+        long[] bits = new long[encoded.size() * words];
+        for (int row = 0; row < encoded.size(); row++) {
+            for (int id : encoded.get(row)) {
+                bits[row * words + (id >>> 6)] |= 1L << id;
+            }
+        }
+        return new TermBitMatrix(Map.copyOf(dictionary), terms.toArray(new String[0]), encoded.size(), bits);
+    }
+
+    /**
+     * 词项归一化：NFKC、小写、去首尾空白、合并连续空白
+     *
+     * @param term 词项
+     * @return 归一化结果，null 返回空串
+     */
+    public static String normalize(String term) {
+        if (term == null) {
+            return "";
+        }
+        return Normalizer.normalize(term, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 行数
+     *
+     * @return 行数
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * 字典大小
+     *
+     * @return 词项数
+     */
+    public int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * 词项是否在字典中
+     *
+     * @param term 词项（未归一化）
+     * @return 是否存在
+     */
+    public boolean contains(String term) {
+        return dictionary.containsKey(normalize(term));
+    }
+
+    /**
+     * 把词项编码为掩码，不在字典中的词项忽略
+     *
+     * @param queryTerms 词项（未归一化）
+     * @return 掩码
+     */
+    public long[] mask(Collection<String> queryTerms) {
+        long[] mask = new long[words];
+        if (queryTerms != null) {
+            for (String term : queryTerms) {
+                Integer id = dictionary.get(normalize(term));
+                if (id != null) {
+                    mask[id >>> 6] |= 1L << id;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 行是否包含掩码中的全部词项
+     *
+     * @param row  行号
+     * @param mask 掩码
+     * @return 是否全部包含
+     */
+    public boolean coversAll(int row, long[] mask) {
+        int base = row * words;
+        for (int w = 0; w < words; w++) {
+            if ((bits[base + w] & mask[w]) != mask[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 行包含掩码中词项的个数
+     *
+     * @param row  行号
+     * @param mask 掩码
+     * @return 命中数
+     */
+    public int countMatches(int row, long[] mask) {
+        int base = row * words;
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(bits[base + w] & mask[w]);
+        }
+        return count;
+    }
+
+    /**
+     * 从掩码中去掉行包含的词项（贪心覆盖时更新“未覆盖”集合）
+     *
+     * @param mask 掩码（原地修改）
+     * @param row  行号
+     */
+    public void clear(long[] mask, int row) {
+        int base = row * words;
+        for (int w = 0; w < words; w++) {
+            mask[w] &= ~bits[base + w];
+        }
+    }
+
+    /**
+     * 掩码是否为空
+     *
+     * @param mask 掩码
+     * @return 是否没有任何词项
+     */
+    public static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 行与掩码共有的词项（归一化形式）
+     *
+     * @param row  行号
+     * @param mask 掩码
+     * @return 词项，按字典编码顺序
+     */
+    public List<String> matchedTerms(int row, long[] mask) {
+        List<String> out = new ArrayList<>();
+        int base = row * words;
+        for (int w = 0; w < words; w++) {
+            long word = bits[base + w] & mask[w];
+            while (word != 0) {
+                out.add(terms[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 掩码中的词项（归一化形式）
+     *
+     * @param mask 掩码
+     * @return 词项，按字典编码顺序
+     */
+    public List<String> termsOf(long[] mask) {
+        List<String> out = new ArrayList<>();
+        for (int w = 0; w < words; w++) {
+            long word = mask[w];
+            while (word != 0) {
+                out.add(terms[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+        return out;
+    }
+}
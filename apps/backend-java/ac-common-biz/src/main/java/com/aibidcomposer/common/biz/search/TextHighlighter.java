@@ -0,0 +1,129 @@
+package com.aibidcomposer.common.biz.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 检索结果摘要与高亮
+ *
+ * <p>在原文中查找查询词（忽略大小写），取命中最密集的一段作为摘要，命中处包裹 {@code <em>}，
+ * 其余文本做 HTML 转义，前端可直接渲染。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-011
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class TextHighlighter {
+
+    private static final String ELLIPSIS = "…";
+
+    private TextHighlighter() {
+    }
+
+    /**
+     * 生成高亮摘要
+     *
+     * @param text 原文
+     * @param terms 查询词
+     * @param snippetLength 摘要长度（字符数）
+     * @return 高亮摘要，原文为空时返回空串
+     */
+    public static String highlight(String text, Collection<String> terms, int snippetLength) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        List<int[]> hits = findHits(text, terms);
+        int length = Math.max(1, snippetLength);
+        int start = 0;
+        if (!hits.isEmpty()) {
+            // 以每个命中为窗口起点，取窗口内命中数最多的位置
+            int best = 0;
+            int bestCount = 0;
+            int right = 0;
+            for (int left = 0; left < hits.size(); left++) {
+                while (right < hits.size() && hits.get(right)[1] <= (long) hits.get(left)[0] + length) {
+                    right++;
+                }
+                if (right - left > bestCount) {
+                    bestCount = right - left;
+                    best = left;
+                }
+            }
+            // 命中前保留少量上下文
+            start = Math.max(0, hits.get(best)[0] - length / 5);
+        }
+        int end = (int) Math.min(text.length(), (long) start + length);
+        if (end - start < length) {
+            start = Math.max(0, end - length);
+        }
+        if (start > 0 && Character.isLowSurrogate(text.charAt(start))) {
+            start++;
+        }
+        if (end < text.length() && Character.isLowSurrogate(text.charAt(end))) {
+            end--;
+        }
+
+        StringBuilder sb = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            sb.append(ELLIPSIS);
+        }
+        int cursor = start;
+        for (int[] hit : hits) {
+            if (hit[1] <= start || hit[0] >= end) {
+                continue;
+            }
+            int hitStart = Math.max(hit[0], start);
+            int hitEnd = Math.min(hit[1], end);
+            if (hitStart < cursor) {
+                continue;
+            }
+            escape(sb, text, cursor, hitStart);
+            sb.append("<em>");
+            escape(sb, text, hitStart, hitEnd);
+            sb.append("</em>");
+            cursor = hitEnd;
+        }
+        escape(sb, text, cursor, end);
+        if (end < text.length()) {
+            sb.append(ELLIPSIS);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 查找所有命中区间 [start, end)，按起点排序，重叠区间取最长
+     */
+    private static List<int[]> findHits(String text, Collection<String> terms) {
+        List<int[]> hits = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            int longest = 0;
+            for (String term : terms) {
+                if (term.length() > longest && text.regionMatches(true, i, term, 0, term.length())) {
+                    longest = term.length();
+                }
+            }
+            if (longest > 0) {
+                hits.add(new int[]{i, i + longest});
+                i += longest - 1;
+            }
+        }
+        return hits;
+    }
+
+    private static void escape(StringBuilder sb, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> sb.append(c);
+            }
+        }
+    }
+}
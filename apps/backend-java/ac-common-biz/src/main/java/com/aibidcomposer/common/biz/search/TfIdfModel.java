@@ -0,0 +1,186 @@
+package com.aibidcomposer.common.biz.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TF-IDF 特征模型
+ *
+ * <p>对一组文档（词项列表，通常来自 {@link SearchTokenizer}）一次性建模：</p>
+ * <ul>
+ *   <li>词表：词项 → 连续的维度下标；IDF = ln(1 + N / (1 + df))</li>
+ *   <li>文档向量：TF 取 1 + ln(tf)，乘 IDF 后做 L2 归一化，预先计算并保存</li>
+ *   <li>倒排：维度 → (文档, 权重)；{@link #scoreAll} 只遍历查询向量的非零维度，
+ *       一次得到查询与全部文档的余弦相似度，不需要逐对计算</li>
+ * </ul>
+ * <p>建模后只读，查询可在多个线程中并发执行（每个线程使用自己的分数数组）。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-013
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class TfIdfModel {
+
+    private final Map<String, Integer> vocabulary;
+    private final float[] idf;
+    private final SparseVector[] documents;
+    private final int[][] postingDocs;
+    private final float[][] postingWeights;
+
+    private TfIdfModel(Map<String, Integer> vocabulary, float[] idf, SparseVector[] documents) {
+        this.vocabulary = vocabulary;
+        this.idf = idf;
+        this.documents = documents;
+
+        int[] df = new int[idf.length];
+        for (SparseVector doc : documents) {
+            for (int i = 0; i < doc.size(); i++) {
+                df[doc.indexAt(i)]++;
+            }
+        }
+        this.postingDocs = new int[idf.length][];
+        this.postingWeights = new float[idf.length][];
+        for (int term = 0; term < idf.length; term++) {
+            postingDocs[term] = new int[df[term]];
+            postingWeights[term] = new float[df[term]];
+        }
+        int[] fill = new int[idf.length];
+        for (int d = 0; d < documents.length; d++) {
+            SparseVector doc = documents[d];
+            for (int i = 0; i < doc.size(); i++) {
+                int term = doc.indexAt(i);
+                postingDocs[term][fill[term]] = d;
+                postingWeights[term][fill[term]++] = doc.weightAt(i);
+            }
+        }
+    }
+
+    /**
+     * 建模
+     *
+     * @param corpus 文档词项列表（重复出现的词项计入词频）
+     * @return 模型
+     */
+    public static TfIdfModel fit(List<? extends Collection<String>> corpus) {
+        Map<String, Integer> vocabulary = new HashMap<>();
+        int[] df = new int[64];
+        for (Collection<String> tokens : corpus) {
+            for (String token : Set.copyOf(tokens)) {
+                int term = vocabulary.computeIfAbsent(token, t -> vocabulary.size());
+                if (term == df.length) {
+                    df = Arrays.copyOf(df, df.length * 2);
+                }
+                df[term]++;
+            }
+        }
+        int n = corpus.size();
+        float[] idf = new float[vocabulary.size()];
+        for (int term = 0; term < idf.length; term++) {
+            idf[term] = (float) Math.log(1.0 + (double) n / (1 + df[term]));
+        }
+        Map<String, Integer> frozen = Map.copyOf(vocabulary);
+        SparseVector[] documents = new SparseVector[n];
+        for (int d = 0; d < n; d++) {
+            documents[d] = weigh(frozen, idf, corpus.get(d));
+        }
+        return new TfIdfModel(frozen, idf, documents);
+    }
+
+    /**
+     * 文档数
+     *
+     * @return 文档数
+     */
+    public int documentCount() {
+        return documents.length;
+    }
+
+    /**
+     * 预先计算的文档向量
+     *
+     * @param document 文档序号（与建模时的顺序一致）
+     * @return 文档向量
+     */
+    public SparseVector document(int document) {
+        return documents[document];
+    }
+
+    /**
+     * 词项是否出现在任一文档中
+     *
+     * @param term 词项
+     * @return 是否在词表中
+     */
+    public boolean contains(String term) {
+        return vocabulary.containsKey(term);
+    }
+
+    /**
+     * 按本模型的词表与 IDF 生成查询向量，词表外的词项忽略
+     *
+     * @param tokens 词项（重复出现的计入词频）
+     * @return 归一化后的向量
+     */
+    public SparseVector vectorize(Collection<String> tokens) {
+        return weigh(vocabulary, idf, tokens);
+    }
+
+    /**
+     * 计算查询向量与全部文档的余弦相似度
+     *
+     * @param query  查询向量（由 {@link #vectorize} 生成）
+     * @param scores 输出数组，长度不小于文档数；先清零再累加
+     */
+    public void scoreAll(SparseVector query, float[] scores) {
+        Arrays.fill(scores, 0, documents.length, 0f);
+        for (int i = 0; i < query.size(); i++) {
+            int term = query.indexAt(i);
+            float weight = query.weightAt(i);
+            int[] docs = postingDocs[term];
+            float[] weights = postingWeights[term];
+            for (int p = 0; p < docs.length; p++) {
+                scores[docs[p]] += weight * weights[p];
+            }
+        }
+    }
+
+    private static SparseVector weigh(Map<String, Integer> vocabulary, float[] idf, Collection<String> tokens) {
+        Map<Integer, Integer> tf = new HashMap<>();
+        for (String token : tokens) {
+            Integer term = vocabulary.get(token);
+            if (term != null) {
+                tf.merge(term, 1, Integer::sum);
+            }
+        }
+        if (tf.isEmpty()) {
+            return SparseVector.EMPTY;
+        }
+        int[] indices = new int[tf.size()];
+        int k = 0;
+        for (Integer term : tf.keySet()) {
+            indices[k++] = term;
+        }
+        Arrays.sort(indices);
+        float[] weights = new float[indices.length];
+        double norm = 0;
+        for (int i = 0; i < indices.length; i++) {
+            float w = (float) ((1.0 + Math.log(tf.get(indices[i]))) * idf[indices[i]]);
+            weights[i] = w;
+            norm += (double) w * w;
+        }
+        if (norm == 0) {
+            return SparseVector.EMPTY;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] *= inv;
+        }
+        return new SparseVector(indices, weights);
+    }
+}
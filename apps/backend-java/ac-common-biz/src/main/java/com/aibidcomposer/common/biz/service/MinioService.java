@@ -1,20 +1,40 @@
 package com.aibidcomposer.common.biz.service;
 
 import com.aibidcomposer.common.biz.config.MinioConfig;
+import com.aibidcomposer.common.biz.dto.FileUploadResult;
+import com.aibidcomposer.common.util.Sha256Util;
 import io.minio.*;
 import io.minio.errors.*;
 import io.minio.http.Method;
+import io.minio.messages.Part;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * MinIO文件存储服务
@@ -31,9 +51,62 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class MinioService {
 
+    /**
+     * S3分片上传的最小分片大小（5MB）
+     */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /**
+     * S3分片上传的最大分片数量
+     */
+    private static final int MAX_PART_COUNT = 10000;
+
     private final MinioClient minioClient;
+    private final MultipartMinioClient multipartMinioClient;
     private final MinioConfig minioConfig;
 
+    /**
+     * 已确认存在的桶（避免每次上传都调用 bucketExists）
+     */
+    private final Set<String> knownBuckets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 分片上传线程池
+     */
+    private ExecutorService uploadExecutor;
+
+    /**
+     * 分片内存许可（全局限制同时驻留堆中的分片数量）
+     */
+    private Semaphore partBufferPermits;
+
+    /**
+     * 初始化分片上传线程池
+     */
+    @PostConstruct
+    public void init() {
+        int concurrency = Math.max(1, minioConfig.getUploadConcurrency());
+        AtomicInteger threadCounter = new AtomicInteger();
+        uploadExecutor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "minio-upload-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        partBufferPermits = new Semaphore(Math.max(concurrency, minioConfig.getUploadMaxBufferedParts()));
+    }
+
+    /**
+     * 关闭分片上传线程池
+     */
+    @PreDestroy
+    public void destroy() {
+        uploadExecutor.shutdown();
+    }
+
     /**
      * 上传文件
      *
@@ -44,7 +117,7 @@ public class MinioService {
      */
     public String uploadFile(MultipartFile file, String bucketName) throws Exception {
         // 确保桶存在
-        createBucketIfNotExists(bucketName);
+        ensureBucket(bucketName);
 
         // 生成唯一文件名
         String fileName = generateUniqueFileName(file.getOriginalFilename());
@@ -76,6 +149,127 @@ public class MinioService {
         return uploadFile(file, minioConfig.getBucketName());
     }
 
+    /**
+     * 流式上传文件（大文件并发分片上传）
+     *
+     * <p>按 {@code minio.upload-part-size} 从流中逐片读取，边读边计算SHA-256，
+     * 分片在有界线程池中并发上传。堆中同时驻留的分片数受
+     * {@code minio.upload-max-buffered-parts} 限制，不会把整个文件读入内存或落盘。
+     * 数据不足一个分片时直接单次上传。上传失败时会取消分片上传，不留下残片。</p>
+     *
+     * @param inputStream      文件流（调用方负责关闭）
+     * @param originalFilename 原始文件名（用于保留扩展名）
+     * @param contentType      内容类型
+     * @param bucketName       桶名称
+     * @return 上传结果（含对象名、大小与SHA-256）
+     * @throws Exception 异常
+     */
+    public FileUploadResult uploadStream(InputStream inputStream, String originalFilename,
+                                         String contentType, String bucketName) throws Exception {
+        ensureBucket(bucketName);
+
+        String objectName = generateUniqueFileName(originalFilename);
+        int partSize = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(MIN_PART_SIZE, minioConfig.getUploadPartSize()));
+        MessageDigest digest = Sha256Util.newDigest();
+
+        partBufferPermits.acquire();
+        byte[] data;
+        try {
+            data = readPart(inputStream, partSize, digest);
+        } catch (Exception e) {
+            partBufferPermits.release();
+            throw e;
+        }
+
+        // 不足一个分片：直接上传
+        if (data.length < partSize) {
+            try {
+                ObjectWriteResponse response = minioClient.putObject(
+                        PutObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .stream(new ByteArrayInputStream(data), data.length, -1)
+                                .contentType(contentType)
+                                .build()
+                );
+                log.info("文件上传成功: bucket={}, fileName={}, size={}", bucketName, objectName, data.length);
+                return new FileUploadResult(bucketName, objectName, data.length,
+                        Sha256Util.toHex(digest), response.etag(), 1);
+            } finally {
+                partBufferPermits.release();
+            }
+        }
+
+        String uploadId;
+        try {
+            uploadId = multipartMinioClient.createUpload(bucketName, objectName, contentType);
+        } catch (Exception e) {
+            partBufferPermits.release();
+            throw e;
+        }
+
+        List<Future<Part>> futures = new ArrayList<>();
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        long totalSize = 0;
+        try {
+            int partNumber = 0;
+            while (true) {
+                partNumber++;
+                if (partNumber > MAX_PART_COUNT) {
+                    partBufferPermits.release();
+                    throw new IllegalStateException("文件超过最大分片数量: " + MAX_PART_COUNT);
+                }
+                totalSize += data.length;
+                futures.add(submitPart(bucketName, objectName, uploadId, partNumber, data, aborted));
+                if (data.length < partSize) {
+                    break;
+                }
+
+                failFast(futures);
+                partBufferPermits.acquire();
+                try {
+                    data = readPart(inputStream, partSize, digest);
+                } catch (Exception e) {
+                    partBufferPermits.release();
+                    throw e;
+                }
+                if (data.length == 0) {
+                    partBufferPermits.release();
+                    break;
+                }
+            }
+
+            Part[] parts = new Part[futures.size()];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = awaitPart(futures.get(i));
+            }
+            String etag = multipartMinioClient.completeUpload(bucketName, objectName, uploadId, parts);
+
+            log.info("文件分片上传成功: bucket={}, fileName={}, size={}, parts={}",
+                    bucketName, objectName, totalSize, parts.length);
+            return new FileUploadResult(bucketName, objectName, totalSize,
+                    Sha256Util.toHex(digest), etag, parts.length);
+        } catch (Exception e) {
+            aborted.set(true);
+            abortQuietly(bucketName, objectName, uploadId);
+            throw e;
+        }
+    }
+
+    /**
+     * 流式上传文件到默认桶
+     *
+     * @param inputStream      文件流（调用方负责关闭）
+     * @param originalFilename 原始文件名
+     * @param contentType      内容类型
+     * @return 上传结果
+     * @throws Exception 异常
+     */
+    public FileUploadResult uploadStream(InputStream inputStream, String originalFilename,
+                                         String contentType) throws Exception {
+        return uploadStream(inputStream, originalFilename, contentType, minioConfig.getBucketName());
+    }
+
     /**
      * 下载文件
      *
@@ -193,6 +387,86 @@ public class MinioService {
         return fileExists(fileName, minioConfig.getBucketName());
     }
 
+    /**
+     * 确保桶存在（已确认存在的桶不再访问MinIO）
+     *
+     * @param bucketName 桶名称
+     * @throws Exception 异常
+     */
+    private void ensureBucket(String bucketName) throws Exception {
+        if (knownBuckets.contains(bucketName)) {
+            return;
+        }
+        createBucketIfNotExists(bucketName);
+        knownBuckets.add(bucketName);
+    }
+
+    /**
+     * 提交分片上传任务，任务结束后释放分片内存许可（上传已取消时跳过上传，仍释放许可）
+     */
+    private Future<Part> submitPart(String bucketName, String objectName, String uploadId,
+                                    int partNumber, byte[] data, AtomicBoolean aborted) {
+        try {
+            return uploadExecutor.submit(() -> {
+                try {
+                    if (aborted.get()) {
+                        throw new CancellationException("分片上传已取消");
+                    }
+                    return multipartMinioClient.uploadPart(bucketName, objectName, uploadId,
+                            partNumber, data, data.length);
+                } finally {
+                    partBufferPermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            partBufferPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 从流中读取一个分片并更新摘要
+     *
+     * @param inputStream 文件流
+     * @param partSize    分片大小
+     * @param digest      摘要
+     * @return 分片数据（长度小于partSize表示已到流末尾）
+     * @throws IOException 读取异常
+     */
+    private byte[] readPart(InputStream inputStream, int partSize, MessageDigest digest) throws IOException {
+        byte[] data = inputStream.readNBytes(partSize);
+        digest.update(data);
+        return data;
+    }
+
+    /**
+     * 已有分片失败时立即终止，不再继续读取剩余数据
+     */
+    private void failFast(List<Future<Part>> futures) throws Exception {
+        for (Future<Part> future : futures) {
+            if (future.isDone()) {
+                awaitPart(future);
+            }
+        }
+    }
+
+    private Part awaitPart(Future<Part> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ex ? ex : e;
+        }
+    }
+
+    private void abortQuietly(String bucketName, String objectName, String uploadId) {
+        try {
+            multipartMinioClient.abortUpload(bucketName, objectName, uploadId);
+        } catch (Exception e) {
+            log.warn("取消分片上传失败: bucket={}, fileName={}, uploadId={}", bucketName, objectName, uploadId, e);
+        }
+    }
+
     /**
      * 创建桶（如果不存在）
      *
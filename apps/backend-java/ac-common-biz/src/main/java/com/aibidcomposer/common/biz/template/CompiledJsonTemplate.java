@@ -0,0 +1,115 @@
+package com.aibidcomposer.common.biz.template;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 预编译的JSON结构模板
+ *
+ * <p>用于 Map / List / 标量组成的JSON内容（如模板内容）：编译时遍历一次，
+ * 含占位符的字符串叶子编译为 {@link CompiledTemplate}，其余叶子原样保存；
+ * 渲染时按编译结果生成新的 Map / List，不修改编译时的输入。</p>
+ * <p>实例不可变，可在线程间共享和缓存。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class CompiledJsonTemplate {
+
+    private final Node root;
+
+    private CompiledJsonTemplate(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * 编译JSON内容
+     *
+     * @param content JSON内容
+     * @return 编译结果
+     */
+    public static CompiledJsonTemplate compile(Map<String, Object> content) {
+        return new CompiledJsonTemplate(compileNode(content));
+    }
+
+    /**
+     * 渲染
+     *
+     * @param resolver 变量取值，返回null表示无取值
+     * @param buffer 字符串叶子渲染时复用的缓冲区
+     * @return 渲染后的新内容，编译输入为null时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> render(Function<String, ?> resolver, StringBuilder buffer) {
+        return (Map<String, Object>) root.render(resolver, buffer);
+    }
+
+    private static Node compileNode(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Node> children = new LinkedHashMap<>();
+            map.forEach((k, v) -> children.put(String.valueOf(k), compileNode(v)));
+            return new MapNode(children);
+        }
+        if (value instanceof List<?> list) {
+            List<Node> children = new ArrayList<>(list.size());
+            list.forEach(v -> children.add(compileNode(v)));
+            return new ListNode(children);
+        }
+        if (value instanceof String text) {
+            CompiledTemplate template = CompiledTemplate.compile(text);
+            return template.isConstant() ? new ConstantNode(text) : new TextNode(template);
+        }
+        return new ConstantNode(value);
+    }
+
+    private interface Node {
+
+        Object render(Function<String, ?> resolver, StringBuilder buffer);
+    }
+
+    private record ConstantNode(Object value) implements Node {
+
+        @Override
+        public Object render(Function<String, ?> resolver, StringBuilder buffer) {
+            return value;
+        }
+    }
+
+    private record TextNode(CompiledTemplate template) implements Node {
+
+        @Override
+        public Object render(Function<String, ?> resolver, StringBuilder buffer) {
+            buffer.setLength(0);
+            template.renderTo(buffer, resolver);
+            return buffer.toString();
+        }
+    }
+
+    private record MapNode(Map<String, Node> children) implements Node {
+
+        @Override
+        public Object render(Function<String, ?> resolver, StringBuilder buffer) {
+            Map<String, Object> out = new LinkedHashMap<>(children.size() * 2);
+            children.forEach((k, node) -> out.put(k, node.render(resolver, buffer)));
+            return out;
+        }
+    }
+
+    private record ListNode(List<Node> children) implements Node {
+
+        @Override
+        public Object render(Function<String, ?> resolver, StringBuilder buffer) {
+            List<Object> out = new ArrayList<>(children.size());
+            for (Node node : children) {
+                out.add(node.render(resolver, buffer));
+            }
+            return out;
+        }
+    }
+}
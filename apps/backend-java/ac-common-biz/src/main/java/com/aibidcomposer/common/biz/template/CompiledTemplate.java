@@ -0,0 +1,149 @@
+package com.aibidcomposer.common.biz.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 预编译的文本模板
+ *
+ * <p>占位符语法为 {@code {{name}}}（名称两侧空白忽略）。编译时线性扫描一次，
+ * 拆成"文本片段 / 变量名"交替的数组；渲染时按顺序拼接，不再解析原文，也不使用正则。
+ * 变量无取值时原样保留占位符，便于在文档中定位未填写的变量。</p>
+ * <p>实例不可变，可在线程间共享和缓存。</p>
+ *
+ * 需求编号: REQ-JAVA-COMMON-BIZ-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private static final CompiledTemplate EMPTY = new CompiledTemplate(new String[]{""}, new String[0], 0);
+
+    /**
+     * 文本片段，长度 = variables.length + 1
+     */
+    private final String[] literals;
+
+    /**
+     * 变量名，位于 literals[i] 与 literals[i + 1] 之间
+     */
+    private final String[] variables;
+
+    /**
+     * 文本片段总长度（渲染时预估容量）
+     */
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] variables, int literalLength) {
+        this.literals = literals;
+        this.variables = variables;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * 编译模板文本
+     *
+     * @param text 模板文本，为null时视为空串
+     * @return 编译结果
+     */
+    public static CompiledTemplate compile(String text) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> literalList = new ArrayList<>();
+        List<String> variableList = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = 0;
+        int pos = 0;
+        while (pos < text.length()) {
+            int open = text.indexOf(OPEN, pos);
+            if (open < 0) {
+                break;
+            }
+            int close = text.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+            String name = text.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty() || name.contains(OPEN)) {
+                // 非法占位符按普通文本处理
+                literal.append(text, pos, open + OPEN.length());
+                pos = open + OPEN.length();
+                continue;
+            }
+            literal.append(text, pos, open);
+            literalList.add(literal.toString());
+            length += literal.length();
+            literal.setLength(0);
+            variableList.add(name);
+            pos = close + CLOSE.length();
+        }
+        literal.append(text, pos, text.length());
+        literalList.add(literal.toString());
+        length += literal.length();
+        return new CompiledTemplate(literalList.toArray(new String[0]), variableList.toArray(new String[0]), length);
+    }
+
+    /**
+     * 是否不含变量（渲染结果恒为原文）
+     *
+     * @return 不含变量时为true
+     */
+    public boolean isConstant() {
+        return variables.length == 0;
+    }
+
+    /**
+     * 模板引用的变量名（去重，按首次出现顺序）
+     *
+     * @return 变量名
+     */
+    public Set<String> getVariableNames() {
+        Set<String> names = new LinkedHashSet<>();
+        Collections.addAll(names, variables);
+        return names;
+    }
+
+    /**
+     * 渲染为字符串
+     *
+     * @param resolver 变量取值，返回null表示无取值
+     * @return 渲染结果
+     */
+    public String render(Function<String, ?> resolver) {
+        if (isConstant()) {
+            return literals[0];
+        }
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 16);
+        renderTo(out, resolver);
+        return out.toString();
+    }
+
+    /**
+     * 渲染并追加到指定缓冲区（调用方可复用缓冲区）
+     *
+     * @param out 输出缓冲区
+     * @param resolver 变量取值，返回null表示无取值
+     */
+    public void renderTo(StringBuilder out, Function<String, ?> resolver) {
+        out.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            Object value = resolver.apply(variables[i]);
+            if (value == null) {
+                out.append(OPEN).append(variables[i]).append(CLOSE);
+            } else {
+                out.append(value);
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.aibidcomposer.common.biz.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -13,6 +15,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * JWT工具类
@@ -40,6 +43,16 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 默认24小时
     private Long expiration;
 
+    /**
+     * 签名密钥（首次使用时构建，之后复用）
+     */
+    private volatile SecretKey signingKey;
+
+    /**
+     * JWT解析器（不可变且线程安全，首次使用时构建，之后复用）
+     */
+    private volatile JwtParser jwtParser;
+
     /**
      * 生成JWT Token
      *
@@ -126,11 +139,23 @@ public class JwtUtil {
      * @return Claims
      */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseVerifiedClaims(token);
+    }
+
+    /**
+     * 解析并校验Token（一次解析完成签名与过期校验）
+     *
+     * <p>签名无效、格式错误或已过期时抛出 {@link JwtException}，
+     * 调用方可直接使用返回的声明，无需再次解析Token。</p>
+     *
+     * @param token JWT Token
+     * @return 已校验的Claims
+     * @throws JwtException Token无效或已过期
+     */
+    public Claims parseVerifiedClaims(String token) {
+        return getJwtParser()
+                .parseSignedClaims(token)
+                .getPayload();
     }
 
     /**
@@ -158,21 +183,56 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token, String username) {
         try {
-            String usernameFromToken = getUsernameFromToken(token);
-            return (usernameFromToken.equals(username) && !isTokenExpired(token));
+            return validateClaims(parseVerifiedClaims(token), username);
         } catch (Exception e) {
             log.error("Token验证失败", e);
             return false;
         }
     }
 
+    /**
+     * 验证已解析的声明（不重新解析Token）
+     *
+     * @param claims   已校验签名的Claims
+     * @param username 用户名
+     * @return 是否有效
+     */
+    public boolean validateClaims(Claims claims, String username) {
+        if (claims == null || !Objects.equals(claims.getSubject(), username)) {
+            return false;
+        }
+        Date expirationDate = claims.getExpiration();
+        return expirationDate != null && expirationDate.after(new Date());
+    }
+
     /**
      * 获取签名密钥
      *
      * @return SecretKey
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signingKey;
+        if (key == null) {
+            byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signingKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * 获取JWT解析器
+     *
+     * @return JwtParser
+     */
+    private JwtParser getJwtParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build();
+            jwtParser = parser;
+        }
+        return parser;
     }
 }
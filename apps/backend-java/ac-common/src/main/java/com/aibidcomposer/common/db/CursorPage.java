@@ -0,0 +1,102 @@
+package com.aibidcomposer.common.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor Pagination Result Class
+ *
+ * <p>Keyset counterpart of {@link Page}. Instead of a page number it carries
+ * the cursor of the next page, and the total row count is optional because
+ * counting is usually what makes deep paging on large tables expensive.</p>
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Builds itself from a query fetched with {@code pageSize + 1} rows</li>
+ *   <li>{@code nextCursor} is null on the last page</li>
+ *   <li>{@code totalRow} is null when the count was skipped</li>
+ * </ul>
+ * </p>
+ *
+ * <p>需求编号: REQ-JAVA-COMMON-007</p>
+ *
+ * @author AIBidComposer Team
+ * @version 1.0
+ * @since 2026-10-17
+ * @param <T> the type of elements in this page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * List of items in current page
+     */
+    private List<T> list;
+
+    /**
+     * Number of items per page
+     */
+    private Integer pageSize;
+
+    /**
+     * Encoded cursor of the next page, null if there is no next page
+     */
+    private String nextCursor;
+
+    /**
+     * Total number of records, null if the count was skipped
+     */
+    private Long totalRow;
+
+    /**
+     * Creates a page from rows fetched with a limit of {@code pageSize + 1}
+     *
+     * @param rows the fetched rows (at most pageSize + 1)
+     * @param pageSize the page size
+     * @param cursorOf extracts the cursor of a row
+     * @param <T> the type of elements
+     * @return new CursorPage instance without total count
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, KeysetCursor> cursorOf) {
+        return of(rows, pageSize, cursorOf, null);
+    }
+
+    /**
+     * Creates a page from rows fetched with a limit of {@code pageSize + 1}
+     *
+     * @param rows the fetched rows (at most pageSize + 1)
+     * @param pageSize the page size
+     * @param cursorOf extracts the cursor of a row
+     * @param totalRow the total number of records, or null if not counted
+     * @param <T> the type of elements
+     * @return new CursorPage instance
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, KeysetCursor> cursorOf,
+                                       Long totalRow) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, pageSize, null, totalRow);
+        }
+        List<T> list = new ArrayList<>(rows.subList(0, pageSize));
+        String nextCursor = cursorOf.apply(list.get(pageSize - 1)).encode();
+        return new CursorPage<>(list, pageSize, nextCursor, totalRow);
+    }
+
+    /**
+     * Checks if there is a next page
+     *
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.aibidcomposer.common.exception;
+
+import com.aibidcomposer.common.http.result.ResultCode;
+
+/**
+ * Downstream Busy Exception
+ *
+ * <p>This exception is thrown when a call to a downstream dependency (database pool,
+ * object storage, AI provider) cannot obtain a concurrency permit within the configured
+ * timeout. It corresponds to HTTP 503 Service Unavailable.</p>
+ *
+ * <p>Unlike other business exceptions the condition is transient: callers such as
+ * background task workers should treat it as retryable.</p>
+ *
+ * <p>Usage Examples:
+ * <pre>{@code
+ * throw new DownstreamBusyException("minio", 32);
+ * }</pre>
+ * </p>
+ *
+ * <p>需求编号: REQ-JAVA-COMMON-014</p>
+ *
+ * @author AIBidComposer Team
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class DownstreamBusyException extends BusinessException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Downstream name
+     */
+    private final String downstream;
+
+    /**
+     * Constructor with downstream name and limit
+     *
+     * @param downstream    the downstream name (e.g., "jdbc", "minio", "ai")
+     * @param maxConcurrent the configured concurrency limit
+     */
+    public DownstreamBusyException(String downstream, int maxConcurrent) {
+        super(ResultCode.SERVICE_UNAVAILABLE,
+              String.format("Downstream %s is busy (max concurrent: %d)", downstream, maxConcurrent));
+        this.downstream = downstream;
+    }
+
+    /**
+     * Get the downstream name
+     *
+     * @return the downstream name
+     */
+    public String getDownstream() {
+        return downstream;
+    }
+}
@@ -0,0 +1,97 @@
+package com.aibidcomposer.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 提示词流式统计实体
+ *
+ * <p>衰减加权和与衰减权重和都以 decayedAt 为参考时刻，
+ * 分位数草图的结构见 QuantileSketch#toMap。</p>
+ *
+ * 需求编号: REQ-JAVA-DAO-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@TableName(value = "ai_prompt_metrics", autoResultMap = true)
+public class AIPromptMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 提示词ID
+     */
+    @TableId(value = "prompt_id", type = IdType.INPUT)
+    private Long promptId;
+
+    /**
+     * 样本数
+     */
+    @TableField("sample_count")
+    private Long sampleCount;
+
+    /**
+     * Token数总和
+     */
+    @TableField("token_sum")
+    private Double tokenSum;
+
+    /**
+     * 成本总和
+     */
+    @TableField("cost_sum")
+    private Double costSum;
+
+    /**
+     * 衰减权重和
+     */
+    @TableField("decayed_weight")
+    private Double decayedWeight;
+
+    /**
+     * Token数衰减加权和
+     */
+    @TableField("decayed_token_sum")
+    private Double decayedTokenSum;
+
+    /**
+     * 成本衰减加权和
+     */
+    @TableField("decayed_cost_sum")
+    private Double decayedCostSum;
+
+    /**
+     * 衰减参考时刻（epoch毫秒）
+     */
+    @TableField("decayed_at")
+    private Long decayedAt;
+
+    /**
+     * Token数分位数草图
+     */
+    @TableField(value = "token_sketch", typeHandler = JacksonTypeHandler.class)
+    private Map<String, Object> tokenSketch;
+
+    /**
+     * 成本分位数草图
+     */
+    @TableField(value = "cost_sketch", typeHandler = JacksonTypeHandler.class)
+    private Map<String, Object> costSketch;
+
+    /**
+     * 更新时间
+     */
+    @TableField("updated_at")
+    private LocalDateTime updatedAt;
+}
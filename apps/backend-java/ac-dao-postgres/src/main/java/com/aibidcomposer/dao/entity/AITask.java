@@ -158,6 +158,24 @@ public class AITask extends BaseEntity {
     @TableField("max_retries")
     private Integer maxRetries;
 
+    /**
+     * 持有租约的工作节点
+     */
+    @TableField("lease_owner")
+    private String leaseOwner;
+
+    /**
+     * 租约到期时间
+     */
+    @TableField("lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * 最早可领取时间（重试退避）
+     */
+    @TableField("next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
     /**
      * 元数据(JSON)
      */
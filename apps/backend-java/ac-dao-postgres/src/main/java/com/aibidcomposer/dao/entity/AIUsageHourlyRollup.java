@@ -0,0 +1,88 @@
+package com.aibidcomposer.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * AI使用量小时级汇总实体
+ *
+ * <p>主键为 (organization_id, user_id, model_name, bucket_start)，
+ * 组织、用户为空时记为0，模型为空时记为空串。</p>
+ *
+ * 需求编号: REQ-JAVA-DAO-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@TableName("ai_usage_hourly_rollups")
+public class AIUsageHourlyRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 组织ID
+     */
+    @TableField("organization_id")
+    private Long organizationId;
+
+    /**
+     * 用户ID
+     */
+    @TableField("user_id")
+    private Long userId;
+
+    /**
+     * 模型名称
+     */
+    @TableField("model_name")
+    private String modelName;
+
+    /**
+     * 桶起始时间（小时、天等，取决于查询粒度）
+     */
+    @TableField("bucket_start")
+    private LocalDateTime bucketStart;
+
+    /**
+     * 调用次数
+     */
+    @TableField("request_count")
+    private Long requestCount;
+
+    /**
+     * Prompt Token数
+     */
+    @TableField("prompt_tokens")
+    private Long promptTokens;
+
+    /**
+     * Completion Token数
+     */
+    @TableField("completion_tokens")
+    private Long completionTokens;
+
+    /**
+     * 总Token数
+     */
+    @TableField("total_tokens")
+    private Long totalTokens;
+
+    /**
+     * 成本
+     */
+    @TableField("cost")
+    private BigDecimal cost;
+
+    /**
+     * 更新时间
+     */
+    @TableField("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -1,6 +1,7 @@
 package com.aibidcomposer.dao.entity;
 
 import com.aibidcomposer.common.biz.entity.BaseEntity;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableName;
 import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
@@ -54,6 +55,12 @@ public class DocumentSection extends BaseEntity {
     @TableField("level")
     private Integer level;
 
+    /**
+     * 物化路径（根到自身的章节ID，如 /12/45/），由数据库触发器维护
+     */
+    @TableField(value = "path", insertStrategy = FieldStrategy.NEVER, updateStrategy = FieldStrategy.NEVER)
+    private String path;
+
     /**
      * 章节内容
      */
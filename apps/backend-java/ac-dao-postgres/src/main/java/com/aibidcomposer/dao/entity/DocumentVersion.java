@@ -10,6 +10,7 @@ import lombok.Data;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -77,7 +78,7 @@ public class DocumentVersion implements Serializable {
     private String changeSummary;
 
     /**
-     * 变更类型: major-主版本, minor-次版本, patch-补丁, draft-草稿
+     * 变更类型: major-主版本, minor-次版本, patch-补丁, draft-草稿, snapshot-协作事件压缩快照
      */
     @TableField("change_type")
     private String changeType;
@@ -88,6 +89,42 @@ public class DocumentVersion implements Serializable {
     @TableField("word_count")
     private Integer wordCount;
 
+    /**
+     * 快照已折叠的最后一个协作事件ID（仅快照版本有值）
+     */
+    @TableField("last_event_id")
+    private Long lastEventId;
+
+    /**
+     * 快照已折叠的最后一个协作事件时间（用于裁剪事件分区）
+     */
+    @TableField("last_event_at")
+    private LocalDateTime lastEventAt;
+
+    /**
+     * 存储方式: full-完整内容(未编码), keyframe-关键帧, delta-差量
+     */
+    @TableField("storage_mode")
+    private String storageMode;
+
+    /**
+     * 差量基于的关键帧版本号（仅差量版本有值）
+     */
+    @TableField("base_version_number")
+    private Integer baseVersionNumber;
+
+    /**
+     * 内容差量(JSON Patch操作列表，仅差量版本有值)
+     */
+    @TableField(value = "content_delta", typeHandler = JacksonTypeHandler.class)
+    private List<Map<String, Object>> contentDelta;
+
+    /**
+     * 纯文本差量(仅差量版本有值)
+     */
+    @TableField(value = "plain_content_delta", typeHandler = JacksonTypeHandler.class)
+    private Map<String, Object> plainContentDelta;
+
     /**
      * 创建人ID
      */
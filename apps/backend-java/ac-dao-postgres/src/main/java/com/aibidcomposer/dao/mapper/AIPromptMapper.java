@@ -1,13 +1,18 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.AIPrompt;
+import com.aibidcomposer.dao.support.JsonbQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -72,11 +77,19 @@ public interface AIPromptMapper extends BaseMapper<AIPrompt> {
      * @param limit 数量限制
      * @return Prompt列表
      */
-    List<AIPrompt> findMostUsed(@Param("limit") Integer limit);
+    default List<AIPrompt> findMostUsed(Integer limit) {
+        return selectList(Wrappers.<AIPrompt>lambdaQuery()
+                .eq(AIPrompt::getIsActive, Boolean.TRUE)
+                .orderByDesc(AIPrompt::getUsageCount)
+                .orderByAsc(AIPrompt::getId)
+                .last("LIMIT " + (limit == null ? 10 : Math.max(0, limit))));
+    }
 
     /**
      * 增加使用次数
      *
+     * <p>每次使用一条行级UPDATE，热点行上会串行等锁；业务计数请使用写回缓冲（UsageCounterService）。</p>
+     *
      * @param promptId Prompt ID
      * @return 影响行数
      */
@@ -101,4 +114,44 @@ public interface AIPromptMapper extends BaseMapper<AIPrompt> {
      * @return 数量
      */
     int countByCategory(@Param("category") String category);
+
+    /**
+     * 批量累加使用次数（写回缓冲中累计的增量，单条语句）
+     *
+     * @param deltas PromptID到增量的映射
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE ai_prompts t SET usage_count = COALESCE(t.usage_count, 0) + d.delta FROM (VALUES "
+            + "<foreach collection='deltas' index='id' item='delta' separator=','>"
+            + "(CAST(#{id} AS BIGINT), CAST(#{delta} AS INTEGER))"
+            + "</foreach>"
+            + ") AS d(id, delta) WHERE t.id = d.id"
+            + "</script>")
+    int addUsageCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 查询同时包含全部标签的启用Prompt（JSONB @>，走 GIN 索引）
+     *
+     * @param tags 标签
+     * @return 启用Prompt列表
+     */
+    default List<AIPrompt> findByAllTags(Collection<String> tags) {
+        return selectList(JsonbQueries.containsAll(Wrappers.<AIPrompt>lambdaQuery()
+                .eq(AIPrompt::getIsActive, Boolean.TRUE), "tags", tags));
+    }
+
+    /**
+     * 查询包含任一标签的启用Prompt（JSONB ?|，走 GIN 索引）
+     *
+     * @param tags 标签
+     * @return 启用Prompt列表，标签为空时返回空列表
+     */
+    default List<AIPrompt> findByAnyTag(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        return selectList(JsonbQueries.containsAny(Wrappers.<AIPrompt>lambdaQuery()
+                .eq(AIPrompt::getIsActive, Boolean.TRUE), "tags", tags));
+    }
 }
@@ -0,0 +1,113 @@
+package com.aibidcomposer.dao.mapper;
+
+import com.aibidcomposer.dao.entity.AIPromptMetrics;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 提示词流式统计Mapper接口
+ *
+ * <p>写回流程（需在同一事务中）：{@link #insertMissing} 补齐空行，{@link #lockByPromptIds} 加锁读取，
+ * 调用方在内存中合并本实例的增量后 {@link #upsertMetrics} 写回，
+ * 最后 {@link #syncPromptAverages} 把均值同步到 ai_prompts。</p>
+ *
+ * 需求编号: REQ-JAVA-DAO-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Mapper
+public interface AIPromptMetricsMapper extends BaseMapper<AIPromptMetrics> {
+
+    /**
+     * 为尚无统计行的提示词插入空行
+     *
+     * <p>FOR UPDATE 锁不住不存在的行，先插入空行再加锁，
+     * 两个实例同时首次写回同一提示词时不会互相覆盖。</p>
+     *
+     * @param promptIds 提示词ID
+     * @return 插入行数
+     */
+    @Insert("<script>"
+            + "INSERT INTO ai_prompt_metrics (prompt_id) VALUES "
+            + "<foreach collection='promptIds' item='id' separator=','>(#{id})</foreach>"
+            + " ON CONFLICT (prompt_id) DO NOTHING"
+            + "</script>")
+    int insertMissing(@Param("promptIds") Collection<Long> promptIds);
+
+    /**
+     * 锁定并读取统计行
+     *
+     * <p>按 prompt_id 排序加锁，避免多实例同时写回时互相死锁。</p>
+     *
+     * @param promptIds 提示词ID
+     * @return 已存在的统计行
+     */
+    @Select("<script>"
+            + "SELECT * FROM ai_prompt_metrics WHERE prompt_id IN "
+            + "<foreach collection='promptIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + " ORDER BY prompt_id FOR UPDATE"
+            + "</script>")
+    @ResultMap("mybatis-plus_AIPromptMetrics")
+    List<AIPromptMetrics> lockByPromptIds(@Param("promptIds") Collection<Long> promptIds);
+
+    /**
+     * 写入合并后的统计行（不存在则插入，存在则覆盖）
+     *
+     * @param metrics 合并后的统计行
+     * @return 影响行数
+     */
+    @Insert("<script>"
+            + "INSERT INTO ai_prompt_metrics (prompt_id, sample_count, token_sum, cost_sum, decayed_weight,"
+            + " decayed_token_sum, decayed_cost_sum, decayed_at, token_sketch, cost_sketch, updated_at) VALUES "
+            + "<foreach collection='metrics' item='m' separator=','>"
+            + "(#{m.promptId}, #{m.sampleCount}, #{m.tokenSum}, #{m.costSum}, #{m.decayedWeight},"
+            + " #{m.decayedTokenSum}, #{m.decayedCostSum}, #{m.decayedAt},"
+            + " #{m.tokenSketch,typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler}::jsonb,"
+            + " #{m.costSketch,typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler}::jsonb,"
+            + " NOW())"
+            + "</foreach>"
+            + " ON CONFLICT (prompt_id) DO UPDATE SET"
+            + " sample_count = EXCLUDED.sample_count, token_sum = EXCLUDED.token_sum, cost_sum = EXCLUDED.cost_sum,"
+            + " decayed_weight = EXCLUDED.decayed_weight, decayed_token_sum = EXCLUDED.decayed_token_sum,"
+            + " decayed_cost_sum = EXCLUDED.decayed_cost_sum, decayed_at = EXCLUDED.decayed_at,"
+            + " token_sketch = EXCLUDED.token_sketch, cost_sketch = EXCLUDED.cost_sketch, updated_at = NOW()"
+            + "</script>")
+    int upsertMetrics(@Param("metrics") List<AIPromptMetrics> metrics);
+
+    /**
+     * 把统计均值同步到 ai_prompts.average_tokens / average_cost
+     *
+     * @param promptIds 提示词ID
+     * @param decayed true 使用衰减均值，false 使用全量均值
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE ai_prompts p SET"
+            + "<choose>"
+            + "<when test='decayed'>"
+            + " average_tokens = ROUND(m.decayed_token_sum / m.decayed_weight)::INTEGER,"
+            + " average_cost = ROUND(CAST(m.decayed_cost_sum / m.decayed_weight AS NUMERIC), 4)"
+            + "</when>"
+            + "<otherwise>"
+            + " average_tokens = ROUND(m.token_sum / m.sample_count)::INTEGER,"
+            + " average_cost = ROUND(CAST(m.cost_sum / m.sample_count AS NUMERIC), 4)"
+            + "</otherwise>"
+            + "</choose>"
+            + " FROM ai_prompt_metrics m"
+            + " WHERE p.id = m.prompt_id AND m.sample_count &gt; 0"
+            + "<if test='decayed'> AND m.decayed_weight &gt; 0</if>"
+            + " AND m.prompt_id IN "
+            + "<foreach collection='promptIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    int syncPromptAverages(@Param("promptIds") Collection<Long> promptIds, @Param("decayed") boolean decayed);
+}
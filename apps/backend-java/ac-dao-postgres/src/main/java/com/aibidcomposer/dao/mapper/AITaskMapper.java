@@ -5,8 +5,13 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -129,4 +134,171 @@ public interface AITaskMapper extends BaseMapper<AITask> {
      * @return 影响行数
      */
     int deleteByDocumentId(@Param("documentId") Long documentId);
+
+    /**
+     * 批量领取待处理任务
+     *
+     * <p>按优先级从高到低、先进先出选取已到可领取时间的任务，FOR UPDATE SKIP LOCKED
+     * 跳过其他节点正在领取的行，选取与置为 running 在同一条语句内完成，多节点并发领取不会重复。</p>
+     *
+     * @param owner 工作节点标识
+     * @param taskTypes 可处理的任务类型，为空表示不限
+     * @param limit 最多领取数量
+     * @param leaseSeconds 租约时长（秒）
+     * @return 已领取的任务（顺序不保证）
+     */
+    @Select("<script>"
+            + "WITH claimed AS ("
+            + " SELECT id FROM ai_tasks"
+            + " WHERE status = 'pending' AND deleted = 0"
+            + " AND (next_attempt_at IS NULL OR next_attempt_at &lt;= NOW())"
+            + "<if test='taskTypes != null and !taskTypes.isEmpty()'>"
+            + " AND task_type IN "
+            + "<foreach collection='taskTypes' item='type' open='(' separator=',' close=')'>#{type}</foreach>"
+            + "</if>"
+            + " ORDER BY priority DESC NULLS LAST, id"
+            + " LIMIT #{limit}"
+            + " FOR UPDATE SKIP LOCKED"
+            + ")"
+            + " UPDATE ai_tasks t SET status = 'running', lease_owner = #{owner},"
+            + " lease_expires_at = NOW() + #{leaseSeconds} * INTERVAL '1 second',"
+            + " started_at = COALESCE(t.started_at, NOW()), update_time = NOW()"
+            + " FROM claimed WHERE t.id = claimed.id"
+            + " RETURNING t.*"
+            + "</script>")
+    @ResultMap("mybatis-plus_AITask")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+    List<AITask> claimTasks(@Param("owner") String owner,
+                            @Param("taskTypes") Collection<String> taskTypes,
+                            @Param("limit") int limit,
+                            @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * 续约
+     *
+     * @param ids 任务ID
+     * @param owner 工作节点标识
+     * @param leaseSeconds 租约时长（秒）
+     * @return 续约成功的任务ID；未返回的任务租约已丢失（已被回收或取消），应停止处理
+     */
+    @Select("<script>"
+            + "UPDATE ai_tasks SET lease_expires_at = NOW() + #{leaseSeconds} * INTERVAL '1 second'"
+            + " WHERE status = 'running' AND lease_owner = #{owner} AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + " RETURNING id"
+            + "</script>")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+    List<Long> renewLeases(@Param("ids") Collection<Long> ids,
+                           @Param("owner") String owner,
+                           @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * 标记任务成功（仅租约持有者可提交）
+     *
+     * <p>写入 outputData、模型与Token、成本等执行结果，并释放租约。</p>
+     *
+     * @param task 执行结果
+     * @param owner 工作节点标识
+     * @return 影响行数，0表示租约已丢失
+     */
+    @Update("UPDATE ai_tasks SET status = 'success',"
+            + " output_data = #{task.outputData,typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler}::jsonb,"
+            + " model_name = COALESCE(#{task.modelName}, model_name),"
+            + " model_version = COALESCE(#{task.modelVersion}, model_version),"
+            + " prompt_tokens = #{task.promptTokens}, completion_tokens = #{task.completionTokens},"
+            + " total_tokens = #{task.totalTokens}, cost = #{task.cost},"
+            + " metadata = COALESCE(#{task.metadata,typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler}::jsonb, metadata),"
+            + " error_message = NULL, completed_at = NOW(),"
+            + " duration_seconds = CAST(EXTRACT(EPOCH FROM NOW() - COALESCE(started_at, NOW())) AS INTEGER),"
+            + " lease_owner = NULL, lease_expires_at = NULL, update_time = NOW()"
+            + " WHERE id = #{task.id} AND lease_owner = #{owner} AND status = 'running'")
+    int completeTask(@Param("task") AITask task, @Param("owner") String owner);
+
+    /**
+     * 标记任务失败（仅租约持有者可提交）
+     *
+     * <p>未超过 max_retries 且允许重试时重新排队（retry_count + 1，退避到 next_attempt_at），
+     * 否则置为 failed。</p>
+     *
+     * @param id 任务ID
+     * @param owner 工作节点标识
+     * @param errorMessage 错误信息
+     * @param retryable 是否允许重试
+     * @param delayMillis 重试退避时长（毫秒）
+     * @return 影响行数，0表示租约已丢失
+     */
+    @Update("UPDATE ai_tasks SET"
+            + " status = CASE WHEN #{retryable} AND COALESCE(retry_count, 0) < COALESCE(max_retries, 0)"
+            + " THEN 'pending' ELSE 'failed' END,"
+            + " retry_count = CASE WHEN #{retryable} AND COALESCE(retry_count, 0) < COALESCE(max_retries, 0)"
+            + " THEN COALESCE(retry_count, 0) + 1 ELSE retry_count END,"
+            + " completed_at = CASE WHEN #{retryable} AND COALESCE(retry_count, 0) < COALESCE(max_retries, 0)"
+            + " THEN NULL ELSE NOW() END,"
+            + " next_attempt_at = NOW() + #{delayMillis} * INTERVAL '1 millisecond',"
+            + " error_message = #{errorMessage},"
+            + " lease_owner = NULL, lease_expires_at = NULL, update_time = NOW()"
+            + " WHERE id = #{id} AND lease_owner = #{owner} AND status = 'running'")
+    int failTask(@Param("id") Long id,
+                 @Param("owner") String owner,
+                 @Param("errorMessage") String errorMessage,
+                 @Param("retryable") boolean retryable,
+                 @Param("delayMillis") long delayMillis);
+
+    /**
+     * 推迟任务（下游繁忙时调用，不计重试次数）
+     *
+     * <p>重新排队并退避到 next_attempt_at，retry_count 保持不变。</p>
+     *
+     * @param id 任务ID
+     * @param owner 工作节点标识
+     * @param errorMessage 推迟原因
+     * @param delayMillis 退避时长（毫秒）
+     * @return 影响行数，0表示租约已丢失
+     */
+    @Update("UPDATE ai_tasks SET status = 'pending',"
+            + " next_attempt_at = NOW() + #{delayMillis} * INTERVAL '1 millisecond',"
+            + " error_message = #{errorMessage},"
+            + " lease_owner = NULL, lease_expires_at = NULL, update_time = NOW()"
+            + " WHERE id = #{id} AND lease_owner = #{owner} AND status = 'running'")
+    int deferTask(@Param("id") Long id,
+                  @Param("owner") String owner,
+                  @Param("errorMessage") String errorMessage,
+                  @Param("delayMillis") long delayMillis);
+
+    /**
+     * 放回未处理完的任务（节点停机时调用，不计重试次数）
+     *
+     * @param ids 任务ID
+     * @param owner 工作节点标识
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE ai_tasks SET status = 'pending', lease_owner = NULL, lease_expires_at = NULL, update_time = NOW()"
+            + " WHERE status = 'running' AND lease_owner = #{owner} AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    int releaseTasks(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    /**
+     * 回收租约过期的任务（节点失联）
+     *
+     * <p>按失败处理：未超过 max_retries 时立即重新排队，否则置为 failed。
+     * 使用 SKIP LOCKED，多节点同时回收互不阻塞。</p>
+     *
+     * @param limit 单次最多回收数量
+     * @return 回收数量
+     */
+    @Update("WITH expired AS ("
+            + " SELECT id FROM ai_tasks WHERE status = 'running' AND lease_expires_at < NOW()"
+            + " ORDER BY lease_expires_at LIMIT #{limit} FOR UPDATE SKIP LOCKED"
+            + ")"
+            + " UPDATE ai_tasks t SET"
+            + " status = CASE WHEN COALESCE(t.retry_count, 0) < COALESCE(t.max_retries, 0) THEN 'pending' ELSE 'failed' END,"
+            + " retry_count = CASE WHEN COALESCE(t.retry_count, 0) < COALESCE(t.max_retries, 0)"
+            + " THEN COALESCE(t.retry_count, 0) + 1 ELSE t.retry_count END,"
+            + " completed_at = CASE WHEN COALESCE(t.retry_count, 0) < COALESCE(t.max_retries, 0) THEN NULL ELSE NOW() END,"
+            + " error_message = 'lease expired: ' || COALESCE(t.lease_owner, ''),"
+            + " next_attempt_at = NULL, lease_owner = NULL, lease_expires_at = NULL, update_time = NOW()"
+            + " FROM expired WHERE t.id = expired.id")
+    int releaseExpiredLeases(@Param("limit") int limit);
 }
@@ -0,0 +1,181 @@
+package com.aibidcomposer.dao.mapper;
+
+import com.aibidcomposer.dao.entity.AIUsageHourlyRollup;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AI使用量小时级汇总Mapper接口
+ *
+ * <p>汇总表由 ai_usage_logs 上的语句级触发器增量维护（任何写入路径均生效），看板类的合计与趋势查询
+ * 只扫描汇总表，不再扫描原始日志。时间参数均为小时桶边界，
+ * 区间为左闭右开 [fromBucket, toBucket)，为空表示不限。</p>
+ *
+ * 需求编号: REQ-JAVA-DAO-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Mapper
+public interface AIUsageHourlyRollupMapper extends BaseMapper<AIUsageHourlyRollup> {
+
+    /**
+     * 统计组织合计
+     *
+     * @param organizationId 组织ID
+     * @param fromBucket     起始小时桶（含），可为空
+     * @param toBucket       结束小时桶（不含），可为空
+     * @return 合计（仅 requestCount、Token、cost 有值）
+     */
+    @Select("<script>"
+            + "SELECT COALESCE(SUM(request_count), 0) AS request_count,"
+            + " COALESCE(SUM(prompt_tokens), 0) AS prompt_tokens,"
+            + " COALESCE(SUM(completion_tokens), 0) AS completion_tokens,"
+            + " COALESCE(SUM(total_tokens), 0) AS total_tokens,"
+            + " COALESCE(SUM(cost), 0) AS cost"
+            + " FROM ai_usage_hourly_rollups WHERE organization_id = #{organizationId}"
+            + "<if test='fromBucket != null'> AND bucket_start &gt;= #{fromBucket}</if>"
+            + "<if test='toBucket != null'> AND bucket_start &lt; #{toBucket}</if>"
+            + "</script>")
+    AIUsageHourlyRollup sumByOrganizationId(@Param("organizationId") Long organizationId,
+                                            @Param("fromBucket") LocalDateTime fromBucket,
+                                            @Param("toBucket") LocalDateTime toBucket);
+
+    /**
+     * 统计用户合计
+     *
+     * @param userId     用户ID
+     * @param fromBucket 起始小时桶（含），可为空
+     * @param toBucket   结束小时桶（不含），可为空
+     * @return 合计（仅 requestCount、Token、cost 有值）
+     */
+    @Select("<script>"
+            + "SELECT COALESCE(SUM(request_count), 0) AS request_count,"
+            + " COALESCE(SUM(prompt_tokens), 0) AS prompt_tokens,"
+            + " COALESCE(SUM(completion_tokens), 0) AS completion_tokens,"
+            + " COALESCE(SUM(total_tokens), 0) AS total_tokens,"
+            + " COALESCE(SUM(cost), 0) AS cost"
+            + " FROM ai_usage_hourly_rollups WHERE user_id = #{userId}"
+            + "<if test='fromBucket != null'> AND bucket_start &gt;= #{fromBucket}</if>"
+            + "<if test='toBucket != null'> AND bucket_start &lt; #{toBucket}</if>"
+            + "</script>")
+    AIUsageHourlyRollup sumByUserId(@Param("userId") Long userId,
+                                    @Param("fromBucket") LocalDateTime fromBucket,
+                                    @Param("toBucket") LocalDateTime toBucket);
+
+    /**
+     * 按模型统计组织合计
+     *
+     * @param organizationId 组织ID
+     * @param fromBucket     起始小时桶（含），可为空
+     * @param toBucket       结束小时桶（不含），可为空
+     * @return 每个模型一行
+     */
+    @Select("<script>"
+            + "SELECT organization_id, model_name,"
+            + " SUM(request_count) AS request_count, SUM(prompt_tokens) AS prompt_tokens,"
+            + " SUM(completion_tokens) AS completion_tokens, SUM(total_tokens) AS total_tokens,"
+            + " SUM(cost) AS cost"
+            + " FROM ai_usage_hourly_rollups WHERE organization_id = #{organizationId}"
+            + "<if test='fromBucket != null'> AND bucket_start &gt;= #{fromBucket}</if>"
+            + "<if test='toBucket != null'> AND bucket_start &lt; #{toBucket}</if>"
+            + " GROUP BY organization_id, model_name ORDER BY cost DESC"
+            + "</script>")
+    List<AIUsageHourlyRollup> sumByModelForOrganization(@Param("organizationId") Long organizationId,
+                                                        @Param("fromBucket") LocalDateTime fromBucket,
+                                                        @Param("toBucket") LocalDateTime toBucket);
+
+    /**
+     * 组织用量趋势
+     *
+     * @param organizationId 组织ID
+     * @param granularity    粒度（hour / day / week / month）
+     * @param fromBucket     起始小时桶（含）
+     * @param toBucket       结束小时桶（不含）
+     * @return 按时间升序的趋势点，bucketStart 为粒度起点
+     */
+    @Select("SELECT organization_id, date_trunc(#{granularity}, bucket_start) AS bucket_start,"
+            + " SUM(request_count) AS request_count, SUM(prompt_tokens) AS prompt_tokens,"
+            + " SUM(completion_tokens) AS completion_tokens, SUM(total_tokens) AS total_tokens,"
+            + " SUM(cost) AS cost"
+            + " FROM ai_usage_hourly_rollups"
+            + " WHERE organization_id = #{organizationId}"
+            + " AND bucket_start >= #{fromBucket} AND bucket_start < #{toBucket}"
+            + " GROUP BY 1, 2"
+            + " ORDER BY 2")
+    List<AIUsageHourlyRollup> timeSeriesByOrganizationId(@Param("organizationId") Long organizationId,
+                                                         @Param("granularity") String granularity,
+                                                         @Param("fromBucket") LocalDateTime fromBucket,
+                                                         @Param("toBucket") LocalDateTime toBucket);
+
+    /**
+     * 用户用量趋势
+     *
+     * @param userId      用户ID
+     * @param granularity 粒度（hour / day / week / month）
+     * @param fromBucket  起始小时桶（含）
+     * @param toBucket    结束小时桶（不含）
+     * @return 按时间升序的趋势点，bucketStart 为粒度起点
+     */
+    @Select("SELECT user_id, date_trunc(#{granularity}, bucket_start) AS bucket_start,"
+            + " SUM(request_count) AS request_count, SUM(prompt_tokens) AS prompt_tokens,"
+            + " SUM(completion_tokens) AS completion_tokens, SUM(total_tokens) AS total_tokens,"
+            + " SUM(cost) AS cost"
+            + " FROM ai_usage_hourly_rollups"
+            + " WHERE user_id = #{userId}"
+            + " AND bucket_start >= #{fromBucket} AND bucket_start < #{toBucket}"
+            + " GROUP BY 1, 2"
+            + " ORDER BY 2")
+    List<AIUsageHourlyRollup> timeSeriesByUserId(@Param("userId") Long userId,
+                                                 @Param("granularity") String granularity,
+                                                 @Param("fromBucket") LocalDateTime fromBucket,
+                                                 @Param("toBucket") LocalDateTime toBucket);
+
+    /**
+     * 删除时间范围内的汇总（重建前调用）
+     *
+     * @param fromBucket 起始小时桶（含）
+     * @param toBucket   结束小时桶（不含）
+     * @return 删除行数
+     */
+    @Delete("DELETE FROM ai_usage_hourly_rollups WHERE bucket_start >= #{fromBucket} AND bucket_start < #{toBucket}")
+    int deleteByBucketRange(@Param("fromBucket") LocalDateTime fromBucket,
+                            @Param("toBucket") LocalDateTime toBucket);
+
+    /**
+     * 从原始日志重新汇总时间范围内的数据
+     *
+     * @param fromBucket 起始小时桶（含）
+     * @param toBucket   结束小时桶（不含）
+     * @return 插入行数
+     */
+    @Insert("INSERT INTO ai_usage_hourly_rollups (organization_id, user_id, model_name, bucket_start,"
+            + " request_count, prompt_tokens, completion_tokens, total_tokens, cost)"
+            + " SELECT COALESCE(organization_id, 0), COALESCE(user_id, 0), COALESCE(model_name, ''),"
+            + " date_trunc('hour', created_at), COUNT(*), COALESCE(SUM(prompt_tokens), 0),"
+            + " COALESCE(SUM(completion_tokens), 0), COALESCE(SUM(total_tokens), 0), COALESCE(SUM(cost), 0)"
+            + " FROM ai_usage_logs WHERE created_at >= #{fromBucket} AND created_at < #{toBucket}"
+            + " GROUP BY 1, 2, 3, 4")
+    int insertFromLogs(@Param("fromBucket") LocalDateTime fromBucket,
+                       @Param("toBucket") LocalDateTime toBucket);
+
+    /**
+     * 重建时间范围内的汇总（对账修复用，需在事务中调用）
+     *
+     * @param fromBucket 起始小时桶（含）
+     * @param toBucket   结束小时桶（不含）
+     * @return 重建后的汇总行数
+     */
+    default int rebuild(LocalDateTime fromBucket, LocalDateTime toBucket) {
+        deleteByBucketRange(fromBucket, toBucket);
+        return insertFromLogs(fromBucket, toBucket);
+    }
+}
@@ -1,11 +1,15 @@
 package com.aibidcomposer.dao.mapper;
 
+import com.aibidcomposer.common.db.KeysetCursor;
 import com.aibidcomposer.dao.entity.AIUsageLog;
+import com.aibidcomposer.dao.support.KeysetQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -24,6 +28,16 @@ import java.util.List;
 @Mapper
 public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
 
+    /**
+     * 时间范围内第一个完整小时桶（startTime 向上取整到小时）
+     */
+    String FULL_HOURS_START = "date_trunc('hour', CAST(#{startTime} AS timestamp) + INTERVAL '1 hour' - INTERVAL '1 microsecond')";
+
+    /**
+     * 时间范围内最后一个完整小时桶之后的边界（endTime 向下取整到小时）
+     */
+    String FULL_HOURS_END = "date_trunc('hour', CAST(#{endTime} AS timestamp))";
+
     /**
      * 根据用户ID查询使用日志
      *
@@ -42,6 +56,19 @@ public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
     IPage<AIUsageLog> findPageByUserId(Page<AIUsageLog> page,
                                         @Param("userId") Long userId);
 
+    /**
+     * 根据用户ID游标分页查询使用日志（按 created_at 倒序，无OFFSET与COUNT）
+     *
+     * @param userId 用户ID
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 使用日志
+     */
+    default List<AIUsageLog> seekByUserId(Long userId, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<AIUsageLog>lambdaQuery()
+                .eq(AIUsageLog::getUserId, userId), "created_at", after, limit));
+    }
+
     /**
      * 根据组织ID查询使用日志
      *
@@ -60,6 +87,19 @@ public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
     IPage<AIUsageLog> findPageByOrganizationId(Page<AIUsageLog> page,
                                                 @Param("organizationId") Long organizationId);
 
+    /**
+     * 根据组织ID游标分页查询使用日志（按 created_at 倒序，无OFFSET与COUNT）
+     *
+     * @param organizationId 组织ID
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 使用日志
+     */
+    default List<AIUsageLog> seekByOrganizationId(Long organizationId, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<AIUsageLog>lambdaQuery()
+                .eq(AIUsageLog::getOrganizationId, organizationId), "created_at", after, limit));
+    }
+
     /**
      * 根据任务ID查询使用日志
      *
@@ -103,11 +143,12 @@ public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
                                                        @Param("endTime") LocalDateTime endTime);
 
     /**
-     * 统计用户使用次数
+     * 统计用户使用次数（以下合计均读取小时汇总表 ai_usage_hourly_rollups）
      *
      * @param userId 用户ID
      * @return 次数
      */
+    @Select("SELECT COALESCE(SUM(request_count), 0) FROM ai_usage_hourly_rollups WHERE user_id = #{userId}")
     int countByUserId(@Param("userId") Long userId);
 
     /**
@@ -116,6 +157,7 @@ public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
      * @param organizationId 组织ID
      * @return 次数
      */
+    @Select("SELECT COALESCE(SUM(request_count), 0) FROM ai_usage_hourly_rollups WHERE organization_id = #{organizationId}")
     int countByOrganizationId(@Param("organizationId") Long organizationId);
 
     /**
@@ -124,6 +166,7 @@ public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
      * @param userId 用户ID
      * @return Token总数
      */
+    @Select("SELECT COALESCE(SUM(total_tokens), 0) FROM ai_usage_hourly_rollups WHERE user_id = #{userId}")
     Long sumTokensByUserId(@Param("userId") Long userId);
 
     /**
@@ -132,6 +175,7 @@ public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
      * @param organizationId 组织ID
      * @return Token总数
      */
+    @Select("SELECT COALESCE(SUM(total_tokens), 0) FROM ai_usage_hourly_rollups WHERE organization_id = #{organizationId}")
     Long sumTokensByOrganizationId(@Param("organizationId") Long organizationId);
 
     /**
@@ -140,6 +184,7 @@ public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
      * @param userId 用户ID
      * @return 总成本
      */
+    @Select("SELECT COALESCE(SUM(cost), 0) FROM ai_usage_hourly_rollups WHERE user_id = #{userId}")
     BigDecimal sumCostByUserId(@Param("userId") Long userId);
 
     /**
@@ -148,16 +193,26 @@ public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
      * @param organizationId 组织ID
      * @return 总成本
      */
+    @Select("SELECT COALESCE(SUM(cost), 0) FROM ai_usage_hourly_rollups WHERE organization_id = #{organizationId}")
     BigDecimal sumCostByOrganizationId(@Param("organizationId") Long organizationId);
 
     /**
      * 统计用户在时间范围内的总成本
      *
+     * <p>完整小时取自小时汇总表，首尾不足一小时的部分回查原始日志，区间左闭右开。</p>
+     *
      * @param userId 用户ID
      * @param startTime 开始时间
      * @param endTime 结束时间
      * @return 总成本
      */
+    @Select("SELECT COALESCE((SELECT SUM(cost) FROM ai_usage_hourly_rollups"
+            + " WHERE user_id = #{userId}"
+            + " AND bucket_start >= " + FULL_HOURS_START + " AND bucket_start < " + FULL_HOURS_END + "), 0)"
+            + " + COALESCE((SELECT SUM(cost) FROM ai_usage_logs"
+            + " WHERE user_id = #{userId}"
+            + " AND created_at >= #{startTime} AND created_at < #{endTime}"
+            + " AND (created_at < " + FULL_HOURS_START + " OR created_at >= " + FULL_HOURS_END + ")), 0)")
     BigDecimal sumCostByUserIdAndTimeRange(@Param("userId") Long userId,
                                            @Param("startTime") LocalDateTime startTime,
                                            @Param("endTime") LocalDateTime endTime);
@@ -165,11 +220,20 @@ public interface AIUsageLogMapper extends BaseMapper<AIUsageLog> {
     /**
      * 统计组织在时间范围内的总成本
      *
+     * <p>完整小时取自小时汇总表，首尾不足一小时的部分回查原始日志，区间左闭右开。</p>
+     *
      * @param organizationId 组织ID
      * @param startTime 开始时间
      * @param endTime 结束时间
      * @return 总成本
      */
+    @Select("SELECT COALESCE((SELECT SUM(cost) FROM ai_usage_hourly_rollups"
+            + " WHERE organization_id = #{organizationId}"
+            + " AND bucket_start >= " + FULL_HOURS_START + " AND bucket_start < " + FULL_HOURS_END + "), 0)"
+            + " + COALESCE((SELECT SUM(cost) FROM ai_usage_logs"
+            + " WHERE organization_id = #{organizationId}"
+            + " AND created_at >= #{startTime} AND created_at < #{endTime}"
+            + " AND (created_at < " + FULL_HOURS_START + " OR created_at >= " + FULL_HOURS_END + ")), 0)")
     BigDecimal sumCostByOrganizationIdAndTimeRange(@Param("organizationId") Long organizationId,
                                                    @Param("startTime") LocalDateTime startTime,
                                                    @Param("endTime") LocalDateTime endTime);
@@ -1,8 +1,11 @@
 package com.aibidcomposer.dao.mapper;
 
+import com.aibidcomposer.common.db.KeysetCursor;
 import com.aibidcomposer.dao.entity.ApprovalLog;
+import com.aibidcomposer.dao.support.KeysetQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -41,6 +44,19 @@ public interface ApprovalLogMapper extends BaseMapper<ApprovalLog> {
     IPage<ApprovalLog> findPageByTaskId(Page<ApprovalLog> page,
                                          @Param("taskId") Long taskId);
 
+    /**
+     * 根据任务ID游标分页查询审批日志（按 created_at 倒序，无OFFSET与COUNT）
+     *
+     * @param taskId 任务ID
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 审批日志
+     */
+    default List<ApprovalLog> seekByTaskId(Long taskId, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<ApprovalLog>lambdaQuery()
+                .eq(ApprovalLog::getTaskId, taskId), "created_at", after, limit));
+    }
+
     /**
      * 根据文档ID查询审批日志
      *
@@ -59,6 +75,19 @@ public interface ApprovalLogMapper extends BaseMapper<ApprovalLog> {
     IPage<ApprovalLog> findPageByDocumentId(Page<ApprovalLog> page,
                                              @Param("documentId") Long documentId);
 
+    /**
+     * 根据文档ID游标分页查询审批日志（按 created_at 倒序，无OFFSET与COUNT）
+     *
+     * @param documentId 文档ID
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 审批日志
+     */
+    default List<ApprovalLog> seekByDocumentId(Long documentId, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<ApprovalLog>lambdaQuery()
+                .eq(ApprovalLog::getDocumentId, documentId), "created_at", after, limit));
+    }
+
     /**
      * 根据用户ID查询审批日志
      *
@@ -77,6 +106,19 @@ public interface ApprovalLogMapper extends BaseMapper<ApprovalLog> {
     IPage<ApprovalLog> findPageByUserId(Page<ApprovalLog> page,
                                          @Param("userId") Long userId);
 
+    /**
+     * 根据用户ID游标分页查询审批日志（按 created_at 倒序，无OFFSET与COUNT）
+     *
+     * @param userId 用户ID
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 审批日志
+     */
+    default List<ApprovalLog> seekByUserId(Long userId, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<ApprovalLog>lambdaQuery()
+                .eq(ApprovalLog::getUserId, userId), "created_at", after, limit));
+    }
+
     /**
      * 根据操作类型查询审批日志
      *
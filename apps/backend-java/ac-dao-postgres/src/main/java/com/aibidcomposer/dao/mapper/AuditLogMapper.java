@@ -1,8 +1,11 @@
 package com.aibidcomposer.dao.mapper;
 
+import com.aibidcomposer.common.db.KeysetCursor;
 import com.aibidcomposer.dao.entity.AuditLog;
+import com.aibidcomposer.dao.support.KeysetQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -41,6 +44,19 @@ public interface AuditLogMapper extends BaseMapper<AuditLog> {
     IPage<AuditLog> findPageByUserId(Page<AuditLog> page,
                                       @Param("userId") Long userId);
 
+    /**
+     * 根据用户ID游标分页查询审计日志（按 created_at 倒序，无OFFSET与COUNT）
+     *
+     * @param userId 用户ID
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 审计日志
+     */
+    default List<AuditLog> seekByUserId(Long userId, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<AuditLog>lambdaQuery()
+                .eq(AuditLog::getUserId, userId), "created_at", after, limit));
+    }
+
     /**
      * 根据组织ID查询审计日志
      *
@@ -59,6 +75,19 @@ public interface AuditLogMapper extends BaseMapper<AuditLog> {
     IPage<AuditLog> findPageByOrganizationId(Page<AuditLog> page,
                                               @Param("organizationId") Long organizationId);
 
+    /**
+     * 根据组织ID游标分页查询审计日志（按 created_at 倒序，无OFFSET与COUNT）
+     *
+     * @param organizationId 组织ID
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 审计日志
+     */
+    default List<AuditLog> seekByOrganizationId(Long organizationId, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<AuditLog>lambdaQuery()
+                .eq(AuditLog::getOrganizationId, organizationId), "created_at", after, limit));
+    }
+
     /**
      * 根据资源类型查询审计日志
      *
@@ -1,12 +1,17 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.BidDocument;
+import com.aibidcomposer.dao.support.SearchVectorUpdate;
+import com.aibidcomposer.dao.support.TextSearchRow;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -94,4 +99,93 @@ public interface BidDocumentMapper extends BaseMapper<BidDocument> {
      */
     int countByProjectIdAndStatus(@Param("projectId") Long projectId,
                                   @Param("status") String status);
+
+    /**
+     * 查询指定文档中待建立检索向量的行（标题或正文变化后 search_indexed_at 被触发器置空）
+     *
+     * @param ids 文档ID
+     * @return 待索引的文档（只含 id、title、plain_content）
+     */
+    @Select("<script>"
+            + "SELECT id, title, plain_content FROM bid_documents"
+            + " WHERE deleted = 0 AND search_indexed_at IS NULL AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    List<BidDocument> findSearchPending(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 领取一批待建立检索向量的行并加锁（FOR UPDATE SKIP LOCKED，多节点并发回填互不阻塞）
+     *
+     * @param limit 最大行数
+     * @return 待索引的文档（只含 id、title、plain_content）
+     */
+    @Select("SELECT id, title, plain_content FROM bid_documents"
+            + " WHERE search_indexed_at IS NULL AND deleted = 0"
+            + " ORDER BY id LIMIT #{limit} FOR UPDATE SKIP LOCKED")
+    List<BidDocument> claimSearchPending(@Param("limit") int limit);
+
+    /**
+     * 批量写入检索向量（单条 UPDATE ... FROM VALUES 语句，不修改 update_time）
+     *
+     * @param rows 检索向量
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE bid_documents t SET search_vector = CAST(v.vector AS tsvector), search_indexed_at = now()"
+            + " FROM (VALUES "
+            + "<foreach collection='rows' item='r' separator=','>(CAST(#{r.id} AS BIGINT), CAST(#{r.vector} AS TEXT))</foreach>"
+            + ") AS v(id, vector) WHERE t.id = v.id"
+            + "</script>")
+    int updateSearchVectors(@Param("rows") List<SearchVectorUpdate> rows);
+
+    /**
+     * 全文检索标书文档（标题 + 纯文本正文），按相关度倒序
+     *
+     * @param query tsquery 字面量
+     * @param organizationId 组织ID（可选，按项目所属组织过滤）
+     * @param projectId 项目ID（可选）
+     * @param offset 偏移量
+     * @param limit 条数
+     * @return 检索结果（content 为纯文本正文，用于生成摘要）
+     */
+    @Select("<script>"
+            + "SELECT d.id, d.id AS document_id, d.project_id, d.title, d.plain_content AS content,"
+            + " ts_rank_cd(d.search_vector, q.query, 32) AS rank"
+            + " FROM (SELECT CAST(#{query} AS tsquery) AS query) q"
+            + " JOIN bid_documents d ON d.search_vector @@ q.query AND d.deleted = 0"
+            + "<if test='organizationId != null'>"
+            + " JOIN projects p ON p.id = d.project_id AND p.organization_id = #{organizationId} AND p.deleted = 0"
+            + "</if>"
+            + " WHERE 1 = 1"
+            + "<if test='projectId != null'> AND d.project_id = #{projectId}</if>"
+            + " ORDER BY rank DESC, d.id DESC"
+            + " LIMIT #{limit} OFFSET #{offset}"
+            + "</script>")
+    List<TextSearchRow> searchDocuments(@Param("query") String query,
+                                        @Param("organizationId") Long organizationId,
+                                        @Param("projectId") Long projectId,
+                                        @Param("offset") long offset,
+                                        @Param("limit") long limit);
+
+    /**
+     * 统计全文检索命中的标书文档数
+     *
+     * @param query tsquery 字面量
+     * @param organizationId 组织ID（可选）
+     * @param projectId 项目ID（可选）
+     * @return 命中数
+     */
+    @Select("<script>"
+            + "SELECT count(*)"
+            + " FROM (SELECT CAST(#{query} AS tsquery) AS query) q"
+            + " JOIN bid_documents d ON d.search_vector @@ q.query AND d.deleted = 0"
+            + "<if test='organizationId != null'>"
+            + " JOIN projects p ON p.id = d.project_id AND p.organization_id = #{organizationId} AND p.deleted = 0"
+            + "</if>"
+            + " WHERE 1 = 1"
+            + "<if test='projectId != null'> AND d.project_id = #{projectId}</if>"
+            + "</script>")
+    long countSearchDocuments(@Param("query") String query,
+                              @Param("organizationId") Long organizationId,
+                              @Param("projectId") Long projectId);
 }
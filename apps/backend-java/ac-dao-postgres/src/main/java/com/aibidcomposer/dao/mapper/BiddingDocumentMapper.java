@@ -2,8 +2,11 @@ package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.BiddingDocument;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
 import java.util.Optional;
@@ -52,4 +55,44 @@ public interface BiddingDocumentMapper extends BaseMapper<BiddingDocument> {
      * @return 文件数量
      */
     int countByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * 根据文件哈希查询可复用的招标文件（内容寻址去重）
+     *
+     * <p>同一哈希可能对应多条记录（不同项目引用同一文件），
+     * 优先返回已解析成功的记录，其次返回最早的记录。</p>
+     *
+     * @param documentHash 文件SHA-256哈希
+     * @return 可复用的招标文件
+     */
+    @Select("SELECT * FROM bidding_documents"
+            + " WHERE document_hash = #{documentHash} AND deleted = 0"
+            + " ORDER BY CASE WHEN parsed_status = 'success' THEN 0 ELSE 1 END, id"
+            + " LIMIT 1")
+    @ResultMap("mybatis-plus_BiddingDocument")
+    Optional<BiddingDocument> findReusableByDocumentHash(@Param("documentHash") String documentHash);
+
+    /**
+     * 统计引用同一存储对象的招标文件数量（删除MinIO对象前检查）
+     *
+     * @param storageKey 存储键
+     * @return 引用数量
+     */
+    default long countByStorageKey(String storageKey) {
+        return selectCount(Wrappers.<BiddingDocument>lambdaQuery()
+                .eq(BiddingDocument::getStorageKey, storageKey));
+    }
+
+    /**
+     * 将解析结果同步到同一哈希下尚未解析成功的全部记录
+     *
+     * @param documentHash 文件哈希
+     * @param parsedResult 解析结果（仅非空字段参与更新）
+     * @return 更新行数
+     */
+    default int updateParsedResultByDocumentHash(String documentHash, BiddingDocument parsedResult) {
+        return update(parsedResult, Wrappers.<BiddingDocument>lambdaUpdate()
+                .eq(BiddingDocument::getDocumentHash, documentHash)
+                .ne(BiddingDocument::getParsedStatus, "success"));
+    }
 }
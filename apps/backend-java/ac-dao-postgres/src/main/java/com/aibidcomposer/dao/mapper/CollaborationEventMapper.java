@@ -3,16 +3,22 @@ package com.aibidcomposer.dao.mapper;
 import com.aibidcomposer.dao.entity.CollaborationEvent;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * 协作事件Mapper接口(时序数据)
  *
+ * <p>collaboration_events 按 created_at 按月分区。查询应尽量带时间下界
+ * （findRecentBy*），以便只扫描近期分区。</p>
+ *
  * 需求编号: REQ-JAVA-DAO-003
  * 创建时间: 2025-11-26
  * 创建者: claude-sonnet-4-5 (claude-sonnet-4-5-20250929)
@@ -158,4 +164,129 @@ public interface CollaborationEventMapper extends BaseMapper<CollaborationEvent>
      * @return 影响行数
      */
     int deleteByDocumentId(@Param("documentId") Long documentId);
+
+    /**
+     * 根据文档ID查询近期协作事件（按 created_at 下界裁剪分区）
+     *
+     * @param documentId 文档ID
+     * @param since 起始时间（含），只扫描该时间之后的分区
+     * @return 按时间、ID升序的事件列表
+     */
+    default List<CollaborationEvent> findRecentByDocumentId(Long documentId, LocalDateTime since) {
+        return selectList(Wrappers.<CollaborationEvent>lambdaQuery()
+                .eq(CollaborationEvent::getDocumentId, documentId)
+                .ge(CollaborationEvent::getCreatedAt, since)
+                .orderByAsc(CollaborationEvent::getCreatedAt, CollaborationEvent::getId));
+    }
+
+    /**
+     * 根据会话ID查询近期协作事件（按 created_at 下界裁剪分区）
+     *
+     * @param sessionId 会话ID
+     * @param since 起始时间（含），只扫描该时间之后的分区
+     * @return 按时间、ID升序的事件列表
+     */
+    default List<CollaborationEvent> findRecentBySessionId(Long sessionId, LocalDateTime since) {
+        return selectList(Wrappers.<CollaborationEvent>lambdaQuery()
+                .eq(CollaborationEvent::getSessionId, sessionId)
+                .ge(CollaborationEvent::getCreatedAt, since)
+                .orderByAsc(CollaborationEvent::getCreatedAt, CollaborationEvent::getId));
+    }
+
+    /**
+     * 统计文档近期协作事件数（按 created_at 下界裁剪分区）
+     *
+     * @param documentId 文档ID
+     * @param since 起始时间（含）
+     * @return 事件数
+     */
+    default long countRecentByDocumentId(Long documentId, LocalDateTime since) {
+        return selectCount(Wrappers.<CollaborationEvent>lambdaQuery()
+                .eq(CollaborationEvent::getDocumentId, documentId)
+                .ge(CollaborationEvent::getCreatedAt, since));
+    }
+
+    /**
+     * 查询文档在指定事件之后的协作事件（快照之后的增量）
+     *
+     * <p>ID按插入顺序分配，不是提交顺序：以ID作水位时调用方需保证更小ID的事件都已提交
+     * （见 DocumentSnapshotService 的折叠截止时间）。</p>
+     *
+     * @param documentId 文档ID
+     * @param afterId 起始事件ID（不含），为空表示从头开始
+     * @param since 时间下界（含），用于裁剪分区，可为空
+     * @param limit 最多返回条数
+     * @return 按ID升序的事件列表
+     */
+    default List<CollaborationEvent> findByDocumentIdAfter(Long documentId, Long afterId, LocalDateTime since,
+                                                           int limit) {
+        return selectList(Wrappers.<CollaborationEvent>lambdaQuery()
+                .eq(CollaborationEvent::getDocumentId, documentId)
+                .gt(afterId != null, CollaborationEvent::getId, afterId)
+                .ge(since != null, CollaborationEvent::getCreatedAt, since)
+                .orderByAsc(CollaborationEvent::getId)
+                .last("LIMIT " + limit));
+    }
+
+    /**
+     * 查询指定时间之后有协作事件的文档ID
+     *
+     * @param since 起始时间（含）
+     * @return 文档ID列表
+     */
+    @Select("SELECT DISTINCT document_id FROM collaboration_events WHERE created_at >= #{since}")
+    List<Long> findActiveDocumentIds(@Param("since") LocalDateTime since);
+
+    /**
+     * 查询在指定日期之前有未折叠事件的文档ID（事件ID大于最新快照的 last_event_id，或没有快照）
+     *
+     * <p>删除过期分区前调用：这些文档须先生成快照，否则删除分区后无法还原文档状态。</p>
+     *
+     * @param before 日期边界（不含）
+     * @return 文档ID列表
+     */
+    @Select("WITH expiring AS ("
+            + " SELECT document_id, MAX(id) AS max_id FROM collaboration_events"
+            + " WHERE created_at < #{before} GROUP BY document_id)"
+            + " SELECT x.document_id FROM expiring x"
+            + " LEFT JOIN LATERAL (SELECT v.last_event_id FROM document_versions v"
+            + " WHERE v.document_id = x.document_id AND v.last_event_id IS NOT NULL AND v.deleted = 0"
+            + " ORDER BY v.version_number DESC LIMIT 1) s ON TRUE"
+            + " WHERE s.last_event_id IS NULL OR s.last_event_id < x.max_id"
+            + " ORDER BY x.document_id")
+    List<Long> findDocumentIdsWithUnfoldedEventsBefore(@Param("before") LocalDate before);
+
+    /**
+     * 预建当月及之后若干个月的分区（幂等）
+     *
+     * @param monthsAhead 向后预建的月数
+     * @return 新建分区数
+     */
+    @Select("SELECT ensure_collaboration_events_partitions(#{monthsAhead})")
+    int ensurePartitions(@Param("monthsAhead") int monthsAhead);
+
+    /**
+     * 删除整体早于指定日期的月分区（分区级删除，不产生逐行DELETE）
+     *
+     * @param before 保留边界，上界不晚于该日期的分区被删除
+     * @return 已删除的分区名
+     */
+    @Select("SELECT drop_collaboration_events_partitions(#{before})")
+    List<String> dropPartitionsBefore(@Param("before") LocalDate before);
+
+    /**
+     * 为默认分区中出现的每个月建分区并把数据移出默认分区
+     *
+     * @return 处理的分区名
+     */
+    @Select("SELECT repair_collaboration_events_default()")
+    List<String> repairDefaultPartition();
+
+    /**
+     * 统计落入默认分区的事件数（大于0说明分区预建不及时）
+     *
+     * @return 事件数
+     */
+    @Select("SELECT COUNT(*) FROM collaboration_events_default")
+    long countInDefaultPartition();
 }
@@ -1,10 +1,17 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.DocumentSection;
+import com.aibidcomposer.dao.support.SearchVectorUpdate;
+import com.aibidcomposer.dao.support.TextSearchRow;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +36,41 @@ public interface DocumentSectionMapper extends BaseMapper<DocumentSection> {
      */
     List<DocumentSection> findByDocumentId(@Param("documentId") Long documentId);
 
+    /**
+     * 查询文档大纲（只含 id、parent_id、title、section_number、level、order_index、word_count，
+     * 不读取章节正文，按order_index排序）
+     *
+     * @param documentId 文档ID
+     * @return 章节列表
+     */
+    default List<DocumentSection> findOutlineByDocumentId(Long documentId) {
+        return selectList(Wrappers.<DocumentSection>lambdaQuery()
+                .select(DocumentSection::getId, DocumentSection::getParentId, DocumentSection::getTitle,
+                        DocumentSection::getSectionNumber, DocumentSection::getLevel,
+                        DocumentSection::getOrderIndex, DocumentSection::getWordCount)
+                .eq(DocumentSection::getDocumentId, documentId)
+                .orderByAsc(DocumentSection::getOrderIndex)
+                .orderByAsc(DocumentSection::getId));
+    }
+
+    /**
+     * 按ID批量查询章节正文（限定在文档内，只含 id、content、content_type、word_count）
+     *
+     * @param documentId 文档ID
+     * @param ids 章节ID
+     * @return 章节列表
+     */
+    default List<DocumentSection> findContentByIds(Long documentId, Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return selectList(Wrappers.<DocumentSection>lambdaQuery()
+                .select(DocumentSection::getId, DocumentSection::getContent,
+                        DocumentSection::getContentType, DocumentSection::getWordCount)
+                .eq(DocumentSection::getDocumentId, documentId)
+                .in(DocumentSection::getId, ids));
+    }
+
     /**
      * 根据文档ID和父章节ID查询子章节列表
      *
@@ -106,4 +148,286 @@ public interface DocumentSectionMapper extends BaseMapper<DocumentSection> {
      * @return 删除的记录数
      */
     int deleteByDocumentId(@Param("documentId") Long documentId);
+
+    /**
+     * 查询子树（含自身），按 level、order_index 排序
+     *
+     * <p>先取根章节的物化路径，再按路径前缀一次查出全部子孙章节。</p>
+     *
+     * @param documentId 文档ID
+     * @param sectionId 子树根章节ID
+     * @return 章节列表，根章节不存在时为空
+     */
+    default List<DocumentSection> findSubtree(Long documentId, Long sectionId) {
+        DocumentSection root = selectOne(Wrappers.<DocumentSection>lambdaQuery()
+                .select(DocumentSection::getId, DocumentSection::getPath)
+                .eq(DocumentSection::getDocumentId, documentId)
+                .eq(DocumentSection::getId, sectionId));
+        if (root == null || root.getPath() == null) {
+            return List.of();
+        }
+        return selectList(Wrappers.<DocumentSection>lambdaQuery()
+                .eq(DocumentSection::getDocumentId, documentId)
+                .likeRight(DocumentSection::getPath, root.getPath())
+                .orderByAsc(DocumentSection::getLevel)
+                .orderByAsc(DocumentSection::getOrderIndex)
+                .orderByAsc(DocumentSection::getId));
+    }
+
+    /**
+     * 移动章节（含子树）到新的父章节下的指定位置
+     *
+     * <p>新兄弟章节中 order_index 不小于目标位置的后移一位；子孙章节的路径与层级由触发器整体改写。</p>
+     *
+     * @param documentId 文档ID
+     * @param sectionId 章节ID
+     * @param parentId 新父章节ID（NULL表示移动到根）
+     * @param orderIndex 目标位置
+     * @return 影响行数
+     */
+    @Update("WITH shifted AS ("
+            + " UPDATE document_sections SET order_index = order_index + 1"
+            + " WHERE document_id = #{documentId} AND parent_id IS NOT DISTINCT FROM #{parentId,jdbcType=BIGINT}"
+            + " AND order_index >= #{orderIndex} AND id <> #{sectionId} AND deleted = 0)"
+            + " UPDATE document_sections SET parent_id = #{parentId,jdbcType=BIGINT}, order_index = #{orderIndex},"
+            + " update_time = CURRENT_TIMESTAMP"
+            + " WHERE id = #{sectionId} AND document_id = #{documentId} AND deleted = 0")
+    int moveSection(@Param("documentId") Long documentId, @Param("sectionId") Long sectionId,
+                    @Param("parentId") Long parentId, @Param("orderIndex") Integer orderIndex);
+
+    /**
+     * 按给定顺序重排同一父章节下的子章节（order_index 依次为 1..n，未变化的行不更新）
+     *
+     * @param documentId 文档ID
+     * @param parentId 父章节ID（NULL表示根章节）
+     * @param sectionIds 排序后的章节ID
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE document_sections s SET order_index = o.ord, update_time = CURRENT_TIMESTAMP FROM (VALUES "
+            + "<foreach collection='sectionIds' item='id' index='i' separator=','>"
+            + "(CAST(#{id} AS BIGINT), CAST(#{i} AS INTEGER) + 1)"
+            + "</foreach>"
+            + ") AS o(id, ord)"
+            + " WHERE s.id = o.id AND s.document_id = #{documentId}"
+            + " AND s.parent_id IS NOT DISTINCT FROM #{parentId,jdbcType=BIGINT}"
+            + " AND s.deleted = 0 AND s.order_index IS DISTINCT FROM o.ord"
+            + "</script>")
+    int reorderChildren(@Param("documentId") Long documentId, @Param("parentId") Long parentId,
+                        @Param("sectionIds") List<Long> sectionIds);
+
+    /**
+     * 按树结构重新生成章节编号（如 2.3.1），未变化的行不更新
+     *
+     * <p>同级按 order_index 排名，再沿物化路径拼接各级祖先的排名。</p>
+     *
+     * @param documentId 文档ID
+     * @return 影响行数
+     */
+    @Update("WITH ranks AS ("
+            + " SELECT id, row_number() OVER (PARTITION BY parent_id ORDER BY order_index, id) AS rn"
+            + " FROM document_sections WHERE document_id = #{documentId} AND deleted = 0),"
+            + " numbers AS ("
+            + " SELECT s.id, string_agg(r.rn::text, '.' ORDER BY a.ord) AS num"
+            + " FROM document_sections s"
+            + " CROSS JOIN LATERAL unnest(string_to_array(trim(BOTH '/' FROM s.path), '/'))"
+            + " WITH ORDINALITY AS a(ancestor_id, ord)"
+            + " JOIN ranks r ON r.id = a.ancestor_id::bigint"
+            + " WHERE s.document_id = #{documentId} AND s.deleted = 0"
+            + " GROUP BY s.id)"
+            + " UPDATE document_sections t SET section_number = n.num FROM numbers n"
+            + " WHERE t.id = n.id AND t.section_number IS DISTINCT FROM n.num")
+    int renumberSections(@Param("documentId") Long documentId);
+
+    /**
+     * 预分配章节ID（批量插入前确定新章节ID，便于同批子章节引用父章节）
+     *
+     * @param count 数量
+     * @return 新ID列表
+     */
+    @Select("SELECT nextval(pg_get_serial_sequence('document_sections', 'id')) FROM generate_series(1, #{count})")
+    List<Long> allocateIds(@Param("count") int count);
+
+    /**
+     * 锁定文档内的指定章节并返回其 update_time（用于批量保存前的乐观并发检查）
+     *
+     * @param documentId 文档ID
+     * @param ids 章节ID
+     * @return 存在且未删除的章节（只含 id、update_time）
+     */
+    @Select("<script>"
+            + "SELECT id, update_time FROM document_sections"
+            + " WHERE document_id = #{documentId} AND deleted = 0 AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + " ORDER BY id FOR UPDATE"
+            + "</script>")
+    List<DocumentSection> lockForUpdate(@Param("documentId") Long documentId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询文档内存在的章节ID（用于校验父章节归属）
+     *
+     * @param documentId 文档ID
+     * @param ids 章节ID
+     * @return 属于该文档且未删除的章节ID
+     */
+    default List<Long> findIdsInDocument(Long documentId, Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return selectObjs(Wrappers.<DocumentSection>lambdaQuery()
+                .select(DocumentSection::getId)
+                .eq(DocumentSection::getDocumentId, documentId)
+                .in(DocumentSection::getId, ids));
+    }
+
+    /**
+     * 把指定章节移动到根（子孙章节的路径与层级由触发器整体改写）
+     *
+     * @param documentId 文档ID
+     * @param ids 章节ID
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE document_sections SET parent_id = NULL"
+            + " WHERE document_id = #{documentId} AND deleted = 0 AND parent_id IS NOT NULL AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    int moveToRoot(@Param("documentId") Long documentId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * 批量插入或更新章节（单条 INSERT ... ON CONFLICT 语句）
+     *
+     * <p>所有行须已带ID（新章节先用 {@link #allocateIds(int)} 分配）。已存在的章节：
+     * 字段（含 parent_id）为NULL时保持原值，移动到根用 {@link #moveToRoot(Long, Collection)}。
+     * 行按列表顺序处理，父章节须排在子章节之前；path / level 由触发器维护。</p>
+     *
+     * @param sections 章节列表
+     * @return 影响行数
+     */
+    @Insert("<script>"
+            + "INSERT INTO document_sections (id, document_id, parent_id, title, section_number, content, content_type,"
+            + " order_index, word_count, is_required, is_generated, generated_by, generation_prompt, metadata,"
+            + " create_by, create_time, update_by, update_time, deleted) VALUES "
+            + "<foreach collection='sections' item='s' separator=','>"
+            + "(#{s.id}, #{s.documentId}, #{s.parentId,jdbcType=BIGINT}, #{s.title}, #{s.sectionNumber},"
+            + " #{s.content}, #{s.contentType}, #{s.orderIndex}, #{s.wordCount}, #{s.isRequired}, #{s.isGenerated},"
+            + " #{s.generatedBy}, #{s.generationPrompt},"
+            + " #{s.metadata,typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler},"
+            + " #{s.createBy}, #{s.updateTime}, #{s.updateBy}, #{s.updateTime}, 0)"
+            + "</foreach>"
+            + " ON CONFLICT (id) DO UPDATE SET"
+            + " parent_id = COALESCE(EXCLUDED.parent_id, document_sections.parent_id),"
+            + " title = COALESCE(EXCLUDED.title, document_sections.title),"
+            + " section_number = COALESCE(EXCLUDED.section_number, document_sections.section_number),"
+            + " content = COALESCE(EXCLUDED.content, document_sections.content),"
+            + " content_type = COALESCE(EXCLUDED.content_type, document_sections.content_type),"
+            + " order_index = COALESCE(EXCLUDED.order_index, document_sections.order_index),"
+            + " word_count = COALESCE(EXCLUDED.word_count, document_sections.word_count),"
+            + " is_required = COALESCE(EXCLUDED.is_required, document_sections.is_required),"
+            + " is_generated = COALESCE(EXCLUDED.is_generated, document_sections.is_generated),"
+            + " generated_by = COALESCE(EXCLUDED.generated_by, document_sections.generated_by),"
+            + " generation_prompt = COALESCE(EXCLUDED.generation_prompt, document_sections.generation_prompt),"
+            + " metadata = COALESCE(EXCLUDED.metadata, document_sections.metadata),"
+            + " update_by = COALESCE(EXCLUDED.update_by, document_sections.update_by),"
+            + " update_time = EXCLUDED.update_time"
+            + " WHERE document_sections.document_id = EXCLUDED.document_id AND document_sections.deleted = 0"
+            + "</script>")
+    int upsertSections(@Param("sections") List<DocumentSection> sections);
+
+    /**
+     * 查询指定章节中待建立检索向量的行（标题或正文变化后 search_indexed_at 被触发器置空）
+     *
+     * @param ids 章节ID
+     * @return 待索引的章节（只含 id、title、content）
+     */
+    @Select("<script>"
+            + "SELECT id, title, content FROM document_sections"
+            + " WHERE deleted = 0 AND search_indexed_at IS NULL AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    List<DocumentSection> findSearchPending(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 领取一批待建立检索向量的行并加锁（FOR UPDATE SKIP LOCKED，多节点并发回填互不阻塞）
+     *
+     * @param limit 最大行数
+     * @return 待索引的章节（只含 id、title、content）
+     */
+    @Select("SELECT id, title, content FROM document_sections"
+            + " WHERE search_indexed_at IS NULL AND deleted = 0"
+            + " ORDER BY id LIMIT #{limit} FOR UPDATE SKIP LOCKED")
+    List<DocumentSection> claimSearchPending(@Param("limit") int limit);
+
+    /**
+     * 批量写入检索向量（单条 UPDATE ... FROM VALUES 语句，不修改 update_time）
+     *
+     * @param rows 检索向量
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE document_sections t SET search_vector = CAST(v.vector AS tsvector), search_indexed_at = now()"
+            + " FROM (VALUES "
+            + "<foreach collection='rows' item='r' separator=','>(CAST(#{r.id} AS BIGINT), CAST(#{r.vector} AS TEXT))</foreach>"
+            + ") AS v(id, vector) WHERE t.id = v.id"
+            + "</script>")
+    int updateSearchVectors(@Param("rows") List<SearchVectorUpdate> rows);
+
+    /**
+     * 全文检索章节，按相关度倒序（标题命中权重高于正文）
+     *
+     * @param query tsquery 字面量
+     * @param organizationId 组织ID（可选，按项目所属组织过滤）
+     * @param projectId 项目ID（可选）
+     * @param documentId 文档ID（可选）
+     * @param offset 偏移量
+     * @param limit 条数
+     * @return 检索结果（含正文，用于生成摘要）
+     */
+    @Select("<script>"
+            + "SELECT s.id, s.document_id, d.project_id, s.title, s.section_number, s.content,"
+            + " ts_rank_cd(s.search_vector, q.query, 32) AS rank"
+            + " FROM (SELECT CAST(#{query} AS tsquery) AS query) q"
+            + " JOIN document_sections s ON s.search_vector @@ q.query AND s.deleted = 0"
+            + " JOIN bid_documents d ON d.id = s.document_id AND d.deleted = 0"
+            + "<if test='organizationId != null'>"
+            + " JOIN projects p ON p.id = d.project_id AND p.organization_id = #{organizationId} AND p.deleted = 0"
+            + "</if>"
+            + " WHERE 1 = 1"
+            + "<if test='projectId != null'> AND d.project_id = #{projectId}</if>"
+            + "<if test='documentId != null'> AND s.document_id = #{documentId}</if>"
+            + " ORDER BY rank DESC, s.id DESC"
+            + " LIMIT #{limit} OFFSET #{offset}"
+            + "</script>")
+    List<TextSearchRow> searchSections(@Param("query") String query,
+                                       @Param("organizationId") Long organizationId,
+                                       @Param("projectId") Long projectId,
+                                       @Param("documentId") Long documentId,
+                                       @Param("offset") long offset,
+                                       @Param("limit") long limit);
+
+    /**
+     * 统计全文检索命中的章节数
+     *
+     * @param query tsquery 字面量
+     * @param organizationId 组织ID（可选）
+     * @param projectId 项目ID（可选）
+     * @param documentId 文档ID（可选）
+     * @return 命中数
+     */
+    @Select("<script>"
+            + "SELECT count(*)"
+            + " FROM (SELECT CAST(#{query} AS tsquery) AS query) q"
+            + " JOIN document_sections s ON s.search_vector @@ q.query AND s.deleted = 0"
+            + " JOIN bid_documents d ON d.id = s.document_id AND d.deleted = 0"
+            + "<if test='organizationId != null'>"
+            + " JOIN projects p ON p.id = d.project_id AND p.organization_id = #{organizationId} AND p.deleted = 0"
+            + "</if>"
+            + " WHERE 1 = 1"
+            + "<if test='projectId != null'> AND d.project_id = #{projectId}</if>"
+            + "<if test='documentId != null'> AND s.document_id = #{documentId}</if>"
+            + "</script>")
+    long countSearchSections(@Param("query") String query,
+                             @Param("organizationId") Long organizationId,
+                             @Param("projectId") Long projectId,
+                             @Param("documentId") Long documentId);
 }
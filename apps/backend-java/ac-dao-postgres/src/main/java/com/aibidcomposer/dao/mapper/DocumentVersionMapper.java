@@ -3,9 +3,12 @@ package com.aibidcomposer.dao.mapper;
 import com.aibidcomposer.dao.entity.DocumentVersion;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,12 +27,22 @@ import java.util.Optional;
 public interface DocumentVersionMapper extends BaseMapper<DocumentVersion> {
 
     /**
-     * 根据文档ID查询版本列表（按version_number降序）
+     * 根据文档ID查询版本列表（按version_number降序，只含元数据，不读取内容与差量）
      *
      * @param documentId 文档ID
      * @return 版本列表
      */
-    List<DocumentVersion> findByDocumentId(@Param("documentId") Long documentId);
+    default List<DocumentVersion> findByDocumentId(Long documentId) {
+        return selectList(Wrappers.<DocumentVersion>lambdaQuery()
+                .select(DocumentVersion::getId, DocumentVersion::getDocumentId, DocumentVersion::getVersion,
+                        DocumentVersion::getVersionNumber, DocumentVersion::getTitle,
+                        DocumentVersion::getChangeSummary, DocumentVersion::getChangeType,
+                        DocumentVersion::getWordCount, DocumentVersion::getStorageMode,
+                        DocumentVersion::getBaseVersionNumber, DocumentVersion::getCreatedBy,
+                        DocumentVersion::getCreatedAt)
+                .eq(DocumentVersion::getDocumentId, documentId)
+                .orderByDesc(DocumentVersion::getVersionNumber));
+    }
 
     /**
      * 根据文档ID分页查询版本列表
@@ -48,6 +61,8 @@ public interface DocumentVersionMapper extends BaseMapper<DocumentVersion> {
      * @param versionNumber 版本号
      * @return 文档版本
      */
+    @Select("SELECT * FROM document_versions WHERE document_id = #{documentId} AND version_number = #{versionNumber}")
+    @ResultMap("mybatis-plus_DocumentVersion")
     Optional<DocumentVersion> findByDocumentIdAndVersionNumber(@Param("documentId") Long documentId,
                                                                @Param("versionNumber") Integer versionNumber);
 
@@ -69,6 +84,45 @@ public interface DocumentVersionMapper extends BaseMapper<DocumentVersion> {
      */
     Optional<DocumentVersion> findLatestVersion(@Param("documentId") Long documentId);
 
+    /**
+     * 查询版本号不大于指定值的最近关键帧（差量版本的基准）
+     *
+     * @param documentId 文档ID
+     * @param maxVersionNumber 最大版本号（含）
+     * @return 关键帧
+     */
+    default Optional<DocumentVersion> findKeyframe(Long documentId, Integer maxVersionNumber) {
+        return Optional.ofNullable(selectOne(Wrappers.<DocumentVersion>lambdaQuery()
+                .eq(DocumentVersion::getDocumentId, documentId)
+                .eq(DocumentVersion::getStorageMode, "keyframe")
+                .le(DocumentVersion::getVersionNumber, maxVersionNumber)
+                .orderByDesc(DocumentVersion::getVersionNumber)
+                .last("LIMIT 1")));
+    }
+
+    /**
+     * 查询存在未编码（storage_mode = full）版本的文档ID
+     *
+     * @param limit 最多返回条数
+     * @return 文档ID列表
+     */
+    @Select("SELECT DISTINCT document_id FROM document_versions WHERE storage_mode = 'full' LIMIT #{limit}")
+    List<Long> findDocumentIdsWithUnencodedVersions(@Param("limit") int limit);
+
+    /**
+     * 查询文档最新的协作事件快照
+     *
+     * @param documentId 文档ID
+     * @return 最新快照（last_event_id 不为空的最大版本）
+     */
+    default Optional<DocumentVersion> findLatestSnapshot(Long documentId) {
+        return Optional.ofNullable(selectOne(Wrappers.<DocumentVersion>lambdaQuery()
+                .eq(DocumentVersion::getDocumentId, documentId)
+                .isNotNull(DocumentVersion::getLastEventId)
+                .orderByDesc(DocumentVersion::getVersionNumber)
+                .last("LIMIT 1")));
+    }
+
     /**
      * 根据变更类型查询版本列表
      *
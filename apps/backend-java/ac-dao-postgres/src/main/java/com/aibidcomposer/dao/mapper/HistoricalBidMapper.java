@@ -1,14 +1,17 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.HistoricalBid;
+import com.aibidcomposer.dao.support.JsonbQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -129,4 +132,31 @@ public interface HistoricalBidMapper extends BaseMapper<HistoricalBid> {
      * @return 影响行数
      */
     int deleteByOrganizationId(@Param("organizationId") Long organizationId);
+
+    /**
+     * 查询同时包含全部标签的历史标书（JSONB @>，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param tags 标签
+     * @return 历史标书列表
+     */
+    default List<HistoricalBid> findByAllTags(Long organizationId, Collection<String> tags) {
+        return selectList(JsonbQueries.containsAll(Wrappers.<HistoricalBid>lambdaQuery()
+                .eq(HistoricalBid::getOrganizationId, organizationId), "tags", tags));
+    }
+
+    /**
+     * 查询包含任一标签的历史标书（JSONB ?|，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param tags 标签
+     * @return 历史标书列表，标签为空时返回空列表
+     */
+    default List<HistoricalBid> findByAnyTag(Long organizationId, Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        return selectList(JsonbQueries.containsAny(Wrappers.<HistoricalBid>lambdaQuery()
+                .eq(HistoricalBid::getOrganizationId, organizationId), "tags", tags));
+    }
 }
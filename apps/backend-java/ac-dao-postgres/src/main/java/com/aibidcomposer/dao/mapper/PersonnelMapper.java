@@ -1,13 +1,19 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.Personnel;
+import com.aibidcomposer.dao.support.JsonbQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -114,4 +120,53 @@ public interface PersonnelMapper extends BaseMapper<Personnel> {
      * @return 影响行数
      */
     int deleteByOrganizationId(@Param("organizationId") Long organizationId);
+
+    /**
+     * 查询同时具备全部技能的人员（skills @> [{"name": ...}]，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param skillNames 技能名称
+     * @return 人员列表
+     */
+    default List<Personnel> findByAllSkills(Long organizationId, Collection<String> skillNames) {
+        return selectList(JsonbQueries.containsObject(Wrappers.<Personnel>lambdaQuery()
+                .eq(Personnel::getOrganizationId, organizationId), "skills", skillFragments(skillNames)));
+    }
+
+    /**
+     * 查询具备任一技能的人员（多个 @> 求或，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param skillNames 技能名称
+     * @return 人员列表，技能为空时返回空列表
+     */
+    default List<Personnel> findByAnySkill(Long organizationId, Collection<String> skillNames) {
+        List<Map<String, Object>> fragments = skillFragments(skillNames);
+        if (fragments == null) {
+            return List.of();
+        }
+        List<List<Map<String, Object>>> alternatives = new ArrayList<>(fragments.size());
+        fragments.forEach(fragment -> alternatives.add(List.of(fragment)));
+        return selectList(JsonbQueries.containsAnyObject(Wrappers.<Personnel>lambdaQuery()
+                .eq(Personnel::getOrganizationId, organizationId), "skills", alternatives));
+    }
+
+    /**
+     * 技能名称 → skills 数组元素片段 {"name": ...}
+     *
+     * @param skillNames 技能名称
+     * @return 片段列表，没有有效名称时返回null
+     */
+    private static List<Map<String, Object>> skillFragments(Collection<String> skillNames) {
+        if (skillNames == null) {
+            return null;
+        }
+        List<Map<String, Object>> fragments = new ArrayList<>();
+        for (String name : new LinkedHashSet<>(skillNames)) {
+            if (name != null && !name.isBlank()) {
+                fragments.add(Map.of("name", name));
+            }
+        }
+        return fragments.isEmpty() ? null : fragments;
+    }
 }
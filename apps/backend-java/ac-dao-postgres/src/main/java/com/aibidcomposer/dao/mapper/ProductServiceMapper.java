@@ -1,12 +1,15 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.ProductService;
+import com.aibidcomposer.dao.support.JsonbQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -93,4 +96,58 @@ public interface ProductServiceMapper extends BaseMapper<ProductService> {
      * @return 影响行数
      */
     int deleteByOrganizationId(@Param("organizationId") Long organizationId);
+
+    /**
+     * 查询同时包含全部标签的产品服务（JSONB @>，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param tags 标签
+     * @return 产品服务列表
+     */
+    default List<ProductService> findByAllTags(Long organizationId, Collection<String> tags) {
+        return selectList(JsonbQueries.containsAll(Wrappers.<ProductService>lambdaQuery()
+                .eq(ProductService::getOrganizationId, organizationId), "tags", tags));
+    }
+
+    /**
+     * 查询包含任一标签的产品服务（JSONB ?|，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param tags 标签
+     * @return 产品服务列表，标签为空时返回空列表
+     */
+    default List<ProductService> findByAnyTag(Long organizationId, Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        return selectList(JsonbQueries.containsAny(Wrappers.<ProductService>lambdaQuery()
+                .eq(ProductService::getOrganizationId, organizationId), "tags", tags));
+    }
+
+    /**
+     * 查询同时包含全部技术栈的产品服务（JSONB @>，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param technologies 技术栈
+     * @return 产品服务列表
+     */
+    default List<ProductService> findByAllTechnologies(Long organizationId, Collection<String> technologies) {
+        return selectList(JsonbQueries.containsAll(Wrappers.<ProductService>lambdaQuery()
+                .eq(ProductService::getOrganizationId, organizationId), "technology_stack", technologies));
+    }
+
+    /**
+     * 查询包含任一技术栈的产品服务（JSONB ?|，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param technologies 技术栈
+     * @return 产品服务列表，技术栈为空时返回空列表
+     */
+    default List<ProductService> findByAnyTechnology(Long organizationId, Collection<String> technologies) {
+        if (technologies == null || technologies.isEmpty()) {
+            return List.of();
+        }
+        return selectList(JsonbQueries.containsAny(Wrappers.<ProductService>lambdaQuery()
+                .eq(ProductService::getOrganizationId, organizationId), "technology_stack", technologies));
+    }
 }
@@ -1,13 +1,16 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.ProjectCase;
+import com.aibidcomposer.dao.support.JsonbQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -114,4 +117,58 @@ public interface ProjectCaseMapper extends BaseMapper<ProjectCase> {
      * @return 影响行数
      */
     int deleteByOrganizationId(@Param("organizationId") Long organizationId);
+
+    /**
+     * 查询同时包含全部标签的项目案例（JSONB @>，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param tags 标签
+     * @return 项目案例列表
+     */
+    default List<ProjectCase> findByAllTags(Long organizationId, Collection<String> tags) {
+        return selectList(JsonbQueries.containsAll(Wrappers.<ProjectCase>lambdaQuery()
+                .eq(ProjectCase::getOrganizationId, organizationId), "tags", tags));
+    }
+
+    /**
+     * 查询包含任一标签的项目案例（JSONB ?|，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param tags 标签
+     * @return 项目案例列表，标签为空时返回空列表
+     */
+    default List<ProjectCase> findByAnyTag(Long organizationId, Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        return selectList(JsonbQueries.containsAny(Wrappers.<ProjectCase>lambdaQuery()
+                .eq(ProjectCase::getOrganizationId, organizationId), "tags", tags));
+    }
+
+    /**
+     * 查询同时包含全部技术的项目案例（JSONB @>，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param technologies 技术
+     * @return 项目案例列表
+     */
+    default List<ProjectCase> findByAllTechnologies(Long organizationId, Collection<String> technologies) {
+        return selectList(JsonbQueries.containsAll(Wrappers.<ProjectCase>lambdaQuery()
+                .eq(ProjectCase::getOrganizationId, organizationId), "technologies_used", technologies));
+    }
+
+    /**
+     * 查询包含任一技术的项目案例（JSONB ?|，走 GIN 索引）
+     *
+     * @param organizationId 组织ID
+     * @param technologies 技术
+     * @return 项目案例列表，技术为空时返回空列表
+     */
+    default List<ProjectCase> findByAnyTechnology(Long organizationId, Collection<String> technologies) {
+        if (technologies == null || technologies.isEmpty()) {
+            return List.of();
+        }
+        return selectList(JsonbQueries.containsAny(Wrappers.<ProjectCase>lambdaQuery()
+                .eq(ProjectCase::getOrganizationId, organizationId), "technologies_used", technologies));
+    }
 }
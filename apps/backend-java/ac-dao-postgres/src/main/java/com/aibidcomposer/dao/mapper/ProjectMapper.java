@@ -1,8 +1,11 @@
 package com.aibidcomposer.dao.mapper;
 
+import com.aibidcomposer.common.db.KeysetCursor;
 import com.aibidcomposer.dao.entity.Project;
+import com.aibidcomposer.dao.support.KeysetQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -51,6 +54,21 @@ public interface ProjectMapper extends BaseMapper<Project> {
                                             @Param("organizationId") Long organizationId,
                                             @Param("status") String status);
 
+    /**
+     * 根据组织ID游标分页查询项目列表（按 create_time 倒序，无OFFSET与COUNT）
+     *
+     * @param organizationId 组织ID
+     * @param status 项目状态（可选）
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 项目列表
+     */
+    default List<Project> seekByOrganizationId(Long organizationId, String status, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<Project>lambdaQuery()
+                .eq(Project::getOrganizationId, organizationId)
+                .eq(status != null, Project::getStatus, status), "create_time", after, limit));
+    }
+
     /**
      * 根据用户ID查询参与的项目列表
      *
@@ -1,9 +1,11 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.ProjectRequirement;
+import com.aibidcomposer.dao.support.RequirementMatchUpdate;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
 
 import java.util.List;
 
@@ -63,4 +65,21 @@ public interface ProjectRequirementMapper extends BaseMapper<ProjectRequirement>
      * @return 强制需求数量
      */
     int countMandatoryByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * 批量写入匹配结果（单条 UPDATE ... FROM VALUES 语句）
+     *
+     * @param rows 匹配结果
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE project_requirements t SET match_status = v.status, match_score = v.score,"
+            + " match_details = CAST(v.details AS jsonb), update_time = CURRENT_TIMESTAMP FROM (VALUES "
+            + "<foreach collection='rows' item='r' separator=','>"
+            + "(CAST(#{r.id} AS BIGINT), CAST(#{r.matchStatus} AS VARCHAR), CAST(#{r.matchScore} AS NUMERIC),"
+            + " CAST(#{r.matchDetails} AS TEXT))"
+            + "</foreach>"
+            + ") AS v(id, status, score, details) WHERE t.id = v.id AND t.deleted = 0"
+            + "</script>")
+    int updateMatchResults(@Param("rows") List<RequirementMatchUpdate> rows);
 }
@@ -1,8 +1,11 @@
 package com.aibidcomposer.dao.mapper;
 
+import com.aibidcomposer.common.db.KeysetCursor;
 import com.aibidcomposer.dao.entity.SystemLog;
+import com.aibidcomposer.dao.support.KeysetQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -59,6 +62,19 @@ public interface SystemLogMapper extends BaseMapper<SystemLog> {
     IPage<SystemLog> findPageByService(Page<SystemLog> page,
                                         @Param("service") String service);
 
+    /**
+     * 根据服务名称游标分页查询系统日志（按 created_at 倒序，无OFFSET与COUNT）
+     *
+     * @param service 服务名称
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 系统日志
+     */
+    default List<SystemLog> seekByService(String service, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<SystemLog>lambdaQuery()
+                .eq(SystemLog::getService, service), "created_at", after, limit));
+    }
+
     /**
      * 根据模块名称查询系统日志
      *
@@ -113,6 +129,19 @@ public interface SystemLogMapper extends BaseMapper<SystemLog> {
     IPage<SystemLog> findPageByUserId(Page<SystemLog> page,
                                        @Param("userId") Long userId);
 
+    /**
+     * 根据用户ID游标分页查询系统日志（按 created_at 倒序，无OFFSET与COUNT）
+     *
+     * @param userId 用户ID
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 系统日志
+     */
+    default List<SystemLog> seekByUserId(Long userId, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<SystemLog>lambdaQuery()
+                .eq(SystemLog::getUserId, userId), "created_at", after, limit));
+    }
+
     /**
      * 根据时间范围查询系统日志
      *
@@ -1,13 +1,18 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.Template;
+import com.aibidcomposer.dao.support.JsonbQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -83,7 +88,13 @@ public interface TemplateMapper extends BaseMapper<Template> {
      * @param limit 数量限制
      * @return 热门模板列表
      */
-    List<Template> findPopularTemplates(@Param("limit") Integer limit);
+    default List<Template> findPopularTemplates(Integer limit) {
+        return selectList(Wrappers.<Template>lambdaQuery()
+                .eq(Template::getIsActive, Boolean.TRUE)
+                .orderByDesc(Template::getUsageCount)
+                .orderByAsc(Template::getId)
+                .last("LIMIT " + (limit == null ? 10 : Math.max(0, limit))));
+    }
 
     /**
      * 查询高评分模板（按评分排序）
@@ -96,6 +107,8 @@ public interface TemplateMapper extends BaseMapper<Template> {
     /**
      * 增加模板使用次数
      *
+     * <p>每次使用一条行级UPDATE，热点行上会串行等锁；业务计数请使用写回缓冲（UsageCounterService）。</p>
+     *
      * @param templateId 模板ID
      * @return 更新的记录数
      */
@@ -110,4 +123,55 @@ public interface TemplateMapper extends BaseMapper<Template> {
      */
     int updateRating(@Param("templateId") Long templateId,
                     @Param("rating") java.math.BigDecimal rating);
+
+    /**
+     * 批量累加使用次数（写回缓冲中累计的增量，单条语句）
+     *
+     * @param deltas 模板ID到增量的映射
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE templates t SET usage_count = COALESCE(t.usage_count, 0) + d.delta FROM (VALUES "
+            + "<foreach collection='deltas' index='id' item='delta' separator=','>"
+            + "(CAST(#{id} AS BIGINT), CAST(#{delta} AS INTEGER))"
+            + "</foreach>"
+            + ") AS d(id, delta) WHERE t.id = d.id"
+            + "</script>")
+    int addUsageCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 查询同时包含全部标签的启用模板（JSONB @>，走 GIN 索引）
+     *
+     * @param tags 标签
+     * @return 启用模板列表
+     */
+    default List<Template> findByAllTags(Collection<String> tags) {
+        return selectList(JsonbQueries.containsAll(Wrappers.<Template>lambdaQuery()
+                .eq(Template::getIsActive, Boolean.TRUE), "tags", tags));
+    }
+
+    /**
+     * 查询包含任一标签的启用模板（JSONB ?|，走 GIN 索引）
+     *
+     * @param tags 标签
+     * @return 启用模板列表，标签为空时返回空列表
+     */
+    default List<Template> findByAnyTag(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        return selectList(JsonbQueries.containsAny(Wrappers.<Template>lambdaQuery()
+                .eq(Template::getIsActive, Boolean.TRUE), "tags", tags));
+    }
+
+    /**
+     * 查询元数据包含给定键值的启用模板（JSONB @>，走 GIN 索引）
+     *
+     * @param metadata 键值（可嵌套）
+     * @return 启用模板列表
+     */
+    default List<Template> findByMetadata(Map<String, Object> metadata) {
+        return selectList(JsonbQueries.containsObject(Wrappers.<Template>lambdaQuery()
+                .eq(Template::getIsActive, Boolean.TRUE), "metadata", metadata));
+    }
 }
@@ -1,9 +1,13 @@
 package com.aibidcomposer.dao.mapper;
 
 import com.aibidcomposer.dao.entity.TemplateSection;
+import com.aibidcomposer.dao.support.SectionTreeStamp;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 import java.util.List;
 import java.util.Optional;
@@ -83,6 +87,16 @@ public interface TemplateSectionMapper extends BaseMapper<TemplateSection> {
      */
     int countByTemplateId(@Param("templateId") Long templateId);
 
+    /**
+     * 查询模板章节树的版本戳（章节增删改都会改变章节数或最大更新时间）
+     *
+     * @param templateId 模板ID
+     * @return 版本戳
+     */
+    @Select("SELECT COUNT(*) AS section_count, MAX(update_time) AS max_update_time"
+            + " FROM template_sections WHERE template_id = #{templateId} AND deleted = 0")
+    SectionTreeStamp findTreeStamp(@Param("templateId") Long templateId);
+
     /**
      * 删除模板的所有章节
      *
@@ -90,4 +104,94 @@ public interface TemplateSectionMapper extends BaseMapper<TemplateSection> {
      * @return 删除的记录数
      */
     int deleteByTemplateId(@Param("templateId") Long templateId);
+
+    /**
+     * 查询子树（含自身），按 level、order_index 排序
+     *
+     * <p>先取根章节的物化路径，再按路径前缀一次查出全部子孙章节。</p>
+     *
+     * @param templateId 模板ID
+     * @param sectionId 子树根章节ID
+     * @return 章节列表，根章节不存在时为空
+     */
+    default List<TemplateSection> findSubtree(Long templateId, Long sectionId) {
+        TemplateSection root = selectOne(Wrappers.<TemplateSection>lambdaQuery()
+                .select(TemplateSection::getId, TemplateSection::getPath)
+                .eq(TemplateSection::getTemplateId, templateId)
+                .eq(TemplateSection::getId, sectionId));
+        if (root == null || root.getPath() == null) {
+            return List.of();
+        }
+        return selectList(Wrappers.<TemplateSection>lambdaQuery()
+                .eq(TemplateSection::getTemplateId, templateId)
+                .likeRight(TemplateSection::getPath, root.getPath())
+                .orderByAsc(TemplateSection::getLevel)
+                .orderByAsc(TemplateSection::getOrderIndex)
+                .orderByAsc(TemplateSection::getId));
+    }
+
+    /**
+     * 移动章节（含子树）到新的父章节下的指定位置
+     *
+     * <p>新兄弟章节中 order_index 不小于目标位置的后移一位；子孙章节的路径与层级由触发器整体改写。</p>
+     *
+     * @param templateId 模板ID
+     * @param sectionId 章节ID
+     * @param parentId 新父章节ID（NULL表示移动到根）
+     * @param orderIndex 目标位置
+     * @return 影响行数
+     */
+    @Update("WITH shifted AS ("
+            + " UPDATE template_sections SET order_index = order_index + 1"
+            + " WHERE template_id = #{templateId} AND parent_id IS NOT DISTINCT FROM #{parentId,jdbcType=BIGINT}"
+            + " AND order_index >= #{orderIndex} AND id <> #{sectionId} AND deleted = 0)"
+            + " UPDATE template_sections SET parent_id = #{parentId,jdbcType=BIGINT}, order_index = #{orderIndex},"
+            + " update_time = CURRENT_TIMESTAMP"
+            + " WHERE id = #{sectionId} AND template_id = #{templateId} AND deleted = 0")
+    int moveSection(@Param("templateId") Long templateId, @Param("sectionId") Long sectionId,
+                    @Param("parentId") Long parentId, @Param("orderIndex") Integer orderIndex);
+
+    /**
+     * 按给定顺序重排同一父章节下的子章节（order_index 依次为 1..n，未变化的行不更新）
+     *
+     * @param templateId 模板ID
+     * @param parentId 父章节ID（NULL表示根章节）
+     * @param sectionIds 排序后的章节ID
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE template_sections s SET order_index = o.ord, update_time = CURRENT_TIMESTAMP FROM (VALUES "
+            + "<foreach collection='sectionIds' item='id' index='i' separator=','>"
+            + "(CAST(#{id} AS BIGINT), CAST(#{i} AS INTEGER) + 1)"
+            + "</foreach>"
+            + ") AS o(id, ord)"
+            + " WHERE s.id = o.id AND s.template_id = #{templateId}"
+            + " AND s.parent_id IS NOT DISTINCT FROM #{parentId,jdbcType=BIGINT}"
+            + " AND s.deleted = 0 AND s.order_index IS DISTINCT FROM o.ord"
+            + "</script>")
+    int reorderChildren(@Param("templateId") Long templateId, @Param("parentId") Long parentId,
+                        @Param("sectionIds") List<Long> sectionIds);
+
+    /**
+     * 按树结构重新生成章节编号（如 2.3.1），未变化的行不更新
+     *
+     * <p>同级按 order_index 排名，再沿物化路径拼接各级祖先的排名。</p>
+     *
+     * @param templateId 模板ID
+     * @return 影响行数
+     */
+    @Update("WITH ranks AS ("
+            + " SELECT id, row_number() OVER (PARTITION BY parent_id ORDER BY order_index, id) AS rn"
+            + " FROM template_sections WHERE template_id = #{templateId} AND deleted = 0),"
+            + " numbers AS ("
+            + " SELECT s.id, string_agg(r.rn::text, '.' ORDER BY a.ord) AS num"
+            + " FROM template_sections s"
+            + " CROSS JOIN LATERAL unnest(string_to_array(trim(BOTH '/' FROM s.path), '/'))"
+            + " WITH ORDINALITY AS a(ancestor_id, ord)"
+            + " JOIN ranks r ON r.id = a.ancestor_id::bigint"
+            + " WHERE s.template_id = #{templateId} AND s.deleted = 0"
+            + " GROUP BY s.id)"
+            + " UPDATE template_sections t SET section_number = n.num FROM numbers n"
+            + " WHERE t.id = n.id AND t.section_number IS DISTINCT FROM n.num")
+    int renumberSections(@Param("templateId") Long templateId);
 }
@@ -1,8 +1,11 @@
 package com.aibidcomposer.dao.mapper;
 
+import com.aibidcomposer.common.db.KeysetCursor;
 import com.aibidcomposer.dao.entity.TemplateUsageLog;
+import com.aibidcomposer.dao.support.KeysetQueries;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -41,6 +44,19 @@ public interface TemplateUsageLogMapper extends BaseMapper<TemplateUsageLog> {
     IPage<TemplateUsageLog> findPageByTemplateId(Page<TemplateUsageLog> page,
                                                  @Param("templateId") Long templateId);
 
+    /**
+     * 根据模板ID游标分页查询使用日志（按 used_at 倒序，无OFFSET与COUNT）
+     *
+     * @param templateId 模板ID
+     * @param after 游标位置（上一页最后一条），首页传null
+     * @param limit 查询条数（通常为 pageSize + 1）
+     * @return 使用日志
+     */
+    default List<TemplateUsageLog> seekByTemplateId(Long templateId, KeysetCursor after, int limit) {
+        return selectList(KeysetQueries.seekDesc(Wrappers.<TemplateUsageLog>lambdaQuery()
+                .eq(TemplateUsageLog::getTemplateId, templateId), "used_at", after, limit));
+    }
+
     /**
      * 根据用户ID查询使用日志
      *
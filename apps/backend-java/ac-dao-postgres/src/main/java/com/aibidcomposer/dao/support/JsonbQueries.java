@@ -0,0 +1,167 @@
+package com.aibidcomposer.dao.support;
+
+import com.aibidcomposer.common.util.JsonUtil;
+import com.baomidou.mybatisplus.core.conditions.interfaces.Join;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JSONB 列查询条件
+ *
+ * <p>在 PostgreSQL 中完成 JSONB 列过滤，可走列上的 GIN 索引（V16），不再读出整表后在Java中反序列化过滤：</p>
+ * <ul>
+ *   <li>{@link #containsAll}：{@code col @> '["a","b"]'}，数组同时包含全部元素</li>
+ *   <li>{@link #containsAny}：{@code col ?| '{a,b}'}，数组包含任一元素（仅 jsonb_ops 索引支持）</li>
+ *   <li>{@link #containsObject}：{@code col @> '{"k":"v"}'} / {@code col @> '[{"name":"Java"}]'}，对象或对象数组包含</li>
+ *   <li>{@link #containsAnyObject}：多个包含条件求或，GIN 索引按位图合并</li>
+ * </ul>
+ * <p>{@code ?|} 在JDBC中写作 {@code ??|}，由驱动还原为运算符，避免被当作参数占位符。
+ * “全部包含”类条件在值为空时不追加条件；“任一包含”类条件在去掉空白值后为空时追加 {@code 1 = 0}
+ * （空集合中没有可命中的元素），避免如 {@code [" "]} 的输入退化为不过滤。</p>
+ *
+ * 需求编号: REQ-JAVA-DAO-007
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class JsonbQueries {
+
+    private static final Pattern COLUMN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /**
+     * 不匹配任何行的条件
+     */
+    private static final String MATCH_NONE = "1 = 0";
+
+    private JsonbQueries() {
+    }
+
+    /**
+     * 数组列同时包含全部元素
+     *
+     * @param wrapper 查询条件
+     * @param column  JSONB 列名（如 tags）
+     * @param values  元素，为空时不追加条件
+     * @param <W>     条件类型
+     * @return 查询条件
+     */
+    public static <W extends Join<W>> W containsAll(W wrapper, String column, Collection<String> values) {
+        List<String> distinct = distinct(values);
+        if (distinct.isEmpty()) {
+            return wrapper;
+        }
+        return wrapper.apply(column(column) + " @> CAST({0} AS jsonb)", JsonUtil.toJson(distinct));
+    }
+
+    /**
+     * 数组列包含任一元素
+     *
+     * @param wrapper 查询条件
+     * @param column  JSONB 列名（如 tags）
+     * @param values  元素，去掉空白值后为空时不匹配任何行
+     * @param <W>     条件类型
+     * @return 查询条件
+     */
+    public static <W extends Join<W>> W containsAny(W wrapper, String column, Collection<String> values) {
+        List<String> distinct = distinct(values);
+        if (distinct.isEmpty()) {
+            return wrapper.apply(MATCH_NONE);
+        }
+        return wrapper.apply(column(column) + " ??| CAST({0} AS text[])", textArray(distinct));
+    }
+
+    /**
+     * 列包含给定的 JSON 片段（对象、对象数组）
+     *
+     * @param wrapper 查询条件
+     * @param column  JSONB 列名（如 metadata、skills）
+     * @param value   JSON 片段（Map 或 List），为null时不追加条件
+     * @param <W>     条件类型
+     * @return 查询条件
+     */
+    public static <W extends Join<W>> W containsObject(W wrapper, String column, Object value) {
+        if (value == null || (value instanceof Map<?, ?> map && map.isEmpty())) {
+            return wrapper;
+        }
+        return wrapper.apply(column(column) + " @> CAST({0} AS jsonb)", JsonUtil.toJson(value));
+    }
+
+    /**
+     * 列包含任一 JSON 片段
+     *
+     * @param wrapper 查询条件
+     * @param column  JSONB 列名
+     * @param values  JSON 片段（null 忽略），为空时不匹配任何行
+     * @param <W>     条件类型
+     * @return 查询条件
+     */
+    public static <W extends Join<W>> W containsAnyObject(W wrapper, String column, Collection<?> values) {
+        String col = column(column);
+        StringBuilder sql = new StringBuilder("(");
+        List<Object> params = new ArrayList<>(values == null ? 0 : values.size());
+        for (Object value : values == null ? List.of() : values) {
+            if (value == null) {
+                continue;
+            }
+            if (!params.isEmpty()) {
+                sql.append(" OR ");
+            }
+            sql.append(col).append(" @> CAST({").append(params.size()).append("} AS jsonb)");
+            params.add(JsonUtil.toJson(value));
+        }
+        if (params.isEmpty()) {
+            return wrapper.apply(MATCH_NONE);
+        }
+        return wrapper.apply(sql.append(')').toString(), params.toArray());
+    }
+
+    /**
+     * PostgreSQL 数组字面量，如 {"a","b \"c\""}
+     */
+    static String textArray(Collection<String> values) {
+        StringBuilder sb = new StringBuilder("{");
+        for (String value : values) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\');
+                }
+                sb.append(c);
+            }
+            sb.append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static List<String> distinct(Collection<String> values) {
+        List<String> out = new ArrayList<>();
+        if (values != null) {
+            for (String value : new LinkedHashSet<>(values)) {
+                if (value != null && !value.isBlank()) {
+                    out.add(value);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 列名直接拼入SQL，只允许标识符
+     */
+    private static String column(String column) {
+        if (column == null || !COLUMN.matcher(column).matches()) {
+            throw new IllegalArgumentException("Invalid JSONB column: " + column);
+        }
+        return column;
+    }
+}
@@ -0,0 +1,41 @@
+package com.aibidcomposer.dao.support;
+
+import com.aibidcomposer.common.db.KeysetCursor;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+
+/**
+ * 游标（Keyset）分页查询条件
+ *
+ * <p>按 (时间列, id) 倒序翻页：定位条件使用行值比较
+ * {@code (time_column, id) < (?, ?)}，可直接走 (过滤列, 时间列, id) 联合索引，
+ * 不需要OFFSET和COUNT。</p>
+ *
+ * 需求编号: REQ-JAVA-DAO-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class KeysetQueries {
+
+    private KeysetQueries() {
+    }
+
+    /**
+     * 追加游标定位、排序与条数限制
+     *
+     * @param wrapper    查询条件（不应再设置排序）
+     * @param timeColumn 排序时间列名（如 created_at）
+     * @param after      游标位置，首页传null
+     * @param limit      查询条数（通常为 pageSize + 1）
+     * @param <T>        实体类型
+     * @return 查询条件
+     */
+    public static <T> LambdaQueryWrapper<T> seekDesc(LambdaQueryWrapper<T> wrapper, String timeColumn,
+                                                     KeysetCursor after, int limit) {
+        if (after != null) {
+            wrapper.apply("(" + timeColumn + ", id) < ({0}, {1})", after.getSortValue(), after.getId());
+        }
+        return wrapper.last("ORDER BY " + timeColumn + " DESC, id DESC LIMIT " + limit);
+    }
+}
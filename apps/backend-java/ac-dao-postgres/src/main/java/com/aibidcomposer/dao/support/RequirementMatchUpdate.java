@@ -0,0 +1,42 @@
+package com.aibidcomposer.dao.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 需求匹配结果更新行
+ *
+ * 需求编号: REQ-JAVA-DAO-008
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequirementMatchUpdate {
+
+    /**
+     * 需求ID
+     */
+    private Long id;
+
+    /**
+     * 匹配状态: matched / partial / unmatched
+     */
+    private String matchStatus;
+
+    /**
+     * 匹配分数(0-100)
+     */
+    private BigDecimal matchScore;
+
+    /**
+     * 匹配详情 JSON 文本
+     */
+    private String matchDetails;
+}
@@ -0,0 +1,30 @@
+package com.aibidcomposer.dao.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 全文检索向量更新行
+ *
+ * 需求编号: REQ-JAVA-DAO-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchVectorUpdate {
+
+    /**
+     * 行ID
+     */
+    private Long id;
+
+    /**
+     * tsvector 字面量
+     */
+    private String vector;
+}
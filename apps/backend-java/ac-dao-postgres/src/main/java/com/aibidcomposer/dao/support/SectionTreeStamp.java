@@ -0,0 +1,32 @@
+package com.aibidcomposer.dao.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 章节树版本戳（章节数 + 最大更新时间），用于判断按章节树编译的缓存是否过期
+ *
+ * 需求编号: REQ-JAVA-DAO-009
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionTreeStamp {
+
+    /**
+     * 未删除的章节数
+     */
+    private Long sectionCount;
+
+    /**
+     * 章节最大更新时间，没有章节时为null
+     */
+    private LocalDateTime maxUpdateTime;
+}
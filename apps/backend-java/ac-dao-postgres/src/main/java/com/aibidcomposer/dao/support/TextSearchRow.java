@@ -0,0 +1,51 @@
+package com.aibidcomposer.dao.support;
+
+import lombok.Data;
+
+/**
+ * 全文检索结果行
+ *
+ * 需求编号: REQ-JAVA-DAO-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+public class TextSearchRow {
+
+    /**
+     * 命中行ID（章节ID或文档ID）
+     */
+    private Long id;
+
+    /**
+     * 文档ID
+     */
+    private Long documentId;
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 标题
+     */
+    private String title;
+
+    /**
+     * 章节编号（文档检索时为空）
+     */
+    private String sectionNumber;
+
+    /**
+     * 正文（用于生成高亮摘要）
+     */
+    private String content;
+
+    /**
+     * 相关度得分（ts_rank_cd，已归一化到 0~1）
+     */
+    private Double rank;
+}
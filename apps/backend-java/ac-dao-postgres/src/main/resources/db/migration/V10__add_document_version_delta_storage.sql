@@ -0,0 +1,30 @@
+-- ============================================================================
+-- 迁移脚本: V10__add_document_version_delta_storage.sql
+-- 描述: document_versions 差量存储（周期性关键帧 + 相对关键帧的差量）
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+-- full: 未编码的完整内容（存量数据，由后台任务重新编码）
+-- keyframe: 关键帧，保存完整内容
+-- delta: 差量，content / plain_content 为空，相对 base_version_number 关键帧保存差量
+ALTER TABLE document_versions ADD COLUMN IF NOT EXISTS storage_mode VARCHAR(10) NOT NULL DEFAULT 'full';
+ALTER TABLE document_versions ADD COLUMN IF NOT EXISTS base_version_number INTEGER;
+ALTER TABLE document_versions ADD COLUMN IF NOT EXISTS content_delta JSONB;
+ALTER TABLE document_versions ADD COLUMN IF NOT EXISTS plain_content_delta JSONB;
+
+ALTER TABLE document_versions DROP CONSTRAINT IF EXISTS document_versions_storage_mode_check;
+ALTER TABLE document_versions ADD CONSTRAINT document_versions_storage_mode_check
+    CHECK (storage_mode IN ('full', 'keyframe', 'delta'));
+
+CREATE INDEX IF NOT EXISTS idx_document_versions_keyframe
+    ON document_versions (document_id, version_number DESC)
+    WHERE storage_mode = 'keyframe';
+CREATE INDEX IF NOT EXISTS idx_document_versions_unencoded
+    ON document_versions (document_id)
+    WHERE storage_mode = 'full';
+
+COMMENT ON COLUMN document_versions.storage_mode IS '存储方式: full-未编码, keyframe-关键帧, delta-差量';
+COMMENT ON COLUMN document_versions.base_version_number IS '差量基于的关键帧版本号';
+COMMENT ON COLUMN document_versions.content_delta IS '内容差量(JSON Patch)';
+COMMENT ON COLUMN document_versions.plain_content_delta IS '纯文本差量';
@@ -0,0 +1,157 @@
+-- ============================================================================
+-- 迁移脚本: V11__add_section_materialized_path.sql
+-- 描述: document_sections / template_sections 物化路径索引
+--       path 形如 '/12/45/78/'（根到自身的章节ID），由触发器在插入和修改 parent_id 时维护，
+--       子树查询、移动、重排、重新编号均为单条集合语句
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- document_sections
+-- ----------------------------------------------------------------------------
+ALTER TABLE document_sections ADD COLUMN IF NOT EXISTS path TEXT;
+
+-- 存量数据回填（顺带按路径深度校正 level，根章节为1）
+WITH RECURSIVE tree AS (
+    SELECT id, '/' || id || '/' AS path, 1 AS depth
+      FROM document_sections
+     WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, t.path || c.id || '/', t.depth + 1
+      FROM document_sections c
+      JOIN tree t ON c.parent_id = t.id
+)
+UPDATE document_sections s
+   SET path = tree.path,
+       level = tree.depth
+  FROM tree
+ WHERE s.id = tree.id;
+
+CREATE INDEX IF NOT EXISTS idx_document_sections_path
+    ON document_sections (document_id, path text_pattern_ops);
+
+-- 插入或修改 parent_id 时计算自身路径与层级，拒绝移动到自己的子孙章节下
+CREATE OR REPLACE FUNCTION document_sections_maintain_path() RETURNS trigger AS $$
+DECLARE
+    parent_path TEXT;
+BEGIN
+    IF TG_OP = 'UPDATE' AND NEW.parent_id IS NOT DISTINCT FROM OLD.parent_id AND NEW.path IS NOT NULL THEN
+        RETURN NEW;
+    END IF;
+    IF NEW.parent_id IS NULL THEN
+        NEW.path := '/' || NEW.id || '/';
+    ELSE
+        SELECT path INTO parent_path FROM document_sections WHERE id = NEW.parent_id;
+        IF parent_path IS NULL THEN
+            RAISE EXCEPTION 'parent section % of document section % has no path', NEW.parent_id, NEW.id;
+        END IF;
+        IF TG_OP = 'UPDATE' AND OLD.path IS NOT NULL AND parent_path LIKE OLD.path || '%' THEN
+            RAISE EXCEPTION 'document section % cannot be moved under its descendant %', NEW.id, NEW.parent_id;
+        END IF;
+        NEW.path := parent_path || NEW.id || '/';
+    END IF;
+    NEW.level := array_length(string_to_array(trim(BOTH '/' FROM NEW.path), '/'), 1);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 路径变化后整体改写子孙章节的路径前缀与层级
+CREATE OR REPLACE FUNCTION document_sections_move_subtree() RETURNS trigger AS $$
+BEGIN
+    IF OLD.path IS NOT NULL AND NEW.path IS DISTINCT FROM OLD.path THEN
+        UPDATE document_sections
+           SET path = NEW.path || substr(path, length(OLD.path) + 1),
+               level = array_length(string_to_array(trim(BOTH '/' FROM NEW.path || substr(path, length(OLD.path) + 1)), '/'), 1)
+         WHERE document_id = NEW.document_id
+           AND path LIKE OLD.path || '%'
+           AND id <> NEW.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_document_sections_path ON document_sections;
+CREATE TRIGGER trg_document_sections_path
+    BEFORE INSERT OR UPDATE OF parent_id ON document_sections
+    FOR EACH ROW EXECUTE FUNCTION document_sections_maintain_path();
+
+DROP TRIGGER IF EXISTS trg_document_sections_move_subtree ON document_sections;
+CREATE TRIGGER trg_document_sections_move_subtree
+    AFTER UPDATE OF parent_id ON document_sections
+    FOR EACH ROW EXECUTE FUNCTION document_sections_move_subtree();
+
+COMMENT ON COLUMN document_sections.path IS '物化路径（根到自身的章节ID，如 /12/45/），触发器维护';
+
+-- ----------------------------------------------------------------------------
+-- template_sections
+-- ----------------------------------------------------------------------------
+ALTER TABLE template_sections ADD COLUMN IF NOT EXISTS path TEXT;
+
+WITH RECURSIVE tree AS (
+    SELECT id, '/' || id || '/' AS path, 1 AS depth
+      FROM template_sections
+     WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, t.path || c.id || '/', t.depth + 1
+      FROM template_sections c
+      JOIN tree t ON c.parent_id = t.id
+)
+UPDATE template_sections s
+   SET path = tree.path,
+       level = tree.depth
+  FROM tree
+ WHERE s.id = tree.id;
+
+CREATE INDEX IF NOT EXISTS idx_template_sections_path
+    ON template_sections (template_id, path text_pattern_ops);
+
+CREATE OR REPLACE FUNCTION template_sections_maintain_path() RETURNS trigger AS $$
+DECLARE
+    parent_path TEXT;
+BEGIN
+    IF TG_OP = 'UPDATE' AND NEW.parent_id IS NOT DISTINCT FROM OLD.parent_id AND NEW.path IS NOT NULL THEN
+        RETURN NEW;
+    END IF;
+    IF NEW.parent_id IS NULL THEN
+        NEW.path := '/' || NEW.id || '/';
+    ELSE
+        SELECT path INTO parent_path FROM template_sections WHERE id = NEW.parent_id;
+        IF parent_path IS NULL THEN
+            RAISE EXCEPTION 'parent section % of template section % has no path', NEW.parent_id, NEW.id;
+        END IF;
+        IF TG_OP = 'UPDATE' AND OLD.path IS NOT NULL AND parent_path LIKE OLD.path || '%' THEN
+            RAISE EXCEPTION 'template section % cannot be moved under its descendant %', NEW.id, NEW.parent_id;
+        END IF;
+        NEW.path := parent_path || NEW.id || '/';
+    END IF;
+    NEW.level := array_length(string_to_array(trim(BOTH '/' FROM NEW.path), '/'), 1);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION template_sections_move_subtree() RETURNS trigger AS $$
+BEGIN
+    IF OLD.path IS NOT NULL AND NEW.path IS DISTINCT FROM OLD.path THEN
+        UPDATE template_sections
+           SET path = NEW.path || substr(path, length(OLD.path) + 1),
+               level = array_length(string_to_array(trim(BOTH '/' FROM NEW.path || substr(path, length(OLD.path) + 1)), '/'), 1)
+         WHERE template_id = NEW.template_id
+           AND path LIKE OLD.path || '%'
+           AND id <> NEW.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_template_sections_path ON template_sections;
+CREATE TRIGGER trg_template_sections_path
+    BEFORE INSERT OR UPDATE OF parent_id ON template_sections
+    FOR EACH ROW EXECUTE FUNCTION template_sections_maintain_path();
+
+DROP TRIGGER IF EXISTS trg_template_sections_move_subtree ON template_sections;
+CREATE TRIGGER trg_template_sections_move_subtree
+    AFTER UPDATE OF parent_id ON template_sections
+    FOR EACH ROW EXECUTE FUNCTION template_sections_move_subtree();
+
+COMMENT ON COLUMN template_sections.path IS '物化路径（根到自身的章节ID，如 /12/45/），触发器维护';
@@ -0,0 +1,106 @@
+-- ============================================================================
+-- 迁移脚本: V12__section_subtree_statement_trigger.sql
+-- 描述: 子树路径改写改为语句级触发器
+--       行级 AFTER 触发器在同一条语句内改写子孙行后，外层语句再处理这些行会报
+--       "tuple to be updated was already modified by an operation triggered by the current command"，
+--       批量 upsert 一条语句同时移动多个章节时不可用。改为语句结束后按转换表统一改写。
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- document_sections
+-- ----------------------------------------------------------------------------
+DROP TRIGGER IF EXISTS trg_document_sections_move_subtree ON document_sections;
+DROP FUNCTION IF EXISTS document_sections_move_subtree();
+
+-- 只处理 parent_id 变化的行：改写其子孙的路径与层级。
+-- 同一语句内嵌套移动时，同一子孙可能从多个起点到达，取距起点最远（即最上层起点）的结果。
+-- 改写语句本身不修改 parent_id，再次触发时转换表中没有移动的行，递归随即结束。
+-- PostgreSQL 不允许带转换表的触发器指定列（UPDATE OF parent_id, path），因此触发器对所有 UPDATE 生效，
+-- 函数开头先检查是否有 parent_id 变化的行，正文、编号、检索向量等更新直接返回，不做递归查询。
+CREATE OR REPLACE FUNCTION document_sections_move_subtrees() RETURNS trigger AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                     FROM new_rows n
+                     JOIN old_rows o ON o.id = n.id
+                    WHERE n.parent_id IS DISTINCT FROM o.parent_id) THEN
+        RETURN NULL;
+    END IF;
+
+    WITH RECURSIVE moved AS (
+        SELECT n.id, n.path
+          FROM new_rows n
+          JOIN old_rows o ON o.id = n.id
+         WHERE n.parent_id IS DISTINCT FROM o.parent_id
+           AND n.path IS NOT NULL
+    ), tree AS (
+        SELECT c.id, m.path || c.id || '/' AS path, 1 AS gen
+          FROM moved m
+          JOIN document_sections c ON c.parent_id = m.id
+        UNION ALL
+        SELECT c.id, t.path || c.id || '/', t.gen + 1
+          FROM tree t
+          JOIN document_sections c ON c.parent_id = t.id
+         WHERE position('/' || c.id || '/' IN t.path) = 0
+    )
+    UPDATE document_sections s
+       SET path = d.path,
+           level = array_length(string_to_array(trim(BOTH '/' FROM d.path), '/'), 1)
+      FROM (SELECT DISTINCT ON (id) id, path FROM tree ORDER BY id, gen DESC) d
+     WHERE s.id = d.id
+       AND s.path IS DISTINCT FROM d.path;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_document_sections_move_subtrees
+    AFTER UPDATE ON document_sections
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION document_sections_move_subtrees();
+
+-- ----------------------------------------------------------------------------
+-- template_sections
+-- ----------------------------------------------------------------------------
+DROP TRIGGER IF EXISTS trg_template_sections_move_subtree ON template_sections;
+DROP FUNCTION IF EXISTS template_sections_move_subtree();
+
+CREATE OR REPLACE FUNCTION template_sections_move_subtrees() RETURNS trigger AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                     FROM new_rows n
+                     JOIN old_rows o ON o.id = n.id
+                    WHERE n.parent_id IS DISTINCT FROM o.parent_id) THEN
+        RETURN NULL;
+    END IF;
+
+    WITH RECURSIVE moved AS (
+        SELECT n.id, n.path
+          FROM new_rows n
+          JOIN old_rows o ON o.id = n.id
+         WHERE n.parent_id IS DISTINCT FROM o.parent_id
+           AND n.path IS NOT NULL
+    ), tree AS (
+        SELECT c.id, m.path || c.id || '/' AS path, 1 AS gen
+          FROM moved m
+          JOIN template_sections c ON c.parent_id = m.id
+        UNION ALL
+        SELECT c.id, t.path || c.id || '/', t.gen + 1
+          FROM tree t
+          JOIN template_sections c ON c.parent_id = t.id
+         WHERE position('/' || c.id || '/' IN t.path) = 0
+    )
+    UPDATE template_sections s
+       SET path = d.path,
+           level = array_length(string_to_array(trim(BOTH '/' FROM d.path), '/'), 1)
+      FROM (SELECT DISTINCT ON (id) id, path FROM tree ORDER BY id, gen DESC) d
+     WHERE s.id = d.id
+       AND s.path IS DISTINCT FROM d.path;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_template_sections_move_subtrees
+    AFTER UPDATE ON template_sections
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION template_sections_move_subtrees();
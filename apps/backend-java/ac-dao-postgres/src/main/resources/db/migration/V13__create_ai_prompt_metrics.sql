@@ -0,0 +1,28 @@
+-- ============================================================================
+-- 迁移脚本: V13__create_ai_prompt_metrics.sql
+-- 描述: 提示词流式统计表（Token数与成本的计数、总和、衰减加权和与分位数草图）
+--       各实例在内存中累积已完成任务的样本，定期合并写入本表，
+--       再由本表同步 ai_prompts.average_tokens / average_cost，不再按任务重算历史数据。
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS ai_prompt_metrics (
+    prompt_id           BIGINT           PRIMARY KEY,
+    sample_count        BIGINT           NOT NULL DEFAULT 0,
+    token_sum           DOUBLE PRECISION NOT NULL DEFAULT 0,
+    cost_sum            DOUBLE PRECISION NOT NULL DEFAULT 0,
+    decayed_weight      DOUBLE PRECISION NOT NULL DEFAULT 0,
+    decayed_token_sum   DOUBLE PRECISION NOT NULL DEFAULT 0,
+    decayed_cost_sum    DOUBLE PRECISION NOT NULL DEFAULT 0,
+    decayed_at          BIGINT           NOT NULL DEFAULT 0,
+    token_sketch        JSONB,
+    cost_sketch         JSONB,
+    updated_at          TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE ai_prompt_metrics IS '提示词流式统计';
+COMMENT ON COLUMN ai_prompt_metrics.decayed_weight IS '衰减权重和（参考时刻为 decayed_at）';
+COMMENT ON COLUMN ai_prompt_metrics.decayed_at IS '衰减参考时刻（epoch毫秒）';
+COMMENT ON COLUMN ai_prompt_metrics.token_sketch IS 'Token数分位数草图';
+COMMENT ON COLUMN ai_prompt_metrics.cost_sketch IS '成本分位数草图';
@@ -0,0 +1,26 @@
+-- ============================================================================
+-- 迁移脚本: V14__add_ai_task_queue_lease.sql
+-- 描述: ai_tasks 作为持久化优先级队列
+--       多节点用 FOR UPDATE SKIP LOCKED 批量领取任务，领取后持有租约并定期续约，
+--       租约过期的任务由任一节点回收；失败任务按退避时间 next_attempt_at 重新排队。
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+ALTER TABLE ai_tasks ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(128);
+ALTER TABLE ai_tasks ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP;
+ALTER TABLE ai_tasks ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
+
+COMMENT ON COLUMN ai_tasks.lease_owner IS '持有租约的工作节点';
+COMMENT ON COLUMN ai_tasks.lease_expires_at IS '租约到期时间，到期未续约视为节点失联';
+COMMENT ON COLUMN ai_tasks.next_attempt_at IS '最早可领取时间（重试退避），为空表示立即可领取';
+
+-- 领取：只索引待处理任务，按优先级高到低、先进先出
+CREATE INDEX IF NOT EXISTS idx_ai_tasks_queue
+    ON ai_tasks (priority DESC NULLS LAST, id)
+    WHERE status = 'pending' AND deleted = 0;
+
+-- 回收过期租约
+CREATE INDEX IF NOT EXISTS idx_ai_tasks_lease_expires_at
+    ON ai_tasks (lease_expires_at)
+    WHERE status = 'running';
@@ -0,0 +1,76 @@
+-- ============================================================================
+-- 迁移脚本: V15__add_full_text_search.sql
+-- 描述: 标书正文全文检索
+--       bid_documents（title + plain_content）与 document_sections（title + content）增加 search_vector，
+--       分词在应用侧完成（可替换分词器，中文默认二元切分），写入 tsvector 字面量，GIN 索引检索。
+--       标题或正文变化时触发器将 search_indexed_at 置空，由应用同步（章节批量保存）或后台任务重建。
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- document_sections
+-- ----------------------------------------------------------------------------
+ALTER TABLE document_sections ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+ALTER TABLE document_sections ADD COLUMN IF NOT EXISTS search_indexed_at TIMESTAMP;
+
+COMMENT ON COLUMN document_sections.search_vector IS '全文检索向量（标题权重A，正文权重D）';
+COMMENT ON COLUMN document_sections.search_indexed_at IS '检索向量生成时间，为空表示待（重新）索引';
+
+CREATE INDEX IF NOT EXISTS idx_document_sections_search
+    ON document_sections USING GIN (search_vector)
+    WHERE deleted = 0;
+
+-- 待索引队列（存量数据全部待索引，由后台任务逐批回填）
+CREATE INDEX IF NOT EXISTS idx_document_sections_search_pending
+    ON document_sections (id)
+    WHERE search_indexed_at IS NULL AND deleted = 0;
+
+CREATE OR REPLACE FUNCTION document_sections_search_dirty() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT'
+       OR NEW.title IS DISTINCT FROM OLD.title
+       OR NEW.content IS DISTINCT FROM OLD.content THEN
+        NEW.search_indexed_at := NULL;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_document_sections_search_dirty ON document_sections;
+CREATE TRIGGER trg_document_sections_search_dirty
+    BEFORE INSERT OR UPDATE OF title, content ON document_sections
+    FOR EACH ROW EXECUTE FUNCTION document_sections_search_dirty();
+
+-- ----------------------------------------------------------------------------
+-- bid_documents
+-- ----------------------------------------------------------------------------
+ALTER TABLE bid_documents ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+ALTER TABLE bid_documents ADD COLUMN IF NOT EXISTS search_indexed_at TIMESTAMP;
+
+COMMENT ON COLUMN bid_documents.search_vector IS '全文检索向量（标题权重A，纯文本正文权重D）';
+COMMENT ON COLUMN bid_documents.search_indexed_at IS '检索向量生成时间，为空表示待（重新）索引';
+
+CREATE INDEX IF NOT EXISTS idx_bid_documents_search
+    ON bid_documents USING GIN (search_vector)
+    WHERE deleted = 0;
+
+CREATE INDEX IF NOT EXISTS idx_bid_documents_search_pending
+    ON bid_documents (id)
+    WHERE search_indexed_at IS NULL AND deleted = 0;
+
+CREATE OR REPLACE FUNCTION bid_documents_search_dirty() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT'
+       OR NEW.title IS DISTINCT FROM OLD.title
+       OR NEW.plain_content IS DISTINCT FROM OLD.plain_content THEN
+        NEW.search_indexed_at := NULL;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_bid_documents_search_dirty ON bid_documents;
+CREATE TRIGGER trg_bid_documents_search_dirty
+    BEFORE INSERT OR UPDATE OF title, plain_content ON bid_documents
+    FOR EACH ROW EXECUTE FUNCTION bid_documents_search_dirty();
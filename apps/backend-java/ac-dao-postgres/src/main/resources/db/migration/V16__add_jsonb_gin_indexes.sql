@@ -0,0 +1,79 @@
+-- ============================================================================
+-- 迁移脚本: V16__add_jsonb_gin_indexes.sql
+-- 描述: 标签/技能/元数据等 JSONB 列的 GIN 索引，配合 JsonbQueries 在库内完成 @>、?| 过滤
+--       实体通过 JacksonTypeHandler 读写 JSON；早期按设计文档以 TEXT[] 建表的库先转换为 JSONB（原值转为 JSON 数组）。
+--       ?| 只有默认的 jsonb_ops 支持，字符串数组列使用 jsonb_ops；
+--       只做包含查询的对象列（skills、metadata）使用更小的 jsonb_path_ops。
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- TEXT[] → JSONB
+-- ----------------------------------------------------------------------------
+DO $$
+DECLARE
+    c RECORD;
+BEGIN
+    FOR c IN
+        SELECT table_name, column_name
+        FROM information_schema.columns
+        WHERE table_schema = current_schema()
+          AND data_type = 'ARRAY'
+          AND (table_name, column_name) IN (
+              ('templates', 'tags'),
+              ('project_cases', 'tags'),
+              ('project_cases', 'technologies_used'),
+              ('historical_bids', 'tags'),
+              ('products_services', 'tags'),
+              ('products_services', 'technology_stack'),
+              ('ai_prompts', 'tags'))
+    LOOP
+        -- 旧的数组 GIN 索引不能随列类型转换，先删除
+        EXECUTE format('DROP INDEX IF EXISTS idx_%s_%s', c.table_name, c.column_name);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP DEFAULT', c.table_name, c.column_name);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I TYPE JSONB USING to_jsonb(%I)',
+                       c.table_name, c.column_name, c.column_name);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I SET DEFAULT ''[]''::jsonb', c.table_name, c.column_name);
+    END LOOP;
+END $$;
+
+-- ----------------------------------------------------------------------------
+-- 字符串数组列（@> 全部包含、?| 任一包含）
+-- ----------------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_templates_tags_gin
+    ON templates USING GIN (tags)
+    WHERE deleted = 0;
+
+CREATE INDEX IF NOT EXISTS idx_project_cases_tags_gin
+    ON project_cases USING GIN (tags)
+    WHERE deleted = 0;
+CREATE INDEX IF NOT EXISTS idx_project_cases_technologies_used_gin
+    ON project_cases USING GIN (technologies_used)
+    WHERE deleted = 0;
+
+CREATE INDEX IF NOT EXISTS idx_historical_bids_tags_gin
+    ON historical_bids USING GIN (tags)
+    WHERE deleted = 0;
+
+CREATE INDEX IF NOT EXISTS idx_products_services_tags_gin
+    ON products_services USING GIN (tags)
+    WHERE deleted = 0;
+CREATE INDEX IF NOT EXISTS idx_products_services_technology_stack_gin
+    ON products_services USING GIN (technology_stack)
+    WHERE deleted = 0;
+
+CREATE INDEX IF NOT EXISTS idx_ai_prompts_tags_gin
+    ON ai_prompts USING GIN (tags)
+    WHERE deleted = 0;
+
+-- ----------------------------------------------------------------------------
+-- 对象列（只做 @> 包含）
+-- ----------------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_personnel_skills_gin
+    ON personnel USING GIN (skills jsonb_path_ops)
+    WHERE deleted = 0;
+
+CREATE INDEX IF NOT EXISTS idx_templates_metadata_gin
+    ON templates USING GIN (metadata jsonb_path_ops)
+    WHERE deleted = 0;
@@ -0,0 +1,148 @@
+-- ============================================================================
+-- 迁移脚本: V6__create_ai_usage_hourly_rollups.sql
+-- 描述: AI使用量小时级汇总表（按组织/用户/模型/小时预聚合Token与成本）
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS ai_usage_hourly_rollups (
+    organization_id   BIGINT         NOT NULL DEFAULT 0,
+    user_id           BIGINT         NOT NULL DEFAULT 0,
+    model_name        VARCHAR(100)   NOT NULL DEFAULT '',
+    bucket_start      TIMESTAMP      NOT NULL,
+    request_count     BIGINT         NOT NULL DEFAULT 0,
+    prompt_tokens     BIGINT         NOT NULL DEFAULT 0,
+    completion_tokens BIGINT         NOT NULL DEFAULT 0,
+    total_tokens      BIGINT         NOT NULL DEFAULT 0,
+    cost              DECIMAL(18, 4) NOT NULL DEFAULT 0,
+    updated_at        TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (organization_id, user_id, model_name, bucket_start)
+);
+
+-- 组织维度查询走主键前缀；用户维度与全局时间范围查询使用以下索引
+CREATE INDEX IF NOT EXISTS idx_ai_usage_hourly_rollups_user_bucket
+    ON ai_usage_hourly_rollups (user_id, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_ai_usage_hourly_rollups_bucket
+    ON ai_usage_hourly_rollups (bucket_start);
+
+-- 历史数据回填
+INSERT INTO ai_usage_hourly_rollups (organization_id, user_id, model_name, bucket_start,
+                                     request_count, prompt_tokens, completion_tokens, total_tokens, cost)
+SELECT COALESCE(organization_id, 0),
+       COALESCE(user_id, 0),
+       COALESCE(model_name, ''),
+       date_trunc('hour', created_at),
+       COUNT(*),
+       COALESCE(SUM(prompt_tokens), 0),
+       COALESCE(SUM(completion_tokens), 0),
+       COALESCE(SUM(total_tokens), 0),
+       COALESCE(SUM(cost), 0)
+FROM ai_usage_logs
+WHERE created_at IS NOT NULL
+GROUP BY 1, 2, 3, 4
+ON CONFLICT (organization_id, user_id, model_name, bucket_start) DO NOTHING;
+
+-- ----------------------------------------------------------------------------
+-- 增量维护：ai_usage_logs 上的语句级触发器
+-- 任何写入路径（批量写入器、insert/insertBatch、deleteById、按条件更新）都在同一语句内
+-- 把变化量累加到汇总表；UPDATE 视为删除旧行再插入新行。
+-- 每条语句先按主键聚合再按主键顺序累加，多实例并发写入时加锁顺序一致。
+-- 迁移表不支持多事件触发器，因此按事件分别创建，共用同一个函数。
+-- ----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION apply_ai_usage_hourly_rollups()
+RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO ai_usage_hourly_rollups AS r (organization_id, user_id, model_name, bucket_start,
+                                                  request_count, prompt_tokens, completion_tokens,
+                                                  total_tokens, cost, updated_at)
+        SELECT COALESCE(organization_id, 0),
+               COALESCE(user_id, 0),
+               COALESCE(model_name, ''),
+               date_trunc('hour', created_at),
+               COUNT(*),
+               COALESCE(SUM(prompt_tokens), 0),
+               COALESCE(SUM(completion_tokens), 0),
+               COALESCE(SUM(total_tokens), 0),
+               COALESCE(SUM(cost), 0),
+               CURRENT_TIMESTAMP
+        FROM new_rows
+        WHERE created_at IS NOT NULL
+        GROUP BY 1, 2, 3, 4
+        ORDER BY 1, 2, 3, 4
+        ON CONFLICT (organization_id, user_id, model_name, bucket_start) DO UPDATE SET
+            request_count     = r.request_count + EXCLUDED.request_count,
+            prompt_tokens     = r.prompt_tokens + EXCLUDED.prompt_tokens,
+            completion_tokens = r.completion_tokens + EXCLUDED.completion_tokens,
+            total_tokens      = r.total_tokens + EXCLUDED.total_tokens,
+            cost              = r.cost + EXCLUDED.cost,
+            updated_at        = CURRENT_TIMESTAMP;
+    END IF;
+
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        INSERT INTO ai_usage_hourly_rollups AS r (organization_id, user_id, model_name, bucket_start,
+                                                  request_count, prompt_tokens, completion_tokens,
+                                                  total_tokens, cost, updated_at)
+        SELECT COALESCE(organization_id, 0),
+               COALESCE(user_id, 0),
+               COALESCE(model_name, ''),
+               date_trunc('hour', created_at),
+               -COUNT(*),
+               -COALESCE(SUM(prompt_tokens), 0),
+               -COALESCE(SUM(completion_tokens), 0),
+               -COALESCE(SUM(total_tokens), 0),
+               -COALESCE(SUM(cost), 0),
+               CURRENT_TIMESTAMP
+        FROM old_rows
+        WHERE created_at IS NOT NULL
+        GROUP BY 1, 2, 3, 4
+        ORDER BY 1, 2, 3, 4
+        ON CONFLICT (organization_id, user_id, model_name, bucket_start) DO UPDATE SET
+            request_count     = r.request_count + EXCLUDED.request_count,
+            prompt_tokens     = r.prompt_tokens + EXCLUDED.prompt_tokens,
+            completion_tokens = r.completion_tokens + EXCLUDED.completion_tokens,
+            total_tokens      = r.total_tokens + EXCLUDED.total_tokens,
+            cost              = r.cost + EXCLUDED.cost,
+            updated_at        = CURRENT_TIMESTAMP;
+
+        -- 小时桶内的日志全部删除后，移除空桶
+        DELETE FROM ai_usage_hourly_rollups r
+        USING (SELECT DISTINCT COALESCE(organization_id, 0) AS organization_id,
+                               COALESCE(user_id, 0) AS user_id,
+                               COALESCE(model_name, '') AS model_name,
+                               date_trunc('hour', created_at) AS bucket_start
+               FROM old_rows
+               WHERE created_at IS NOT NULL) d
+        WHERE r.organization_id = d.organization_id
+          AND r.user_id = d.user_id
+          AND r.model_name = d.model_name
+          AND r.bucket_start = d.bucket_start
+          AND r.request_count <= 0;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_ai_usage_logs_rollup_insert ON ai_usage_logs;
+CREATE TRIGGER trg_ai_usage_logs_rollup_insert
+    AFTER INSERT ON ai_usage_logs
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION apply_ai_usage_hourly_rollups();
+
+DROP TRIGGER IF EXISTS trg_ai_usage_logs_rollup_update ON ai_usage_logs;
+CREATE TRIGGER trg_ai_usage_logs_rollup_update
+    AFTER UPDATE ON ai_usage_logs
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION apply_ai_usage_hourly_rollups();
+
+DROP TRIGGER IF EXISTS trg_ai_usage_logs_rollup_delete ON ai_usage_logs;
+CREATE TRIGGER trg_ai_usage_logs_rollup_delete
+    AFTER DELETE ON ai_usage_logs
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION apply_ai_usage_hourly_rollups();
+
+COMMENT ON TABLE ai_usage_hourly_rollups IS 'AI使用量小时级汇总表（由 ai_usage_logs 触发器增量维护）';
+COMMENT ON COLUMN ai_usage_hourly_rollups.organization_id IS '组织ID（无组织时为0）';
+COMMENT ON COLUMN ai_usage_hourly_rollups.user_id IS '用户ID（无用户时为0）';
+COMMENT ON COLUMN ai_usage_hourly_rollups.bucket_start IS '小时桶起始时间';
@@ -0,0 +1,35 @@
+-- ============================================================================
+-- 迁移脚本: V7__add_keyset_pagination_indexes.sql
+-- 描述: 游标分页索引，按 (过滤列, 时间列, id) 定位，避免深分页OFFSET扫描
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_approval_logs_task_keyset
+    ON approval_logs (task_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_approval_logs_document_keyset
+    ON approval_logs (document_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_approval_logs_user_keyset
+    ON approval_logs (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_template_usage_logs_template_keyset
+    ON template_usage_logs (template_id, used_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_keyset
+    ON audit_logs (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_organization_keyset
+    ON audit_logs (organization_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_system_logs_service_keyset
+    ON system_logs (service, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_system_logs_user_keyset
+    ON system_logs (user_id, created_at DESC, id DESC);
+
+-- ai_usage_logs 的游标索引同时服务汇总边界之外零散时段的原始日志回查（V6）
+CREATE INDEX IF NOT EXISTS idx_ai_usage_logs_organization_keyset
+    ON ai_usage_logs (organization_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_ai_usage_logs_user_keyset
+    ON ai_usage_logs (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_projects_organization_keyset
+    ON projects (organization_id, create_time DESC, id DESC) WHERE deleted = 0;
@@ -0,0 +1,169 @@
+-- ============================================================================
+-- 迁移脚本: V8__partition_collaboration_events.sql
+-- 描述: collaboration_events 按 created_at 按月范围分区，提供分区预建与按分区过期删除函数
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+-- 1. 旧表（非分区表）改名保留，稍后迁移数据
+DO $$
+BEGIN
+    IF to_regclass('collaboration_events') IS NOT NULL
+       AND NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'collaboration_events'::regclass) THEN
+        ALTER TABLE collaboration_events RENAME TO collaboration_events_legacy;
+    END IF;
+END $$;
+
+-- 2. 分区父表（主键必须包含分区键；不建外键，保证删除分区是纯元数据操作）
+CREATE TABLE IF NOT EXISTS collaboration_events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    session_id  BIGINT      NOT NULL,
+    document_id BIGINT      NOT NULL,
+    user_id     BIGINT      NOT NULL,
+    event_type  VARCHAR(50) NOT NULL,
+    event_data  JSONB,
+    created_at  TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_collaboration_events_document_created
+    ON collaboration_events (document_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_collaboration_events_session_created
+    ON collaboration_events (session_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_collaboration_events_user_created
+    ON collaboration_events (user_id, created_at);
+
+-- 兜底分区：未预建分区时写入不失败（维护任务会告警并补建）
+CREATE TABLE IF NOT EXISTS collaboration_events_default
+    PARTITION OF collaboration_events DEFAULT;
+
+-- 3. 创建某月分区（幂等），返回分区名
+--    默认分区中已有该月数据时直接 CREATE ... PARTITION OF 会失败
+--    （updated partition constraint for default partition would be violated），
+--    此时先摘下默认分区，建月分区并把该月数据移入，再挂回默认分区。
+--    DETACH 持有父表排他锁，期间的写入等待本事务结束，不会丢失。
+CREATE OR REPLACE FUNCTION create_collaboration_events_partition(p_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::DATE;
+    v_end   DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name  TEXT := 'collaboration_events_p' || to_char(v_start, 'YYYYMM');
+    v_moved BIGINT;
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN v_name;
+    END IF;
+
+    IF to_regclass('collaboration_events_default') IS NOT NULL
+       AND EXISTS (SELECT 1 FROM collaboration_events_default
+                   WHERE created_at >= v_start AND created_at < v_end) THEN
+        ALTER TABLE collaboration_events DETACH PARTITION collaboration_events_default;
+        EXECUTE format('CREATE TABLE %I PARTITION OF collaboration_events FOR VALUES FROM (%L) TO (%L)',
+                       v_name, v_start, v_end);
+        EXECUTE format('INSERT INTO %I (id, session_id, document_id, user_id, event_type, event_data, created_at)'
+                       ' SELECT id, session_id, document_id, user_id, event_type, event_data, created_at'
+                       ' FROM collaboration_events_default WHERE created_at >= %L AND created_at < %L',
+                       v_name, v_start, v_end);
+        DELETE FROM collaboration_events_default WHERE created_at >= v_start AND created_at < v_end;
+        GET DIAGNOSTICS v_moved = ROW_COUNT;
+        ALTER TABLE collaboration_events ATTACH PARTITION collaboration_events_default DEFAULT;
+        RAISE NOTICE '默认分区中 % 条事件已移入 %', v_moved, v_name;
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF collaboration_events FOR VALUES FROM (%L) TO (%L)',
+                       v_name, v_start, v_end);
+    END IF;
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 4. 预建当月及之后 p_months_ahead 个月的分区，返回新建数量
+CREATE OR REPLACE FUNCTION ensure_collaboration_events_partitions(p_months_ahead INT)
+RETURNS INT AS $$
+DECLARE
+    v_created INT := 0;
+    v_month   DATE;
+    v_name    TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('collaboration_events_partitions'));
+    FOR i IN 0..p_months_ahead LOOP
+        v_month := (date_trunc('month', CURRENT_DATE) + make_interval(months => i))::DATE;
+        v_name := 'collaboration_events_p' || to_char(v_month, 'YYYYMM');
+        IF to_regclass(v_name) IS NULL THEN
+            PERFORM create_collaboration_events_partition(v_month);
+            v_created := v_created + 1;
+        END IF;
+    END LOOP;
+    RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 4b. 为默认分区中出现的每个月建分区并移出数据，返回处理的分区名
+CREATE OR REPLACE FUNCTION repair_collaboration_events_default()
+RETURNS SETOF TEXT AS $$
+DECLARE
+    v_month DATE;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('collaboration_events_partitions'));
+    FOR v_month IN
+        SELECT DISTINCT date_trunc('month', created_at)::DATE
+        FROM collaboration_events_default
+        ORDER BY 1
+    LOOP
+        RETURN NEXT create_collaboration_events_partition(v_month);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 5. 删除上界不晚于 p_before 的整月分区（保留期之外），返回已删除的分区名
+CREATE OR REPLACE FUNCTION drop_collaboration_events_partitions(p_before DATE)
+RETURNS SETOF TEXT AS $$
+DECLARE
+    v_part RECORD;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('collaboration_events_partitions'));
+    FOR v_part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'collaboration_events'::regclass
+          AND c.relname ~ '^collaboration_events_p[0-9]{6}$'
+          AND (to_date(substring(c.relname FROM '[0-9]{6}$'), 'YYYYMM') + INTERVAL '1 month')::DATE <= p_before
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE collaboration_events DETACH PARTITION %I', v_part.relname);
+        EXECUTE format('DROP TABLE %I', v_part.relname);
+        RETURN NEXT v_part.relname;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 6. 预建分区并迁移旧表数据
+DO $$
+DECLARE
+    v_month DATE;
+    v_max   DATE;
+BEGIN
+    PERFORM ensure_collaboration_events_partitions(3);
+
+    IF to_regclass('collaboration_events_legacy') IS NOT NULL THEN
+        SELECT date_trunc('month', MIN(created_at))::DATE, date_trunc('month', MAX(created_at))::DATE
+        INTO v_month, v_max
+        FROM collaboration_events_legacy;
+
+        WHILE v_month IS NOT NULL AND v_month <= v_max LOOP
+            PERFORM create_collaboration_events_partition(v_month);
+            v_month := (v_month + INTERVAL '1 month')::DATE;
+        END LOOP;
+
+        INSERT INTO collaboration_events (id, session_id, document_id, user_id, event_type, event_data, created_at)
+        SELECT id, session_id, document_id, user_id, event_type, event_data, COALESCE(created_at, CURRENT_TIMESTAMP)
+        FROM collaboration_events_legacy;
+
+        PERFORM setval(pg_get_serial_sequence('collaboration_events', 'id'),
+                       GREATEST((SELECT COALESCE(MAX(id), 0) FROM collaboration_events), 1));
+
+        DROP TABLE collaboration_events_legacy;
+    END IF;
+END $$;
+
+COMMENT ON TABLE collaboration_events IS '协作事件表（按 created_at 按月分区，过期分区整体删除）';
@@ -0,0 +1,21 @@
+-- ============================================================================
+-- 迁移脚本: V9__add_document_version_snapshot_columns.sql
+-- 描述: document_versions 增加协作事件快照字段（已折叠的最后事件ID与时间）
+-- 作者: AIBidComposer Team
+-- 日期: 2026-10-17
+-- ============================================================================
+
+ALTER TABLE document_versions ADD COLUMN IF NOT EXISTS last_event_id BIGINT;
+ALTER TABLE document_versions ADD COLUMN IF NOT EXISTS last_event_at TIMESTAMP;
+
+-- 快照版本的变更类型为 snapshot
+ALTER TABLE document_versions DROP CONSTRAINT IF EXISTS document_versions_change_type_check;
+ALTER TABLE document_versions ADD CONSTRAINT document_versions_change_type_check
+    CHECK (change_type IN ('major', 'minor', 'patch', 'draft', 'snapshot'));
+
+CREATE INDEX IF NOT EXISTS idx_document_versions_latest_snapshot
+    ON document_versions (document_id, version_number DESC)
+    WHERE last_event_id IS NOT NULL;
+
+COMMENT ON COLUMN document_versions.last_event_id IS '快照已折叠的最后一个协作事件ID';
+COMMENT ON COLUMN document_versions.last_event_at IS '快照已折叠的最后一个协作事件时间';
@@ -0,0 +1,130 @@
+package com.aibidcomposer.service.auth.cache;
+
+import com.aibidcomposer.common.biz.cache.UserDetailsCache;
+import com.aibidcomposer.common.biz.invalidation.AfterCommitInvalidationInterceptor;
+import com.aibidcomposer.dao.entity.User;
+import com.aibidcomposer.dao.mapper.PermissionMapper;
+import com.aibidcomposer.dao.mapper.RoleMapper;
+import com.aibidcomposer.dao.mapper.UserMapper;
+import com.aibidcomposer.dao.mapper.UserRoleMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 用户详情缓存失效拦截器
+ *
+ * <p>拦截 users、user_roles、roles、permissions 表的写操作，在事务提交后
+ * 调用 {@link UserDetailsCache} 清除缓存并广播到所有节点：</p>
+ * <ul>
+ *   <li>角色、权限、用户角色变更：影响范围无法按用户名确定，清空全部缓存</li>
+ *   <li>用户变更：清除变更前后的用户名（按主键更新、删除时先查出原用户名，改名后旧用户名的缓存也会清除），
+ *       无法确定用户时清空全部缓存</li>
+ * </ul>
+ * <p>事务合并与提交后执行见 {@link AfterCommitInvalidationInterceptor}；UserMapper 依赖本拦截器，
+ * 因此通过 ObjectProvider 延迟获取。</p>
+ *
+ * 需求编号: REQ-JAVA-AUTH-001
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class UserDetailsCacheInvalidationInterceptor extends AfterCommitInvalidationInterceptor<String> {
+
+    private static final Set<String> AUTHORIZATION_NAMESPACES = Set.of(
+            UserRoleMapper.class.getName(),
+            RoleMapper.class.getName(),
+            PermissionMapper.class.getName()
+    );
+
+    private static final String USER_NAMESPACE = UserMapper.class.getName();
+
+    private final UserDetailsCache userDetailsCache;
+    private final ObjectProvider<UserMapper> userMapperProvider;
+
+    public UserDetailsCacheInvalidationInterceptor(UserDetailsCache userDetailsCache,
+                                                   ObjectProvider<UserMapper> userMapperProvider) {
+        super(namespaces());
+        this.userDetailsCache = userDetailsCache;
+        this.userMapperProvider = userMapperProvider;
+    }
+
+    /**
+     * 用户变更须在执行前取得原用户名
+     */
+    @Override
+    protected boolean extractBeforeUpdate(String namespace) {
+        return USER_NAMESPACE.equals(namespace);
+    }
+
+    /**
+     * 提取受影响的用户名；角色、权限、用户角色变更返回null（清空全部）
+     *
+     * <p>用户变更时带主键则查出当前（变更前）的用户名，实体中的新用户名一并返回。</p>
+     *
+     * @param namespace Mapper命名空间
+     * @param parameter Mapper参数
+     * @return 用户名，无法确定时返回null
+     */
+    @Override
+    protected Collection<String> extractKeys(String namespace, Object parameter) {
+        if (!USER_NAMESPACE.equals(namespace)) {
+            return null;
+        }
+        Set<String> usernames = new HashSet<>();
+        Long id = null;
+        if (parameter instanceof Number number) {
+            id = number.longValue();
+        } else if (entityOf(parameter) instanceof User user) {
+            id = user.getId();
+            if (user.getUsername() != null) {
+                usernames.add(user.getUsername());
+            }
+        }
+        if (id != null) {
+            try {
+                User current = userMapperProvider.getObject().selectOne(Wrappers.<User>lambdaQuery()
+                        .select(User::getId, User::getUsername)
+                        .eq(User::getId, id));
+                if (current != null && current.getUsername() != null) {
+                    usernames.add(current.getUsername());
+                }
+            } catch (Exception e) {
+                // 查不到原用户名时退化为清空全部缓存
+                log.warn("查询用户原用户名失败，将清空全部用户详情缓存: userId={}", id, e);
+                return null;
+            }
+        }
+        return usernames.isEmpty() ? null : usernames;
+    }
+
+    @Override
+    protected void apply(Set<String> usernames) {
+        if (usernames == null) {
+            userDetailsCache.evictAll();
+            log.debug("权限数据变更，已清空用户详情缓存");
+        } else {
+            usernames.forEach(userDetailsCache::evict);
+            log.debug("用户数据变更，已清除用户详情缓存: {}", usernames);
+        }
+    }
+
+    private static Set<String> namespaces() {
+        Set<String> namespaces = new HashSet<>(AUTHORIZATION_NAMESPACES);
+        namespaces.add(USER_NAMESPACE);
+        return namespaces;
+    }
+}
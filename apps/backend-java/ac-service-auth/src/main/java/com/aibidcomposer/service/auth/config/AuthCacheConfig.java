@@ -0,0 +1,33 @@
+package com.aibidcomposer.service.auth.config;
+
+import com.aibidcomposer.common.biz.cache.CachedUserDetails;
+import com.aibidcomposer.common.biz.cache.UserDetailsCache;
+import com.aibidcomposer.common.biz.cache.codec.TypedCacheSpec;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 认证模块缓存声明
+ *
+ * <p>用户详情二级缓存按 {@link CachedUserDetails} 类型编解码，条目中不再写入类名；
+ * 过期时间使用 cache.codec.default-ttl。</p>
+ *
+ * 需求编号: REQ-JAVA-AUTH-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Configuration
+public class AuthCacheConfig {
+
+    /**
+     * 用户详情二级缓存
+     *
+     * @return 类型化缓存声明
+     */
+    @Bean
+    public TypedCacheSpec userDetailsCacheSpec() {
+        return new TypedCacheSpec(UserDetailsCache.CACHE_NAME, CachedUserDetails.class, null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.aibidcomposer.service.document.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 标书内容检索结果
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+public class ContentSearchHit implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 文档ID
+     */
+    private Long documentId;
+
+    /**
+     * 章节ID（文档检索时为空）
+     */
+    private Long sectionId;
+
+    /**
+     * 标题（已高亮）
+     */
+    private String title;
+
+    /**
+     * 章节编号（文档检索时为空）
+     */
+    private String sectionNumber;
+
+    /**
+     * 正文摘要（命中处以 em 标签包裹，其余内容已做HTML转义）
+     */
+    private String snippet;
+
+    /**
+     * 相关度得分（0~1）
+     */
+    private Double rank;
+}
@@ -0,0 +1,56 @@
+package com.aibidcomposer.service.document.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 文档当前状态（最新快照 + 之后的协作事件）
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文档ID
+     */
+    private Long documentId;
+
+    /**
+     * 文档内容
+     */
+    private Map<String, Object> content;
+
+    /**
+     * 基准快照的版本号（无快照时为null）
+     */
+    private Integer snapshotVersionNumber;
+
+    /**
+     * 已应用的最后一个事件ID
+     */
+    private Long lastEventId;
+
+    /**
+     * 已应用的最后一个事件时间
+     */
+    private LocalDateTime lastEventAt;
+
+    /**
+     * 在快照之上回放的事件数
+     */
+    private int replayedEvents;
+}
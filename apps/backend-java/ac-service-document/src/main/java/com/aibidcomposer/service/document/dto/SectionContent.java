@@ -0,0 +1,44 @@
+package com.aibidcomposer.service.document.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 章节正文
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionContent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 章节ID
+     */
+    private Long id;
+
+    /**
+     * 章节内容
+     */
+    private String content;
+
+    /**
+     * 内容类型
+     */
+    private String contentType;
+
+    /**
+     * 字数统计
+     */
+    private Integer wordCount;
+}
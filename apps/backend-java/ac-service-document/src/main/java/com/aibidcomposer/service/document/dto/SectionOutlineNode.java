@@ -0,0 +1,62 @@
+package com.aibidcomposer.service.document.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文档大纲节点（不含章节正文）
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+public class SectionOutlineNode implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 章节ID
+     */
+    private Long id;
+
+    /**
+     * 父章节ID
+     */
+    private Long parentId;
+
+    /**
+     * 章节标题
+     */
+    private String title;
+
+    /**
+     * 章节编号
+     */
+    private String sectionNumber;
+
+    /**
+     * 层级
+     */
+    private Integer level;
+
+    /**
+     * 排序索引
+     */
+    private Integer orderIndex;
+
+    /**
+     * 字数统计
+     */
+    private Integer wordCount;
+
+    /**
+     * 子章节（按order_index排序）
+     */
+    private List<SectionOutlineNode> children = new ArrayList<>();
+}
@@ -0,0 +1,50 @@
+package com.aibidcomposer.service.document.dto;
+
+import com.aibidcomposer.dao.entity.DocumentSection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 批量保存章节的单行请求
+ *
+ * <p>section.id 为空表示新章节；非空表示更新已有章节，此时 section.updateTime
+ * 为客户端读取时的更新时间，与数据库不一致视为并发冲突（为空则不检查）。
+ * 新章节的父章节也在同一批次中时，用 parentKey 引用其 key。已有章节未指定父章节时
+ * 保持原父章节，移动到根须设置 moveToRoot。</p>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionUpsertItem implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 客户端行标识（批次内唯一）
+     */
+    private String key;
+
+    /**
+     * 同批次内父章节的 key，优先于 section.parentId
+     */
+    private String parentKey;
+
+    /**
+     * 章节数据
+     */
+    private DocumentSection section;
+
+    /**
+     * 是否移动到根（仅对已有章节有效，不能与 parentKey、section.parentId 同时指定）
+     */
+    private Boolean moveToRoot;
+}
@@ -0,0 +1,71 @@
+package com.aibidcomposer.service.document.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 批量保存章节的单行结果
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionUpsertResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 客户端行标识
+     */
+    private String key;
+
+    /**
+     * 章节ID（新章节为分配的ID）
+     */
+    private Long id;
+
+    /**
+     * 处理结果
+     */
+    private Status status;
+
+    /**
+     * 写入后的更新时间（未写入时为数据库当前值或null）
+     */
+    private LocalDateTime updateTime;
+
+    /**
+     * 单行处理结果
+     */
+    public enum Status {
+
+        /**
+         * 已插入
+         */
+        INSERTED,
+
+        /**
+         * 已更新
+         */
+        UPDATED,
+
+        /**
+         * 客户端读取后已被其他人修改，未写入
+         */
+        CONFLICT,
+
+        /**
+         * 章节不存在或不属于该文档，未写入
+         */
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,281 @@
+package com.aibidcomposer.service.document.patch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JSON Patch（RFC 6902 子集）的生成与应用
+ *
+ * <p>支持 add / replace / remove，路径为 JSON Pointer（RFC 6901），数组末尾追加使用 "-"。
+ * 文档内容为 Jackson 反序列化得到的 Map / List / 标量结构。</p>
+ * <ul>
+ *   <li>协作事件折叠：edit 事件携带的操作应用到文档内容</li>
+ *   <li>版本差量存储：生成两个版本之间的操作列表，读取时应用回关键帧</li>
+ * </ul>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+public final class JsonPatch {
+
+    public static final String OP_ADD = "add";
+    public static final String OP_REPLACE = "replace";
+    public static final String OP_REMOVE = "remove";
+
+    private JsonPatch() {
+    }
+
+    /**
+     * 生成把 from 变为 to 的操作列表
+     *
+     * <p>对象逐键比较；数组去掉公共前缀和后缀后，中间部分按位置逐项比较，
+     * 多出的元素删除或追加。</p>
+     *
+     * @param from 原内容
+     * @param to   新内容
+     * @return 操作列表
+     */
+    public static List<Map<String, Object>> diff(Map<String, Object> from, Map<String, Object> to) {
+        List<Map<String, Object>> ops = new ArrayList<>();
+        if (from == null || to == null) {
+            if (!Objects.equals(from, to)) {
+                ops.add(op(OP_REPLACE, "", to == null ? new LinkedHashMap<>() : to));
+            }
+            return ops;
+        }
+        diffNode("", from, to, ops);
+        return ops;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void diffNode(String path, Object from, Object to, List<Map<String, Object>> ops) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from instanceof Map<?, ?> fromMap && to instanceof Map<?, ?> toMap) {
+            for (Object key : fromMap.keySet()) {
+                if (!toMap.containsKey(key)) {
+                    ops.add(op(OP_REMOVE, path + "/" + escape((String) key), null));
+                }
+            }
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) toMap).entrySet()) {
+                String childPath = path + "/" + escape(entry.getKey());
+                if (!fromMap.containsKey(entry.getKey())) {
+                    ops.add(op(OP_ADD, childPath, entry.getValue()));
+                } else {
+                    diffNode(childPath, fromMap.get(entry.getKey()), entry.getValue(), ops);
+                }
+            }
+            return;
+        }
+        if (from instanceof List<?> fromList && to instanceof List<?> toList) {
+            diffList(path, fromList, toList, ops);
+            return;
+        }
+        ops.add(op(OP_REPLACE, path, to));
+    }
+
+    private static void diffList(String path, List<?> from, List<?> to, List<Map<String, Object>> ops) {
+        int prefix = 0;
+        int max = Math.min(from.size(), to.size());
+        while (prefix < max && Objects.equals(from.get(prefix), to.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && Objects.equals(from.get(from.size() - 1 - suffix), to.get(to.size() - 1 - suffix))) {
+            suffix++;
+        }
+        int fromMiddle = from.size() - prefix - suffix;
+        int toMiddle = to.size() - prefix - suffix;
+        int paired = Math.min(fromMiddle, toMiddle);
+        for (int i = 0; i < paired; i++) {
+            diffNode(path + "/" + (prefix + i), from.get(prefix + i), to.get(prefix + i), ops);
+        }
+        for (int i = paired; i < fromMiddle; i++) {
+            ops.add(op(OP_REMOVE, path + "/" + (prefix + paired), null));
+        }
+        for (int i = paired; i < toMiddle; i++) {
+            ops.add(op(OP_ADD, path + "/" + (prefix + i), to.get(prefix + i)));
+        }
+    }
+
+    private static Map<String, Object> op(String type, String path, Object value) {
+        Map<String, Object> op = new LinkedHashMap<>();
+        op.put("op", type);
+        op.put("path", path);
+        if (!OP_REMOVE.equals(type)) {
+            op.put("value", value);
+        }
+        return op;
+    }
+
+    /**
+     * 依次应用操作列表（原地修改）
+     *
+     * @param content 文档内容（须为可修改结构）
+     * @param ops     操作列表
+     * @return 应用后的文档内容（根路径替换时为新对象）
+     */
+    public static Map<String, Object> apply(Map<String, Object> content, List<Map<String, Object>> ops) {
+        if (ops != null) {
+            for (Map<String, Object> op : ops) {
+                content = apply(content, op);
+            }
+        }
+        return content;
+    }
+
+    /**
+     * 应用单个操作（原地修改），路径不存在或操作不支持时跳过
+     *
+     * @param content 文档内容（须为可修改结构）
+     * @param op      操作
+     * @return 应用后的文档内容（根路径替换时为新对象）
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> apply(Map<String, Object> content, Map<String, Object> op) {
+        String type = (String) op.get("op");
+        String path = (String) op.get("path");
+        if (type == null || path == null) {
+            return content;
+        }
+        Object value = op.get("value");
+        if (path.isEmpty()) {
+            // 根路径：整体替换
+            if ((OP_ADD.equals(type) || OP_REPLACE.equals(type)) && value instanceof Map<?, ?> root) {
+                return mutableCopy((Map<String, Object>) root);
+            }
+            return content;
+        }
+
+        String[] tokens = parsePointer(path);
+        Object parent = content;
+        for (int i = 0; i < tokens.length - 1; i++) {
+            parent = child(parent, tokens[i]);
+            if (parent == null) {
+                log.warn("JSON Patch路径不存在，已跳过: path={}", path);
+                return content;
+            }
+        }
+        String last = tokens[tokens.length - 1];
+        switch (type) {
+            case OP_ADD -> add(parent, last, value);
+            case OP_REPLACE -> replace(parent, last, value);
+            case OP_REMOVE -> remove(parent, last);
+            default -> log.warn("不支持的JSON Patch操作，已跳过: op={}", type);
+        }
+        return content;
+    }
+
+    private static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String[] parsePointer(String path) {
+        String[] tokens = path.substring(1).split("/", -1);
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokens[i].replace("~1", "/").replace("~0", "~");
+        }
+        return tokens;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object child(Object node, String token) {
+        if (node instanceof Map<?, ?> map) {
+            return ((Map<String, Object>) map).get(token);
+        }
+        if (node instanceof List<?> list) {
+            int index = indexOf(token, list.size() - 1);
+            return index < 0 ? null : list.get(index);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void add(Object parent, String token, Object value) {
+        if (parent instanceof Map<?, ?> map) {
+            ((Map<String, Object>) map).put(token, value);
+        } else if (parent instanceof List<?> list) {
+            List<Object> target = (List<Object>) list;
+            if ("-".equals(token)) {
+                target.add(value);
+            } else {
+                int index = indexOf(token, target.size());
+                if (index >= 0) {
+                    target.add(index, value);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void replace(Object parent, String token, Object value) {
+        if (parent instanceof Map<?, ?> map) {
+            ((Map<String, Object>) map).put(token, value);
+        } else if (parent instanceof List<?> list) {
+            int index = indexOf(token, list.size() - 1);
+            if (index >= 0) {
+                ((List<Object>) list).set(index, value);
+            }
+        }
+    }
+
+    private static void remove(Object parent, String token) {
+        if (parent instanceof Map<?, ?> map) {
+            map.remove(token);
+        } else if (parent instanceof List<?> list) {
+            int index = indexOf(token, list.size() - 1);
+            if (index >= 0) {
+                list.remove(index);
+            }
+        }
+    }
+
+    /**
+     * 解析数组下标，越界或非数字返回-1
+     */
+    private static int indexOf(String token, int maxIndex) {
+        try {
+            int index = Integer.parseInt(token);
+            return index >= 0 && index <= maxIndex ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 深拷贝为可修改的Map/List结构（缓存或快照中的内容不应被原地修改）
+     *
+     * @param content 文档内容
+     * @return 可修改的副本
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> mutableCopy(Map<String, Object> content) {
+        return content == null ? new LinkedHashMap<>() : (Map<String, Object>) deepCopy(content);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object deepCopy(Object node) {
+        if (node instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            ((Map<String, Object>) map).forEach((k, v) -> copy.put(k, deepCopy(v)));
+            return copy;
+        }
+        if (node instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(v -> copy.add(deepCopy(v)));
+            return copy;
+        }
+        return node;
+    }
+}
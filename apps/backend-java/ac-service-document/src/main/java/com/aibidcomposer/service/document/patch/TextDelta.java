@@ -0,0 +1,78 @@
+package com.aibidcomposer.service.document.patch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 纯文本差量
+ *
+ * <p>去掉公共前缀和后缀后记录中间被替换的片段：
+ * {@code {"prefix":p,"suffix":s,"insert":"..."}}，还原为
+ * {@code base[0, p) + insert + base[len - s, len)}。
+ * 自动保存的相邻版本通常只有局部修改，单段差量即可覆盖。</p>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public final class TextDelta {
+
+    private TextDelta() {
+    }
+
+    /**
+     * 生成把 from 变为 to 的差量
+     *
+     * @param from 原文本（null视为空串）
+     * @param to   新文本，为null时返回null
+     * @return 差量
+     */
+    public static Map<String, Object> diff(String from, String to) {
+        if (to == null) {
+            return null;
+        }
+        String base = from == null ? "" : from;
+        int max = Math.min(base.length(), to.length());
+        int prefix = 0;
+        while (prefix < max && base.charAt(prefix) == to.charAt(prefix)) {
+            prefix++;
+        }
+        // 不在代理对中间切分
+        if (prefix > 0 && Character.isHighSurrogate(base.charAt(prefix - 1))) {
+            prefix--;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && base.charAt(base.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(base.charAt(base.length() - suffix))) {
+            suffix--;
+        }
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("prefix", prefix);
+        delta.put("suffix", suffix);
+        delta.put("insert", to.substring(prefix, to.length() - suffix));
+        return delta;
+    }
+
+    /**
+     * 应用差量
+     *
+     * @param base  原文本（null视为空串）
+     * @param delta 差量，为null时返回null
+     * @return 还原后的文本
+     */
+    public static String apply(String base, Map<String, Object> delta) {
+        if (delta == null) {
+            return null;
+        }
+        String from = base == null ? "" : base;
+        int prefix = ((Number) delta.get("prefix")).intValue();
+        int suffix = ((Number) delta.get("suffix")).intValue();
+        String insert = (String) delta.get("insert");
+        return from.substring(0, prefix) + (insert == null ? "" : insert) + from.substring(from.length() - suffix);
+    }
+}
@@ -0,0 +1,146 @@
+package com.aibidcomposer.service.document.service;
+
+import com.aibidcomposer.dao.mapper.CollaborationEventMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 协作事件分区维护服务
+ *
+ * <p>collaboration_events 按月分区，本服务负责：</p>
+ * <ul>
+ *   <li>启动时及每日预建未来若干个月的分区，避免写入落入默认分区</li>
+ *   <li>按保留期整体删除过期月分区，替代逐行DELETE；删除前为其中仍有未折叠事件的文档强制生成快照，
+ *       仍有未折叠事件时不删除</li>
+ *   <li>默认分区出现数据时为对应月份建分区并移出数据，仍有残留时报错</li>
+ * </ul>
+ * <p>分区函数内部使用咨询锁，多实例同时执行是安全的。</p>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-001
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollaborationEventPartitionService {
+
+    private final CollaborationEventMapper collaborationEventMapper;
+    private final DocumentSnapshotService documentSnapshotService;
+
+    /**
+     * 向后预建的月数
+     */
+    @Value("${collaboration.events.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    /**
+     * 保留月数（不含当月），小于等于0表示不删除
+     */
+    @Value("${collaboration.events.retention-months:12}")
+    private int retentionMonths;
+
+    /**
+     * 启动时预建分区
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            ensurePartitions();
+        } catch (Exception e) {
+            log.error("协作事件分区预建失败", e);
+        }
+    }
+
+    /**
+     * 每日维护：预建分区、删除过期分区、检查默认分区
+     */
+    @Scheduled(cron = "${collaboration.events.partition.cron:0 15 3 * * ?}")
+    public void maintain() {
+        try {
+            ensurePartitions();
+            dropExpiredPartitions();
+            repairDefaultPartition();
+        } catch (Exception e) {
+            log.error("协作事件分区维护失败", e);
+        }
+    }
+
+    /**
+     * 把落入默认分区的事件移到对应的月分区
+     *
+     * @return 移出后默认分区中剩余的事件数
+     */
+    public long repairDefaultPartition() {
+        if (collaborationEventMapper.countInDefaultPartition() == 0) {
+            return 0;
+        }
+        List<String> repaired = collaborationEventMapper.repairDefaultPartition();
+        log.warn("协作事件默认分区中存在数据，已移入月分区: partitions={}", repaired);
+        long remaining = collaborationEventMapper.countInDefaultPartition();
+        if (remaining > 0) {
+            log.error("协作事件默认分区中仍有 {} 条数据未能移出", remaining);
+        }
+        return remaining;
+    }
+
+    /**
+     * 预建当月及之后 monthsAhead 个月的分区
+     *
+     * @return 新建分区数
+     */
+    public int ensurePartitions() {
+        int created = collaborationEventMapper.ensurePartitions(monthsAhead);
+        if (created > 0) {
+            log.info("协作事件分区已预建: created={}, monthsAhead={}", created, monthsAhead);
+        }
+        return created;
+    }
+
+    /**
+     * 删除保留期之外的月分区
+     *
+     * <p>文档状态 = 最新快照 + 之后的事件，删除分区前须保证其中的事件都已折叠进快照：
+     * 先为有未折叠事件的文档强制生成快照（不受 min-events 与活跃窗口限制），
+     * 仍有文档未折叠完时本次不删除。</p>
+     *
+     * @return 已删除的分区名
+     */
+    public List<String> dropExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        LocalDate before = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+        List<Long> unfolded = collaborationEventMapper.findDocumentIdsWithUnfoldedEventsBefore(before);
+        for (Long documentId : unfolded) {
+            try {
+                documentSnapshotService.compact(documentId, true);
+            } catch (Exception e) {
+                log.error("删除过期分区前生成文档快照失败: documentId={}", documentId, e);
+            }
+        }
+        if (!unfolded.isEmpty()) {
+            List<Long> remaining = collaborationEventMapper.findDocumentIdsWithUnfoldedEventsBefore(before);
+            if (!remaining.isEmpty()) {
+                log.error("过期分区中仍有未折叠进快照的事件，本次不删除: before={}, documents={}", before, remaining);
+                return List.of();
+            }
+            log.info("删除过期分区前已为文档生成快照: before={}, documents={}", before, unfolded.size());
+        }
+        List<String> dropped = collaborationEventMapper.dropPartitionsBefore(before);
+        if (!dropped.isEmpty()) {
+            log.info("协作事件过期分区已删除: before={}, partitions={}", before, dropped);
+        }
+        return dropped;
+    }
+}
@@ -0,0 +1,158 @@
+package com.aibidcomposer.service.document.service;
+
+import com.aibidcomposer.common.biz.search.CjkBigramTokenizer;
+import com.aibidcomposer.common.biz.search.PgTextSearch;
+import com.aibidcomposer.common.biz.search.SearchTokenizer;
+import com.aibidcomposer.dao.entity.BidDocument;
+import com.aibidcomposer.dao.entity.DocumentSection;
+import com.aibidcomposer.dao.mapper.BidDocumentMapper;
+import com.aibidcomposer.dao.mapper.DocumentSectionMapper;
+import com.aibidcomposer.dao.support.SearchVectorUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 标书内容全文检索索引维护
+ *
+ * <p>标题或正文变化时，数据库触发器把 search_indexed_at 置空（任何写入路径都不会漏）；本服务负责生成检索向量：</p>
+ * <ul>
+ *   <li>同步：章节批量保存在同一事务内为变化的章节重建向量，保存后立即可检索</li>
+ *   <li>异步：后台任务按批领取 search_indexed_at 为空的章节和文档（FOR UPDATE SKIP LOCKED），
+ *       覆盖其他写入路径与存量数据回填；更换分词器后将 search_indexed_at 置空即可全量重建</li>
+ * </ul>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class ContentSearchIndexService {
+
+    private final DocumentSectionMapper documentSectionMapper;
+    private final BidDocumentMapper bidDocumentMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchTokenizer tokenizer;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxTokens;
+
+    public ContentSearchIndexService(DocumentSectionMapper documentSectionMapper,
+                                     BidDocumentMapper bidDocumentMapper,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectProvider<SearchTokenizer> tokenizerProvider,
+                                     @Value("${search.index.enabled:true}") boolean enabled,
+                                     @Value("${search.index.batch-size:200}") int batchSize,
+                                     @Value("${search.index.max-batches-per-run:50}") int maxBatchesPerRun,
+                                     @Value("${search.index.max-tokens:200000}") int maxTokens) {
+        this.documentSectionMapper = documentSectionMapper;
+        this.bidDocumentMapper = bidDocumentMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.tokenizer = tokenizerProvider.getIfAvailable(CjkBigramTokenizer::new);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.maxTokens = Math.max(1, maxTokens);
+    }
+
+    /**
+     * 为指定章节中内容有变化的章节重建检索向量（在调用方事务内执行）
+     *
+     * @param sectionIds 章节ID
+     * @return 重建的章节数
+     */
+    public int indexSections(Collection<Long> sectionIds) {
+        if (!enabled || sectionIds == null || sectionIds.isEmpty()) {
+            return 0;
+        }
+        return writeSections(documentSectionMapper.findSearchPending(sectionIds));
+    }
+
+    /**
+     * 为指定文档中内容有变化的文档重建检索向量（在调用方事务内执行）
+     *
+     * @param documentIds 文档ID
+     * @return 重建的文档数
+     */
+    public int indexDocuments(Collection<Long> documentIds) {
+        if (!enabled || documentIds == null || documentIds.isEmpty()) {
+            return 0;
+        }
+        return writeDocuments(bidDocumentMapper.findSearchPending(documentIds));
+    }
+
+    /**
+     * 后台回填：逐批处理待索引的章节与文档，每批一个事务
+     */
+    @Scheduled(fixedDelayString = "${search.index.interval-ms:5000}")
+    public void indexPending() {
+        if (!enabled) {
+            return;
+        }
+        int sections = 0;
+        int documents = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer written = transactionTemplate.execute(status ->
+                        writeSections(documentSectionMapper.claimSearchPending(batchSize)));
+                sections += written == null ? 0 : written;
+                if (written == null || written < batchSize) {
+                    break;
+                }
+            }
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer written = transactionTemplate.execute(status ->
+                        writeDocuments(bidDocumentMapper.claimSearchPending(batchSize)));
+                documents += written == null ? 0 : written;
+                if (written == null || written < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("全文检索索引回填失败，下次调度重试", e);
+        }
+        if (sections > 0 || documents > 0) {
+            log.info("全文检索索引回填: sections={}, documents={}", sections, documents);
+        }
+    }
+
+    private int writeSections(List<DocumentSection> sections) {
+        if (sections.isEmpty()) {
+            return 0;
+        }
+        List<SearchVectorUpdate> rows = new ArrayList<>(sections.size());
+        for (DocumentSection section : sections) {
+            rows.add(new SearchVectorUpdate(section.getId(), vector(section.getTitle(), section.getContent())));
+        }
+        documentSectionMapper.updateSearchVectors(rows);
+        return rows.size();
+    }
+
+    private int writeDocuments(List<BidDocument> documents) {
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        List<SearchVectorUpdate> rows = new ArrayList<>(documents.size());
+        for (BidDocument document : documents) {
+            rows.add(new SearchVectorUpdate(document.getId(), vector(document.getTitle(), document.getPlainContent())));
+        }
+        bidDocumentMapper.updateSearchVectors(rows);
+        return rows.size();
+    }
+
+    private String vector(String title, String body) {
+        return PgTextSearch.vector(tokenizer.tokenize(title), tokenizer.tokenize(body), maxTokens);
+    }
+}
@@ -0,0 +1,142 @@
+package com.aibidcomposer.service.document.service;
+
+import com.aibidcomposer.common.biz.dto.PageRequest;
+import com.aibidcomposer.common.biz.search.CjkBigramTokenizer;
+import com.aibidcomposer.common.biz.search.PgTextSearch;
+import com.aibidcomposer.common.biz.search.SearchTokenizer;
+import com.aibidcomposer.common.biz.search.TextHighlighter;
+import com.aibidcomposer.common.db.Page;
+import com.aibidcomposer.common.exception.ValidationException;
+import com.aibidcomposer.dao.mapper.BidDocumentMapper;
+import com.aibidcomposer.dao.mapper.DocumentSectionMapper;
+import com.aibidcomposer.dao.support.TextSearchRow;
+import com.aibidcomposer.service.document.dto.ContentSearchHit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * 标书内容全文检索服务
+ *
+ * <p>检索历史标书的文档与章节，按相关度排序（标题命中权重高于正文），返回高亮摘要，
+ * 便于编写人员查找可复用段落。关键词取 {@link PageRequest#getKeyword()}，多个词以空格分隔表示同时包含。</p>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class ContentSearchService {
+
+    private final DocumentSectionMapper documentSectionMapper;
+    private final BidDocumentMapper bidDocumentMapper;
+    private final SearchTokenizer tokenizer;
+    private final int snippetLength;
+
+    public ContentSearchService(DocumentSectionMapper documentSectionMapper,
+                                BidDocumentMapper bidDocumentMapper,
+                                ObjectProvider<SearchTokenizer> tokenizerProvider,
+                                @Value("${search.snippet-length:160}") int snippetLength) {
+        this.documentSectionMapper = documentSectionMapper;
+        this.bidDocumentMapper = bidDocumentMapper;
+        this.tokenizer = tokenizerProvider.getIfAvailable(CjkBigramTokenizer::new);
+        this.snippetLength = Math.max(20, snippetLength);
+    }
+
+    /**
+     * 检索章节
+     *
+     * @param organizationId 组织ID（可选）
+     * @param projectId 项目ID（可选）
+     * @param documentId 文档ID（可选）
+     * @param request 分页与关键词
+     * @return 检索结果
+     */
+    public Page<ContentSearchHit> searchSections(Long organizationId, Long projectId, Long documentId,
+                                                 PageRequest request) {
+        String query = toQuery(request);
+        if (query == null) {
+            return Page.empty(request.getPage(), request.getPageSize());
+        }
+        List<TextSearchRow> rows = documentSectionMapper.searchSections(query, organizationId, projectId, documentId,
+                request.getOffset(), request.getLimit());
+        Long total = countIfRequested(request, rows,
+                () -> documentSectionMapper.countSearchSections(query, organizationId, projectId, documentId));
+        return toPage(request, rows, total, true);
+    }
+
+    /**
+     * 检索标书文档
+     *
+     * @param organizationId 组织ID（可选）
+     * @param projectId 项目ID（可选）
+     * @param request 分页与关键词
+     * @return 检索结果
+     */
+    public Page<ContentSearchHit> searchDocuments(Long organizationId, Long projectId, PageRequest request) {
+        String query = toQuery(request);
+        if (query == null) {
+            return Page.empty(request.getPage(), request.getPageSize());
+        }
+        List<TextSearchRow> rows = bidDocumentMapper.searchDocuments(query, organizationId, projectId,
+                request.getOffset(), request.getLimit());
+        Long total = countIfRequested(request, rows,
+                () -> bidDocumentMapper.countSearchDocuments(query, organizationId, projectId));
+        return toPage(request, rows, total, false);
+    }
+
+    private String toQuery(PageRequest request) {
+        if (request == null || !StringUtils.hasText(request.getKeyword())) {
+            throw new ValidationException("搜索关键词不能为空");
+        }
+        String query = PgTextSearch.query(tokenizer, request.getKeyword());
+        log.debug("全文检索: keyword={}, query={}", request.getKeyword(), query);
+        return query;
+    }
+
+    /**
+     * 按需统计总数；首页未取满时结果数即总数，省去COUNT查询
+     */
+    private Long countIfRequested(PageRequest request, List<TextSearchRow> rows,
+                                  LongSupplier counter) {
+        if (Boolean.FALSE.equals(request.getSearchCount())) {
+            return null;
+        }
+        if (request.getOffset() == 0 && rows.size() < request.getLimit()) {
+            return (long) rows.size();
+        }
+        return counter.getAsLong();
+    }
+
+    private Page<ContentSearchHit> toPage(PageRequest request, List<TextSearchRow> rows, Long total,
+                                          boolean section) {
+        List<String> terms = PgTextSearch.highlightTerms(request.getKeyword());
+        List<ContentSearchHit> hits = new ArrayList<>(rows.size());
+        for (TextSearchRow row : rows) {
+            ContentSearchHit hit = new ContentSearchHit();
+            hit.setProjectId(row.getProjectId());
+            hit.setDocumentId(row.getDocumentId());
+            if (section) {
+                hit.setSectionId(row.getId());
+                hit.setSectionNumber(row.getSectionNumber());
+            }
+            hit.setTitle(TextHighlighter.highlight(row.getTitle(), terms, Integer.MAX_VALUE));
+            hit.setSnippet(TextHighlighter.highlight(row.getContent(), terms, snippetLength));
+            hit.setRank(row.getRank());
+            hits.add(hit);
+        }
+        if (total == null) {
+            return new Page<>(hits, null, null, request.getPageSize(), request.getPage());
+        }
+        return Page.of(hits, request.getPage(), request.getPageSize(), Math.toIntExact(total));
+    }
+}
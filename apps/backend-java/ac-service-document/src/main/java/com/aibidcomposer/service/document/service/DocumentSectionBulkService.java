@@ -0,0 +1,281 @@
+package com.aibidcomposer.service.document.service;
+
+import com.aibidcomposer.common.exception.ValidationException;
+import com.aibidcomposer.dao.entity.DocumentSection;
+import com.aibidcomposer.dao.mapper.DocumentSectionMapper;
+import com.aibidcomposer.service.document.dto.SectionUpsertItem;
+import com.aibidcomposer.service.document.dto.SectionUpsertResult;
+import com.aibidcomposer.service.document.dto.SectionUpsertResult.Status;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 文档章节批量保存服务
+ *
+ * <p>一次保存（调整结构、应用模板）固定为少量集合语句，与章节数量无关：</p>
+ * <ol>
+ *   <li>校验章节ID不重复、批次外的父章节属于本文档；锁定本次涉及的已有章节并比对 update_time，不一致的行返回 CONFLICT，不存在的行返回 NOT_FOUND</li>
+ *   <li>为新章节预分配ID，解析同批次内的父章节引用（parentKey）</li>
+ *   <li>按批次内深度排序（父章节在前），处理移动到根的章节后分块执行 INSERT ... ON CONFLICT</li>
+ *   <li>整体重新编号 section_number</li>
+ *   <li>为标题或正文有变化的章节重建全文检索向量</li>
+ * </ol>
+ * <p>直接写SQL，不经过 updateById 的逐行元数据填充；所有写入行使用同一个 update_time。</p>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentSectionBulkService {
+
+    private static final String DEFAULT_CONTENT_TYPE = "text";
+
+    private final DocumentSectionMapper documentSectionMapper;
+    private final ContentSearchIndexService contentSearchIndexService;
+
+    /**
+     * 单条 upsert 语句的最大行数（受 JDBC 绑定参数上限约束）
+     */
+    @Value("${document.section.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * 批量保存章节
+     *
+     * @param documentId 文档ID
+     * @param items 章节请求，未指定 key 时以下标作为 key
+     * @return 每行处理结果，顺序与请求一致
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<SectionUpsertResult> save(Long documentId, List<SectionUpsertItem> items) {
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        Map<String, SectionUpsertItem> byKey = new LinkedHashMap<>();
+        Set<Long> batchIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            SectionUpsertItem item = items.get(i);
+            if (item == null || item.getSection() == null) {
+                throw new ValidationException("第 " + i + " 行章节数据为空");
+            }
+            if (item.getKey() == null) {
+                item.setKey(String.valueOf(i));
+            }
+            if (byKey.put(item.getKey(), item) != null) {
+                throw new ValidationException("章节行标识重复: " + item.getKey());
+            }
+            Long id = item.getSection().getId();
+            if (id != null && !batchIds.add(id)) {
+                throw new ValidationException("章节ID重复: " + id);
+            }
+            if (Boolean.TRUE.equals(item.getMoveToRoot())
+                    && (id == null || item.getParentKey() != null || item.getSection().getParentId() != null)) {
+                throw new ValidationException("只有已有章节可以移动到根，且不能同时指定父章节: " + item.getKey());
+            }
+        }
+        validateParentsInDocument(documentId, byKey.values(), batchIds);
+        Map<String, SectionUpsertResult> results = new LinkedHashMap<>();
+        byKey.keySet().forEach(key -> results.put(key, null));
+
+        // 1. 锁定已有章节并做并发检查
+        List<Long> existingIds = new ArrayList<>();
+        for (SectionUpsertItem item : byKey.values()) {
+            if (item.getSection().getId() != null) {
+                existingIds.add(item.getSection().getId());
+            }
+        }
+        Map<Long, LocalDateTime> current = new HashMap<>();
+        if (!existingIds.isEmpty()) {
+            for (DocumentSection locked : documentSectionMapper.lockForUpdate(documentId, existingIds)) {
+                current.put(locked.getId(), locked.getUpdateTime());
+            }
+        }
+        List<SectionUpsertItem> newItems = new ArrayList<>();
+        for (SectionUpsertItem item : byKey.values()) {
+            DocumentSection section = item.getSection();
+            if (section.getId() == null) {
+                newItems.add(item);
+            } else if (!current.containsKey(section.getId())) {
+                results.put(item.getKey(), new SectionUpsertResult(item.getKey(), section.getId(), Status.NOT_FOUND, null));
+            } else if (section.getUpdateTime() != null
+                    && !section.getUpdateTime().truncatedTo(ChronoUnit.MICROS).equals(current.get(section.getId()))) {
+                results.put(item.getKey(), new SectionUpsertResult(item.getKey(), section.getId(), Status.CONFLICT,
+                        current.get(section.getId())));
+            }
+        }
+
+        // 2. 预分配新章节ID
+        if (!newItems.isEmpty()) {
+            List<Long> ids = documentSectionMapper.allocateIds(newItems.size());
+            for (int i = 0; i < newItems.size(); i++) {
+                DocumentSection section = newItems.get(i).getSection();
+                section.setId(ids.get(i));
+                applyInsertDefaults(section);
+            }
+        }
+
+        // 3. 解析父章节引用，父章节未写入（不存在）时子章节同样不写入
+        List<SectionUpsertItem> writable = new ArrayList<>();
+        for (SectionUpsertItem item : byKey.values()) {
+            if (results.get(item.getKey()) != null) {
+                continue;
+            }
+            if (item.getParentKey() != null) {
+                SectionUpsertItem parent = byKey.get(item.getParentKey());
+                if (parent == null) {
+                    throw new ValidationException("父章节行标识不存在: " + item.getParentKey());
+                }
+                item.getSection().setParentId(parent.getSection().getId());
+            }
+            writable.add(item);
+        }
+        List<SectionUpsertItem> ordered = orderParentsFirst(writable, byKey, results);
+
+        // 4. 移动到根，再分块 upsert（upsert 中 parent_id 为空表示保持原父章节）
+        List<DocumentSection> rows = new ArrayList<>(ordered.size());
+        List<Long> rootMoves = new ArrayList<>();
+        for (SectionUpsertItem item : ordered) {
+            DocumentSection section = item.getSection();
+            section.setDocumentId(documentId);
+            section.setUpdateTime(now);
+            rows.add(section);
+            if (Boolean.TRUE.equals(item.getMoveToRoot())) {
+                rootMoves.add(section.getId());
+            }
+        }
+        if (!rootMoves.isEmpty()) {
+            documentSectionMapper.moveToRoot(documentId, rootMoves);
+        }
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            documentSectionMapper.upsertSections(rows.subList(from, Math.min(from + chunkSize, rows.size())));
+        }
+        for (SectionUpsertItem item : ordered) {
+            Long id = item.getSection().getId();
+            Status status = current.containsKey(id) ? Status.UPDATED : Status.INSERTED;
+            results.put(item.getKey(), new SectionUpsertResult(item.getKey(), id, status, now));
+        }
+
+        // 5. 重新编号
+        if (!rows.isEmpty()) {
+            documentSectionMapper.renumberSections(documentId);
+        }
+
+        // 6. 全文检索向量（只处理触发器标记为待索引的章节）
+        if (!rows.isEmpty()) {
+            List<Long> writtenIds = new ArrayList<>(rows.size());
+            for (DocumentSection row : rows) {
+                writtenIds.add(row.getId());
+            }
+            contentSearchIndexService.indexSections(writtenIds);
+        }
+        log.debug("章节批量保存完成: documentId={}, requested={}, written={}", documentId, items.size(), rows.size());
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * 校验批次外的父章节属于本文档（批次内的父章节在锁定时已按文档校验）
+     */
+    private void validateParentsInDocument(Long documentId, Collection<SectionUpsertItem> items, Set<Long> batchIds) {
+        Set<Long> parentIds = new HashSet<>();
+        for (SectionUpsertItem item : items) {
+            Long parentId = item.getSection().getParentId();
+            if (item.getParentKey() == null && parentId != null && !batchIds.contains(parentId)) {
+                parentIds.add(parentId);
+            }
+        }
+        if (parentIds.isEmpty()) {
+            return;
+        }
+        parentIds.removeAll(documentSectionMapper.findIdsInDocument(documentId, parentIds));
+        if (!parentIds.isEmpty()) {
+            throw new ValidationException("父章节不存在或不属于该文档: " + parentIds);
+        }
+    }
+
+    private void applyInsertDefaults(DocumentSection section) {
+        if (section.getContentType() == null) {
+            section.setContentType(DEFAULT_CONTENT_TYPE);
+        }
+        if (section.getWordCount() == null) {
+            section.setWordCount(0);
+        }
+        if (section.getIsRequired() == null) {
+            section.setIsRequired(Boolean.FALSE);
+        }
+        if (section.getIsGenerated() == null) {
+            section.setIsGenerated(Boolean.FALSE);
+        }
+        if (section.getMetadata() == null) {
+            section.setMetadata(new HashMap<>());
+        }
+    }
+
+    /**
+     * 按批次内深度稳定排序（父章节在前），批次内存在循环引用时报错。
+     * 父章节在本批次中但不存在时，子章节同样标记为 NOT_FOUND 且不写入。
+     */
+    private List<SectionUpsertItem> orderParentsFirst(List<SectionUpsertItem> writable,
+                                                      Map<String, SectionUpsertItem> byKey,
+                                                      Map<String, SectionUpsertResult> results) {
+        Map<Long, SectionUpsertItem> batchById = new HashMap<>();
+        for (SectionUpsertItem item : byKey.values()) {
+            batchById.put(item.getSection().getId(), item);
+        }
+        Map<String, Integer> depths = new HashMap<>();
+        for (SectionUpsertItem item : writable) {
+            depthOf(item, batchById, depths, new HashSet<>());
+        }
+        List<SectionUpsertItem> sorted = new ArrayList<>(writable);
+        sorted.sort(Comparator.comparingInt(item -> depths.get(item.getKey())));
+
+        List<SectionUpsertItem> ordered = new ArrayList<>(sorted.size());
+        for (SectionUpsertItem item : sorted) {
+            SectionUpsertItem parent = batchById.get(item.getSection().getParentId());
+            SectionUpsertResult parentResult = parent == null ? null : results.get(parent.getKey());
+            if (parentResult != null && parentResult.getStatus() == Status.NOT_FOUND) {
+                results.put(item.getKey(), new SectionUpsertResult(item.getKey(), item.getSection().getId(),
+                        Status.NOT_FOUND, null));
+            } else {
+                ordered.add(item);
+            }
+        }
+        return ordered;
+    }
+
+    private int depthOf(SectionUpsertItem item, Map<Long, SectionUpsertItem> batchById,
+                        Map<String, Integer> depths, Set<String> visiting) {
+        Integer known = depths.get(item.getKey());
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(item.getKey())) {
+            throw new ValidationException("章节父子关系存在循环引用: " + item.getKey());
+        }
+        SectionUpsertItem parent = batchById.get(item.getSection().getParentId());
+        int depth = parent == null ? 0 : depthOf(parent, batchById, depths, visiting) + 1;
+        depths.put(item.getKey(), depth);
+        return depth;
+    }
+}
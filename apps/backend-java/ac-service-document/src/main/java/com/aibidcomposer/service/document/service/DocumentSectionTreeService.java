@@ -0,0 +1,178 @@
+package com.aibidcomposer.service.document.service;
+
+import com.aibidcomposer.common.exception.BusinessException;
+import com.aibidcomposer.common.exception.ValidationException;
+import com.aibidcomposer.common.http.result.ResultCode;
+import com.aibidcomposer.dao.entity.DocumentSection;
+import com.aibidcomposer.dao.mapper.DocumentSectionMapper;
+import com.aibidcomposer.service.document.dto.SectionContent;
+import com.aibidcomposer.service.document.dto.SectionOutlineNode;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 文档章节树按需加载服务
+ *
+ * <p>打开文档时只读取大纲投影（不含正文），在内存中按 parent_id 一次遍历组装成树；
+ * 章节正文由编辑器按可见范围分页按ID加载，单页ID数受 content-page-size 限制。</p>
+ * <p>移动与重排借助物化路径（path）各为一条集合语句，随后整体重新编号 section_number。</p>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentSectionTreeService {
+
+    private final DocumentSectionMapper documentSectionMapper;
+
+    /**
+     * 单次加载正文的最大章节数
+     */
+    @Value("${document.section.content-page-size:100}")
+    private int contentPageSize;
+
+    /**
+     * 查询文档大纲树
+     *
+     * <p>大纲按 order_index 有序读取，每行只处理一次：节点按ID登记，
+     * 同时挂到父节点（父节点尚未读到时先建占位节点），子节点因此保持 order_index 顺序。
+     * 父章节不存在（已删除）的章节作为根节点返回。</p>
+     *
+     * @param documentId 文档ID
+     * @return 根章节列表
+     */
+    public List<SectionOutlineNode> getOutline(Long documentId) {
+        List<DocumentSection> rows = documentSectionMapper.findOutlineByDocumentId(documentId);
+        Map<Long, SectionOutlineNode> nodes = new HashMap<>(rows.size() * 2);
+        for (DocumentSection row : rows) {
+            SectionOutlineNode node = nodes.computeIfAbsent(row.getId(), id -> new SectionOutlineNode());
+            node.setId(row.getId());
+            node.setParentId(row.getParentId());
+            node.setTitle(row.getTitle());
+            node.setSectionNumber(row.getSectionNumber());
+            node.setLevel(row.getLevel());
+            node.setOrderIndex(row.getOrderIndex());
+            node.setWordCount(row.getWordCount());
+            if (row.getParentId() != null) {
+                nodes.computeIfAbsent(row.getParentId(), id -> new SectionOutlineNode()).getChildren().add(node);
+            }
+        }
+
+        List<SectionOutlineNode> roots = new ArrayList<>();
+        for (DocumentSection row : rows) {
+            SectionOutlineNode parent = row.getParentId() == null ? null : nodes.get(row.getParentId());
+            if (parent == null || parent.getId() == null) {
+                roots.add(nodes.get(row.getId()));
+            }
+        }
+        if (roots.isEmpty() && !rows.isEmpty()) {
+            log.warn("文档章节树不存在根节点，parent_id可能存在循环引用: documentId={}", documentId);
+        }
+        return roots;
+    }
+
+    /**
+     * 按ID加载一页章节正文，结果顺序与请求顺序一致，不属于该文档的ID被忽略
+     *
+     * @param documentId 文档ID
+     * @param sectionIds 章节ID
+     * @return 章节正文
+     */
+    public List<SectionContent> loadContents(Long documentId, List<Long> sectionIds) {
+        if (sectionIds == null || sectionIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>(sectionIds);
+        ids.remove(null);
+        if (ids.size() > contentPageSize) {
+            throw new ValidationException("单次最多加载 " + contentPageSize + " 个章节正文");
+        }
+
+        Map<Long, DocumentSection> found = new HashMap<>(ids.size() * 2);
+        for (DocumentSection section : documentSectionMapper.findContentByIds(documentId, ids)) {
+            found.put(section.getId(), section);
+        }
+        List<SectionContent> result = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            DocumentSection section = found.get(id);
+            if (section != null) {
+                result.add(new SectionContent(section.getId(), section.getContent(),
+                        section.getContentType(), section.getWordCount()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查询子树（含自身）
+     *
+     * @param documentId 文档ID
+     * @param sectionId 子树根章节ID
+     * @return 章节列表，按 level、order_index 排序
+     */
+    public List<DocumentSection> getSubtree(Long documentId, Long sectionId) {
+        return documentSectionMapper.findSubtree(documentId, sectionId);
+    }
+
+    /**
+     * 移动章节（含子树）并重新编号
+     *
+     * @param documentId 文档ID
+     * @param sectionId 章节ID
+     * @param parentId 新父章节ID（NULL表示移动到根）
+     * @param orderIndex 目标位置
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void moveSection(Long documentId, Long sectionId, Long parentId, Integer orderIndex) {
+        if (parentId != null) {
+            DocumentSection parent = documentSectionMapper.selectOne(Wrappers.<DocumentSection>lambdaQuery()
+                    .select(DocumentSection::getId, DocumentSection::getPath)
+                    .eq(DocumentSection::getDocumentId, documentId)
+                    .eq(DocumentSection::getId, parentId));
+            if (parent == null) {
+                throw new BusinessException(ResultCode.NOT_FOUND, "父章节不存在: " + parentId);
+            }
+            if (parentId.equals(sectionId)
+                    || (parent.getPath() != null && parent.getPath().contains("/" + sectionId + "/"))) {
+                throw new ValidationException("不能把章节移动到自身或其子章节下");
+            }
+        }
+        if (documentSectionMapper.moveSection(documentId, sectionId, parentId, orderIndex) == 0) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "章节不存在: " + sectionId);
+        }
+        documentSectionMapper.renumberSections(documentId);
+    }
+
+    /**
+     * 按给定顺序重排子章节并重新编号
+     *
+     * @param documentId 文档ID
+     * @param parentId 父章节ID（NULL表示根章节）
+     * @param sectionIds 排序后的章节ID
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void reorderChildren(Long documentId, Long parentId, List<Long> sectionIds) {
+        if (sectionIds == null || sectionIds.isEmpty()) {
+            return;
+        }
+        if (documentSectionMapper.reorderChildren(documentId, parentId, sectionIds) > 0) {
+            documentSectionMapper.renumberSections(documentId);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.aibidcomposer.service.document.service;
+
+import com.aibidcomposer.dao.entity.CollaborationEvent;
+import com.aibidcomposer.dao.entity.DocumentVersion;
+import com.aibidcomposer.dao.mapper.CollaborationEventMapper;
+import com.aibidcomposer.dao.mapper.DocumentVersionMapper;
+import com.aibidcomposer.service.document.dto.DocumentState;
+import com.aibidcomposer.service.document.patch.JsonPatch;
+import com.aibidcomposer.service.document.snapshot.DocumentEventFolder;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 文档快照服务（协作事件压缩）
+ *
+ * <p>文档状态 = 最新快照 + 快照之后的协作事件。压缩任务定期把快照之后的事件
+ * 折叠为新的 {@link DocumentVersion}（change_type = snapshot），并记录已折叠的
+ * 最后事件ID与时间，打开文档时需要回放的事件数因此有上界。</p>
+ * <p>读取快照之后的事件时以 last_event_at 减去时钟偏差容忍值作为时间下界，
+ * 只扫描近期的事件分区。</p>
+ * <p>事件ID在插入时分配而不是在提交时分配：ID较小的事件可能晚于ID较大的事件提交。
+ * 快照以已折叠的最后事件ID为水位，因此压缩只折叠“足够旧”的事件——按ID顺序折叠，
+ * 遇到第一条 created_at 不早于截止时间（当前时间 − 最长事务时间 − 2×时钟偏差）的事件即停止。
+ * 此时ID更小的事件都已提交，不会被水位跳过。</p>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentSnapshotService {
+
+    private static final String CHANGE_TYPE_SNAPSHOT = "snapshot";
+
+    /**
+     * 每次读取的事件条数
+     */
+    private static final int EVENT_FETCH_SIZE = 2000;
+
+    private final DocumentVersionMapper documentVersionMapper;
+    private final CollaborationEventMapper collaborationEventMapper;
+    private final DocumentEventFolder documentEventFolder;
+
+    /**
+     * 快照之后累计多少条事件才生成新快照
+     */
+    @Value("${collaboration.snapshot.min-events:200}")
+    private int minEvents;
+
+    /**
+     * 多实例写入事件的时钟偏差容忍值（秒）
+     */
+    @Value("${collaboration.snapshot.clock-skew-seconds:300}")
+    private long clockSkewSeconds;
+
+    /**
+     * 压缩任务扫描的活跃窗口（分钟）：只处理该时间内有事件的文档
+     */
+    @Value("${collaboration.snapshot.active-window-minutes:30}")
+    private long activeWindowMinutes;
+
+    /**
+     * 写入协作事件的事务最长持续时间（秒），超过该时间仍未提交的事件可能被快照跳过
+     */
+    @Value("${collaboration.snapshot.max-transaction-seconds:60}")
+    private long maxTransactionSeconds;
+
+    /**
+     * 加载文档当前状态：最新快照 + 之后的事件
+     *
+     * @param documentId 文档ID
+     * @return 文档状态
+     */
+    public DocumentState loadState(Long documentId) {
+        return loadState(documentId, null);
+    }
+
+    /**
+     * 加载文档状态，只折叠截止时间之前的事件
+     *
+     * @param documentId 文档ID
+     * @param foldBefore 截止时间：按ID顺序遇到第一条不早于该时间的事件即停止，为空表示全部
+     * @return 文档状态
+     */
+    private DocumentState loadState(Long documentId, LocalDateTime foldBefore) {
+        Optional<DocumentVersion> snapshot = documentVersionMapper.findLatestSnapshot(documentId);
+
+        DocumentState state = new DocumentState();
+        state.setDocumentId(documentId);
+        state.setContent(JsonPatch.mutableCopy(snapshot.map(DocumentVersion::getContent).orElse(null)));
+        state.setSnapshotVersionNumber(snapshot.map(DocumentVersion::getVersionNumber).orElse(null));
+        state.setLastEventId(snapshot.map(DocumentVersion::getLastEventId).orElse(null));
+        state.setLastEventAt(snapshot.map(DocumentVersion::getLastEventAt).orElse(null));
+
+        LocalDateTime since = state.getLastEventAt() == null
+                ? null : state.getLastEventAt().minusSeconds(clockSkewSeconds);
+        List<CollaborationEvent> events;
+        boolean reachedCutoff = false;
+        do {
+            events = collaborationEventMapper.findByDocumentIdAfter(
+                    documentId, state.getLastEventId(), since, EVENT_FETCH_SIZE);
+            Map<String, Object> content = state.getContent();
+            int folded = 0;
+            for (CollaborationEvent event : events) {
+                if (foldBefore != null && (event.getCreatedAt() == null || !event.getCreatedAt().isBefore(foldBefore))) {
+                    reachedCutoff = true;
+                    break;
+                }
+                folded++;
+                content = documentEventFolder.apply(content, event);
+                state.setLastEventId(event.getId());
+                if (state.getLastEventAt() == null || event.getCreatedAt().isAfter(state.getLastEventAt())) {
+                    state.setLastEventAt(event.getCreatedAt());
+                }
+            }
+            state.setContent(content);
+            state.setReplayedEvents(state.getReplayedEvents() + folded);
+        } while (!reachedCutoff && events.size() == EVENT_FETCH_SIZE);
+        return state;
+    }
+
+    /**
+     * 压缩单个文档：快照之后已确定提交的事件达到阈值时生成新快照
+     *
+     * @param documentId 文档ID
+     * @return 新生成的快照，未达到阈值或并发冲突时为空
+     */
+    public Optional<DocumentVersion> compact(Long documentId) {
+        return compact(documentId, false);
+    }
+
+    /**
+     * 压缩单个文档
+     *
+     * @param documentId 文档ID
+     * @param force 是否忽略 min-events 阈值（删除过期事件分区前使用），只要有可折叠的事件就生成快照
+     * @return 新生成的快照，没有可折叠的事件、未达到阈值或并发冲突时为空
+     */
+    public Optional<DocumentVersion> compact(Long documentId, boolean force) {
+        LocalDateTime foldBefore = LocalDateTime.now().minusSeconds(maxTransactionSeconds + 2 * clockSkewSeconds);
+        DocumentState state = loadState(documentId, foldBefore);
+        if (state.getReplayedEvents() == 0 || (!force && state.getReplayedEvents() < minEvents)) {
+            return Optional.empty();
+        }
+
+        DocumentVersion latest = documentVersionMapper.selectOne(Wrappers.<DocumentVersion>lambdaQuery()
+                .eq(DocumentVersion::getDocumentId, documentId)
+                .orderByDesc(DocumentVersion::getVersionNumber)
+                .last("LIMIT 1"));
+        int versionNumber = latest == null || latest.getVersionNumber() == null ? 1 : latest.getVersionNumber() + 1;
+
+        DocumentVersion snapshot = new DocumentVersion();
+        snapshot.setDocumentId(documentId);
+        snapshot.setVersionNumber(versionNumber);
+        snapshot.setVersion(CHANGE_TYPE_SNAPSHOT + "-" + versionNumber);
+        snapshot.setTitle(latest == null ? null : latest.getTitle());
+        snapshot.setContent(state.getContent());
+        snapshot.setChangeType(CHANGE_TYPE_SNAPSHOT);
+        snapshot.setStorageMode(DocumentVersionStorageService.STORAGE_KEYFRAME);
+        snapshot.setChangeSummary("折叠协作事件 " + state.getReplayedEvents() + " 条");
+        snapshot.setLastEventId(state.getLastEventId());
+        snapshot.setLastEventAt(state.getLastEventAt());
+        try {
+            documentVersionMapper.insert(snapshot);
+        } catch (DuplicateKeyException e) {
+            // 其他实例已生成同版本号的快照
+            log.debug("文档快照版本冲突，跳过: documentId={}, versionNumber={}", documentId, versionNumber);
+            return Optional.empty();
+        }
+        log.info("文档快照已生成: documentId={}, versionNumber={}, events={}, lastEventId={}",
+                documentId, versionNumber, state.getReplayedEvents(), state.getLastEventId());
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * 定期压缩近期有编辑的文档
+     */
+    @Scheduled(fixedDelayString = "${collaboration.snapshot.interval-ms:300000}")
+    public void compactActiveDocuments() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(activeWindowMinutes);
+        List<Long> documentIds;
+        try {
+            documentIds = collaborationEventMapper.findActiveDocumentIds(since);
+        } catch (Exception e) {
+            log.error("查询活跃文档失败", e);
+            return;
+        }
+        int compacted = 0;
+        for (Long documentId : documentIds) {
+            try {
+                if (compact(documentId).isPresent()) {
+                    compacted++;
+                }
+            } catch (Exception e) {
+                log.error("文档快照生成失败: documentId={}", documentId, e);
+            }
+        }
+        if (compacted > 0) {
+            log.info("文档快照压缩完成: active={}, compacted={}", documentIds.size(), compacted);
+        }
+    }
+}
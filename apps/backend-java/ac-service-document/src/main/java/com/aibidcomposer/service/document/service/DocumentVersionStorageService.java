@@ -0,0 +1,290 @@
+package com.aibidcomposer.service.document.service;
+
+import com.aibidcomposer.common.exception.BusinessException;
+import com.aibidcomposer.common.http.result.ResultCode;
+import com.aibidcomposer.common.util.JsonUtil;
+import com.aibidcomposer.dao.entity.DocumentVersion;
+import com.aibidcomposer.dao.mapper.DocumentVersionMapper;
+import com.aibidcomposer.service.document.patch.JsonPatch;
+import com.aibidcomposer.service.document.patch.TextDelta;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 文档版本差量存储服务
+ *
+ * <p>版本内容按"周期性关键帧 + 相对关键帧的差量"存储：</p>
+ * <ul>
+ *   <li>keyframe：保存完整的 content / plain_content</li>
+ *   <li>delta：content / plain_content 为空，保存相对 base_version_number 关键帧的
+ *       JSON Patch 与纯文本差量，读取时只需一个关键帧 + 一次差量即可还原</li>
+ *   <li>full：迁移前的存量数据，由后台任务按版本顺序重新编码</li>
+ * </ul>
+ * <p>距上一关键帧达到 keyframe-interval 个版本、快照版本、或差量体积超过完整内容的
+ * max-delta-ratio 时写入关键帧。关键帧写入后不再修改，因此解码后的关键帧可以缓存。</p>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class DocumentVersionStorageService {
+
+    public static final String STORAGE_FULL = "full";
+    public static final String STORAGE_KEYFRAME = "keyframe";
+    public static final String STORAGE_DELTA = "delta";
+
+    private static final String CHANGE_TYPE_SNAPSHOT = "snapshot";
+
+    private static final String JSONB_MAPPING =
+            "typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler";
+
+    /**
+     * 重新编码时每次读取的版本数
+     */
+    private static final int REENCODE_FETCH_SIZE = 50;
+
+    private final DocumentVersionMapper documentVersionMapper;
+
+    /**
+     * 关键帧间隔（版本数）
+     */
+    private final int keyframeInterval;
+
+    /**
+     * 差量体积与完整内容体积之比超过该值时改存关键帧
+     */
+    private final double maxDeltaRatio;
+
+    /**
+     * 每轮后台重新编码处理的文档数
+     */
+    private final int reencodeBatchSize;
+
+    /**
+     * 已解码的关键帧，键为 documentId:versionNumber
+     */
+    private final Cache<String, DocumentVersion> keyframeCache;
+
+    public DocumentVersionStorageService(DocumentVersionMapper documentVersionMapper,
+                                         @Value("${document.version.keyframe-interval:20}") int keyframeInterval,
+                                         @Value("${document.version.max-delta-ratio:0.5}") double maxDeltaRatio,
+                                         @Value("${document.version.reencode.batch-size:20}") int reencodeBatchSize,
+                                         @Value("${document.version.keyframe-cache.max-size:200}") long cacheSize) {
+        this.documentVersionMapper = documentVersionMapper;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+        this.maxDeltaRatio = maxDeltaRatio;
+        this.reencodeBatchSize = reencodeBatchSize;
+        this.keyframeCache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    /**
+     * 保存新版本，按需编码为差量
+     *
+     * <p>调用方设置完整的 content / plain_content 与递增的 version_number；
+     * 返回后实体中仍为完整内容，storage_mode / base_version_number 为实际存储方式。</p>
+     *
+     * @param version 新版本
+     * @return 已保存的版本
+     */
+    public DocumentVersion save(DocumentVersion version) {
+        Map<String, Object> content = version.getContent();
+        String plainContent = version.getPlainContent();
+
+        DocumentVersion keyframe = null;
+        if (!CHANGE_TYPE_SNAPSHOT.equals(version.getChangeType()) && content != null
+                && version.getVersionNumber() != null) {
+            keyframe = documentVersionMapper.findKeyframe(version.getDocumentId(), version.getVersionNumber() - 1)
+                    .filter(k -> version.getVersionNumber() - k.getVersionNumber() < keyframeInterval)
+                    .orElse(null);
+        }
+        if (keyframe == null || !encodeDelta(version, keyframe)) {
+            markKeyframe(version);
+        }
+
+        documentVersionMapper.insert(version);
+        if (STORAGE_DELTA.equals(version.getStorageMode())) {
+            version.setContent(content);
+            version.setPlainContent(plainContent);
+        }
+        return version;
+    }
+
+    /**
+     * 读取指定版本，差量版本透明还原为完整内容
+     *
+     * @param documentId 文档ID
+     * @param versionNumber 版本序号
+     * @return 完整内容的版本
+     */
+    public Optional<DocumentVersion> getVersion(Long documentId, Integer versionNumber) {
+        Optional<DocumentVersion> found = documentVersionMapper.findByDocumentIdAndVersionNumber(documentId, versionNumber);
+        found.filter(v -> STORAGE_DELTA.equals(v.getStorageMode())).ifPresent(this::decodeDelta);
+        return found;
+    }
+
+    /**
+     * 版本列表（只含元数据，不读取内容）
+     *
+     * @param documentId 文档ID
+     * @return 版本列表，按版本序号降序
+     */
+    public List<DocumentVersion> listVersions(Long documentId) {
+        return documentVersionMapper.findByDocumentId(documentId);
+    }
+
+    /**
+     * 按版本顺序重新编码文档的未编码（full）版本
+     *
+     * <p>只修改 storage_mode = full 的行且以此为更新条件，已写入的关键帧与差量不变，
+     * 多实例并发执行时每行至多被编码一次。</p>
+     *
+     * @param documentId 文档ID
+     * @return 编码为差量的版本数
+     */
+    public int reencodeDocument(Long documentId) {
+        DocumentVersion keyframe = null;
+        int encoded = 0;
+        int lastVersionNumber = Integer.MIN_VALUE;
+        List<DocumentVersion> versions;
+        do {
+            versions = documentVersionMapper.selectList(Wrappers.<DocumentVersion>lambdaQuery()
+                    .eq(DocumentVersion::getDocumentId, documentId)
+                    .gt(DocumentVersion::getVersionNumber, lastVersionNumber)
+                    .orderByAsc(DocumentVersion::getVersionNumber)
+                    .last("LIMIT " + REENCODE_FETCH_SIZE));
+            for (DocumentVersion version : versions) {
+                lastVersionNumber = version.getVersionNumber();
+                if (STORAGE_KEYFRAME.equals(version.getStorageMode())) {
+                    keyframe = version;
+                    continue;
+                }
+                if (!STORAGE_FULL.equals(version.getStorageMode())) {
+                    continue;
+                }
+
+                boolean delta = keyframe != null
+                        && !CHANGE_TYPE_SNAPSHOT.equals(version.getChangeType())
+                        && version.getContent() != null
+                        && version.getVersionNumber() - keyframe.getVersionNumber() < keyframeInterval
+                        && encodeDelta(version, keyframe);
+                if (delta) {
+                    int updated = documentVersionMapper.update(null, Wrappers.<DocumentVersion>lambdaUpdate()
+                            .set(DocumentVersion::getStorageMode, STORAGE_DELTA)
+                            .set(DocumentVersion::getBaseVersionNumber, version.getBaseVersionNumber())
+                            .set(DocumentVersion::getContentDelta, version.getContentDelta(), JSONB_MAPPING)
+                            .set(DocumentVersion::getPlainContentDelta, version.getPlainContentDelta(), JSONB_MAPPING)
+                            .set(DocumentVersion::getContent, null)
+                            .set(DocumentVersion::getPlainContent, null)
+                            .eq(DocumentVersion::getId, version.getId())
+                            .eq(DocumentVersion::getStorageMode, STORAGE_FULL));
+                    encoded += updated;
+                } else {
+                    documentVersionMapper.update(null, Wrappers.<DocumentVersion>lambdaUpdate()
+                            .set(DocumentVersion::getStorageMode, STORAGE_KEYFRAME)
+                            .eq(DocumentVersion::getId, version.getId())
+                            .eq(DocumentVersion::getStorageMode, STORAGE_FULL));
+                    keyframe = version;
+                }
+            }
+        } while (versions.size() == REENCODE_FETCH_SIZE);
+        return encoded;
+    }
+
+    /**
+     * 后台重新编码存量版本
+     */
+    @Scheduled(fixedDelayString = "${document.version.reencode.interval-ms:600000}")
+    public void reencodeLegacyVersions() {
+        List<Long> documentIds;
+        try {
+            documentIds = documentVersionMapper.findDocumentIdsWithUnencodedVersions(reencodeBatchSize);
+        } catch (Exception e) {
+            log.error("查询待编码文档版本失败", e);
+            return;
+        }
+        int encoded = 0;
+        for (Long documentId : documentIds) {
+            try {
+                encoded += reencodeDocument(documentId);
+            } catch (Exception e) {
+                log.error("文档版本重新编码失败: documentId={}", documentId, e);
+            }
+        }
+        if (!documentIds.isEmpty()) {
+            log.info("文档版本重新编码完成: documents={}, deltas={}", documentIds.size(), encoded);
+        }
+    }
+
+    /**
+     * 尝试把版本编码为相对关键帧的差量，差量过大时不修改版本并返回false
+     */
+    private boolean encodeDelta(DocumentVersion version, DocumentVersion keyframe) {
+        List<Map<String, Object>> ops = JsonPatch.diff(keyframe.getContent(), version.getContent());
+        Map<String, Object> textDelta = TextDelta.diff(keyframe.getPlainContent(), version.getPlainContent());
+
+        long fullSize = jsonLength(version.getContent()) + lengthOf(version.getPlainContent());
+        long deltaSize = jsonLength(ops) + jsonLength(textDelta);
+        if (deltaSize > fullSize * maxDeltaRatio) {
+            return false;
+        }
+        version.setStorageMode(STORAGE_DELTA);
+        version.setBaseVersionNumber(keyframe.getVersionNumber());
+        version.setContentDelta(ops);
+        version.setPlainContentDelta(textDelta);
+        version.setContent(null);
+        version.setPlainContent(null);
+        return true;
+    }
+
+    private void markKeyframe(DocumentVersion version) {
+        version.setStorageMode(STORAGE_KEYFRAME);
+        version.setBaseVersionNumber(null);
+        version.setContentDelta(null);
+        version.setPlainContentDelta(null);
+    }
+
+    private void decodeDelta(DocumentVersion version) {
+        DocumentVersion keyframe = loadKeyframe(version.getDocumentId(), version.getBaseVersionNumber());
+        version.setContent(JsonPatch.apply(JsonPatch.mutableCopy(keyframe.getContent()), version.getContentDelta()));
+        version.setPlainContent(TextDelta.apply(keyframe.getPlainContent(), version.getPlainContentDelta()));
+        version.setContentDelta(null);
+        version.setPlainContentDelta(null);
+    }
+
+    private DocumentVersion loadKeyframe(Long documentId, Integer versionNumber) {
+        String key = documentId + ":" + versionNumber;
+        DocumentVersion cached = keyframeCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        DocumentVersion keyframe = documentVersionMapper.findByDocumentIdAndVersionNumber(documentId, versionNumber)
+                .filter(k -> !STORAGE_DELTA.equals(k.getStorageMode()))
+                .orElseThrow(() -> new BusinessException(ResultCode.DATA_INTEGRITY_ERROR,
+                        "文档版本关键帧缺失: documentId=" + documentId + ", versionNumber=" + versionNumber));
+        keyframeCache.put(key, keyframe);
+        return keyframe;
+    }
+
+    private static long jsonLength(Object value) {
+        return value == null ? 0 : lengthOf(JsonUtil.toJson(value));
+    }
+
+    private static long lengthOf(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,26 @@
+package com.aibidcomposer.service.document.snapshot;
+
+import com.aibidcomposer.dao.entity.CollaborationEvent;
+
+import java.util.Map;
+
+/**
+ * 协作事件折叠器：把一条协作事件应用到文档内容上
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public interface DocumentEventFolder {
+
+    /**
+     * 应用一条事件
+     *
+     * @param content 当前文档内容（可原地修改）
+     * @param event   协作事件
+     * @return 应用后的文档内容（不修改内容的事件原样返回）
+     */
+    Map<String, Object> apply(Map<String, Object> content, CollaborationEvent event);
+}
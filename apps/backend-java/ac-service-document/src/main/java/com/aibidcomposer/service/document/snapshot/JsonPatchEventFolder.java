@@ -0,0 +1,46 @@
+package com.aibidcomposer.service.document.snapshot;
+
+import com.aibidcomposer.dao.entity.CollaborationEvent;
+import com.aibidcomposer.service.document.patch.JsonPatch;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于 JSON Patch 的协作事件折叠器
+ *
+ * <p>只有 edit 事件修改内容。event_data 为单个操作
+ * {@code {"op":"replace","path":"/sections/0/title","value":"..."}}
+ * 或操作列表 {@code {"ops":[...]}}，操作语义见 {@link JsonPatch}。</p>
+ *
+ * 需求编号: REQ-JAVA-DOCUMENT-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Component
+public class JsonPatchEventFolder implements DocumentEventFolder {
+
+    private static final String EVENT_TYPE_EDIT = "edit";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> apply(Map<String, Object> content, CollaborationEvent event) {
+        Map<String, Object> eventData = event.getEventData();
+        if (!EVENT_TYPE_EDIT.equals(event.getEventType()) || eventData == null) {
+            return content;
+        }
+        Object ops = eventData.get("ops");
+        if (ops instanceof List<?> opList) {
+            for (Object op : opList) {
+                if (op instanceof Map<?, ?> opMap) {
+                    content = JsonPatch.apply(content, (Map<String, Object>) opMap);
+                }
+            }
+            return content;
+        }
+        return JsonPatch.apply(content, eventData);
+    }
+}
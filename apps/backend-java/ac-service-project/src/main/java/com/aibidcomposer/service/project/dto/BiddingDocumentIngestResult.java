@@ -0,0 +1,40 @@
+package com.aibidcomposer.service.project.dto;
+
+import com.aibidcomposer.dao.entity.BiddingDocument;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 招标文件入库结果
+ *
+ * 需求编号: REQ-JAVA-PROJECT-001
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BiddingDocumentIngestResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 新建的招标文件记录
+     */
+    private BiddingDocument document;
+
+    /**
+     * 是否命中已有文件（复用了MinIO对象）
+     */
+    private boolean deduplicated;
+
+    /**
+     * 是否需要发起解析（命中已解析或解析中的文件时为false）
+     */
+    private boolean parseRequired;
+}
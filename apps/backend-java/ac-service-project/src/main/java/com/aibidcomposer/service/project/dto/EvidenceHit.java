@@ -0,0 +1,50 @@
+package com.aibidcomposer.service.project.dto;
+
+import com.aibidcomposer.service.project.evidence.EvidenceType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 可复用素材检索结果
+ *
+ * 需求编号: REQ-JAVA-PROJECT-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvidenceHit implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 素材类型
+     */
+    private EvidenceType type;
+
+    /**
+     * 素材ID
+     */
+    private Long id;
+
+    /**
+     * 标题（项目名称或产品名称）
+     */
+    private String title;
+
+    /**
+     * 命中的词项数
+     */
+    private Integer matchedTerms;
+
+    /**
+     * 匹配度（命中词项数 / 查询词项数，0~1）
+     */
+    private Double score;
+}
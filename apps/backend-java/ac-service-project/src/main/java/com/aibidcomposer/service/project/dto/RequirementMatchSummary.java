@@ -0,0 +1,59 @@
+package com.aibidcomposer.service.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 项目需求匹配结果汇总
+ *
+ * 需求编号: REQ-JAVA-PROJECT-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequirementMatchSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 需求数
+     */
+    private Integer total;
+
+    /**
+     * 已匹配数
+     */
+    private Integer matched;
+
+    /**
+     * 部分匹配数
+     */
+    private Integer partial;
+
+    /**
+     * 未匹配数
+     */
+    private Integer unmatched;
+
+    /**
+     * 参与比对的能力记录数
+     */
+    private Integer capabilityCount;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long elapsedMs;
+}
@@ -0,0 +1,65 @@
+package com.aibidcomposer.service.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 人员配置候选人
+ *
+ * 需求编号: REQ-JAVA-PROJECT-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingCandidate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 人员ID
+     */
+    private Long personnelId;
+
+    /**
+     * 姓名
+     */
+    private String name;
+
+    /**
+     * 职位
+     */
+    private String position;
+
+    /**
+     * 部门
+     */
+    private String department;
+
+    /**
+     * 工作年限
+     */
+    private Integer yearsOfExperience;
+
+    /**
+     * 是否可用
+     */
+    private Boolean isAvailable;
+
+    /**
+     * 命中的技能/专长/证书（归一化形式）
+     */
+    private List<String> matchedTerms;
+
+    /**
+     * 命中的优先条件数
+     */
+    private Integer score;
+}
@@ -0,0 +1,40 @@
+package com.aibidcomposer.service.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 人员配置方案（覆盖全部要求的最小团队，贪心近似）
+ *
+ * 需求编号: REQ-JAVA-PROJECT-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingTeam implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 团队成员（按选入顺序，matchedTerms 为该成员新覆盖的要求）
+     */
+    private List<StaffingCandidate> members;
+
+    /**
+     * 未能覆盖的要求（归一化形式）
+     */
+    private List<String> uncoveredTerms;
+
+    /**
+     * 是否全部覆盖
+     */
+    private Boolean covered;
+}
@@ -0,0 +1,103 @@
+package com.aibidcomposer.service.project.evidence;
+
+import com.aibidcomposer.common.biz.invalidation.AfterCommitInvalidationInterceptor;
+import com.aibidcomposer.dao.entity.HistoricalBid;
+import com.aibidcomposer.dao.entity.ProductService;
+import com.aibidcomposer.dao.entity.ProjectCase;
+import com.aibidcomposer.dao.mapper.HistoricalBidMapper;
+import com.aibidcomposer.dao.mapper.ProductServiceMapper;
+import com.aibidcomposer.dao.mapper.ProjectCaseMapper;
+import com.aibidcomposer.service.project.service.EvidenceIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 素材索引更新拦截器
+ *
+ * <p>拦截 historical_bids、project_cases、products_services 表的写操作，在事务提交后
+ * 调用 {@link EvidenceIndexService} 按主键重新加载并广播到所有节点：</p>
+ * <ul>
+ *   <li>参数中能取得主键（实体、"et"包装的实体、deleteById 的主键）：只更新该条素材</li>
+ *   <li>按条件批量更新、删除：影响范围无法确定，丢弃全部索引，之后按组织重新加载</li>
+ * </ul>
+ * <p>事务合并与提交后执行见 {@link AfterCommitInvalidationInterceptor}；索引服务依赖Mapper，
+ * Mapper又依赖本拦截器，因此通过 ObjectProvider 延迟获取。</p>
+ *
+ * 需求编号: REQ-JAVA-PROJECT-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class EvidenceIndexInvalidationInterceptor extends AfterCommitInvalidationInterceptor<EvidenceRef> {
+
+    private static final Map<String, EvidenceType> NAMESPACES = Map.of(
+            HistoricalBidMapper.class.getName(), EvidenceType.HISTORICAL_BID,
+            ProjectCaseMapper.class.getName(), EvidenceType.PROJECT_CASE,
+            ProductServiceMapper.class.getName(), EvidenceType.PRODUCT_SERVICE
+    );
+
+    private final ObjectProvider<EvidenceIndexService> evidenceIndexServiceProvider;
+
+    public EvidenceIndexInvalidationInterceptor(ObjectProvider<EvidenceIndexService> evidenceIndexServiceProvider) {
+        super(NAMESPACES.keySet());
+        this.evidenceIndexServiceProvider = evidenceIndexServiceProvider;
+    }
+
+    /**
+     * 从Mapper参数中提取素材（deleteById直接传主键，其余取实体的主键）
+     *
+     * @param namespace Mapper命名空间
+     * @param parameter Mapper参数
+     * @return 素材引用，无法确定时返回null
+     */
+    @Override
+    protected Collection<EvidenceRef> extractKeys(String namespace, Object parameter) {
+        Long id = extractId(parameter);
+        return id == null ? null : Set.of(new EvidenceRef(NAMESPACES.get(namespace), id));
+    }
+
+    @Override
+    protected void apply(Set<EvidenceRef> refs) {
+        EvidenceIndexService service = evidenceIndexServiceProvider.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (refs == null) {
+            service.invalidateAll();
+            log.debug("素材数据批量变更，已丢弃全部素材索引");
+        } else {
+            service.refresh(refs);
+            log.debug("素材数据变更，已更新素材索引: {}", refs);
+        }
+    }
+
+    private static Long extractId(Object parameter) {
+        if (parameter instanceof Number number) {
+            return number.longValue();
+        }
+        Object entity = entityOf(parameter);
+        if (entity instanceof HistoricalBid bid) {
+            return bid.getId();
+        }
+        if (entity instanceof ProjectCase projectCase) {
+            return projectCase.getId();
+        }
+        if (entity instanceof ProductService productService) {
+            return productService.getId();
+        }
+        return null;
+    }
+}
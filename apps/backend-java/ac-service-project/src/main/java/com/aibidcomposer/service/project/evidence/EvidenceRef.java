@@ -0,0 +1,59 @@
+package com.aibidcomposer.service.project.evidence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 可复用素材引用（类型 + 主键）
+ *
+ * 需求编号: REQ-JAVA-PROJECT-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@AllArgsConstructor
+public class EvidenceRef implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 素材类型
+     */
+    private final EvidenceType type;
+
+    /**
+     * 素材ID
+     */
+    private final Long id;
+
+    /**
+     * 编码为失效广播消息体，如 PROJECT_CASE:42
+     *
+     * @return 消息体
+     */
+    public String encode() {
+        return type.name() + ":" + id;
+    }
+
+    /**
+     * 解析失效广播消息体
+     *
+     * @param value 消息体
+     * @return 引用，格式不正确时返回null
+     */
+    public static EvidenceRef decode(String value) {
+        int idx = value.indexOf(':');
+        if (idx <= 0) {
+            return null;
+        }
+        try {
+            return new EvidenceRef(EvidenceType.valueOf(value.substring(0, idx)), Long.valueOf(value.substring(idx + 1)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
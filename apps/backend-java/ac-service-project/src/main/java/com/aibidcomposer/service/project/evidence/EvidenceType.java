@@ -0,0 +1,28 @@
+package com.aibidcomposer.service.project.evidence;
+
+/**
+ * 可复用素材类型
+ *
+ * 需求编号: REQ-JAVA-PROJECT-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public enum EvidenceType {
+
+    /**
+     * 历史投标（historical_bids）
+     */
+    HISTORICAL_BID,
+
+    /**
+     * 项目案例（project_cases）
+     */
+    PROJECT_CASE,
+
+    /**
+     * 产品服务（products_services）
+     */
+    PRODUCT_SERVICE
+}
@@ -0,0 +1,55 @@
+package com.aibidcomposer.service.project.matching;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 企业能力类型（需求匹配的比对对象）
+ *
+ * 需求编号: REQ-JAVA-PROJECT-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public enum CapabilityType {
+
+    /**
+     * 资质证书（certifications）
+     */
+    CERTIFICATION,
+
+    /**
+     * 人员（personnel）
+     */
+    PERSONNEL,
+
+    /**
+     * 项目案例（project_cases）
+     */
+    PROJECT_CASE,
+
+    /**
+     * 产品服务（products_services）
+     */
+    PRODUCT_SERVICE;
+
+    /**
+     * 需求类型对应的主要能力类型
+     *
+     * @param requirementType 需求类型: technical / business / compliance / resource / other
+     * @return 主要能力类型，未知类型返回全部
+     */
+    public static Set<CapabilityType> preferredFor(String requirementType) {
+        if (requirementType == null) {
+            return EnumSet.allOf(CapabilityType.class);
+        }
+        return switch (requirementType) {
+            case "compliance" -> EnumSet.of(CERTIFICATION);
+            case "resource" -> EnumSet.of(PERSONNEL, CERTIFICATION);
+            case "technical" -> EnumSet.of(PRODUCT_SERVICE, PROJECT_CASE);
+            case "business" -> EnumSet.of(PROJECT_CASE, CERTIFICATION);
+            default -> EnumSet.allOf(CapabilityType.class);
+        };
+    }
+}
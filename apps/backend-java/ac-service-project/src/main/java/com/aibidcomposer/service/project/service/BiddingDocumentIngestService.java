@@ -0,0 +1,213 @@
+package com.aibidcomposer.service.project.service;
+
+import com.aibidcomposer.common.biz.dto.FileUploadResult;
+import com.aibidcomposer.common.biz.service.MinioService;
+import com.aibidcomposer.common.exception.BusinessException;
+import com.aibidcomposer.common.http.result.ResultCode;
+import com.aibidcomposer.common.util.FileUtil;
+import com.aibidcomposer.common.util.Sha256Util;
+import com.aibidcomposer.dao.entity.BiddingDocument;
+import com.aibidcomposer.dao.mapper.BiddingDocumentMapper;
+import com.aibidcomposer.service.project.dto.BiddingDocumentIngestResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 招标文件入库服务（内容寻址去重）
+ *
+ * <p>以文件内容的SHA-256作为 document_hash。命中已有文件时新记录直接引用
+ * 已有的MinIO对象与解析结果，不再重复上传和解析：</p>
+ * <ul>
+ *   <li>MultipartFile 可重复读取：先计算哈希再查重，命中时完全跳过上传</li>
+ *   <li>一次性输入流：边上传边计算哈希，命中时删除刚上传的对象并引用已有对象</li>
+ * </ul>
+ * <p>同一对象被多条记录引用，删除记录时只有最后一个引用被删除才删除MinIO对象。</p>
+ *
+ * 需求编号: REQ-JAVA-PROJECT-001
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BiddingDocumentIngestService {
+
+    private static final String STATUS_PENDING = "pending";
+    private static final String STATUS_PROCESSING = "processing";
+    private static final String STATUS_SUCCESS = "success";
+
+    private final BiddingDocumentMapper biddingDocumentMapper;
+    private final MinioService minioService;
+
+    /**
+     * 上传招标文件（先查重后上传）
+     *
+     * @param file       上传文件
+     * @param projectId  项目ID
+     * @param uploadedBy 上传人ID
+     * @return 入库结果
+     */
+    public BiddingDocumentIngestResult ingest(MultipartFile file, Long projectId, Long uploadedBy) {
+        String documentHash;
+        try (InputStream inputStream = file.getInputStream()) {
+            documentHash = Sha256Util.sha256Hex(inputStream);
+        } catch (Exception e) {
+            throw new BusinessException(ResultCode.FILE_STORAGE_ERROR, "读取上传文件失败", e);
+        }
+
+        Optional<BiddingDocument> existing = biddingDocumentMapper.findReusableByDocumentHash(documentHash);
+        if (existing.isPresent()) {
+            return linkToExisting(existing.get(), file.getOriginalFilename(), file.getContentType(), projectId, uploadedBy);
+        }
+
+        FileUploadResult upload;
+        try (InputStream inputStream = file.getInputStream()) {
+            upload = minioService.uploadStream(inputStream, file.getOriginalFilename(), file.getContentType());
+        } catch (Exception e) {
+            throw new BusinessException(ResultCode.FILE_STORAGE_ERROR, "招标文件上传失败", e);
+        }
+        if (!documentHash.equals(upload.getSha256())) {
+            deleteObjectQuietly(upload.getBucketName(), upload.getObjectName());
+            throw new BusinessException(ResultCode.FILE_STORAGE_ERROR, "上传过程中文件内容发生变化");
+        }
+        return createNew(upload, file.getOriginalFilename(), file.getContentType(), projectId, uploadedBy);
+    }
+
+    /**
+     * 上传招标文件（一次性输入流，边上传边计算哈希）
+     *
+     * @param inputStream 文件流（调用方负责关闭）
+     * @param fileName    文件名
+     * @param contentType 内容类型
+     * @param projectId   项目ID
+     * @param uploadedBy  上传人ID
+     * @return 入库结果
+     */
+    public BiddingDocumentIngestResult ingest(InputStream inputStream, String fileName, String contentType,
+                                              Long projectId, Long uploadedBy) {
+        FileUploadResult upload;
+        try {
+            upload = minioService.uploadStream(inputStream, fileName, contentType);
+        } catch (Exception e) {
+            throw new BusinessException(ResultCode.FILE_STORAGE_ERROR, "招标文件上传失败", e);
+        }
+
+        Optional<BiddingDocument> existing = biddingDocumentMapper.findReusableByDocumentHash(upload.getSha256());
+        if (existing.isPresent()) {
+            deleteObjectQuietly(upload.getBucketName(), upload.getObjectName());
+            return linkToExisting(existing.get(), fileName, contentType, projectId, uploadedBy);
+        }
+        return createNew(upload, fileName, contentType, projectId, uploadedBy);
+    }
+
+    /**
+     * 写入解析结果，并同步到同一文件的全部引用记录
+     *
+     * @param documentHash  文件哈希
+     * @param parsedContent 解析内容
+     * @return 更新行数
+     */
+    public int applyParsedResult(String documentHash, Map<String, Object> parsedContent) {
+        BiddingDocument parsedResult = new BiddingDocument();
+        parsedResult.setParsedStatus(STATUS_SUCCESS);
+        parsedResult.setParsedContent(parsedContent);
+        parsedResult.setParsedAt(LocalDateTime.now());
+        int updated = biddingDocumentMapper.updateParsedResultByDocumentHash(documentHash, parsedResult);
+        log.info("招标文件解析结果已同步: documentHash={}, rows={}", documentHash, updated);
+        return updated;
+    }
+
+    /**
+     * 删除招标文件记录；没有其他记录引用同一对象时才删除MinIO对象
+     *
+     * @param documentId 招标文件ID
+     */
+    public void remove(Long documentId) {
+        BiddingDocument document = biddingDocumentMapper.selectById(documentId);
+        if (document == null) {
+            return;
+        }
+        biddingDocumentMapper.deleteById(documentId);
+        if (biddingDocumentMapper.countByStorageKey(document.getStorageKey()) == 0) {
+            deleteObjectQuietly(bucketOf(document), document.getStorageKey());
+        }
+    }
+
+    private BiddingDocumentIngestResult createNew(FileUploadResult upload, String fileName, String contentType,
+                                                  Long projectId, Long uploadedBy) {
+        BiddingDocument document = newDocument(fileName, contentType, projectId, uploadedBy);
+        document.setFilePath(upload.getBucketName() + "/" + upload.getObjectName());
+        document.setStorageKey(upload.getObjectName());
+        document.setFileSize(upload.getFileSize());
+        document.setDocumentHash(upload.getSha256());
+        document.setParsedStatus(STATUS_PENDING);
+        biddingDocumentMapper.insert(document);
+
+        log.info("招标文件已入库: id={}, documentHash={}", document.getId(), document.getDocumentHash());
+        return new BiddingDocumentIngestResult(document, false, true);
+    }
+
+    private BiddingDocumentIngestResult linkToExisting(BiddingDocument existing, String fileName, String contentType,
+                                                       Long projectId, Long uploadedBy) {
+        BiddingDocument document = newDocument(fileName, contentType, projectId, uploadedBy);
+        document.setFilePath(existing.getFilePath());
+        document.setStorageKey(existing.getStorageKey());
+        document.setFileSize(existing.getFileSize());
+        document.setDocumentHash(existing.getDocumentHash());
+
+        // 已解析成功：直接复用解析结果；解析中或排队中：等待结果同步；解析失败：需要重新解析
+        String existingStatus = existing.getParsedStatus();
+        boolean parseRequired;
+        if (STATUS_SUCCESS.equals(existingStatus)) {
+            document.setParsedStatus(STATUS_SUCCESS);
+            document.setParsedContent(existing.getParsedContent());
+            document.setParsedAt(existing.getParsedAt());
+            parseRequired = false;
+        } else {
+            document.setParsedStatus(STATUS_PENDING);
+            parseRequired = !STATUS_PENDING.equals(existingStatus) && !STATUS_PROCESSING.equals(existingStatus);
+        }
+        biddingDocumentMapper.insert(document);
+
+        log.info("招标文件命中已有内容: id={}, reuseOf={}, documentHash={}",
+                document.getId(), existing.getId(), document.getDocumentHash());
+        return new BiddingDocumentIngestResult(document, true, parseRequired);
+    }
+
+    private BiddingDocument newDocument(String fileName, String contentType, Long projectId, Long uploadedBy) {
+        BiddingDocument document = new BiddingDocument();
+        document.setProjectId(projectId);
+        document.setFileName(fileName);
+        document.setFileType(FileUtil.getExtension(fileName));
+        document.setMimeType(contentType);
+        document.setUploadedBy(uploadedBy);
+        return document;
+    }
+
+    private String bucketOf(BiddingDocument document) {
+        String filePath = document.getFilePath();
+        int idx = filePath == null ? -1 : filePath.indexOf('/');
+        return idx > 0 ? filePath.substring(0, idx) : null;
+    }
+
+    private void deleteObjectQuietly(String bucketName, String objectName) {
+        try {
+            if (bucketName == null) {
+                minioService.deleteFile(objectName);
+            } else {
+                minioService.deleteFile(objectName, bucketName);
+            }
+        } catch (Exception e) {
+            log.warn("删除MinIO对象失败: bucket={}, objectName={}", bucketName, objectName, e);
+        }
+    }
+}
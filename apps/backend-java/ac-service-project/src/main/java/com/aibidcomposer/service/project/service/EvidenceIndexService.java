@@ -0,0 +1,526 @@
+package com.aibidcomposer.service.project.service;
+
+import com.aibidcomposer.common.biz.invalidation.InvalidationBroadcaster;
+import com.aibidcomposer.common.biz.search.CjkBigramTokenizer;
+import com.aibidcomposer.common.biz.search.InvertedIndex;
+import com.aibidcomposer.common.biz.search.SearchTokenizer;
+import com.aibidcomposer.common.biz.search.TermBitMatrix;
+import com.aibidcomposer.common.exception.ValidationException;
+import com.aibidcomposer.dao.entity.HistoricalBid;
+import com.aibidcomposer.dao.entity.ProductService;
+import com.aibidcomposer.dao.entity.ProjectCase;
+import com.aibidcomposer.dao.mapper.HistoricalBidMapper;
+import com.aibidcomposer.dao.mapper.ProductServiceMapper;
+import com.aibidcomposer.dao.mapper.ProjectCaseMapper;
+import com.aibidcomposer.service.project.dto.EvidenceHit;
+import com.aibidcomposer.service.project.evidence.EvidenceRef;
+import com.aibidcomposer.service.project.evidence.EvidenceType;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 可复用素材倒排索引服务（“推荐证明材料”）
+ *
+ * <p>按组织在内存中维护历史投标、项目案例、产品服务的倒排索引，标签与关键词的组合查询在内存中完成，
+ * 不再整表读出后逐条扫描 JSONB 字段：</p>
+ * <ul>
+ *   <li>词项：标签类字段（tags、技术栈、行业、类别）整体归一化后作为标签词项；
+ *       标题、要点、技术、功能特性等文本经分词器切分为关键词词项</li>
+ *   <li>构建：启动后预加载全部组织；未预加载的组织在首次查询时加载；定期全量重建兜底</li>
+ *   <li>更新：三张表的写操作在事务提交后按主键重新加载单条记录（见 EvidenceIndexInvalidationInterceptor），
+ *       并经Redis频道广播给所有节点</li>
+ * </ul>
+ * <p>构建在锁外读库，写入缓存与单条刷新在同一把锁内进行：构建期间发生过刷新时丢弃构建结果，
+ * 避免用刷新前读出的数据覆盖已应用的刷新。</p>
+ *
+ * 需求编号: REQ-JAVA-PROJECT-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class EvidenceIndexService {
+
+    /**
+     * 失效广播频道
+     */
+    public static final String INVALIDATION_CHANNEL = "evidence:index:invalidate";
+
+    private static final String TAG_PREFIX = "t:";
+    private static final String WORD_PREFIX = "w:";
+    private static final String TYPE_PREFIX = "type:";
+
+    /**
+     * 单次查询最多返回条数
+     */
+    private static final int MAX_LIMIT = 500;
+
+    /**
+     * 首次查询时构建组织索引的最多尝试次数（构建期间持续有刷新时，最后一次结果只用于本次查询）
+     */
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final HistoricalBidMapper historicalBidMapper;
+    private final ProjectCaseMapper projectCaseMapper;
+    private final ProductServiceMapper productServiceMapper;
+    private final InvalidationBroadcaster broadcaster;
+    private final SearchTokenizer tokenizer;
+
+    private final boolean preload;
+
+    /**
+     * 组织ID → 组织索引
+     */
+    private final Cache<Long, OrganizationIndex> indexes;
+
+    /**
+     * 写入缓存与单条刷新互斥
+     */
+    private final Object updateLock = new Object();
+
+    /**
+     * 刷新序号，在 updateLock 内递增；构建前后不一致说明构建期间有刷新
+     */
+    private final AtomicLong updateSeq = new AtomicLong();
+
+    public EvidenceIndexService(HistoricalBidMapper historicalBidMapper,
+                                ProjectCaseMapper projectCaseMapper,
+                                ProductServiceMapper productServiceMapper,
+                                InvalidationBroadcaster broadcaster,
+                                ObjectProvider<SearchTokenizer> tokenizerProvider,
+                                @Value("${evidence.index.preload:true}") boolean preload,
+                                @Value("${evidence.index.max-organizations:10000}") long maxOrganizations) {
+        this.historicalBidMapper = historicalBidMapper;
+        this.projectCaseMapper = projectCaseMapper;
+        this.productServiceMapper = productServiceMapper;
+        this.broadcaster = broadcaster;
+        this.tokenizer = tokenizerProvider.getIfAvailable(CjkBigramTokenizer::new);
+        this.preload = preload;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxOrganizations)
+                .build();
+    }
+
+    /**
+     * 订阅失效广播
+     */
+    @PostConstruct
+    public void subscribe() {
+        broadcaster.subscribe(INVALIDATION_CHANNEL, this::onInvalidation);
+    }
+
+    /**
+     * 启动后预加载全部组织的索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!preload) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long seq = updateSeq.get();
+            Map<Long, OrganizationIndex> built = buildAll();
+            synchronized (updateLock) {
+                if (updateSeq.get() != seq) {
+                    log.info("素材索引预加载期间有更新，改为在首次查询时按组织加载");
+                    return;
+                }
+                built.forEach(indexes.asMap()::putIfAbsent);
+            }
+            log.info("素材索引预加载完成: organizations={}, costMs={}", built.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("素材索引预加载失败，将在首次查询时按组织加载", e);
+        }
+    }
+
+    /**
+     * 定期全量重建已加载的组织索引（兜底丢失的失效广播）
+     *
+     * <p>重建期间有刷新或该组织已被丢弃时不替换，保留已应用刷新的索引。</p>
+     */
+    @Scheduled(fixedDelayString = "${evidence.index.rebuild-interval-ms:3600000}",
+            initialDelayString = "${evidence.index.rebuild-interval-ms:3600000}")
+    public void rebuildLoaded() {
+        for (Long organizationId : new ArrayList<>(indexes.asMap().keySet())) {
+            try {
+                long seq = updateSeq.get();
+                OrganizationIndex built = build(organizationId);
+                synchronized (updateLock) {
+                    if (updateSeq.get() == seq && indexes.getIfPresent(organizationId) != null) {
+                        indexes.put(organizationId, built);
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("素材索引重建失败: organizationId={}", organizationId, e);
+            }
+        }
+    }
+
+    /**
+     * 同时满足全部标签与关键词的素材
+     *
+     * @param organizationId 组织ID
+     * @param tags 标签（全部包含）
+     * @param keywords 关键词（空格分隔，全部包含）
+     * @param types 素材类型，为空表示全部类型
+     * @param limit 最多返回条数
+     * @return 命中素材
+     */
+    public List<EvidenceHit> findMatching(Long organizationId, Collection<String> tags, String keywords,
+                                          Set<EvidenceType> types, int limit) {
+        OrganizationIndex index = indexFor(organizationId);
+        List<String> required = new ArrayList<>(tagTerms(tags));
+        required.addAll(wordTerms(keywords));
+        List<EvidenceHit> hits = new ArrayList<>();
+        for (EvidenceRef ref : index.index.matchAll(required, typeTerms(types), clamp(limit))) {
+            hits.add(new EvidenceHit(ref.getType(), ref.getId(), index.titles.get(ref), required.size(), 1.0));
+        }
+        return hits;
+    }
+
+    /**
+     * 按与文本（如招标需求条目）的关键词重合度推荐素材
+     *
+     * @param organizationId 组织ID
+     * @param text 需求文本
+     * @param tags 必须包含的标签（可选）
+     * @param types 素材类型，为空表示全部类型
+     * @param limit 最多返回条数
+     * @return 推荐素材，匹配度高的在前
+     */
+    public List<EvidenceHit> suggest(Long organizationId, String text, Collection<String> tags,
+                                     Set<EvidenceType> types, int limit) {
+        OrganizationIndex index = indexFor(organizationId);
+        Set<String> scoring = wordTerms(text);
+        List<EvidenceHit> hits = new ArrayList<>();
+        if (scoring.isEmpty()) {
+            return hits;
+        }
+        for (InvertedIndex.Match<EvidenceRef> match
+                : index.index.rankAny(scoring, tagTerms(tags), typeTerms(types), clamp(limit))) {
+            EvidenceRef ref = match.getKey();
+            hits.add(new EvidenceHit(ref.getType(), ref.getId(), index.titles.get(ref),
+                    match.getMatchedTerms(), (double) match.getMatchedTerms() / scoring.size()));
+        }
+        return hits;
+    }
+
+    /**
+     * 重新加载单条素材并广播到所有节点（事务提交后调用）
+     *
+     * @param refs 素材引用
+     */
+    public void refresh(Collection<EvidenceRef> refs) {
+        for (EvidenceRef ref : refs) {
+            refreshLocal(ref);
+            broadcaster.publish(INVALIDATION_CHANNEL, ref.encode());
+        }
+    }
+
+    /**
+     * 丢弃全部索引并广播（无法确定变更范围时使用），之后按组织在首次查询时重建
+     */
+    public void invalidateAll() {
+        invalidateAllLocal();
+        broadcaster.publishAll(INVALIDATION_CHANNEL);
+    }
+
+    /**
+     * 处理其他节点的失效广播，只更新本地索引
+     *
+     * @param key 素材引用的编码，为null表示全部
+     */
+    private void onInvalidation(String key) {
+        if (key == null) {
+            invalidateAllLocal();
+        } else {
+            EvidenceRef ref = EvidenceRef.decode(key);
+            if (ref != null) {
+                refreshLocal(ref);
+            }
+        }
+    }
+
+    private OrganizationIndex indexFor(Long organizationId) {
+        if (organizationId == null) {
+            throw new ValidationException("组织ID不能为空");
+        }
+        OrganizationIndex index = indexes.getIfPresent(organizationId);
+        if (index != null) {
+            return index;
+        }
+        for (int attempt = 1; ; attempt++) {
+            long seq = updateSeq.get();
+            OrganizationIndex built = build(organizationId);
+            synchronized (updateLock) {
+                OrganizationIndex current = indexes.getIfPresent(organizationId);
+                if (current != null) {
+                    return current;
+                }
+                if (updateSeq.get() == seq) {
+                    indexes.put(organizationId, built);
+                    return built;
+                }
+            }
+            if (attempt >= MAX_BUILD_ATTEMPTS) {
+                // 只用于本次查询，下次查询重新加载
+                return built;
+            }
+        }
+    }
+
+    private void refreshLocal(EvidenceRef ref) {
+        Indexed indexed = load(ref);
+        synchronized (updateLock) {
+            updateSeq.incrementAndGet();
+            for (Map.Entry<Long, OrganizationIndex> entry : indexes.asMap().entrySet()) {
+                if (indexed != null && entry.getKey().equals(indexed.organizationId)) {
+                    entry.getValue().put(ref, indexed);
+                } else {
+                    entry.getValue().remove(ref);
+                }
+            }
+        }
+    }
+
+    private void invalidateAllLocal() {
+        synchronized (updateLock) {
+            updateSeq.incrementAndGet();
+            indexes.invalidateAll();
+        }
+    }
+
+    private OrganizationIndex build(Long organizationId) {
+        OrganizationIndex index = new OrganizationIndex();
+        historicalBidMapper.selectList(historicalBidQuery().eq(HistoricalBid::getOrganizationId, organizationId))
+                .forEach(bid -> index.put(refOf(bid), toIndexed(bid)));
+        projectCaseMapper.selectList(projectCaseQuery().eq(ProjectCase::getOrganizationId, organizationId))
+                .forEach(pc -> index.put(refOf(pc), toIndexed(pc)));
+        productServiceMapper.selectList(productServiceQuery().eq(ProductService::getOrganizationId, organizationId))
+                .forEach(ps -> index.put(refOf(ps), toIndexed(ps)));
+        log.debug("素材索引已加载: organizationId={}, size={}", organizationId, index.index.size());
+        return index;
+    }
+
+    private Map<Long, OrganizationIndex> buildAll() {
+        Map<Long, OrganizationIndex> built = new HashMap<>();
+        for (HistoricalBid bid : historicalBidMapper.selectList(historicalBidQuery())) {
+            put(built, refOf(bid), toIndexed(bid));
+        }
+        for (ProjectCase pc : projectCaseMapper.selectList(projectCaseQuery())) {
+            put(built, refOf(pc), toIndexed(pc));
+        }
+        for (ProductService ps : productServiceMapper.selectList(productServiceQuery())) {
+            put(built, refOf(ps), toIndexed(ps));
+        }
+        return built;
+    }
+
+    private static void put(Map<Long, OrganizationIndex> built, EvidenceRef ref, Indexed indexed) {
+        if (indexed != null && indexed.organizationId != null) {
+            built.computeIfAbsent(indexed.organizationId, id -> new OrganizationIndex()).put(ref, indexed);
+        }
+    }
+
+    private Indexed load(EvidenceRef ref) {
+        return switch (ref.getType()) {
+            case HISTORICAL_BID -> toIndexed(historicalBidMapper.selectOne(
+                    historicalBidQuery().eq(HistoricalBid::getId, ref.getId())));
+            case PROJECT_CASE -> toIndexed(projectCaseMapper.selectOne(
+                    projectCaseQuery().eq(ProjectCase::getId, ref.getId())));
+            case PRODUCT_SERVICE -> toIndexed(productServiceMapper.selectOne(
+                    productServiceQuery().eq(ProductService::getId, ref.getId())));
+        };
+    }
+
+    // ------------------------------------------------------------------
+    // 实体 → 词项（只查询建索引需要的列）
+    // ------------------------------------------------------------------
+
+    private static LambdaQueryWrapper<HistoricalBid> historicalBidQuery() {
+        return Wrappers.<HistoricalBid>lambdaQuery()
+                .select(HistoricalBid::getId, HistoricalBid::getOrganizationId, HistoricalBid::getProjectName,
+                        HistoricalBid::getIndustry, HistoricalBid::getCategory, HistoricalBid::getKeyPoints,
+                        HistoricalBid::getTags);
+    }
+
+    private static LambdaQueryWrapper<ProjectCase> projectCaseQuery() {
+        return Wrappers.<ProjectCase>lambdaQuery()
+                .select(ProjectCase::getId, ProjectCase::getOrganizationId, ProjectCase::getProjectName,
+                        ProjectCase::getClientIndustry, ProjectCase::getProjectCategory,
+                        ProjectCase::getTechnologiesUsed, ProjectCase::getTags);
+    }
+
+    private static LambdaQueryWrapper<ProductService> productServiceQuery() {
+        return Wrappers.<ProductService>lambdaQuery()
+                .select(ProductService::getId, ProductService::getOrganizationId, ProductService::getName,
+                        ProductService::getCategory, ProductService::getFeatures,
+                        ProductService::getTechnologyStack, ProductService::getTags)
+                // 已下架的产品不参与推荐
+                .and(w -> w.eq(ProductService::getIsActive, true).or().isNull(ProductService::getIsActive));
+    }
+
+    private static EvidenceRef refOf(HistoricalBid bid) {
+        return new EvidenceRef(EvidenceType.HISTORICAL_BID, bid.getId());
+    }
+
+    private static EvidenceRef refOf(ProjectCase pc) {
+        return new EvidenceRef(EvidenceType.PROJECT_CASE, pc.getId());
+    }
+
+    private static EvidenceRef refOf(ProductService ps) {
+        return new EvidenceRef(EvidenceType.PRODUCT_SERVICE, ps.getId());
+    }
+
+    private Indexed toIndexed(HistoricalBid bid) {
+        if (bid == null) {
+            return null;
+        }
+        List<String> tags = new ArrayList<>(nullToEmpty(bid.getTags()));
+        addIfPresent(tags, bid.getIndustry());
+        addIfPresent(tags, bid.getCategory());
+        return indexed(EvidenceType.HISTORICAL_BID, bid.getOrganizationId(), bid.getProjectName(),
+                tags, nullToEmpty(bid.getKeyPoints()));
+    }
+
+    private Indexed toIndexed(ProjectCase pc) {
+        if (pc == null) {
+            return null;
+        }
+        List<String> tags = new ArrayList<>(nullToEmpty(pc.getTags()));
+        tags.addAll(nullToEmpty(pc.getTechnologiesUsed()));
+        addIfPresent(tags, pc.getClientIndustry());
+        addIfPresent(tags, pc.getProjectCategory());
+        return indexed(EvidenceType.PROJECT_CASE, pc.getOrganizationId(), pc.getProjectName(),
+                tags, nullToEmpty(pc.getTechnologiesUsed()));
+    }
+
+    private Indexed toIndexed(ProductService ps) {
+        if (ps == null) {
+            return null;
+        }
+        List<String> tags = new ArrayList<>(nullToEmpty(ps.getTags()));
+        tags.addAll(nullToEmpty(ps.getTechnologyStack()));
+        addIfPresent(tags, ps.getCategory());
+        return indexed(EvidenceType.PRODUCT_SERVICE, ps.getOrganizationId(), ps.getName(),
+                tags, nullToEmpty(ps.getFeatures()));
+    }
+
+    private Indexed indexed(EvidenceType type, Long organizationId, String title,
+                            Collection<String> tags, Collection<String> texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.add(TYPE_PREFIX + type.name());
+        terms.addAll(tagTerms(tags));
+        terms.addAll(wordTerms(title));
+        for (String tag : tags) {
+            terms.addAll(wordTerms(tag));
+        }
+        for (String text : texts) {
+            terms.addAll(wordTerms(text));
+        }
+        return new Indexed(organizationId, title, terms);
+    }
+
+    private static Set<String> tagTerms(Collection<String> tags) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                String normalized = TermBitMatrix.normalize(tag);
+                if (!normalized.isEmpty()) {
+                    terms.add(TAG_PREFIX + normalized);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private Set<String> wordTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : tokenizer.tokenize(text)) {
+            terms.add(WORD_PREFIX + token);
+        }
+        return terms;
+    }
+
+    private static Set<String> typeTerms(Set<EvidenceType> types) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (types != null && types.size() < EvidenceType.values().length) {
+            types.forEach(type -> terms.add(TYPE_PREFIX + type.name()));
+        }
+        return terms;
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static List<String> nullToEmpty(List<String> values) {
+        return values == null ? List.of() : values;
+    }
+
+    private static void addIfPresent(List<String> values, String value) {
+        if (value != null && !value.isBlank()) {
+            values.add(value);
+        }
+    }
+
+    /**
+     * 单条素材的索引数据
+     */
+    private static final class Indexed {
+        private final Long organizationId;
+        private final String title;
+        private final Set<String> terms;
+
+        private Indexed(Long organizationId, String title, Set<String> terms) {
+            this.organizationId = organizationId;
+            this.title = title;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * 单个组织的索引
+     */
+    private static final class OrganizationIndex {
+        private final InvertedIndex<EvidenceRef> index = new InvertedIndex<>();
+        private final Map<EvidenceRef, String> titles = new ConcurrentHashMap<>();
+
+        private void put(EvidenceRef ref, Indexed indexed) {
+            index.put(ref, indexed.terms);
+            if (indexed.title != null) {
+                titles.put(ref, indexed.title);
+            } else {
+                titles.remove(ref);
+            }
+        }
+
+        private void remove(EvidenceRef ref) {
+            index.remove(ref);
+            titles.remove(ref);
+        }
+    }
+}
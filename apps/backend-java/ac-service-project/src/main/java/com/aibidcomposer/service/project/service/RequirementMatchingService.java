@@ -0,0 +1,422 @@
+package com.aibidcomposer.service.project.service;
+
+import com.aibidcomposer.common.biz.search.CjkBigramTokenizer;
+import com.aibidcomposer.common.biz.search.SearchTokenizer;
+import com.aibidcomposer.common.biz.search.SparseVector;
+import com.aibidcomposer.common.biz.search.TfIdfModel;
+import com.aibidcomposer.common.exception.BusinessException;
+import com.aibidcomposer.common.http.result.ResultCode;
+import com.aibidcomposer.common.util.JsonUtil;
+import com.aibidcomposer.dao.entity.Certification;
+import com.aibidcomposer.dao.entity.Personnel;
+import com.aibidcomposer.dao.entity.ProductService;
+import com.aibidcomposer.dao.entity.Project;
+import com.aibidcomposer.dao.entity.ProjectCase;
+import com.aibidcomposer.dao.entity.ProjectRequirement;
+import com.aibidcomposer.dao.mapper.CertificationMapper;
+import com.aibidcomposer.dao.mapper.PersonnelMapper;
+import com.aibidcomposer.dao.mapper.ProductServiceMapper;
+import com.aibidcomposer.dao.mapper.ProjectCaseMapper;
+import com.aibidcomposer.dao.mapper.ProjectMapper;
+import com.aibidcomposer.dao.mapper.ProjectRequirementMapper;
+import com.aibidcomposer.dao.support.RequirementMatchUpdate;
+import com.aibidcomposer.service.project.dto.RequirementMatchSummary;
+import com.aibidcomposer.service.project.matching.CapabilityType;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+
+/**
+ * 招标需求与企业能力匹配服务
+ *
+ * <p>计算 project_requirements 的 match_status、match_score、match_details：</p>
+ * <ol>
+ *   <li>一次性读出组织的资质证书（有效且未过期）、人员（可用）、项目案例、产品服务，
+ *       分词后建立 TF-IDF 模型，能力记录的特征向量与倒排在此预先计算</li>
+ *   <li>需求按区间拆分为 ForkJoin 任务并行计算：需求向量与全部能力的余弦相似度
+ *       通过倒排一次累加得到，取需求类型对应能力类型中的最佳相似度，结合词项覆盖率计分</li>
+ *   <li>全部结果在一个事务内按批 UPDATE ... FROM VALUES 写回</li>
+ * </ol>
+ *
+ * 需求编号: REQ-JAVA-PROJECT-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class RequirementMatchingService {
+
+    public static final String STATUS_MATCHED = "matched";
+    public static final String STATUS_PARTIAL = "partial";
+    public static final String STATUS_UNMATCHED = "unmatched";
+
+    /**
+     * 单个ForkJoin叶子任务处理的需求数
+     */
+    private static final int LEAF_SIZE = 16;
+
+    /**
+     * 非主要能力类型的相似度折扣
+     */
+    private static final float SECONDARY_DISCOUNT = 0.8f;
+
+    private final ProjectMapper projectMapper;
+    private final ProjectRequirementMapper projectRequirementMapper;
+    private final CertificationMapper certificationMapper;
+    private final PersonnelMapper personnelMapper;
+    private final ProjectCaseMapper projectCaseMapper;
+    private final ProductServiceMapper productServiceMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchTokenizer tokenizer;
+    private final ForkJoinPool pool;
+
+    private final double matchedThreshold;
+    private final double partialThreshold;
+    private final double similaritySaturation;
+    private final int topMatches;
+    private final int batchSize;
+
+    public RequirementMatchingService(ProjectMapper projectMapper,
+                                      ProjectRequirementMapper projectRequirementMapper,
+                                      CertificationMapper certificationMapper,
+                                      PersonnelMapper personnelMapper,
+                                      ProjectCaseMapper projectCaseMapper,
+                                      ProductServiceMapper productServiceMapper,
+                                      TransactionTemplate transactionTemplate,
+                                      ObjectProvider<SearchTokenizer> tokenizerProvider,
+                                      @Value("${requirement.matching.parallelism:0}") int parallelism,
+                                      @Value("${requirement.matching.matched-threshold:70}") double matchedThreshold,
+                                      @Value("${requirement.matching.partial-threshold:40}") double partialThreshold,
+                                      @Value("${requirement.matching.similarity-saturation:0.6}") double similaritySaturation,
+                                      @Value("${requirement.matching.top-matches:3}") int topMatches,
+                                      @Value("${requirement.matching.batch-size:500}") int batchSize) {
+        this.projectMapper = projectMapper;
+        this.projectRequirementMapper = projectRequirementMapper;
+        this.certificationMapper = certificationMapper;
+        this.personnelMapper = personnelMapper;
+        this.projectCaseMapper = projectCaseMapper;
+        this.productServiceMapper = productServiceMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.tokenizer = tokenizerProvider.getIfAvailable(CjkBigramTokenizer::new);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.matchedThreshold = matchedThreshold;
+        this.partialThreshold = partialThreshold;
+        this.similaritySaturation = similaritySaturation > 0 ? similaritySaturation : 1.0;
+        this.topMatches = Math.max(0, topMatches);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 匹配项目的全部需求并写回结果
+     *
+     * @param projectId 项目ID
+     * @return 匹配汇总
+     */
+    public RequirementMatchSummary matchProject(Long projectId) {
+        long start = System.currentTimeMillis();
+        Project project = projectMapper.selectById(projectId);
+        if (project == null) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "项目不存在: " + projectId);
+        }
+
+        List<ProjectRequirement> requirements = projectRequirementMapper.selectList(
+                Wrappers.<ProjectRequirement>lambdaQuery()
+                        .select(ProjectRequirement::getId, ProjectRequirement::getRequirementType,
+                                ProjectRequirement::getCategory, ProjectRequirement::getTitle,
+                                ProjectRequirement::getDescription)
+                        .eq(ProjectRequirement::getProjectId, projectId));
+        List<Capability> capabilities = loadCapabilities(project.getOrganizationId());
+
+        List<List<String>> corpus = new ArrayList<>(capabilities.size());
+        capabilities.forEach(capability -> corpus.add(capability.tokens));
+        TfIdfModel model = TfIdfModel.fit(corpus);
+
+        RequirementMatchUpdate[] results = new RequirementMatchUpdate[requirements.size()];
+        pool.invoke(new MatchTask(requirements, results, model.documentCount(),
+                (requirement, scores) -> match(requirement, capabilities, model, scores), 0, requirements.size()));
+
+        List<RequirementMatchUpdate> rows = List.of(results);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                projectRequirementMapper.updateMatchResults(rows.subList(from, Math.min(rows.size(), from + batchSize)));
+            }
+        });
+
+        int matched = 0;
+        int partial = 0;
+        for (RequirementMatchUpdate row : rows) {
+            if (STATUS_MATCHED.equals(row.getMatchStatus())) {
+                matched++;
+            } else if (STATUS_PARTIAL.equals(row.getMatchStatus())) {
+                partial++;
+            }
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("需求匹配完成: projectId={}, requirements={}, capabilities={}, costMs={}",
+                projectId, rows.size(), capabilities.size(), elapsed);
+        return new RequirementMatchSummary(projectId, rows.size(), matched, partial,
+                rows.size() - matched - partial, capabilities.size(), elapsed);
+    }
+
+    /**
+     * 计算单条需求的匹配结果（在ForkJoin工作线程中执行）
+     *
+     * @param requirement  需求
+     * @param capabilities 能力记录
+     * @param model        TF-IDF 模型
+     * @param scores       相似度缓冲区（每个叶子任务一个）
+     * @return 更新行
+     */
+    private RequirementMatchUpdate match(ProjectRequirement requirement, List<Capability> capabilities,
+                                         TfIdfModel model, float[] scores) {
+        List<String> tokens = tokenizer.tokenize(join(" ", requirement.getTitle(), requirement.getDescription(),
+                requirement.getCategory()));
+        Set<String> distinct = new HashSet<>(tokens);
+        int known = 0;
+        for (String token : distinct) {
+            if (model.contains(token)) {
+                known++;
+            }
+        }
+        double coverage = distinct.isEmpty() ? 0 : (double) known / distinct.size();
+
+        SparseVector query = model.vectorize(tokens);
+        model.scoreAll(query, scores);
+
+        Set<CapabilityType> preferred = CapabilityType.preferredFor(requirement.getRequirementType());
+        float similarity = 0f;
+        int[] top = new int[topMatches];
+        float[] topScores = new float[topMatches];
+        int topCount = 0;
+        for (int i = 0; i < capabilities.size(); i++) {
+            float score = scores[i];
+            if (score <= 0f) {
+                continue;
+            }
+            float effective = preferred.contains(capabilities.get(i).type) ? score : score * SECONDARY_DISCOUNT;
+            similarity = Math.max(similarity, effective);
+            // 插入排序维护前 N 名
+            int pos = topCount < topMatches ? topCount++ : topMatches;
+            while (pos > 0 && topScores[pos - 1] < effective) {
+                if (pos < topMatches) {
+                    top[pos] = top[pos - 1];
+                    topScores[pos] = topScores[pos - 1];
+                }
+                pos--;
+            }
+            if (pos < topMatches) {
+                top[pos] = i;
+                topScores[pos] = effective;
+            }
+        }
+
+        double normalized = Math.min(1.0, similarity / similaritySaturation);
+        double score = query.isEmpty() ? 0 : 100 * (0.7 * normalized + 0.3 * coverage);
+        String status = score >= matchedThreshold ? STATUS_MATCHED
+                : score >= partialThreshold ? STATUS_PARTIAL : STATUS_UNMATCHED;
+
+        List<Map<String, Object>> matches = new ArrayList<>(topCount);
+        for (int k = 0; k < topCount; k++) {
+            Capability capability = capabilities.get(top[k]);
+            Map<String, Object> match = new LinkedHashMap<>();
+            match.put("type", capability.type.name());
+            match.put("id", capability.id);
+            match.put("title", capability.title);
+            match.put("similarity", round(topScores[k]));
+            matches.add(match);
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("similarity", round(similarity));
+        details.put("coverage", round(coverage));
+        details.put("preferredTypes", preferred);
+        details.put("matches", matches);
+        details.put("matchedAt", LocalDateTime.now().toString());
+
+        return new RequirementMatchUpdate(requirement.getId(), status,
+                BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP), JsonUtil.toJson(details));
+    }
+
+    /**
+     * 按需求区间拆分的ForkJoin任务
+     *
+     * <p>只持有本次匹配的数据与匹配函数，不引用服务实例；任务不会被序列化。</p>
+     */
+    @SuppressWarnings("serial")
+    private static final class MatchTask extends RecursiveAction {
+
+        private final List<ProjectRequirement> requirements;
+        private final RequirementMatchUpdate[] results;
+        private final int scoreBufferSize;
+        private final BiFunction<ProjectRequirement, float[], RequirementMatchUpdate> matcher;
+        private final int from;
+        private final int to;
+
+        /**
+         * @param requirements    需求
+         * @param results         结果数组（与需求下标一致）
+         * @param scoreBufferSize 相似度缓冲区长度（能力记录数）
+         * @param matcher         单条需求的匹配函数（需求, 相似度缓冲区）→ 更新行
+         * @param from            起始下标（含）
+         * @param to              结束下标（不含）
+         */
+        private MatchTask(List<ProjectRequirement> requirements, RequirementMatchUpdate[] results, int scoreBufferSize,
+                          BiFunction<ProjectRequirement, float[], RequirementMatchUpdate> matcher, int from, int to) {
+            this.requirements = requirements;
+            this.results = results;
+            this.scoreBufferSize = scoreBufferSize;
+            this.matcher = matcher;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                float[] scores = new float[scoreBufferSize];
+                for (int i = from; i < to; i++) {
+                    results[i] = matcher.apply(requirements.get(i), scores);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MatchTask(requirements, results, scoreBufferSize, matcher, from, mid),
+                    new MatchTask(requirements, results, scoreBufferSize, matcher, mid, to));
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // 能力记录 → 特征文本（只查询需要的列）
+    // ------------------------------------------------------------------
+
+    private List<Capability> loadCapabilities(Long organizationId) {
+        List<Capability> capabilities = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        certificationMapper.selectList(Wrappers.<Certification>lambdaQuery()
+                        .select(Certification::getId, Certification::getCertificationName,
+                                Certification::getCertificationType, Certification::getIssuingAuthority,
+                                Certification::getScope, Certification::getLevel)
+                        .eq(Certification::getOrganizationId, organizationId)
+                        .and(w -> w.eq(Certification::getIsValid, true).or().isNull(Certification::getIsValid))
+                        .and(w -> w.isNull(Certification::getExpiryDate).or().ge(Certification::getExpiryDate, today)))
+                .forEach(c -> capabilities.add(capability(CapabilityType.CERTIFICATION, c.getId(),
+                        c.getCertificationName(), c.getCertificationName(), c.getCertificationType(),
+                        c.getIssuingAuthority(), c.getScope(), c.getLevel())));
+
+        personnelMapper.selectList(Wrappers.<Personnel>lambdaQuery()
+                        .select(Personnel::getId, Personnel::getName, Personnel::getPosition, Personnel::getDepartment,
+                                Personnel::getEducation, Personnel::getMajor, Personnel::getSpecialties,
+                                Personnel::getCertifications, Personnel::getSkills)
+                        .eq(Personnel::getOrganizationId, organizationId)
+                        .and(w -> w.eq(Personnel::getIsAvailable, true).or().isNull(Personnel::getIsAvailable)))
+                .forEach(p -> capabilities.add(capability(CapabilityType.PERSONNEL, p.getId(),
+                        join(" / ", p.getName(), p.getPosition()), p.getPosition(), p.getDepartment(),
+                        p.getEducation(), p.getMajor(), join(" ", p.getSpecialties()),
+                        join(" ", p.getCertifications()), join(" ", skillNames(p.getSkills())))));
+
+        projectCaseMapper.selectList(Wrappers.<ProjectCase>lambdaQuery()
+                        .select(ProjectCase::getId, ProjectCase::getProjectName, ProjectCase::getClientIndustry,
+                                ProjectCase::getProjectCategory, ProjectCase::getProjectType,
+                                ProjectCase::getProjectDescription, ProjectCase::getSolutions,
+                                ProjectCase::getAchievements, ProjectCase::getTechnologiesUsed, ProjectCase::getTags)
+                        .eq(ProjectCase::getOrganizationId, organizationId))
+                .forEach(pc -> capabilities.add(capability(CapabilityType.PROJECT_CASE, pc.getId(),
+                        pc.getProjectName(), pc.getProjectName(), pc.getClientIndustry(), pc.getProjectCategory(),
+                        pc.getProjectType(), pc.getProjectDescription(), pc.getSolutions(),
+                        join(" ", pc.getAchievements()), join(" ", pc.getTechnologiesUsed()),
+                        join(" ", pc.getTags()))));
+
+        productServiceMapper.selectList(Wrappers.<ProductService>lambdaQuery()
+                        .select(ProductService::getId, ProductService::getName, ProductService::getCategory,
+                                ProductService::getType, ProductService::getDescription, ProductService::getFeatures,
+                                ProductService::getAdvantages, ProductService::getApplicationScenarios,
+                                ProductService::getTechnologyStack, ProductService::getTags)
+                        .eq(ProductService::getOrganizationId, organizationId)
+                        .and(w -> w.eq(ProductService::getIsActive, true).or().isNull(ProductService::getIsActive)))
+                .forEach(ps -> capabilities.add(capability(CapabilityType.PRODUCT_SERVICE, ps.getId(),
+                        ps.getName(), ps.getName(), ps.getCategory(), ps.getType(), ps.getDescription(),
+                        join(" ", ps.getFeatures()), join(" ", ps.getAdvantages()),
+                        join(" ", ps.getApplicationScenarios()), join(" ", ps.getTechnologyStack()),
+                        join(" ", ps.getTags()))));
+        return capabilities;
+    }
+
+    private Capability capability(CapabilityType type, Long id, String title, String... texts) {
+        return new Capability(type, id, title, tokenizer.tokenize(join(" ", texts)));
+    }
+
+    private static List<String> skillNames(List<Map<String, Object>> skills) {
+        List<String> names = new ArrayList<>();
+        if (skills != null) {
+            for (Map<String, Object> skill : skills) {
+                Object name = skill == null ? null : skill.get("name");
+                if (name != null) {
+                    names.add(name.toString());
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String join(String separator, String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (!sb.isEmpty()) {
+                    sb.append(separator);
+                }
+                sb.append(part);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String join(String separator, List<String> parts) {
+        return parts == null ? "" : join(separator, parts.toArray(new String[0]));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000) / 10000.0;
+    }
+
+    /**
+     * 能力记录及其词项
+     */
+    private static final class Capability {
+        private final CapabilityType type;
+        private final Long id;
+        private final String title;
+        private final List<String> tokens;
+
+        private Capability(CapabilityType type, Long id, String title, List<String> tokens) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.tokens = tokens;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.aibidcomposer.service.project.service;
+
+import com.aibidcomposer.common.biz.invalidation.InvalidationBroadcaster;
+import com.aibidcomposer.common.biz.search.TermBitMatrix;
+import com.aibidcomposer.common.exception.ValidationException;
+import com.aibidcomposer.dao.entity.Personnel;
+import com.aibidcomposer.dao.mapper.PersonnelMapper;
+import com.aibidcomposer.service.project.dto.StaffingCandidate;
+import com.aibidcomposer.service.project.dto.StaffingTeam;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 人员配置检索服务（投标团队组建）
+ *
+ * <p>按组织缓存人员的技能位矩阵：specialties、certifications、skills[].name 归一化后字典编码，
+ * 每人一个位集，查询在内存中逐字位运算完成，不再读出全部人员后逐条比较字符串列表：</p>
+ * <ul>
+ *   <li>{@link #search}：具备全部必备条件的人员，按命中的优先条件数、工作年限排序</li>
+ *   <li>{@link #coverTeam}：贪心选出覆盖全部要求的小团队，并给出无人具备的要求</li>
+ * </ul>
+ * <p>personnel 表的写操作在事务提交后使所在组织的位矩阵失效（见 StaffingIndexInvalidationInterceptor），
+ * 并经Redis频道广播给所有节点，下次查询时重建。</p>
+ *
+ * 需求编号: REQ-JAVA-PROJECT-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class StaffingSearchService {
+
+    /**
+     * 失效广播频道
+     */
+    public static final String INVALIDATION_CHANNEL = "staffing:index:invalidate";
+
+    /**
+     * 单次查询最多返回条数
+     */
+    private static final int MAX_LIMIT = 500;
+
+    private final PersonnelMapper personnelMapper;
+    private final InvalidationBroadcaster broadcaster;
+
+    /**
+     * 组织ID → 人员位矩阵
+     */
+    private final Cache<Long, Staff> staffs;
+
+    public StaffingSearchService(PersonnelMapper personnelMapper,
+                                 InvalidationBroadcaster broadcaster,
+                                 @Value("${staffing.index.max-organizations:10000}") long maxOrganizations) {
+        this.personnelMapper = personnelMapper;
+        this.broadcaster = broadcaster;
+        this.staffs = Caffeine.newBuilder()
+                .maximumSize(maxOrganizations)
+                .build();
+    }
+
+    /**
+     * 订阅失效广播
+     */
+    @PostConstruct
+    public void subscribe() {
+        broadcaster.subscribe(INVALIDATION_CHANNEL, this::onInvalidation);
+    }
+
+    /**
+     * 检索具备全部必备条件的人员
+     *
+     * @param organizationId     组织ID
+     * @param required           必备的技能/专长/证书，为空表示不限
+     * @param preferred          优先的技能/专长/证书（用于排序）
+     * @param includeUnavailable 是否包含当前不可用的人员
+     * @param limit              最多返回条数
+     * @return 候选人，命中优先条件多的在前，相同时工作年限长的在前
+     */
+    public List<StaffingCandidate> search(Long organizationId, Collection<String> required,
+                                          Collection<String> preferred, boolean includeUnavailable, int limit) {
+        Staff staff = staffFor(organizationId);
+        TermBitMatrix matrix = staff.matrix;
+        List<StaffingCandidate> out = new ArrayList<>();
+        if (required != null) {
+            for (String term : required) {
+                if (!TermBitMatrix.normalize(term).isEmpty() && !matrix.contains(term)) {
+                    // 没有任何人具备该条件
+                    return out;
+                }
+            }
+        }
+        long[] requiredMask = matrix.mask(required);
+        long[] preferredMask = matrix.mask(preferred);
+        long[] reportMask = matrix.mask(union(required, preferred));
+
+        List<int[]> hits = new ArrayList<>();
+        for (int row = 0; row < matrix.rows(); row++) {
+            if ((includeUnavailable || staff.available[row]) && matrix.coversAll(row, requiredMask)) {
+                hits.add(new int[]{row, matrix.countMatches(row, preferredMask)});
+            }
+        }
+        hits.sort(Comparator.<int[]>comparingInt(h -> -h[1])
+                .thenComparingInt(h -> -years(staff.people[h[0]]))
+                .thenComparingLong(h -> staff.people[h[0]].getId()));
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        for (int i = 0; i < hits.size() && i < max; i++) {
+            int row = hits.get(i)[0];
+            out.add(candidate(staff.people[row], matrix.matchedTerms(row, reportMask), hits.get(i)[1]));
+        }
+        return out;
+    }
+
+    /**
+     * 组建覆盖全部要求的团队（只考虑可用人员）
+     *
+     * <p>每轮选入新覆盖要求最多的人员（相同时工作年限长的优先），直到全部覆盖、
+     * 无人能再覆盖新的要求或达到人数上限。</p>
+     *
+     * @param organizationId 组织ID
+     * @param required       要求的技能/专长/证书
+     * @param maxMembers     人数上限
+     * @return 团队方案
+     */
+    public StaffingTeam coverTeam(Long organizationId, Collection<String> required, int maxMembers) {
+        Staff staff = staffFor(organizationId);
+        TermBitMatrix matrix = staff.matrix;
+        Set<String> unknown = new LinkedHashSet<>();
+        if (required != null) {
+            for (String term : required) {
+                String normalized = TermBitMatrix.normalize(term);
+                if (!normalized.isEmpty() && !matrix.contains(normalized)) {
+                    unknown.add(normalized);
+                }
+            }
+        }
+
+        long[] uncovered = matrix.mask(required);
+        boolean[] chosen = new boolean[matrix.rows()];
+        List<StaffingCandidate> members = new ArrayList<>();
+        while (members.size() < maxMembers && !TermBitMatrix.isEmpty(uncovered)) {
+            int best = -1;
+            int bestGain = 0;
+            for (int row = 0; row < matrix.rows(); row++) {
+                if (chosen[row] || !staff.available[row]) {
+                    continue;
+                }
+                int gain = matrix.countMatches(row, uncovered);
+                if (gain > bestGain || (gain == bestGain && gain > 0
+                        && years(staff.people[row]) > years(staff.people[best]))) {
+                    best = row;
+                    bestGain = gain;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            chosen[best] = true;
+            members.add(candidate(staff.people[best], matrix.matchedTerms(best, uncovered), bestGain));
+            matrix.clear(uncovered, best);
+        }
+
+        List<String> remaining = new ArrayList<>(matrix.termsOf(uncovered));
+        remaining.addAll(unknown);
+        return new StaffingTeam(members, remaining, remaining.isEmpty());
+    }
+
+    /**
+     * 人员变更后使相关组织的位矩阵失效并广播（事务提交后调用）
+     *
+     * @param personnelId    人员ID，可为null
+     * @param organizationId 组织ID，可为null
+     */
+    public void invalidate(Long personnelId, Long organizationId) {
+        invalidateLocal(personnelId, organizationId);
+        broadcaster.publish(INVALIDATION_CHANNEL,
+                (personnelId == null ? "" : personnelId) + ":" + (organizationId == null ? "" : organizationId));
+    }
+
+    /**
+     * 使全部位矩阵失效并广播（无法确定变更范围时使用）
+     */
+    public void invalidateAll() {
+        staffs.invalidateAll();
+        broadcaster.publishAll(INVALIDATION_CHANNEL);
+    }
+
+    /**
+     * 处理其他节点的失效广播，只更新本地缓存
+     *
+     * @param key "人员ID:组织ID"，为null表示全部
+     */
+    private void onInvalidation(String key) {
+        int idx = key == null ? -1 : key.indexOf(':');
+        if (idx < 0) {
+            staffs.invalidateAll();
+        } else {
+            try {
+                invalidateLocal(parseId(key.substring(0, idx)), parseId(key.substring(idx + 1)));
+            } catch (NumberFormatException e) {
+                staffs.invalidateAll();
+            }
+        }
+    }
+
+    private void invalidateLocal(Long personnelId, Long organizationId) {
+        if (organizationId != null) {
+            staffs.invalidate(organizationId);
+        }
+        if (personnelId != null) {
+            // updateById 的实体可能不带组织ID，deleteById 只有主键：按已缓存的人员定位组织
+            for (Map.Entry<Long, Staff> entry : staffs.asMap().entrySet()) {
+                if (entry.getValue().contains(personnelId)) {
+                    staffs.invalidate(entry.getKey());
+                }
+            }
+        }
+    }
+
+    private Staff staffFor(Long organizationId) {
+        if (organizationId == null) {
+            throw new ValidationException("组织ID不能为空");
+        }
+        return staffs.get(organizationId, this::build);
+    }
+
+    private Staff build(Long organizationId) {
+        List<Personnel> people = personnelMapper.selectList(Wrappers.<Personnel>lambdaQuery()
+                .select(Personnel::getId, Personnel::getName, Personnel::getPosition, Personnel::getDepartment,
+                        Personnel::getYearsOfExperience, Personnel::getSpecialties, Personnel::getCertifications,
+                        Personnel::getSkills, Personnel::getIsAvailable)
+                .eq(Personnel::getOrganizationId, organizationId)
+                .orderByAsc(Personnel::getId));
+        List<List<String>> rowTerms = new ArrayList<>(people.size());
+        boolean[] available = new boolean[people.size()];
+        for (int i = 0; i < people.size(); i++) {
+            Personnel person = people.get(i);
+            List<String> terms = new ArrayList<>();
+            if (person.getSpecialties() != null) {
+                terms.addAll(person.getSpecialties());
+            }
+            if (person.getCertifications() != null) {
+                terms.addAll(person.getCertifications());
+            }
+            if (person.getSkills() != null) {
+                for (Map<String, Object> skill : person.getSkills()) {
+                    Object name = skill == null ? null : skill.get("name");
+                    if (name != null) {
+                        terms.add(name.toString());
+                    }
+                }
+            }
+            rowTerms.add(terms);
+            available[i] = !Boolean.FALSE.equals(person.getIsAvailable());
+        }
+        TermBitMatrix matrix = TermBitMatrix.build(rowTerms);
+        log.debug("人员位矩阵已加载: organizationId={}, personnel={}, terms={}",
+                organizationId, people.size(), matrix.termCount());
+        return new Staff(matrix, people.toArray(new Personnel[0]), available);
+    }
+
+    private static StaffingCandidate candidate(Personnel person, List<String> matchedTerms, int score) {
+        return new StaffingCandidate(person.getId(), person.getName(), person.getPosition(), person.getDepartment(),
+                person.getYearsOfExperience(), !Boolean.FALSE.equals(person.getIsAvailable()), matchedTerms, score);
+    }
+
+    private static int years(Personnel person) {
+        return person.getYearsOfExperience() == null ? 0 : person.getYearsOfExperience();
+    }
+
+    private static List<String> union(Collection<String> a, Collection<String> b) {
+        List<String> out = new ArrayList<>();
+        if (a != null) {
+            out.addAll(a);
+        }
+        if (b != null) {
+            out.addAll(b);
+        }
+        return out;
+    }
+
+    private static Long parseId(String value) {
+        return value.isEmpty() ? null : Long.valueOf(value);
+    }
+
+    /**
+     * 单个组织的人员位矩阵（行号与 people 下标一致）
+     */
+    private static final class Staff {
+        private final TermBitMatrix matrix;
+        private final Personnel[] people;
+        private final boolean[] available;
+
+        private Staff(TermBitMatrix matrix, Personnel[] people, boolean[] available) {
+            this.matrix = matrix;
+            this.people = people;
+            this.available = available;
+        }
+
+        private boolean contains(Long personnelId) {
+            for (Personnel person : people) {
+                if (personnelId.equals(person.getId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
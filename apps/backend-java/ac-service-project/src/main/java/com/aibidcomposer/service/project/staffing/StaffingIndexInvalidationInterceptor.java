@@ -0,0 +1,87 @@
+package com.aibidcomposer.service.project.staffing;
+
+import com.aibidcomposer.common.biz.invalidation.AfterCommitInvalidationInterceptor;
+import com.aibidcomposer.dao.entity.Personnel;
+import com.aibidcomposer.dao.mapper.PersonnelMapper;
+import com.aibidcomposer.service.project.service.StaffingSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 人员位矩阵失效拦截器
+ *
+ * <p>拦截 personnel 表的写操作，在事务提交后调用 {@link StaffingSearchService} 使相关组织的位矩阵失效并广播：</p>
+ * <ul>
+ *   <li>参数中能取得人员ID或组织ID（实体、"et"包装的实体、deleteById 的主键）：只失效相关组织</li>
+ *   <li>按条件批量更新、删除：影响范围无法确定，全部失效</li>
+ * </ul>
+ * <p>事务合并与提交后执行见 {@link AfterCommitInvalidationInterceptor}；检索服务依赖Mapper，
+ * Mapper又依赖本拦截器，因此通过 ObjectProvider 延迟获取。</p>
+ *
+ * 需求编号: REQ-JAVA-PROJECT-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class StaffingIndexInvalidationInterceptor
+        extends AfterCommitInvalidationInterceptor<StaffingIndexInvalidationInterceptor.PersonnelChange> {
+
+    private final ObjectProvider<StaffingSearchService> staffingSearchServiceProvider;
+
+    public StaffingIndexInvalidationInterceptor(ObjectProvider<StaffingSearchService> staffingSearchServiceProvider) {
+        super(Set.of(PersonnelMapper.class.getName()));
+        this.staffingSearchServiceProvider = staffingSearchServiceProvider;
+    }
+
+    /**
+     * 从Mapper参数中提取变更的人员（deleteById直接传主键，其余取实体的人员ID与组织ID）
+     *
+     * @param namespace Mapper命名空间
+     * @param parameter Mapper参数
+     * @return 变更的人员，无法确定时返回null
+     */
+    @Override
+    protected Collection<PersonnelChange> extractKeys(String namespace, Object parameter) {
+        if (parameter instanceof Number number) {
+            return Set.of(new PersonnelChange(number.longValue(), null));
+        }
+        if (entityOf(parameter) instanceof Personnel personnel
+                && (personnel.getId() != null || personnel.getOrganizationId() != null)) {
+            return Set.of(new PersonnelChange(personnel.getId(), personnel.getOrganizationId()));
+        }
+        return null;
+    }
+
+    @Override
+    protected void apply(Set<PersonnelChange> changes) {
+        StaffingSearchService service = staffingSearchServiceProvider.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (changes == null) {
+            service.invalidateAll();
+            log.debug("人员数据批量变更，已使全部人员位矩阵失效");
+        } else {
+            changes.forEach(change -> service.invalidate(change.personnelId(), change.organizationId()));
+            log.debug("人员数据变更，已使人员位矩阵失效: {}", changes.size());
+        }
+    }
+
+    /**
+     * 变更的人员
+     */
+    record PersonnelChange(Long personnelId, Long organizationId) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.aibidcomposer.service.template.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 提示词Token与成本统计摘要
+ *
+ * <p>均值为全量均值，衰减均值按配置的半衰期加权；分位数为草图估计值，
+ * 相对误差不超过草图精度。无样本时数值字段为null。</p>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+public class PromptMetricsSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 提示词ID
+     */
+    private Long promptId;
+
+    /**
+     * 样本数（已写回 + 本实例未写回）
+     */
+    private long sampleCount;
+
+    /**
+     * 平均Token数
+     */
+    private Double meanTokens;
+
+    /**
+     * 衰减平均Token数
+     */
+    private Double decayedMeanTokens;
+
+    /**
+     * Token数 P50 / P90 / P99
+     */
+    private Double p50Tokens;
+    private Double p90Tokens;
+    private Double p99Tokens;
+
+    /**
+     * 平均成本
+     */
+    private Double meanCost;
+
+    /**
+     * 衰减平均成本
+     */
+    private Double decayedMeanCost;
+
+    /**
+     * 成本 P50 / P90 / P99
+     */
+    private Double p50Cost;
+    private Double p90Cost;
+    private Double p99Cost;
+}
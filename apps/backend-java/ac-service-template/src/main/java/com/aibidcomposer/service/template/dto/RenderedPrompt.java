@@ -0,0 +1,55 @@
+package com.aibidcomposer.service.template.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * 渲染后的AI提示词
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenderedPrompt implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 提示词代码
+     */
+    private String code;
+
+    /**
+     * 版本号
+     */
+    private String version;
+
+    /**
+     * 系统提示词
+     */
+    private String systemPrompt;
+
+    /**
+     * 用户提示词
+     */
+    private String prompt;
+
+    /**
+     * 模型名称
+     */
+    private String modelName;
+
+    /**
+     * 模型参数
+     */
+    private Map<String, Object> modelParams;
+}
@@ -0,0 +1,110 @@
+package com.aibidcomposer.service.template.engine;
+
+import com.aibidcomposer.common.biz.template.CompiledTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的模板章节树
+ *
+ * <p>节点按"父节点在前"的顺序平铺，父节点以下标引用，实例化时顺序遍历一次即可
+ * 生成章节行并确定父子关系。标题与内容模板已预编译为 {@link CompiledTemplate}。
+ * 实例不可变，按模板ID + 版本缓存并在线程间共享。</p>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class CompiledSectionTree {
+
+    /**
+     * 模板ID
+     */
+    private final Long templateId;
+
+    /**
+     * 模板版本号
+     */
+    private final String version;
+
+    /**
+     * 编译时模板的更新时间（同版本号下模板被修改时据此失效）
+     */
+    private final LocalDateTime updateTime;
+
+    /**
+     * 编译时的章节数
+     */
+    private final long sectionCount;
+
+    /**
+     * 编译时章节的最大更新时间（章节被修改时据此失效），没有章节时为null
+     */
+    private final LocalDateTime sectionsUpdateTime;
+
+    /**
+     * 章节节点（父节点在前）
+     */
+    private final List<Node> nodes;
+
+    /**
+     * 章节节点
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Node {
+
+        /**
+         * 来源模板章节ID
+         */
+        private final Long templateSectionId;
+
+        /**
+         * 父节点下标，根节点为-1
+         */
+        private final int parentIndex;
+
+        /**
+         * 标题模板
+         */
+        private final CompiledTemplate title;
+
+        /**
+         * 内容模板，模板章节无内容时为null
+         */
+        private final CompiledTemplate content;
+
+        /**
+         * 章节编号
+         */
+        private final String sectionNumber;
+
+        /**
+         * 内容类型
+         */
+        private final String contentType;
+
+        /**
+         * 排序索引
+         */
+        private final Integer orderIndex;
+
+        /**
+         * 是否必填
+         */
+        private final Boolean isRequired;
+
+        /**
+         * 模板章节元数据（只读，实例化时复制）
+         */
+        private final Map<String, Object> metadata;
+    }
+}
@@ -0,0 +1,123 @@
+package com.aibidcomposer.service.template.engine;
+
+import com.aibidcomposer.common.biz.invalidation.AfterCommitInvalidationInterceptor;
+import com.aibidcomposer.dao.entity.Template;
+import com.aibidcomposer.dao.entity.TemplateSection;
+import com.aibidcomposer.dao.mapper.TemplateMapper;
+import com.aibidcomposer.dao.mapper.TemplateSectionMapper;
+import com.aibidcomposer.service.template.service.TemplateInstantiationService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 模板编译缓存失效拦截器
+ *
+ * <p>拦截 templates / template_sections 表的写操作，在事务提交后调用
+ * {@link TemplateInstantiationService#evict} 使相关模板的编译结果失效并广播：</p>
+ * <ul>
+ *   <li>只修改使用次数、评分的语句（addUsageCounts 等）：不失效</li>
+ *   <li>参数中能取得模板ID（模板实体或主键、章节实体、带 templateId 参数的语句）：只失效该模板</li>
+ *   <li>按章节主键删除、按条件批量更新或删除：影响范围无法确定，全部失效</li>
+ * </ul>
+ * <p>事务合并与提交后执行见 {@link AfterCommitInvalidationInterceptor}；实例化服务依赖Mapper，
+ * Mapper又依赖本拦截器，因此通过 ObjectProvider 延迟获取。</p>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class CompiledTreeInvalidationInterceptor extends AfterCommitInvalidationInterceptor<Long> {
+
+    private static final String TEMPLATE_NAMESPACE = TemplateMapper.class.getName();
+    private static final String TEMPLATE_SECTION_NAMESPACE = TemplateSectionMapper.class.getName();
+    private static final String TEMPLATE_ID_PARAM = "templateId";
+
+    /**
+     * 只修改使用次数、评分等统计列的语句，与编译结果无关，不触发失效
+     */
+    static final Set<String> STATISTICS_STATEMENTS = Set.of(
+            TEMPLATE_NAMESPACE + ".addUsageCounts",
+            TEMPLATE_NAMESPACE + ".incrementUsageCount",
+            TEMPLATE_NAMESPACE + ".updateRating"
+    );
+
+    private final ObjectProvider<TemplateInstantiationService> templateInstantiationServiceProvider;
+
+    public CompiledTreeInvalidationInterceptor(
+            ObjectProvider<TemplateInstantiationService> templateInstantiationServiceProvider) {
+        super(Set.of(TEMPLATE_NAMESPACE, TEMPLATE_SECTION_NAMESPACE));
+        this.templateInstantiationServiceProvider = templateInstantiationServiceProvider;
+    }
+
+    @Override
+    protected boolean isIgnored(String statementId) {
+        return STATISTICS_STATEMENTS.contains(statementId);
+    }
+
+    /**
+     * 从Mapper参数中提取模板ID（deleteById直接传主键，自定义语句以 templateId 命名参数，其余取实体）
+     *
+     * @param namespace Mapper命名空间
+     * @param parameter Mapper参数
+     * @return 模板ID，无法确定时返回null
+     */
+    @Override
+    protected Collection<Long> extractKeys(String namespace, Object parameter) {
+        Long templateId = extractTemplateId(parameter, TEMPLATE_NAMESPACE.equals(namespace));
+        return templateId == null ? null : Set.of(templateId);
+    }
+
+    @Override
+    protected void apply(Set<Long> templateIds) {
+        TemplateInstantiationService service = templateInstantiationServiceProvider.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (templateIds == null) {
+            service.evictAll();
+            log.debug("模板数据批量变更，已使全部模板编译结果失效");
+        } else {
+            templateIds.forEach(service::evict);
+            log.debug("模板数据变更，已使模板编译结果失效: {}", templateIds);
+        }
+    }
+
+    /**
+     * 提取模板ID
+     *
+     * @param parameter Mapper参数
+     * @param templateStatement 是否为 templates 表的语句（主键即模板ID）
+     * @return 模板ID，无法确定时返回null
+     */
+    private static Long extractTemplateId(Object parameter, boolean templateStatement) {
+        if (parameter instanceof Number number) {
+            return templateStatement ? number.longValue() : null;
+        }
+        if (parameter instanceof Map<?, ?> map
+                && map.containsKey(TEMPLATE_ID_PARAM) && map.get(TEMPLATE_ID_PARAM) instanceof Number number) {
+            return number.longValue();
+        }
+        Object entity = entityOf(parameter);
+        if (entity instanceof Template template) {
+            return template.getId();
+        }
+        if (entity instanceof TemplateSection section) {
+            return section.getTemplateId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.aibidcomposer.service.template.engine;
+
+import com.aibidcomposer.common.biz.invalidation.AfterCommitInvalidationInterceptor;
+import com.aibidcomposer.dao.entity.AIPrompt;
+import com.aibidcomposer.dao.entity.Template;
+import com.aibidcomposer.dao.mapper.AIPromptMapper;
+import com.aibidcomposer.dao.mapper.TemplateMapper;
+import com.aibidcomposer.service.template.service.TemplateRenderService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 渲染缓存失效拦截器
+ *
+ * <p>拦截 ai_prompts / templates 表的写操作，在事务提交后调用 {@link TemplateRenderService}
+ * 使 code 到版本号的映射失效并广播，下次渲染时重新读取并编译：</p>
+ * <ul>
+ *   <li>只修改使用次数、评分、统计指标的语句：不失效</li>
+ *   <li>参数中的实体带 code：只失效该 code</li>
+ *   <li>按主键更新、删除且实体不带 code，或按条件批量更新、删除：失效该表的全部映射</li>
+ * </ul>
+ * <p>修改 code 本身时旧 code 的映射不会立即失效，最迟 version-ttl 后过期。
+ * 事务合并与提交后执行见 {@link AfterCommitInvalidationInterceptor}；渲染服务依赖Mapper，
+ * Mapper又依赖本拦截器，因此通过 ObjectProvider 延迟获取。</p>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class RenderCacheInvalidationInterceptor
+        extends AfterCommitInvalidationInterceptor<RenderCacheInvalidationInterceptor.RenderKey> {
+
+    private static final String PROMPT_NAMESPACE = AIPromptMapper.class.getName();
+    private static final String TEMPLATE_NAMESPACE = TemplateMapper.class.getName();
+
+    /**
+     * 只修改统计列的提示词语句
+     */
+    private static final Set<String> PROMPT_STATISTICS_STATEMENTS = Set.of(
+            PROMPT_NAMESPACE + ".addUsageCounts",
+            PROMPT_NAMESPACE + ".incrementUsageCount",
+            PROMPT_NAMESPACE + ".updateAverageMetrics"
+    );
+
+    private final ObjectProvider<TemplateRenderService> templateRenderServiceProvider;
+
+    public RenderCacheInvalidationInterceptor(ObjectProvider<TemplateRenderService> templateRenderServiceProvider) {
+        super(Set.of(PROMPT_NAMESPACE, TEMPLATE_NAMESPACE));
+        this.templateRenderServiceProvider = templateRenderServiceProvider;
+    }
+
+    @Override
+    protected boolean isIgnored(String statementId) {
+        return PROMPT_STATISTICS_STATEMENTS.contains(statementId)
+                || CompiledTreeInvalidationInterceptor.STATISTICS_STATEMENTS.contains(statementId);
+    }
+
+    /**
+     * 提取变更的 code；实体不带 code 时返回该表的“全部”键
+     *
+     * @param namespace Mapper命名空间
+     * @param parameter Mapper参数
+     * @return 变更的提示词或模板
+     */
+    @Override
+    protected Collection<RenderKey> extractKeys(String namespace, Object parameter) {
+        boolean prompt = PROMPT_NAMESPACE.equals(namespace);
+        Object entity = entityOf(parameter);
+        String code = null;
+        if (prompt && entity instanceof AIPrompt aiPrompt) {
+            code = aiPrompt.getCode();
+        } else if (!prompt && entity instanceof Template template) {
+            code = template.getCode();
+        }
+        return Set.of(new RenderKey(prompt, code));
+    }
+
+    @Override
+    protected void apply(Set<RenderKey> keys) {
+        TemplateRenderService service = templateRenderServiceProvider.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (keys == null) {
+            service.evictAll();
+            return;
+        }
+        for (RenderKey key : keys) {
+            if (key.prompt()) {
+                service.evictPrompt(key.code());
+            } else {
+                service.evictTemplate(key.code());
+            }
+        }
+        log.debug("提示词或模板变更，已使渲染缓存版本映射失效: {}", keys);
+    }
+
+    /**
+     * 变更的提示词或模板
+     *
+     * @param prompt 是否为提示词
+     * @param code   代码，为null表示该表全部
+     */
+    record RenderKey(boolean prompt, String code) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.aibidcomposer.service.template.render;
+
+import com.aibidcomposer.common.biz.template.CompiledTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 编译后的AI提示词
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class CompiledPrompt {
+
+    /**
+     * 提示词代码
+     */
+    private final String code;
+
+    /**
+     * 版本号
+     */
+    private final String version;
+
+    /**
+     * 系统提示词模板，未配置时为null
+     */
+    private final CompiledTemplate systemPrompt;
+
+    /**
+     * 用户提示词模板
+     */
+    private final CompiledTemplate promptTemplate;
+
+    /**
+     * 变量默认值（只读）
+     */
+    private final Map<String, Object> defaults;
+
+    /**
+     * 模型名称
+     */
+    private final String modelName;
+
+    /**
+     * 模型参数（只读）
+     */
+    private final Map<String, Object> modelParams;
+}
@@ -0,0 +1,41 @@
+package com.aibidcomposer.service.template.render;
+
+import com.aibidcomposer.common.biz.template.CompiledJsonTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 编译后的模板内容
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class CompiledTemplateContent {
+
+    /**
+     * 模板代码
+     */
+    private final String code;
+
+    /**
+     * 版本号
+     */
+    private final String version;
+
+    /**
+     * 内容模板
+     */
+    private final CompiledJsonTemplate content;
+
+    /**
+     * 占位符默认值（只读）
+     */
+    private final Map<String, Object> defaults;
+}
@@ -0,0 +1,98 @@
+package com.aibidcomposer.service.template.service;
+
+import com.aibidcomposer.common.exception.ValidationException;
+import com.aibidcomposer.dao.entity.AITask;
+import com.aibidcomposer.dao.mapper.AITaskMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI任务队列服务（入队与取消）
+ *
+ * <p>任务写入 ai_tasks 即入队，由各节点的 AITaskWorkerPool 领取执行。
+ * 取消执行中的任务时清除其租约，持有节点在下一次心跳时发现租约丢失并中断执行。</p>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class AITaskQueueService {
+
+    private static final String STATUS_PENDING = "pending";
+    private static final String STATUS_RUNNING = "running";
+    private static final String STATUS_CANCELLED = "cancelled";
+
+    private final AITaskMapper aiTaskMapper;
+    private final int defaultPriority;
+    private final int defaultMaxRetries;
+
+    public AITaskQueueService(AITaskMapper aiTaskMapper,
+                              @Value("${ai.task.default-priority:0}") int defaultPriority,
+                              @Value("${ai.task.default-max-retries:3}") int defaultMaxRetries) {
+        this.aiTaskMapper = aiTaskMapper;
+        this.defaultPriority = defaultPriority;
+        this.defaultMaxRetries = defaultMaxRetries;
+    }
+
+    /**
+     * 提交任务
+     *
+     * @param task 任务（taskType 必填；priority、maxRetries 为空时取默认值）
+     * @return 已入队的任务
+     */
+    public AITask submit(AITask task) {
+        if (task == null || task.getTaskType() == null || task.getTaskType().isBlank()) {
+            throw new ValidationException("任务类型不能为空");
+        }
+        task.setStatus(STATUS_PENDING);
+        task.setRetryCount(0);
+        if (task.getPriority() == null) {
+            task.setPriority(defaultPriority);
+        }
+        if (task.getMaxRetries() == null) {
+            task.setMaxRetries(defaultMaxRetries);
+        }
+        task.setLeaseOwner(null);
+        task.setLeaseExpiresAt(null);
+        aiTaskMapper.insert(task);
+        log.debug("AI任务已入队: taskId={}, type={}, priority={}", task.getId(), task.getTaskType(), task.getPriority());
+        return task;
+    }
+
+    /**
+     * 延迟提交任务
+     *
+     * @param task 任务
+     * @param notBefore 最早执行时间
+     * @return 已入队的任务
+     */
+    public AITask submit(AITask task, LocalDateTime notBefore) {
+        task.setNextAttemptAt(notBefore);
+        return submit(task);
+    }
+
+    /**
+     * 取消待处理或执行中的任务
+     *
+     * @param taskId 任务ID
+     * @return 是否已取消（任务已结束时返回false）
+     */
+    public boolean cancel(Long taskId) {
+        int updated = aiTaskMapper.update(null, Wrappers.<AITask>lambdaUpdate()
+                .set(AITask::getStatus, STATUS_CANCELLED)
+                .set(AITask::getLeaseOwner, null)
+                .set(AITask::getLeaseExpiresAt, null)
+                .set(AITask::getCompletedAt, LocalDateTime.now())
+                .eq(AITask::getId, taskId)
+                .in(AITask::getStatus, STATUS_PENDING, STATUS_RUNNING));
+        return updated > 0;
+    }
+}
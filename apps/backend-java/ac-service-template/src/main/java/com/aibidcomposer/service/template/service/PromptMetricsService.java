@@ -0,0 +1,313 @@
+package com.aibidcomposer.service.template.service;
+
+import com.aibidcomposer.common.biz.metrics.QuantileSketch;
+import com.aibidcomposer.common.biz.metrics.StreamingStats;
+import com.aibidcomposer.dao.entity.AIPrompt;
+import com.aibidcomposer.dao.entity.AIPromptMetrics;
+import com.aibidcomposer.dao.entity.AITask;
+import com.aibidcomposer.dao.mapper.AIPromptMapper;
+import com.aibidcomposer.dao.mapper.AIPromptMetricsMapper;
+import com.aibidcomposer.service.template.dto.PromptMetricsSummary;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 提示词Token与成本流式统计服务
+ *
+ * <p>已完成的 AITask 按所用提示词累加到内存中的流式统计量（计数、总和、衰减加权和、分位数草图），
+ * 定期写回 ai_prompt_metrics，并把均值同步到 ai_prompts.average_tokens / average_cost，
+ * 每个任务只累加一次，不再按任务回查历史数据重算均值：</p>
+ * <ul>
+ *   <li>写回时锁定统计行，在内存中与本实例增量合并后覆盖写回；统计量可精确合并，多实例写回结果一致</li>
+ *   <li>half-life-hours 大于0时 average_* 取衰减均值，近期任务权重更高；为0时取全量均值</li>
+ *   <li>写回失败的增量合并回内存，下次重试</li>
+ * </ul>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-005
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class PromptMetricsService implements DisposableBean {
+
+    private static final String TASK_STATUS_SUCCESS = "success";
+
+    /**
+     * AITask.metadata 中记录所用提示词的键
+     */
+    private static final String META_PROMPT_ID = "promptId";
+    private static final String META_PROMPT_CODE = "promptCode";
+
+    private final AIPromptMapper aiPromptMapper;
+    private final AIPromptMetricsMapper aiPromptMetricsMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final long halfLifeMillis;
+    private final double sketchAccuracy;
+    private final int sketchMaxBins;
+
+    private final ConcurrentHashMap<Long, Accumulator> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 提示词代码到ID
+     */
+    private final Cache<String, Long> promptIds;
+
+    public PromptMetricsService(AIPromptMapper aiPromptMapper,
+                                AIPromptMetricsMapper aiPromptMetricsMapper,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${ai.prompt-metrics.half-life-hours:0}") double halfLifeHours,
+                                @Value("${ai.prompt-metrics.sketch.relative-accuracy:0.01}") double sketchAccuracy,
+                                @Value("${ai.prompt-metrics.sketch.max-bins:2048}") int sketchMaxBins) {
+        this.aiPromptMapper = aiPromptMapper;
+        this.aiPromptMetricsMapper = aiPromptMetricsMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.halfLifeMillis = halfLifeHours > 0 ? (long) (halfLifeHours * 3_600_000L) : 0;
+        this.sketchAccuracy = sketchAccuracy;
+        this.sketchMaxBins = sketchMaxBins;
+        this.promptIds = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+    }
+
+    /**
+     * 记录一个已完成的AI任务
+     *
+     * <p>所用提示词取自 metadata.promptId，或 metadata.promptCode；
+     * 未成功或未记录提示词的任务忽略。</p>
+     *
+     * @param task AI任务
+     */
+    public void record(AITask task) {
+        if (task == null || !TASK_STATUS_SUCCESS.equals(task.getStatus())) {
+            return;
+        }
+        Long promptId = resolvePromptId(task.getMetadata());
+        if (promptId == null) {
+            return;
+        }
+        Integer tokens = task.getTotalTokens();
+        if (tokens == null && (task.getPromptTokens() != null || task.getCompletionTokens() != null)) {
+            tokens = (task.getPromptTokens() == null ? 0 : task.getPromptTokens())
+                    + (task.getCompletionTokens() == null ? 0 : task.getCompletionTokens());
+        }
+        record(promptId, tokens, task.getCost(), task.getCompletedAt());
+    }
+
+    /**
+     * 记录一次提示词调用
+     *
+     * @param promptId 提示词ID
+     * @param totalTokens 总Token数
+     * @param cost 成本
+     * @param completedAt 完成时间，为空取当前时间
+     */
+    public void record(Long promptId, Integer totalTokens, BigDecimal cost, LocalDateTime completedAt) {
+        if (promptId == null || totalTokens == null) {
+            return;
+        }
+        long at = completedAt == null ? System.currentTimeMillis()
+                : completedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        double costValue = cost == null ? 0 : cost.doubleValue();
+        pending.compute(promptId, (id, acc) -> {
+            Accumulator target = acc == null ? newAccumulator() : acc;
+            target.add(totalTokens, costValue, at);
+            return target;
+        });
+    }
+
+    /**
+     * 统计摘要（已写回 + 本实例未写回）
+     *
+     * @param promptId 提示词ID
+     * @return 统计摘要
+     */
+    public PromptMetricsSummary getSummary(Long promptId) {
+        Accumulator merged = fromRow(aiPromptMetricsMapper.selectById(promptId));
+        pending.computeIfPresent(promptId, (id, acc) -> {
+            merged.merge(acc);
+            return acc;
+        });
+        PromptMetricsSummary summary = new PromptMetricsSummary();
+        summary.setPromptId(promptId);
+        summary.setSampleCount(merged.tokens.getCount());
+        if (merged.tokens.getCount() > 0) {
+            summary.setMeanTokens(merged.tokens.mean());
+            summary.setDecayedMeanTokens(merged.tokens.decayedMean());
+            summary.setP50Tokens(merged.tokens.quantile(0.5));
+            summary.setP90Tokens(merged.tokens.quantile(0.9));
+            summary.setP99Tokens(merged.tokens.quantile(0.99));
+            summary.setMeanCost(merged.cost.mean());
+            summary.setDecayedMeanCost(merged.cost.decayedMean());
+            summary.setP50Cost(merged.cost.quantile(0.5));
+            summary.setP90Cost(merged.cost.quantile(0.9));
+            summary.setP99Cost(merged.cost.quantile(0.99));
+        }
+        return summary;
+    }
+
+    /**
+     * 定期写回
+     */
+    @Scheduled(fixedDelayString = "${ai.prompt-metrics.flush-interval-ms:30000}")
+    public void flush() {
+        Map<Long, Accumulator> batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            log.debug("提示词统计已写回: prompts={}", batch.size());
+        } catch (Exception e) {
+            batch.forEach((id, failed) -> pending.merge(id, failed, (current, restored) -> {
+                current.merge(restored);
+                return current;
+            }));
+            log.error("提示词统计写回失败，增量已放回缓冲: prompts={}", batch.size(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private void write(Map<Long, Accumulator> batch) {
+        List<Long> ids = new ArrayList<>(batch.keySet());
+        aiPromptMetricsMapper.insertMissing(ids);
+        Map<Long, AIPromptMetrics> existing = new HashMap<>(ids.size() * 2);
+        for (AIPromptMetrics row : aiPromptMetricsMapper.lockByPromptIds(ids)) {
+            existing.put(row.getPromptId(), row);
+        }
+        List<AIPromptMetrics> rows = new ArrayList<>(ids.size());
+        batch.forEach((id, delta) -> {
+            Accumulator merged = fromRow(existing.get(id));
+            merged.merge(delta);
+            rows.add(merged.toRow(id));
+        });
+        aiPromptMetricsMapper.upsertMetrics(rows);
+        aiPromptMetricsMapper.syncPromptAverages(ids, halfLifeMillis > 0);
+    }
+
+    /**
+     * 取出所有增量；按 prompt_id 排序，与加锁顺序一致
+     */
+    private Map<Long, Accumulator> drain() {
+        Map<Long, Accumulator> batch = new TreeMap<>();
+        for (Long id : pending.keySet()) {
+            Accumulator acc = pending.remove(id);
+            if (acc != null) {
+                batch.put(id, acc);
+            }
+        }
+        return batch;
+    }
+
+    private Long resolvePromptId(Map<String, Object> metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        Object id = metadata.get(META_PROMPT_ID);
+        if (id instanceof Number n) {
+            return n.longValue();
+        }
+        if (id instanceof String s && !s.isBlank()) {
+            try {
+                return Long.valueOf(s.trim());
+            } catch (NumberFormatException e) {
+                log.debug("无效的提示词ID: {}", s);
+            }
+        }
+        Object code = metadata.get(META_PROMPT_CODE);
+        if (code == null) {
+            return null;
+        }
+        return promptIds.get(code.toString(), c -> {
+            AIPrompt prompt = aiPromptMapper.selectOne(Wrappers.<AIPrompt>lambdaQuery()
+                    .select(AIPrompt::getId)
+                    .eq(AIPrompt::getCode, c));
+            return prompt == null ? null : prompt.getId();
+        });
+    }
+
+    private Accumulator newAccumulator() {
+        return new Accumulator(
+                new StreamingStats(halfLifeMillis, new QuantileSketch(sketchAccuracy, sketchMaxBins)),
+                new StreamingStats(halfLifeMillis, new QuantileSketch(sketchAccuracy, sketchMaxBins)));
+    }
+
+    private Accumulator fromRow(AIPromptMetrics row) {
+        if (row == null || row.getSampleCount() == null || row.getSampleCount() == 0) {
+            return newAccumulator();
+        }
+        long count = row.getSampleCount();
+        double weight = orZero(row.getDecayedWeight());
+        long decayedAt = row.getDecayedAt() == null ? 0 : row.getDecayedAt();
+        return new Accumulator(
+                StreamingStats.restore(halfLifeMillis, count, orZero(row.getTokenSum()), weight,
+                        orZero(row.getDecayedTokenSum()), decayedAt,
+                        QuantileSketch.fromMap(row.getTokenSketch(), sketchMaxBins)),
+                StreamingStats.restore(halfLifeMillis, count, orZero(row.getCostSum()), weight,
+                        orZero(row.getDecayedCostSum()), decayedAt,
+                        QuantileSketch.fromMap(row.getCostSketch(), sketchMaxBins)));
+    }
+
+    private static double orZero(Double value) {
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * 单个提示词的Token与成本统计量，两者样本数与衰减权重始终一致
+     *
+     * <p>只在 ConcurrentHashMap 的 compute / merge 内修改，由其分段锁保证互斥。</p>
+     */
+    private record Accumulator(StreamingStats tokens, StreamingStats cost) {
+
+        void add(double tokenValue, double costValue, long atMillis) {
+            tokens.add(tokenValue, atMillis);
+            cost.add(costValue, atMillis);
+        }
+
+        void merge(Accumulator other) {
+            tokens.merge(other.tokens);
+            cost.merge(other.cost);
+        }
+
+        AIPromptMetrics toRow(Long promptId) {
+            AIPromptMetrics row = new AIPromptMetrics();
+            row.setPromptId(promptId);
+            row.setSampleCount(tokens.getCount());
+            row.setTokenSum(tokens.getSum());
+            row.setCostSum(cost.getSum());
+            row.setDecayedWeight(tokens.getDecayedWeight());
+            row.setDecayedTokenSum(tokens.getDecayedSum());
+            row.setDecayedCostSum(cost.getDecayedSum());
+            row.setDecayedAt(tokens.getDecayedAt());
+            row.setTokenSketch(tokens.getSketch().toMap());
+            row.setCostSketch(cost.getSketch().toMap());
+            return row;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.aibidcomposer.service.template.service;
+
+import com.aibidcomposer.common.biz.invalidation.InvalidationBroadcaster;
+import com.aibidcomposer.common.biz.template.CompiledTemplate;
+import com.aibidcomposer.common.exception.BusinessException;
+import com.aibidcomposer.common.http.result.ResultCode;
+import com.aibidcomposer.dao.entity.DocumentSection;
+import com.aibidcomposer.dao.entity.Template;
+import com.aibidcomposer.dao.entity.TemplateSection;
+import com.aibidcomposer.dao.mapper.DocumentSectionMapper;
+import com.aibidcomposer.dao.mapper.TemplateMapper;
+import com.aibidcomposer.dao.mapper.TemplateSectionMapper;
+import com.aibidcomposer.dao.support.SectionTreeStamp;
+import com.aibidcomposer.service.template.engine.CompiledSectionTree;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 模板实例化服务（模板章节树 → 文档章节）
+ *
+ * <p>模板章节树按模板ID + 版本号编译一次并缓存：节点按父节点在前平铺，标题和内容模板预编译。
+ * 实例化时顺序遍历节点代入变量，一次预分配全部章节ID后批量插入，
+ * 不再逐层查询模板子章节、逐行插入文档章节。</p>
+ * <p>缓存命中前读取模板的 id / version / update_time 与章节树版本戳（章节数、最大更新时间）做校验，
+ * 同版本号下模板或章节被修改都会重新编译。模板与章节的写操作提交后由
+ * {@link com.aibidcomposer.service.template.engine.CompiledTreeInvalidationInterceptor} 调用 {@link #evict}，
+ * 本地失效并通过 Redis 广播给其他节点；缓存另设写入后过期时间兜底。</p>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-002
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class TemplateInstantiationService {
+
+    /**
+     * 失效广播频道
+     */
+    public static final String INVALIDATION_CHANNEL = "template:compiled:invalidate";
+
+    private static final String DEFAULT_CONTENT_TYPE = "text";
+
+    private final TemplateMapper templateMapper;
+    private final TemplateSectionMapper templateSectionMapper;
+    private final DocumentSectionMapper documentSectionMapper;
+    private final UsageCounterService usageCounterService;
+    private final InvalidationBroadcaster broadcaster;
+
+    /**
+     * 单条插入语句的最大行数
+     */
+    private final int chunkSize;
+
+    /**
+     * 编译结果，键为 templateId:version
+     */
+    private final Cache<String, CompiledSectionTree> compiledCache;
+
+    public TemplateInstantiationService(TemplateMapper templateMapper,
+                                        TemplateSectionMapper templateSectionMapper,
+                                        DocumentSectionMapper documentSectionMapper,
+                                        UsageCounterService usageCounterService,
+                                        InvalidationBroadcaster broadcaster,
+                                        @Value("${document.section.bulk.chunk-size:500}") int chunkSize,
+                                        @Value("${template.compiled-cache.max-size:500}") long cacheSize,
+                                        @Value("${template.compiled-cache.expire-minutes:60}") long expireMinutes) {
+        this.templateMapper = templateMapper;
+        this.templateSectionMapper = templateSectionMapper;
+        this.documentSectionMapper = documentSectionMapper;
+        this.usageCounterService = usageCounterService;
+        this.broadcaster = broadcaster;
+        this.chunkSize = chunkSize;
+        this.compiledCache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
+    /**
+     * 订阅失效广播
+     */
+    @PostConstruct
+    public void subscribe() {
+        broadcaster.subscribe(INVALIDATION_CHANNEL, this::onInvalidation);
+    }
+
+    /**
+     * 用模板章节树生成文档章节
+     *
+     * @param templateId 模板ID
+     * @param documentId 目标文档ID
+     * @param variables 变量取值，未提供的变量保留占位符
+     * @param userId 操作人ID
+     * @return 已插入的文档章节（父章节在前）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<DocumentSection> instantiate(Long templateId, Long documentId, Map<String, ?> variables, Long userId) {
+        CompiledSectionTree tree = getCompiled(templateId);
+        List<CompiledSectionTree.Node> nodes = tree.getNodes();
+        if (nodes.isEmpty()) {
+            return List.of();
+        }
+        Map<String, ?> values = variables == null ? Map.of() : variables;
+        List<Long> ids = documentSectionMapper.allocateIds(nodes.size());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        List<DocumentSection> rows = new ArrayList<>(nodes.size());
+        StringBuilder buffer = new StringBuilder(1024);
+        for (int i = 0; i < nodes.size(); i++) {
+            CompiledSectionTree.Node node = nodes.get(i);
+            DocumentSection section = new DocumentSection();
+            section.setId(ids.get(i));
+            section.setDocumentId(documentId);
+            section.setParentId(node.getParentIndex() < 0 ? null : ids.get(node.getParentIndex()));
+            section.setTitle(node.getTitle().render(values::get));
+            section.setSectionNumber(node.getSectionNumber());
+            if (node.getContent() != null) {
+                buffer.setLength(0);
+                node.getContent().renderTo(buffer, values::get);
+                section.setContent(buffer.toString());
+                section.setWordCount(countWords(buffer));
+            } else {
+                section.setWordCount(0);
+            }
+            section.setContentType(node.getContentType() == null ? DEFAULT_CONTENT_TYPE : node.getContentType());
+            section.setOrderIndex(node.getOrderIndex());
+            section.setIsRequired(Boolean.TRUE.equals(node.getIsRequired()));
+            section.setIsGenerated(Boolean.FALSE);
+            Map<String, Object> metadata = node.getMetadata() == null
+                    ? new HashMap<>() : new HashMap<>(node.getMetadata());
+            metadata.put("templateSectionId", node.getTemplateSectionId());
+            section.setMetadata(metadata);
+            section.setCreateBy(userId);
+            section.setUpdateBy(userId);
+            section.setUpdateTime(now);
+            rows.add(section);
+        }
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            documentSectionMapper.upsertSections(rows.subList(from, Math.min(from + chunkSize, rows.size())));
+        }
+        usageCounterService.recordTemplateUsage(templateId);
+        log.info("模板实例化完成: templateId={}, version={}, documentId={}, sections={}",
+                templateId, tree.getVersion(), documentId, rows.size());
+        return rows;
+    }
+
+    /**
+     * 获取模板的编译结果（缓存未命中或模板已修改时重新编译）
+     *
+     * @param templateId 模板ID
+     * @return 编译后的章节树
+     */
+    public CompiledSectionTree getCompiled(Long templateId) {
+        Template head = templateMapper.selectOne(Wrappers.<Template>lambdaQuery()
+                .select(Template::getId, Template::getVersion, Template::getUpdateTime)
+                .eq(Template::getId, templateId));
+        if (head == null) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "模板不存在: " + templateId);
+        }
+        // 先取版本戳再读章节：读取期间章节被修改时，下次校验必然不一致并重新编译
+        SectionTreeStamp stamp = templateSectionMapper.findTreeStamp(templateId);
+        String key = templateId + ":" + head.getVersion();
+        CompiledSectionTree cached = compiledCache.getIfPresent(key);
+        if (cached != null
+                && Objects.equals(cached.getUpdateTime(), head.getUpdateTime())
+                && cached.getSectionCount() == stamp.getSectionCount()
+                && Objects.equals(cached.getSectionsUpdateTime(), stamp.getMaxUpdateTime())) {
+            return cached;
+        }
+        CompiledSectionTree compiled = compile(head, stamp);
+        compiledCache.put(key, compiled);
+        log.debug("模板已编译: templateId={}, version={}, sections={}",
+                templateId, head.getVersion(), compiled.getNodes().size());
+        return compiled;
+    }
+
+    /**
+     * 使模板的编译结果失效并广播（模板或章节修改提交后调用）
+     *
+     * @param templateId 模板ID
+     */
+    public void evict(Long templateId) {
+        evictLocal(templateId);
+        broadcaster.publish(INVALIDATION_CHANNEL, String.valueOf(templateId));
+    }
+
+    /**
+     * 使全部编译结果失效并广播（无法确定变更的模板时使用）
+     */
+    public void evictAll() {
+        compiledCache.invalidateAll();
+        broadcaster.publishAll(INVALIDATION_CHANNEL);
+    }
+
+    /**
+     * 处理其他节点的失效广播，只更新本地缓存
+     *
+     * @param key 模板ID，为null表示全部
+     */
+    private void onInvalidation(String key) {
+        if (key == null) {
+            compiledCache.invalidateAll();
+            return;
+        }
+        try {
+            evictLocal(Long.valueOf(key));
+        } catch (NumberFormatException e) {
+            log.warn("忽略无法解析的模板编译缓存失效广播: {}", key);
+        }
+    }
+
+    private void evictLocal(Long templateId) {
+        String prefix = templateId + ":";
+        compiledCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private CompiledSectionTree compile(Template head, SectionTreeStamp stamp) {
+        List<TemplateSection> sections = templateSectionMapper.selectList(Wrappers.<TemplateSection>lambdaQuery()
+                .eq(TemplateSection::getTemplateId, head.getId())
+                .orderByAsc(TemplateSection::getOrderIndex)
+                .orderByAsc(TemplateSection::getId));
+
+        // 按 parent_id 分组（保持 order_index 顺序），父章节不存在的作为根
+        Map<Long, TemplateSection> byId = new HashMap<>(sections.size() * 2);
+        sections.forEach(s -> byId.put(s.getId(), s));
+        Map<Long, List<TemplateSection>> children = new LinkedHashMap<>();
+        List<TemplateSection> roots = new ArrayList<>();
+        for (TemplateSection section : sections) {
+            if (section.getParentId() == null || !byId.containsKey(section.getParentId())) {
+                roots.add(section);
+            } else {
+                children.computeIfAbsent(section.getParentId(), id -> new ArrayList<>()).add(section);
+            }
+        }
+
+        // 广度优先平铺，父节点在前
+        List<CompiledSectionTree.Node> nodes = new ArrayList<>(sections.size());
+        Map<Long, Integer> indexOf = new HashMap<>(sections.size() * 2);
+        Deque<TemplateSection> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            TemplateSection section = queue.poll();
+            Integer parentIndex = section.getParentId() == null ? null : indexOf.get(section.getParentId());
+            indexOf.put(section.getId(), nodes.size());
+            nodes.add(new CompiledSectionTree.Node(
+                    section.getId(),
+                    parentIndex == null ? -1 : parentIndex,
+                    CompiledTemplate.compile(section.getTitle()),
+                    section.getContentTemplate() == null ? null : CompiledTemplate.compile(section.getContentTemplate()),
+                    section.getSectionNumber(),
+                    section.getContentType(),
+                    section.getOrderIndex(),
+                    section.getIsRequired(),
+                    section.getMetadata() == null ? null : Collections.unmodifiableMap(section.getMetadata())));
+            queue.addAll(children.getOrDefault(section.getId(), List.of()));
+        }
+        if (nodes.size() < sections.size()) {
+            log.warn("模板章节存在循环引用，已忽略 {} 个章节: templateId={}",
+                    sections.size() - nodes.size(), head.getId());
+        }
+        return new CompiledSectionTree(head.getId(), head.getVersion(), head.getUpdateTime(),
+                stamp.getSectionCount(), stamp.getMaxUpdateTime(), List.copyOf(nodes));
+    }
+
+    /**
+     * 字数统计：非空白字符数
+     */
+    private static int countWords(CharSequence text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
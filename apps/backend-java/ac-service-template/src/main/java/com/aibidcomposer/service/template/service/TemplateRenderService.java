@@ -0,0 +1,311 @@
+package com.aibidcomposer.service.template.service;
+
+import com.aibidcomposer.common.biz.invalidation.InvalidationBroadcaster;
+import com.aibidcomposer.common.biz.template.CompiledJsonTemplate;
+import com.aibidcomposer.common.biz.template.CompiledTemplate;
+import com.aibidcomposer.common.exception.BusinessException;
+import com.aibidcomposer.common.http.result.ResultCode;
+import com.aibidcomposer.dao.entity.AIPrompt;
+import com.aibidcomposer.dao.entity.Template;
+import com.aibidcomposer.dao.mapper.AIPromptMapper;
+import com.aibidcomposer.dao.mapper.TemplateMapper;
+import com.aibidcomposer.service.template.dto.RenderedPrompt;
+import com.aibidcomposer.service.template.render.CompiledPrompt;
+import com.aibidcomposer.service.template.render.CompiledTemplateContent;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 模板与提示词渲染服务
+ *
+ * <p>Template.content / placeholders 与 AIPrompt.promptTemplate / systemPrompt 编译一次后缓存，
+ * 渲染时只按编译结果顺序拼接，并复用线程内的缓冲区：</p>
+ * <ul>
+ *   <li>编译结果按 (code, version) 缓存，容量与空闲过期时间可配置；版本号变化即生成新条目，旧条目自然淘汰</li>
+ *   <li>code 到当前版本号的映射单独缓存 version-ttl 秒，热路径上不查库；
+ *       提示词与模板的写操作提交后由 {@link com.aibidcomposer.service.template.engine.RenderCacheInvalidationInterceptor}
+ *       使映射失效并经Redis频道广播给所有节点</li>
+ * </ul>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-003
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class TemplateRenderService {
+
+    /**
+     * 失效广播频道，消息体为 "p:提示词代码" / "t:模板代码"，代码为空表示该类全部
+     */
+    public static final String INVALIDATION_CHANNEL = "template:render:invalidate";
+
+    private static final String PROMPT_PREFIX = "p:";
+    private static final String TEMPLATE_PREFIX = "t:";
+
+    /**
+     * 线程内缓冲区保留的最大容量（字符），超过后丢弃以免长期占用内存
+     */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final TemplateMapper templateMapper;
+    private final AIPromptMapper aiPromptMapper;
+    private final InvalidationBroadcaster broadcaster;
+
+    private final Cache<String, String> promptVersions;
+    private final Cache<String, CompiledPrompt> prompts;
+    private final Cache<String, String> templateVersions;
+    private final Cache<String, CompiledTemplateContent> templates;
+
+    public TemplateRenderService(TemplateMapper templateMapper,
+                                 AIPromptMapper aiPromptMapper,
+                                 InvalidationBroadcaster broadcaster,
+                                 @Value("${template.render.cache.max-size:1000}") long maxSize,
+                                 @Value("${template.render.cache.expire-after-access-minutes:60}") long expireMinutes,
+                                 @Value("${template.render.version-ttl-seconds:60}") long versionTtlSeconds) {
+        this.templateMapper = templateMapper;
+        this.aiPromptMapper = aiPromptMapper;
+        this.broadcaster = broadcaster;
+        this.promptVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(versionTtlSeconds))
+                .build();
+        this.prompts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .build();
+        this.templateVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(versionTtlSeconds))
+                .build();
+        this.templates = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
+    /**
+     * 订阅失效广播
+     */
+    @PostConstruct
+    public void subscribe() {
+        broadcaster.subscribe(INVALIDATION_CHANNEL, this::onInvalidation);
+    }
+
+    /**
+     * 渲染AI提示词
+     *
+     * @param code 提示词代码
+     * @param variables 变量取值，未提供时使用提示词变量定义中的默认值
+     * @return 渲染结果
+     */
+    public RenderedPrompt renderPrompt(String code, Map<String, ?> variables) {
+        CompiledPrompt prompt = getPrompt(code);
+        Function<String, Object> resolver = resolver(variables, prompt.getDefaults());
+        StringBuilder buffer = BUFFER.get();
+        try {
+            String systemPrompt = null;
+            if (prompt.getSystemPrompt() != null) {
+                buffer.setLength(0);
+                prompt.getSystemPrompt().renderTo(buffer, resolver);
+                systemPrompt = buffer.toString();
+            }
+            buffer.setLength(0);
+            prompt.getPromptTemplate().renderTo(buffer, resolver);
+            return new RenderedPrompt(prompt.getCode(), prompt.getVersion(), systemPrompt, buffer.toString(),
+                    prompt.getModelName(), prompt.getModelParams() == null ? null : new HashMap<>(prompt.getModelParams()));
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * 渲染模板内容
+     *
+     * @param code 模板代码
+     * @param variables 变量取值，未提供时使用占位符定义中的默认值
+     * @return 渲染后的内容
+     */
+    public Map<String, Object> renderTemplateContent(String code, Map<String, ?> variables) {
+        CompiledTemplateContent template = getTemplateContent(code);
+        StringBuilder buffer = BUFFER.get();
+        try {
+            return template.getContent().render(resolver(variables, template.getDefaults()), buffer);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * 获取编译后的提示词
+     *
+     * @param code 提示词代码
+     * @return 编译结果
+     */
+    public CompiledPrompt getPrompt(String code) {
+        String version = promptVersions.getIfPresent(code);
+        if (version != null) {
+            CompiledPrompt cached = prompts.getIfPresent(cacheKey(code, version));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        AIPrompt prompt = aiPromptMapper.selectOne(Wrappers.<AIPrompt>lambdaQuery()
+                .eq(AIPrompt::getCode, code)
+                .eq(AIPrompt::getIsActive, Boolean.TRUE));
+        if (prompt == null) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "提示词不存在或未启用: " + code);
+        }
+        CompiledPrompt compiled = new CompiledPrompt(
+                prompt.getCode(),
+                prompt.getVersion(),
+                prompt.getSystemPrompt() == null ? null : CompiledTemplate.compile(prompt.getSystemPrompt()),
+                CompiledTemplate.compile(prompt.getPromptTemplate()),
+                defaultsOf(prompt.getVariables()),
+                prompt.getModelName(),
+                prompt.getModelParams() == null ? null : Collections.unmodifiableMap(new HashMap<>(prompt.getModelParams())));
+        prompts.put(cacheKey(code, prompt.getVersion()), compiled);
+        promptVersions.put(code, String.valueOf(prompt.getVersion()));
+        log.debug("提示词已编译: code={}, version={}", code, prompt.getVersion());
+        return compiled;
+    }
+
+    /**
+     * 获取编译后的模板内容
+     *
+     * @param code 模板代码
+     * @return 编译结果
+     */
+    public CompiledTemplateContent getTemplateContent(String code) {
+        String version = templateVersions.getIfPresent(code);
+        if (version != null) {
+            CompiledTemplateContent cached = templates.getIfPresent(cacheKey(code, version));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Template template = templateMapper.selectOne(Wrappers.<Template>lambdaQuery()
+                .select(Template::getId, Template::getCode, Template::getVersion,
+                        Template::getContent, Template::getPlaceholders)
+                .eq(Template::getCode, code));
+        if (template == null) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "模板不存在: " + code);
+        }
+        CompiledTemplateContent compiled = new CompiledTemplateContent(
+                template.getCode(),
+                template.getVersion(),
+                CompiledJsonTemplate.compile(template.getContent()),
+                defaultsOf(template.getPlaceholders()));
+        templates.put(cacheKey(code, template.getVersion()), compiled);
+        templateVersions.put(code, String.valueOf(template.getVersion()));
+        log.debug("模板内容已编译: code={}, version={}", code, template.getVersion());
+        return compiled;
+    }
+
+    /**
+     * 使提示词的版本映射失效并广播（提示词修改提交后调用）
+     *
+     * @param code 提示词代码，为null表示全部提示词
+     */
+    public void evictPrompt(String code) {
+        evictLocal(promptVersions, code);
+        broadcaster.publish(INVALIDATION_CHANNEL, PROMPT_PREFIX + (code == null ? "" : code));
+    }
+
+    /**
+     * 使模板的版本映射失效并广播（模板修改提交后调用）
+     *
+     * @param code 模板代码，为null表示全部模板
+     */
+    public void evictTemplate(String code) {
+        evictLocal(templateVersions, code);
+        broadcaster.publish(INVALIDATION_CHANNEL, TEMPLATE_PREFIX + (code == null ? "" : code));
+    }
+
+    /**
+     * 使全部版本映射失效并广播
+     */
+    public void evictAll() {
+        promptVersions.invalidateAll();
+        templateVersions.invalidateAll();
+        broadcaster.publishAll(INVALIDATION_CHANNEL);
+    }
+
+    /**
+     * 处理其他节点的失效广播，只更新本地缓存
+     *
+     * @param key 失效的提示词或模板，为null表示全部
+     */
+    private void onInvalidation(String key) {
+        if (key != null && key.startsWith(PROMPT_PREFIX)) {
+            evictLocal(promptVersions, key.substring(PROMPT_PREFIX.length()));
+        } else if (key != null && key.startsWith(TEMPLATE_PREFIX)) {
+            evictLocal(templateVersions, key.substring(TEMPLATE_PREFIX.length()));
+        } else {
+            promptVersions.invalidateAll();
+            templateVersions.invalidateAll();
+        }
+    }
+
+    private static void evictLocal(Cache<String, String> versions, String code) {
+        if (code == null || code.isEmpty()) {
+            versions.invalidateAll();
+        } else {
+            versions.invalidate(code);
+        }
+    }
+
+    private static String cacheKey(String code, String version) {
+        return code + "@" + version;
+    }
+
+    private static Function<String, Object> resolver(Map<String, ?> variables, Map<String, Object> defaults) {
+        Map<String, ?> values = variables == null ? Map.of() : variables;
+        return name -> {
+            Object value = values.get(name);
+            return value != null ? value : defaults.get(name);
+        };
+    }
+
+    /**
+     * 从变量/占位符定义中提取默认值：name 为变量名，defaultValue（或 default）为默认值
+     */
+    private static Map<String, Object> defaultsOf(List<Map<String, Object>> definitions) {
+        if (definitions == null || definitions.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Object> defaults = new HashMap<>();
+        for (Map<String, Object> definition : definitions) {
+            Object name = definition.get("name");
+            Object value = definition.containsKey("defaultValue") ? definition.get("defaultValue") : definition.get("default");
+            if (name != null && value != null) {
+                defaults.put(name.toString(), value);
+            }
+        }
+        return Collections.unmodifiableMap(defaults);
+    }
+
+    private static void release(StringBuilder buffer) {
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        } else {
+            buffer.setLength(0);
+        }
+    }
+}
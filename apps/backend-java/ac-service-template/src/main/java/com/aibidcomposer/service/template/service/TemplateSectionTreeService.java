@@ -0,0 +1,95 @@
+package com.aibidcomposer.service.template.service;
+
+import com.aibidcomposer.common.exception.BusinessException;
+import com.aibidcomposer.common.exception.ValidationException;
+import com.aibidcomposer.common.http.result.ResultCode;
+import com.aibidcomposer.dao.entity.TemplateSection;
+import com.aibidcomposer.dao.mapper.TemplateSectionMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 模板章节树服务
+ *
+ * <p>基于物化路径（path）实现子树查询、移动、重排与重新编号，
+ * 每种操作均为固定条数的集合语句，不再逐层递归查询子章节。
+ * 模板编译缓存由 {@link com.aibidcomposer.service.template.engine.CompiledTreeInvalidationInterceptor}
+ * 在事务提交后统一失效。</p>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-001
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TemplateSectionTreeService {
+
+    private final TemplateSectionMapper templateSectionMapper;
+
+    /**
+     * 查询子树（含自身）
+     *
+     * @param templateId 模板ID
+     * @param sectionId 子树根章节ID
+     * @return 章节列表，按 level、order_index 排序
+     */
+    public List<TemplateSection> getSubtree(Long templateId, Long sectionId) {
+        return templateSectionMapper.findSubtree(templateId, sectionId);
+    }
+
+    /**
+     * 移动章节（含子树）并重新编号
+     *
+     * @param templateId 模板ID
+     * @param sectionId 章节ID
+     * @param parentId 新父章节ID（NULL表示移动到根）
+     * @param orderIndex 目标位置
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void moveSection(Long templateId, Long sectionId, Long parentId, Integer orderIndex) {
+        if (parentId != null) {
+            TemplateSection parent = templateSectionMapper.selectOne(Wrappers.<TemplateSection>lambdaQuery()
+                    .select(TemplateSection::getId, TemplateSection::getPath)
+                    .eq(TemplateSection::getTemplateId, templateId)
+                    .eq(TemplateSection::getId, parentId));
+            if (parent == null) {
+                throw new BusinessException(ResultCode.NOT_FOUND, "父章节不存在: " + parentId);
+            }
+            if (parentId.equals(sectionId)
+                    || (parent.getPath() != null && parent.getPath().contains("/" + sectionId + "/"))) {
+                throw new ValidationException("不能把章节移动到自身或其子章节下");
+            }
+        }
+        if (templateSectionMapper.moveSection(templateId, sectionId, parentId, orderIndex) == 0) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "章节不存在: " + sectionId);
+        }
+        int renumbered = templateSectionMapper.renumberSections(templateId);
+        log.debug("模板章节已移动: templateId={}, sectionId={}, parentId={}, renumbered={}",
+                templateId, sectionId, parentId, renumbered);
+    }
+
+    /**
+     * 按给定顺序重排子章节并重新编号
+     *
+     * @param templateId 模板ID
+     * @param parentId 父章节ID（NULL表示根章节）
+     * @param sectionIds 排序后的章节ID
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void reorderChildren(Long templateId, Long parentId, List<Long> sectionIds) {
+        if (sectionIds == null || sectionIds.isEmpty()) {
+            return;
+        }
+        if (templateSectionMapper.reorderChildren(templateId, parentId, sectionIds) > 0) {
+            templateSectionMapper.renumberSections(templateId);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.aibidcomposer.service.template.service;
+
+import com.aibidcomposer.common.biz.counter.StripedCounterMap;
+import com.aibidcomposer.dao.entity.AIPrompt;
+import com.aibidcomposer.dao.entity.Template;
+import com.aibidcomposer.dao.mapper.AIPromptMapper;
+import com.aibidcomposer.dao.mapper.TemplateMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 模板与提示词使用次数写回服务
+ *
+ * <p>使用次数先累加到内存中的分条带计数器，定期用一条 UPDATE ... FROM (VALUES ...)
+ * 批量写回，替代每次使用一条行级 UPDATE，热门模板上不再出现行锁排队。
+ * 多实例各自写回自己的增量，累加语义保证结果正确；写回失败的增量放回缓冲，下次重试。</p>
+ * <p>热门排行读取数据库值再叠加本实例尚未写回的增量，其他实例的未写回增量
+ * 最多滞后一个写回周期。</p>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-004
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class UsageCounterService implements DisposableBean {
+
+    private final TemplateMapper templateMapper;
+    private final AIPromptMapper aiPromptMapper;
+
+    private final StripedCounterMap templateCounters;
+    private final StripedCounterMap promptCounters;
+
+    public UsageCounterService(TemplateMapper templateMapper,
+                               AIPromptMapper aiPromptMapper,
+                               @Value("${template.usage-counter.stripes:8}") int stripes) {
+        this.templateMapper = templateMapper;
+        this.aiPromptMapper = aiPromptMapper;
+        this.templateCounters = new StripedCounterMap(stripes);
+        this.promptCounters = new StripedCounterMap(stripes);
+    }
+
+    /**
+     * 记录一次模板使用
+     *
+     * @param templateId 模板ID
+     */
+    public void recordTemplateUsage(Long templateId) {
+        templateCounters.increment(templateId);
+    }
+
+    /**
+     * 记录一次提示词使用
+     *
+     * @param promptId 提示词ID
+     */
+    public void recordPromptUsage(Long promptId) {
+        promptCounters.increment(promptId);
+    }
+
+    /**
+     * 热门模板（数据库值 + 未写回增量）
+     *
+     * @param limit 数量限制
+     * @return 按使用次数降序的模板
+     */
+    public List<Template> findPopularTemplates(int limit) {
+        Map<Long, Long> pending = templateCounters.snapshot();
+        List<Template> candidates = new ArrayList<>(templateMapper.findPopularTemplates(limit));
+        Set<Long> missing = missingIds(candidates, Template::getId, pending);
+        if (!missing.isEmpty()) {
+            candidates.addAll(templateMapper.selectList(Wrappers.<Template>lambdaQuery()
+                    .in(Template::getId, missing)
+                    .eq(Template::getIsActive, Boolean.TRUE)));
+        }
+        for (Template template : candidates) {
+            template.setUsageCount(withPending(template.getUsageCount(), pending.get(template.getId())));
+        }
+        return top(candidates, Template::getUsageCount, limit);
+    }
+
+    /**
+     * 最常使用的提示词（数据库值 + 未写回增量）
+     *
+     * @param limit 数量限制
+     * @return 按使用次数降序的提示词
+     */
+    public List<AIPrompt> findMostUsedPrompts(int limit) {
+        Map<Long, Long> pending = promptCounters.snapshot();
+        List<AIPrompt> candidates = new ArrayList<>(aiPromptMapper.findMostUsed(limit));
+        Set<Long> missing = missingIds(candidates, AIPrompt::getId, pending);
+        if (!missing.isEmpty()) {
+            candidates.addAll(aiPromptMapper.selectList(Wrappers.<AIPrompt>lambdaQuery()
+                    .in(AIPrompt::getId, missing)
+                    .eq(AIPrompt::getIsActive, Boolean.TRUE)));
+        }
+        for (AIPrompt prompt : candidates) {
+            prompt.setUsageCount(withPending(prompt.getUsageCount(), pending.get(prompt.getId())));
+        }
+        return top(candidates, AIPrompt::getUsageCount, limit);
+    }
+
+    /**
+     * 定期写回增量
+     */
+    @Scheduled(fixedDelayString = "${template.usage-counter.flush-interval-ms:10000}")
+    public void flush() {
+        flush("模板", templateCounters, templateMapper::addUsageCounts);
+        flush("提示词", promptCounters, aiPromptMapper::addUsageCounts);
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private void flush(String name, StripedCounterMap counters, Function<Map<Long, Long>, Integer> writer) {
+        Map<Long, Long> deltas = counters.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            int updated = writer.apply(deltas);
+            log.debug("{}使用次数已写回: ids={}, updated={}", name, deltas.size(), updated);
+        } catch (Exception e) {
+            counters.restore(deltas);
+            log.error("{}使用次数写回失败，增量已放回缓冲: ids={}", name, deltas.size(), e);
+        }
+    }
+
+    private static <T> Set<Long> missingIds(List<T> rows, Function<T, Long> idOf, Map<Long, Long> pending) {
+        Set<Long> missing = new HashSet<>(pending.keySet());
+        for (T row : rows) {
+            missing.remove(idOf.apply(row));
+        }
+        return missing;
+    }
+
+    private static Integer withPending(Integer stored, Long pending) {
+        long value = (stored == null ? 0 : stored) + (pending == null ? 0 : pending);
+        return (int) Math.min(Integer.MAX_VALUE, value);
+    }
+
+    private static <T> List<T> top(List<T> rows, Function<T, Integer> countOf, int limit) {
+        rows.sort(Comparator.comparing(countOf, Comparator.nullsLast(Comparator.reverseOrder())));
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+}
@@ -0,0 +1,37 @@
+package com.aibidcomposer.service.template.task;
+
+import com.aibidcomposer.dao.entity.AITask;
+
+/**
+ * AI任务处理器
+ *
+ * <p>每种 taskType 注册一个处理器（Spring Bean），由 {@link AITaskWorkerPool} 领取任务后调用。
+ * 处理器把执行结果写回传入的任务对象（outputData、modelName、Token数、cost 等），
+ * 正常返回即视为成功；抛出 BusinessException 视为不可重试的业务失败，
+ * 其他异常按退避策略重试，直到 max_retries。</p>
+ * <p>处理期间租约可能丢失（节点失联后被其他节点回收），此时执行线程会被中断，
+ * 处理器应响应中断；处理逻辑需保证重复执行无副作用。</p>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+public interface AITaskHandler {
+
+    /**
+     * 处理的任务类型
+     *
+     * @return 任务类型
+     */
+    String getTaskType();
+
+    /**
+     * 执行任务
+     *
+     * @param task 已领取的任务，执行结果写回该对象
+     * @throws Exception 执行失败
+     */
+    void handle(AITask task) throws Exception;
+}
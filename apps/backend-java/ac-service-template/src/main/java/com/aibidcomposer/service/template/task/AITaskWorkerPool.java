@@ -0,0 +1,358 @@
+package com.aibidcomposer.service.template.task;
+
+import com.aibidcomposer.common.biz.concurrent.DownstreamLimiter;
+import com.aibidcomposer.common.biz.concurrent.DownstreamLimiters;
+import com.aibidcomposer.common.exception.BusinessException;
+import com.aibidcomposer.common.exception.DownstreamBusyException;
+import com.aibidcomposer.dao.entity.AITask;
+import com.aibidcomposer.dao.mapper.AITaskMapper;
+import com.aibidcomposer.service.template.service.PromptMetricsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI任务工作池
+ *
+ * <p>把 ai_tasks 当作持久化优先级队列，多个节点并发消费、互不重复：</p>
+ * <ul>
+ *   <li>领取：按空闲线程数批量领取（FOR UPDATE SKIP LOCKED，按优先级高到低），只领取本节点有处理器的任务类型</li>
+ *   <li>租约：领取时获得 lease-seconds 的租约，心跳定期为执行中的任务续约；
+ *       续约失败说明任务已被回收，中断执行线程，结果也不会再写回</li>
+ *   <li>回收：租约过期的任务（节点失联）由任一节点回收，计一次重试后重新排队</li>
+ *   <li>重试：处理器抛出非 BusinessException 的异常时按指数退避（带抖动）重新排队，
+ *       超过 max_retries 或业务失败时置为 failed</li>
+ *   <li>限流：处理器在 ai 下游限制器的许可内执行，多个工作池/请求线程共用同一并发上限；
+ *       ai 限制器已满时不领取新任务，等待许可超时（DownstreamBusyException）的任务退避后重新排队，不计重试次数</li>
+ *   <li>虚拟线程：ai.task.worker.virtual-threads=true（默认跟随 spring.threads.virtual.enabled，需 Java 21）
+ *       时工作线程为虚拟线程，并发仍由 concurrency 与 ai 限制器约束</li>
+ *   <li>停机：停止领取，等待执行中的任务至多 shutdown-grace-seconds，剩余任务放回队列</li>
+ * </ul>
+ *
+ * 需求编号: REQ-JAVA-TEMPLATE-006
+ * 创建时间: 2026-10-17
+ *
+ * @author AIBidComposer Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class AITaskWorkerPool {
+
+    private static final String STATUS_SUCCESS = "success";
+
+    /**
+     * 错误信息最大长度
+     */
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final AITaskMapper aiTaskMapper;
+    private final PromptMetricsService promptMetricsService;
+    private final Map<String, AITaskHandler> handlers;
+    private final DownstreamLimiter aiLimiter;
+
+    private final boolean enabled;
+    private final int concurrency;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final long backoffInitialMillis;
+    private final long backoffMaxMillis;
+    private final long shutdownGraceSeconds;
+    private final int reapBatchSize;
+    private final boolean virtualThreads;
+
+    /**
+     * 工作节点标识（主机名 + 随机后缀），写入 lease_owner
+     */
+    private final String owner;
+
+    /**
+     * 执行中的任务
+     */
+    private final ConcurrentHashMap<Long, Future<?>> inFlight = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public AITaskWorkerPool(AITaskMapper aiTaskMapper,
+                            PromptMetricsService promptMetricsService,
+                            ObjectProvider<AITaskHandler> handlerBeans,
+                            ObjectProvider<DownstreamLimiters> limitersProvider,
+                            @Value("${ai.task.worker.enabled:true}") boolean enabled,
+                            @Value("${ai.task.worker.concurrency:8}") int concurrency,
+                            @Value("${ai.task.worker.batch-size:8}") int batchSize,
+                            @Value("${ai.task.worker.lease-seconds:120}") long leaseSeconds,
+                            @Value("${ai.task.worker.backoff.initial-ms:5000}") long backoffInitialMillis,
+                            @Value("${ai.task.worker.backoff.max-ms:600000}") long backoffMaxMillis,
+                            @Value("${ai.task.worker.shutdown-grace-seconds:30}") long shutdownGraceSeconds,
+                            @Value("${ai.task.worker.reap-batch-size:500}") int reapBatchSize,
+                            @Value("${ai.task.worker.virtual-threads:${spring.threads.virtual.enabled:false}}") boolean virtualThreads) {
+        this.aiTaskMapper = aiTaskMapper;
+        this.promptMetricsService = promptMetricsService;
+        Map<String, AITaskHandler> byType = new HashMap<>();
+        for (AITaskHandler handler : (Iterable<AITaskHandler>) handlerBeans.orderedStream()::iterator) {
+            AITaskHandler previous = byType.put(handler.getTaskType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("AI任务类型重复注册: " + handler.getTaskType());
+            }
+        }
+        this.handlers = Map.copyOf(byType);
+        this.aiLimiter = limitersProvider.getIfAvailable(DownstreamLimiters::unlimited).get(DownstreamLimiters.AI);
+        this.enabled = enabled;
+        this.concurrency = Math.max(1, concurrency);
+        this.batchSize = Math.max(1, batchSize);
+        this.leaseSeconds = Math.max(10, leaseSeconds);
+        this.backoffInitialMillis = Math.max(0, backoffInitialMillis);
+        this.backoffMaxMillis = Math.max(this.backoffInitialMillis, backoffMaxMillis);
+        this.shutdownGraceSeconds = Math.max(0, shutdownGraceSeconds);
+        this.reapBatchSize = Math.max(1, reapBatchSize);
+        this.virtualThreads = virtualThreads && Runtime.version().feature() >= 21;
+        this.owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 初始化工作线程池
+     */
+    @PostConstruct
+    public void init() {
+        ThreadFactory threadFactory;
+        if (virtualThreads) {
+            threadFactory = new VirtualThreadTaskExecutor("ai-task-worker-").getVirtualThreadFactory();
+        } else {
+            AtomicInteger threadCounter = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "ai-task-worker-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        executor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                threadFactory);
+        running = enabled && !handlers.isEmpty();
+        log.info("AI任务工作池已初始化: owner={}, enabled={}, concurrency={}, virtualThreads={}, taskTypes={}",
+                owner, running, concurrency, virtualThreads, handlers.keySet());
+    }
+
+    /**
+     * 领取任务
+     */
+    @Scheduled(fixedDelayString = "${ai.task.worker.poll-interval-ms:1000}")
+    public void poll() {
+        if (!running) {
+            return;
+        }
+        int free = freeSlots();
+        while (running && free > 0) {
+            int limit = Math.min(free, batchSize);
+            List<AITask> claimed;
+            try {
+                claimed = aiTaskMapper.claimTasks(owner, handlers.keySet(), limit, leaseSeconds);
+            } catch (Exception e) {
+                log.error("领取AI任务失败: owner={}", owner, e);
+                return;
+            }
+            claimed.sort(Comparator.comparing(AITask::getPriority, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(AITask::getId));
+            for (AITask task : claimed) {
+                FutureTask<Void> future = new FutureTask<>(() -> execute(task), null);
+                inFlight.put(task.getId(), future);
+                executor.execute(future);
+            }
+            if (claimed.size() < limit) {
+                return;
+            }
+            free = freeSlots();
+        }
+    }
+
+    /**
+     * 为执行中的任务续约
+     */
+    @Scheduled(fixedDelayString = "${ai.task.worker.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(inFlight.keySet());
+        List<Long> renewed;
+        try {
+            renewed = aiTaskMapper.renewLeases(ids, owner, leaseSeconds);
+        } catch (Exception e) {
+            log.error("AI任务续约失败: owner={}, tasks={}", owner, ids.size(), e);
+            return;
+        }
+        ids.removeAll(renewed);
+        for (Long lost : ids) {
+            Future<?> future = inFlight.get(lost);
+            if (future != null) {
+                log.warn("AI任务租约已丢失，中断执行: taskId={}, owner={}", lost, owner);
+                future.cancel(true);
+                inFlight.remove(lost, future);
+            }
+        }
+    }
+
+    /**
+     * 回收租约过期的任务
+     */
+    @Scheduled(fixedDelayString = "${ai.task.worker.reap-interval-ms:60000}")
+    public void reapExpiredLeases() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int released = aiTaskMapper.releaseExpiredLeases(reapBatchSize);
+            if (released > 0) {
+                log.warn("已回收租约过期的AI任务: count={}", released);
+            }
+        } catch (Exception e) {
+            log.error("回收租约过期的AI任务失败", e);
+        }
+    }
+
+    /**
+     * 停机：停止领取，等待执行中的任务，剩余任务放回队列
+     */
+    @PreDestroy
+    public void destroy() {
+        running = false;
+        // 先记下执行中的任务：被中断的任务会从 inFlight 移除，但在库中仍是 running
+        List<Long> remaining = new ArrayList<>(inFlight.keySet());
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (!remaining.isEmpty()) {
+            // 已正常结束的任务状态不再是 running，不会被放回
+            try {
+                int released = aiTaskMapper.releaseTasks(remaining, owner);
+                log.info("停机放回未完成的AI任务: count={}", released);
+            } catch (Exception e) {
+                log.error("停机放回AI任务失败，将在租约过期后回收: tasks={}", remaining, e);
+            }
+        }
+    }
+
+    /**
+     * 工作节点标识
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    private void execute(AITask task) {
+        AITaskHandler handler = handlers.get(task.getTaskType());
+        try {
+            aiLimiter.acquire();
+            try {
+                handler.handle(task);
+            } finally {
+                aiLimiter.release();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (aiTaskMapper.completeTask(task, owner) == 1) {
+                task.setStatus(STATUS_SUCCESS);
+                promptMetricsService.record(task);
+                log.debug("AI任务完成: taskId={}, type={}", task.getId(), task.getTaskType());
+            } else {
+                log.warn("AI任务租约已丢失，结果丢弃: taskId={}, owner={}", task.getId(), owner);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (DownstreamBusyException e) {
+            // 下游繁忙不是任务本身的失败，退避后重新排队，不消耗重试次数
+            long delay = backoffMillis(0);
+            try {
+                aiTaskMapper.deferTask(task.getId(), owner, errorMessage(e), delay);
+            } catch (Exception updateError) {
+                log.error("AI任务推迟写回失败，将在租约过期后回收: taskId={}", task.getId(), updateError);
+            }
+            log.info("下游繁忙，AI任务已推迟: taskId={}, type={}, delayMs={}, reason={}",
+                    task.getId(), task.getTaskType(), delay, e.getMessage());
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            boolean retryable = !(e instanceof BusinessException);
+            long delay = backoffMillis(task.getRetryCount());
+            try {
+                aiTaskMapper.failTask(task.getId(), owner, errorMessage(e), retryable, delay);
+            } catch (Exception updateError) {
+                log.error("AI任务失败状态写回失败，将在租约过期后回收: taskId={}", task.getId(), updateError);
+            }
+            log.warn("AI任务执行失败: taskId={}, type={}, retry={}, retryable={}, delayMs={}",
+                    task.getId(), task.getTaskType(), task.getRetryCount(), retryable, delay, e);
+        } finally {
+            inFlight.remove(task.getId());
+        }
+    }
+
+    /**
+     * 可领取的任务数：空闲线程数，且不超过 ai 限制器的剩余许可（请求线程也在占用许可）
+     */
+    private int freeSlots() {
+        int free = concurrency - inFlight.size();
+        int maxConcurrent = aiLimiter.getMaxConcurrent();
+        if (maxConcurrent > 0) {
+            free = Math.min(free, maxConcurrent - aiLimiter.getActive());
+        }
+        return free;
+    }
+
+    /**
+     * 指数退避：initial * 2^retry，上限 max，±20% 抖动避免同批失败的任务同时重试
+     */
+    private long backoffMillis(Integer retryCount) {
+        int retry = retryCount == null ? 0 : Math.min(retryCount, 30);
+        long base = Math.min(backoffMaxMillis, backoffInitialMillis << retry);
+        return (long) (base * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+
+    private static String errorMessage(Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}